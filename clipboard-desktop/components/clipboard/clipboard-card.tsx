@@ -4,9 +4,10 @@
 import { Card } from "@/components/ui/card";
 import { Badge } from "@/components/ui/badge";
 import { Copy, Pin, Trash2 } from "lucide-react";
+import { toast } from "sonner";
 import { Button } from "@/components/ui/button";
 import { copyToClipboard, formatDate, truncateContent } from "@/lib/utils";
-import type { ClipboardDto } from "@/lib/api-client";
+import { clipboardOperations, type ClipboardDto } from "@/lib/api-client";
 import { cn } from "@/lib/utils";
 import {
     Tooltip,
@@ -22,6 +23,15 @@ interface ClipboardCardProps {
 }
 
 export default function ClipboardCard({ entry, onPinToggle, onDelete }: ClipboardCardProps) {
+    // The list only holds a preview, so fetch the full text before copying it
+    const handleCopy = async () => {
+        try {
+            await copyToClipboard(await clipboardOperations.getContent(entry.id));
+        } catch (error) {
+            toast.error("Failed to copy to clipboard");
+        }
+    };
+
     return (
         <Card
             className={cn(
@@ -32,7 +42,7 @@ export default function ClipboardCard({ entry, onPinToggle, onDelete }: Clipboar
             <div className="flex items-start gap-2">
                 <div className="flex-1 min-w-0">
                     <p className="text-sm leading-tight break-all">
-                        {truncateContent(entry.content, 150)}
+                        {truncateContent(entry.preview, 150)}
                     </p>
                     <div className="flex items-center gap-2 mt-1">
                         <span className="text-xs text-muted-foreground/70">
@@ -51,7 +61,7 @@ export default function ClipboardCard({ entry, onPinToggle, onDelete }: Clipboar
                                     size="icon"
                                     variant="ghost"
                                     className="h-6 w-6"
-                                    onClick={() => copyToClipboard(entry.content)}
+                                    onClick={handleCopy}
                                 >
                                     <Copy className="h-3 w-3" />
                                 </Button>
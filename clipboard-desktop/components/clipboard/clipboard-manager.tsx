@@ -54,6 +54,7 @@ export default function ClipboardManager() {
         onUpdateEntry: handleUpdateEntry,
         onDeleteEntry: handleDeleteEntry,
         onClear: handleClear,
+        onSnapshotRequired: () => fetchEntries(),
         enabled: mounted
     });
 
@@ -54,7 +54,7 @@ export default function ClipboardTabs({
     // Filter entries based on search
     const filterEntries = (entries: ClipboardDto[]) => {
         return entries.filter(entry =>
-            entry.content.toLowerCase().includes(searchTerm.toLowerCase())
+            entry.preview.toLowerCase().includes(searchTerm.toLowerCase())
         );
     };
 
@@ -2,27 +2,60 @@ import { useEffect, useRef, useCallback, useState } from 'react';
 import { Client, IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
 import { toast } from 'sonner';
-import type { ClipboardDto } from '@/lib/api-client';
+import { fromClipboardEvent, type ClipboardDto, type ClipboardEventDto } from '@/lib/api-client';
 
 interface UseWebSocketClipboardProps {
     onNewEntry: (entry: ClipboardDto) => void;
     onUpdateEntry: (entry: ClipboardDto) => void;
     onDeleteEntry: (entryId: number) => void;
     onClear: (includePinned: boolean) => void;
+    // Called after a reconnect when the missed changes are no longer kept by the server, and when
+    // entries were imported or purged in bulk
+    onSnapshotRequired?: () => void;
     enabled?: boolean;
 }
 
+interface ClipboardChange {
+    sequence: number;
+    type: 'new' | 'update' | 'delete' | 'clear';
+    id?: number;
+    entry?: ClipboardEventDto;
+    includePinned?: boolean;
+}
+
+interface ClipboardChanges {
+    epoch: number;
+    sequence: number;
+    snapshotRequired: boolean;
+    changes: ClipboardChange[];
+}
+
+function asList<T>(payload: T | T[]): T[] {
+    return Array.isArray(payload) ? payload : [payload];
+}
+
 export function useWebSocketClipboard({
                                           onNewEntry,
                                           onUpdateEntry,
                                           onDeleteEntry,
                                           onClear,
+                                          onSnapshotRequired,
                                           enabled = true
                                       }: UseWebSocketClipboardProps) {
     const clientRef = useRef<Client | null>(null);
     // @ts-ignore
     const reconnectTimeoutRef = useRef<NodeJS.Timeout>();
     const isConnectedRef = useRef(false);
+    // Position in the server's change log, taken from the seq and epoch headers of each batch
+    const positionRef = useRef<{ epoch: string; sequence: number } | null>(null);
+    // Frames received per batch; a batch may arrive in any order and counts once all frames did
+    const batchFramesRef = useRef(new Map<string, number>());
+    // Live frames held back until the replay reply arrives, so an older replayed clear or delete
+    // never lands on top of a newer live change
+    const heldFramesRef = useRef<{ message: IMessage; apply: () => void }[] | null>(null);
+    // Kept in a ref so a new callback on every render does not reconnect
+    const onSnapshotRequiredRef = useRef(onSnapshotRequired);
+    onSnapshotRequiredRef.current = onSnapshotRequired;
 
     const [isConnected, setIsConnected] = useState(false);
 
@@ -48,12 +81,42 @@ export function useWebSocketClipboard({
             isConnectedRef.current = true;
             setIsConnected(true);
 
+            const track = (message: IMessage) => {
+                const { seq, epoch, frames } = message.headers;
+                if (!seq || !epoch) return;
+                const batch = `${epoch}-${seq}`;
+                const received = (batchFramesRef.current.get(batch) ?? 0) + 1;
+                if (received < Number(frames ?? 1)) {
+                    batchFramesRef.current.set(batch, received);
+                    return;
+                }
+                batchFramesRef.current.delete(batch);
+                const current = positionRef.current;
+                if (!current || current.epoch !== epoch || current.sequence < Number(seq)) {
+                    positionRef.current = { epoch, sequence: Number(seq) };
+                }
+            };
+
+            heldFramesRef.current = [];
+            const live = (message: IMessage, apply: () => void) => {
+                const held = heldFramesRef.current;
+                if (held) {
+                    held.push({ message, apply });
+                    return;
+                }
+                apply();
+                track(message);
+            };
+
             // Subscribe to new entries
             client.subscribe('/topic/clipboard/new', (message: IMessage) => {
                 try {
-                    const entry: ClipboardDto = JSON.parse(message.body);
-                    console.log('New clipboard entry received:', entry);
-                    onNewEntry(entry);
+                    // Events arrive batched: one list per topic and broadcast tick
+                    const events: ClipboardEventDto[] = asList(JSON.parse(message.body));
+                    console.log('New clipboard entries received:', events.length);
+                    live(message, () => {
+                        events.forEach(event => onNewEntry(fromClipboardEvent(event)));
+                    });
                 } catch (error) {
                     console.error('Error parsing new entry:', error);
                 }
@@ -62,9 +125,11 @@ export function useWebSocketClipboard({
             // Subscribe to updates
             client.subscribe('/topic/clipboard/update', (message: IMessage) => {
                 try {
-                    const entry: ClipboardDto = JSON.parse(message.body);
-                    console.log('Clipboard update received:', entry);
-                    onUpdateEntry(entry);
+                    const events: ClipboardEventDto[] = asList(JSON.parse(message.body));
+                    console.log('Clipboard updates received:', events.length);
+                    live(message, () => {
+                        events.forEach(event => onUpdateEntry(fromClipboardEvent(event)));
+                    });
                 } catch (error) {
                     console.error('Error parsing update:', error);
                 }
@@ -73,9 +138,9 @@ export function useWebSocketClipboard({
             // Subscribe to deletions
             client.subscribe('/topic/clipboard/delete', (message: IMessage) => {
                 try {
-                    const entryId = parseInt(message.body);
-                    console.log('Clipboard deletion received:', entryId);
-                    onDeleteEntry(entryId);
+                    const entryIds: number[] = asList(JSON.parse(message.body));
+                    console.log('Clipboard deletions received:', entryIds);
+                    live(message, () => entryIds.forEach(onDeleteEntry));
                 } catch (error) {
                     console.error('Error parsing deletion:', error);
                 }
@@ -86,17 +151,65 @@ export function useWebSocketClipboard({
                 try {
                     const clearEvent = JSON.parse(message.body);
                     console.log('Clipboard clear received:', clearEvent);
-                    onClear(clearEvent.includePinned);
+                    live(message, () => onClear(clearEvent.includePinned));
                 } catch (error) {
                     console.error('Error parsing clear event:', error);
                 }
             });
 
+            // Subscribe to reloads, sent when entries were imported or purged in bulk
+            client.subscribe('/topic/clipboard/reload', (message: IMessage) => {
+                console.log('Clipboard reload received');
+                live(message, () => onSnapshotRequiredRef.current?.());
+            });
+
             // Subscribe to pong messages for keep-alive
             client.subscribe('/topic/clipboard/pong', (message: IMessage) => {
                 console.log('Pong received:', message.body);
             });
 
+            // Catch up on what was missed while disconnected; the server replies once
+            const position = positionRef.current;
+            client.subscribe('/app/clipboard/changes', (message: IMessage) => {
+                const held = heldFramesRef.current ?? [];
+                heldFramesRef.current = null;
+                let missed: ClipboardChanges | null = null;
+                try {
+                    missed = JSON.parse(message.body) as ClipboardChanges;
+                    const current = positionRef.current;
+                    if (missed.snapshotRequired) {
+                        if (position) onSnapshotRequiredRef.current?.();
+                    } else {
+                        // Live frames were held back, so these are the oldest changes still to apply
+                        missed.changes.forEach(change => {
+                            const entry = change.entry && fromClipboardEvent(change.entry);
+                            if (change.type === 'new') onNewEntry(entry!);
+                            else if (change.type === 'update') onUpdateEntry(entry!);
+                            else if (change.type === 'delete') onDeleteEntry(change.id!);
+                            else onClear(change.includePinned!);
+                        });
+                    }
+                    if (!current || current.epoch !== String(missed.epoch)
+                        || current.sequence < missed.sequence) {
+                        positionRef.current = {
+                            epoch: String(missed.epoch),
+                            sequence: missed.sequence
+                        };
+                    }
+                } catch (error) {
+                    console.error('Error parsing missed changes:', error);
+                }
+                // Batches up to the reply's position are already part of it
+                held.forEach(({ message: frame, apply }) => {
+                    const { seq, epoch } = frame.headers;
+                    if (missed && epoch === String(missed.epoch) && Number(seq) <= missed.sequence) {
+                        return;
+                    }
+                    apply();
+                    track(frame);
+                });
+            }, position ? { since: String(position.sequence), epoch: position.epoch } : {});
+
             // Send initial ping
             sendPing();
         };
@@ -3,7 +3,7 @@
 
 import { Configuration } from './client/configuration';
 import { ClipboardApi, ClipboardExportApi, HealthApi } from './client/api';
-import type { Page, ClipboardDto as GeneratedClipboardDto } from './client/models';
+import type { Page } from './client/models';
 
 // Configuration for the API client
 const config = new Configuration({
@@ -20,14 +20,41 @@ export const healthApi = new HealthApi(config);
 // Re-export types
 export type { TogglePinRequest, Page } from './client/models';
 
-// Create a proper ClipboardDto interface that matches what components expect
+// Create a proper ClipboardDto interface that matches what components expect.
+// Lists only carry a preview of each entry; fetch the full text with getContent.
 export interface ClipboardDto {
     id: number;
-    content: string;
+    preview: string;
+    contentLength: number;
+    truncated: boolean;
     localDateTime: string;
     isPinned: boolean;
 }
 
+// Shape of the list, search, pinned and pin-toggle responses
+interface ClipboardSummaryDto {
+    id?: number;
+    localDateTime?: string;
+    preview?: string;
+    contentLength?: number;
+    contentType?: string;
+    isPinned?: boolean;
+    truncated?: boolean;
+}
+
+// Shape of the entries in WebSocket and SSE events. Like the lists they carry a preview rather
+// than the content; version grows with every update of the entry.
+export interface ClipboardEventDto {
+    id: number;
+    localDateTime: string;
+    preview: string;
+    contentLength: number;
+    contentType?: string;
+    isPinned: boolean;
+    version: number;
+    truncated: boolean;
+}
+
 // Create a proper ClipboardStats interface with required properties
 export interface ClipboardStats {
     totalEntries: number;
@@ -38,15 +65,29 @@ export interface ClipboardStats {
 }
 
 // Helper to convert generated DTO to our interface
-function toClipboardDto(dto: GeneratedClipboardDto): ClipboardDto {
+function toClipboardDto(dto: ClipboardSummaryDto): ClipboardDto {
     return {
         id: dto.id || 0,
-        content: dto.content || '',
+        preview: dto.preview || '',
+        contentLength: dto.contentLength || 0,
+        truncated: dto.truncated || false,
         localDateTime: dto.localDateTime || new Date().toISOString(),
         isPinned: dto.isPinned || false
     };
 }
 
+// Helper to turn a pushed event into the entry the list renders
+export function fromClipboardEvent(event: ClipboardEventDto): ClipboardDto {
+    return {
+        id: event.id,
+        preview: event.preview || '',
+        contentLength: event.contentLength || 0,
+        truncated: event.truncated || false,
+        localDateTime: event.localDateTime || new Date().toISOString(),
+        isPinned: event.isPinned || false
+    };
+}
+
 // Utility functions for common operations
 export const clipboardOperations = {
     // Get all clipboard entries with pagination
@@ -122,11 +163,26 @@ export const clipboardOperations = {
         }
     },
 
+    // Get the full content of one entry
+    async getContent(id: number): Promise<string> {
+        try {
+            const response = await fetch(`${config.basePath}/api/local/clipboards/${id}`);
+            if (!response.ok) {
+                throw new Error(`Entry ${id} not found (HTTP ${response.status})`);
+            }
+            const data = await response.json();
+            return data.content || '';
+        } catch (error) {
+            console.error('Error fetching clipboard content:', error);
+            throw error;
+        }
+    },
+
     // Toggle pin status
     async togglePin(id: number): Promise<ClipboardDto> {
         try {
             const response = await clipboardApi.pinClipboards({ id });
-            return toClipboardDto(response.data);
+            return toClipboardDto(response.data as ClipboardSummaryDto);
         } catch (error) {
             console.error('Error toggling pin status:', error);
             throw error;
@@ -0,0 +1,350 @@
+package io.joshuasalcedo.fx.api;
+
+import io.joshuasalcedo.fx.api.ClipboardSubscriptionRegistry.Subscription;
+import io.joshuasalcedo.fx.api.ClipboardWebSocketController.ClearEvent;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.infrastructure.websocket.EncodedPayload;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangesDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects clipboard events for a short tick and sends them as one frame per topic.
+ *
+ * <p>Every topic carries a list: entries for {@code new} and {@code update}, IDs for {@code
+ * delete}, while {@code clear} stays a single event. Within a tick the latest revision of an entry
+ * wins, an update to an entry that is still pending as new is sent as new, a delete drops pending
+ * events for the same entry and a clear drops pending events it makes obsolete. A flush sends clear
+ * first, then deletes, new entries and updates, so the order of a burst is preserved. A tick of
+ * zero sends every event on its own, still wrapped in a list.
+ *
+ * <p>A {@code reload}, for a bulk import or purge, makes every other event of its flush obsolete:
+ * clients load their lists again once it arrives, and the lists already hold those changes. The
+ * flush then sends only a {@code reload} frame, shaped like a change log reply that asks for a
+ * snapshot.
+ *
+ * <p>Each event is numbered by {@link ClipboardChangeLog} as it arrives. Every frame of a flush
+ * carries the sequence number of the last event in the flush in a {@code seq} header, the {@code
+ * epoch} of the log and the number of {@code frames} in the flush. The outbound channel may write
+ * them in any order, so a client records the sequence number only once all frames carrying it
+ * arrived, and never skips an event when it asks the log for what it missed.
+ *
+ * <p>Sessions registered with {@link ClipboardSubscriptionRegistry} also get a frame per filtered
+ * queue they subscribed to, holding only the entries that pass their filter. Their {@code frames}
+ * header counts the frames sent to that session, and a flush with nothing for a session sends it
+ * nothing.
+ */
+@Component
+public class ClipboardBroadcastAggregator {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardBroadcastAggregator.class);
+
+  static final String NEW_TOPIC = "/topic/clipboard/new";
+  static final String UPDATE_TOPIC = "/topic/clipboard/update";
+  static final String DELETE_TOPIC = "/topic/clipboard/delete";
+  static final String CLEAR_TOPIC = "/topic/clipboard/clear";
+  static final String RELOAD_TOPIC = "/topic/clipboard/reload";
+  static final String SEQUENCE_HEADER = "seq";
+  static final String EPOCH_HEADER = "epoch";
+  static final String FRAMES_HEADER = "frames";
+
+  private final SimpMessagingTemplate messagingTemplate;
+  private final ClipboardChangeLog changeLog;
+  private final Duration tick;
+  private final Counter eventCounter;
+  private final MeterRegistry registry;
+  private final ClipboardSubscriptionRegistry subscriptions;
+
+  private final Map<Long, ClipboardEventDto> added = new LinkedHashMap<>();
+  private final Map<Long, ClipboardEventDto> updated = new LinkedHashMap<>();
+  private final Set<Long> deleted = new LinkedHashSet<>();
+  private Boolean cleared;
+  private boolean reloaded;
+  private long lastSequence;
+  private boolean flushScheduled;
+
+  private ScheduledExecutorService scheduler;
+
+  public ClipboardBroadcastAggregator(
+      SimpMessagingTemplate messagingTemplate,
+      ClipboardChangeLog changeLog,
+      ClipboardSubscriptionRegistry subscriptions,
+      ClipboardProperties properties,
+      MeterRegistry registry) {
+    this.messagingTemplate = messagingTemplate;
+    this.changeLog = changeLog;
+    this.subscriptions = subscriptions;
+    this.tick = properties.getBroadcast().getTick();
+    this.registry = registry;
+    this.eventCounter =
+        Counter.builder("clipboard.broadcast.events")
+            .description("Clipboard events handed to the broadcast aggregator")
+            .register(registry);
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "clipboard-broadcast");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void stop() {
+    scheduler.shutdownNow();
+    flush();
+  }
+
+  public synchronized void entryAdded(ClipboardEventDto event) {
+    added.merge(event.id(), event, ClipboardBroadcastAggregator::latest);
+    received(changeLog.entryAdded(event));
+  }
+
+  public synchronized void entryUpdated(ClipboardEventDto event) {
+    // Clients have not seen the entry yet, so its latest state still goes out as new
+    if (added.containsKey(event.id())) {
+      added.merge(event.id(), event, ClipboardBroadcastAggregator::latest);
+    } else {
+      updated.merge(event.id(), event, ClipboardBroadcastAggregator::latest);
+    }
+    received(changeLog.entryUpdated(event));
+  }
+
+  public synchronized void entryDeleted(Long id) {
+    added.remove(id);
+    updated.remove(id);
+    deleted.add(id);
+    received(changeLog.entryDeleted(id));
+  }
+
+  public synchronized void historyCleared(boolean includePinned) {
+    // Pinned entries survive a clear without includePinned, so their pending events still apply
+    added.values().removeIf(event -> includePinned || !event.isPinned());
+    updated.values().removeIf(event -> includePinned || !event.isPinned());
+    if (includePinned) {
+      deleted.clear();
+    }
+    cleared = includePinned || Boolean.TRUE.equals(cleared);
+    received(changeLog.historyCleared(includePinned));
+  }
+
+  public synchronized void historyReloaded() {
+    reloaded = true;
+    received(changeLog.historyReloaded());
+  }
+
+  /** Sends everything collected since the last flush. */
+  void flush() {
+    boolean reload;
+    ClearEvent clear;
+    List<Long> deletes;
+    List<ClipboardEventDto> news;
+    List<ClipboardEventDto> updates;
+    long sequence;
+    synchronized (this) {
+      clear = cleared != null ? new ClearEvent(cleared) : null;
+      deletes = new ArrayList<>(deleted);
+      news = new ArrayList<>(added.values());
+      updates = new ArrayList<>(updated.values());
+      sequence = lastSequence;
+      reload = reloaded;
+      reloaded = false;
+      added.clear();
+      updated.clear();
+      deleted.clear();
+      cleared = null;
+      flushScheduled = false;
+    }
+
+    if (reload) {
+      flushReload(sequence);
+      return;
+    }
+
+    List<Entry<String, Object>> frames = new ArrayList<>(4);
+    if (clear != null) {
+      frames.add(Map.entry(CLEAR_TOPIC, clear));
+    }
+    if (!deletes.isEmpty()) {
+      frames.add(Map.entry(DELETE_TOPIC, deletes));
+    }
+    if (!news.isEmpty()) {
+      frames.add(Map.entry(NEW_TOPIC, news));
+    }
+    if (!updates.isEmpty()) {
+      frames.add(Map.entry(UPDATE_TOPIC, updates));
+    }
+    long epoch = changeLog.getEpoch();
+    Map<String, Object> headers =
+        Map.of(SEQUENCE_HEADER, sequence, EPOCH_HEADER, epoch, FRAMES_HEADER, frames.size());
+    try {
+      for (Entry<String, Object> frame : frames) {
+        send(frame.getKey(), frame.getValue(), headers);
+      }
+      if (!frames.isEmpty()) {
+        sendFiltered(clear, deletes, news, updates, sequence, epoch);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to broadcast clipboard events: {}", e.getMessage());
+    }
+  }
+
+  private void flushReload(long sequence) {
+    long epoch = changeLog.getEpoch();
+    ClipboardChangesDto reload = new ClipboardChangesDto(epoch, sequence, true, List.of());
+    try {
+      send(
+          RELOAD_TOPIC,
+          reload,
+          Map.of(SEQUENCE_HEADER, sequence, EPOCH_HEADER, epoch, FRAMES_HEADER, 1));
+      EncodedPayload payload = new EncodedPayload(reload);
+      for (Entry<String, Map<String, Subscription>> session :
+          subscriptions.sessions().entrySet()) {
+        if (session.getValue().values().stream()
+            .anyMatch(subscription -> ClipboardChangeLog.RELOAD.equals(subscription.type()))) {
+          sendToSession(session.getKey(), ClipboardChangeLog.RELOAD, payload, sequence, epoch, 1);
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to broadcast clipboard reload: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Sends every filtered subscriber the part of a flush it asked for. Each distinct filter is
+   * evaluated once per event, however many sessions share it, and sessions that get the same
+   * entries share one {@link EncodedPayload}, so it is encoded once. A session's {@code frames}
+   * header counts only the frames it receives.
+   */
+  private void sendFiltered(
+      ClearEvent clear,
+      List<Long> deletes,
+      List<ClipboardEventDto> news,
+      List<ClipboardEventDto> updates,
+      long sequence,
+      long epoch) {
+    EncodedPayload clearPayload = clear != null ? new EncodedPayload(clear) : null;
+    EncodedPayload deletesPayload = !deletes.isEmpty() ? new EncodedPayload(deletes) : null;
+    Map<ClipboardEventFilter, EncodedPayload> newByFilter = new HashMap<>();
+    Map<ClipboardEventFilter, EncodedPayload> updatesByFilter = new HashMap<>();
+    List<Entry<String, EncodedPayload>> frames = new ArrayList<>(4);
+    for (Entry<String, Map<String, Subscription>> session :
+        subscriptions.sessions().entrySet()) {
+      frames.clear();
+      for (Subscription subscription : session.getValue().values()) {
+        EncodedPayload payload =
+            switch (subscription.type()) {
+              case ClipboardChangeLog.CLEAR -> clearPayload;
+              case ClipboardChangeLog.DELETE -> deletesPayload;
+              // Only sent on its own, by flushReload
+              case ClipboardChangeLog.RELOAD -> null;
+              case ClipboardChangeLog.NEW ->
+                  matching(ClipboardChangeLog.NEW, news, subscription.filter(), newByFilter);
+              default ->
+                  matching(
+                      ClipboardChangeLog.UPDATE, updates, subscription.filter(), updatesByFilter);
+            };
+        if (payload != null) {
+          frames.add(Map.entry(subscription.type(), payload));
+        }
+      }
+      for (Entry<String, EncodedPayload> frame : frames) {
+        sendToSession(
+            session.getKey(), frame.getKey(), frame.getValue(), sequence, epoch, frames.size());
+      }
+    }
+  }
+
+  /** The events that pass a filter, or null if none do. */
+  private static EncodedPayload matching(
+      String type,
+      List<ClipboardEventDto> events,
+      ClipboardEventFilter filter,
+      Map<ClipboardEventFilter, EncodedPayload> byFilter) {
+    if (events.isEmpty()) {
+      return null;
+    }
+    EncodedPayload matching =
+        byFilter.computeIfAbsent(
+            filter,
+            f -> new EncodedPayload(events.stream().filter(event -> f.test(type, event)).toList()));
+    return ((List<?>) matching.getValue()).isEmpty() ? null : matching;
+  }
+
+  private void received(long sequence) {
+    lastSequence = sequence;
+    eventCounter.increment();
+    if (tick.isZero() || scheduler == null || scheduler.isShutdown()) {
+      flush();
+    } else if (!flushScheduled) {
+      // Only schedule while something is pending, so an idle application does not wake up
+      flushScheduled = true;
+      scheduler.schedule(this::flush, tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void send(String topic, Object payload, Map<String, Object> headers) {
+    log.debug("Broadcasting to {}: {}", topic, payload);
+    messagingTemplate.convertAndSend(topic, payload, headers);
+    Counter.builder("clipboard.broadcast.frames")
+        .description("Frames sent to WebSocket topics by the broadcast aggregator")
+        .tag("topic", topic.substring(topic.lastIndexOf('/') + 1))
+        .register(registry)
+        .increment();
+  }
+
+  private void sendToSession(
+      String sessionId,
+      String type,
+      EncodedPayload payload,
+      long sequence,
+      long epoch,
+      int frames) {
+    log.debug("Sending to session {} on {}: {}", sessionId, type, payload);
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    // A session ID as the user name addresses that session alone, without a principal
+    accessor.setSessionId(sessionId);
+    accessor.setNativeHeader(SEQUENCE_HEADER, Long.toString(sequence));
+    accessor.setNativeHeader(EPOCH_HEADER, Long.toString(epoch));
+    accessor.setNativeHeader(FRAMES_HEADER, Integer.toString(frames));
+    accessor.setLeaveMutable(true);
+    messagingTemplate.convertAndSendToUser(
+        sessionId,
+        ClipboardSubscriptionRegistry.QUEUE_PREFIX + type,
+        payload,
+        accessor.getMessageHeaders());
+    Counter.builder("clipboard.broadcast.session.frames")
+        .description("Frames sent to filtered WebSocket subscriptions by the broadcast aggregator")
+        .tag("type", type)
+        .register(registry)
+        .increment();
+  }
+
+  private static ClipboardEventDto latest(ClipboardEventDto pending, ClipboardEventDto event) {
+    return event.version() >= pending.version() ? event : pending;
+  }
+}
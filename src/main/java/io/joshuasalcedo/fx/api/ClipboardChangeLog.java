@@ -0,0 +1,158 @@
+package io.joshuasalcedo.fx.api;
+
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangeDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangesDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Numbers every clipboard change and keeps the latest ones in memory, so a client that reconnects
+ * can fetch what it missed instead of reloading its lists.
+ *
+ * <p>Sequence numbers start at 1 and only grow while the application runs. They restart with the
+ * application, which is why they come with an epoch: a client holding a sequence from another
+ * epoch, or one older than the oldest change still kept, is told to take a fresh snapshot. So is a
+ * client that has not seen the latest {@code reload}, which stands for a bulk import or purge whose
+ * entries are not listed one by one.
+ *
+ * <p>Readers that follow the log, such as the event stream's subscriber threads, wait for new
+ * changes with {@link #awaitSince}. The log is guarded by a {@link ReentrantLock} rather than
+ * {@code synchronized} so that waiting virtual threads do not pin their carrier threads.
+ */
+@Component
+public class ClipboardChangeLog {
+  static final String NEW = "new";
+  static final String UPDATE = "update";
+  static final String DELETE = "delete";
+  static final String CLEAR = "clear";
+  static final String RELOAD = "reload";
+
+  private final long epoch = System.currentTimeMillis();
+  private final ClipboardChangeDto[] changes;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition appended = lock.newCondition();
+  private long sequence;
+  private long reloadedAt;
+
+  public ClipboardChangeLog(ClipboardProperties properties) {
+    int size = Math.max(1, properties.getBroadcast().getChangeLogSize());
+    this.changes = new ClipboardChangeDto[size];
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public long getSequence() {
+    lock.lock();
+    try {
+      return sequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  long entryAdded(ClipboardEventDto entry) {
+    return append(NEW, entry.id(), entry, null);
+  }
+
+  long entryUpdated(ClipboardEventDto entry) {
+    return append(UPDATE, entry.id(), entry, null);
+  }
+
+  long entryDeleted(Long id) {
+    return append(DELETE, id, null, null);
+  }
+
+  long historyCleared(boolean includePinned) {
+    return append(CLEAR, null, null, includePinned);
+  }
+
+  long historyReloaded() {
+    lock.lock();
+    try {
+      reloadedAt = append(RELOAD, null, null, null);
+      return reloadedAt;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the changes after a sequence number, oldest first.
+   *
+   * @param since The last sequence number the client has seen; 0 if it has seen none
+   * @param epoch The epoch that sequence number belongs to
+   * @return The missed changes, or none with {@code snapshotRequired} set when they are no longer
+   *     all kept or include a reload
+   */
+  public ClipboardChangesDto since(long since, long epoch) {
+    lock.lock();
+    try {
+      long oldest = Math.max(1, sequence - changes.length + 1);
+      if (epoch != this.epoch
+          || since > sequence
+          || since < oldest - 1
+          || since < reloadedAt) {
+        return snapshot();
+      }
+
+      List<ClipboardChangeDto> missed = new ArrayList<>((int) (sequence - since));
+      for (long next = since + 1; next <= sequence; next++) {
+        missed.add(changes[(int) (next % changes.length)]);
+      }
+      return new ClipboardChangesDto(this.epoch, sequence, false, missed);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Like {@link #since}, but first waits for a change after {@code since} if there is none yet.
+   *
+   * @param timeout How long to wait; no changes are returned when it runs out
+   * @throws InterruptedException If the waiting thread is interrupted
+   */
+  public ClipboardChangesDto awaitSince(long since, long epoch, Duration timeout)
+      throws InterruptedException {
+    lock.lock();
+    try {
+      long remaining = timeout.toNanos();
+      while (epoch == this.epoch && sequence == since && remaining > 0) {
+        remaining = appended.awaitNanos(remaining);
+      }
+      return since(since, epoch);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Tells a client to reload its lists, with the position to follow the changes from. */
+  public ClipboardChangesDto snapshot() {
+    lock.lock();
+    try {
+      return new ClipboardChangesDto(epoch, sequence, true, List.of());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long append(String type, Long id, ClipboardEventDto entry, Boolean includePinned) {
+    lock.lock();
+    try {
+      sequence++;
+      changes[(int) (sequence % changes.length)] =
+          new ClipboardChangeDto(sequence, type, id, entry, includePinned);
+      appended.signalAll();
+      return sequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
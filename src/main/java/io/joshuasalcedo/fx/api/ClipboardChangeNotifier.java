@@ -0,0 +1,130 @@
+package io.joshuasalcedo.fx.api;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardChangedEvent;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Passes committed clipboard changes on to WebSocket clients from a dedicated thread.
+ *
+ * <p>Changes arrive once their transaction has committed, so rolled back changes are never
+ * announced and building and sending the events no longer holds the transaction open. A single
+ * thread keeps them in commit order. When its bounded queue is full the committing thread waits
+ * for space instead of dropping the change, since a dropped change would never get a sequence
+ * number in the change log.
+ */
+@Component
+public class ClipboardChangeNotifier {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardChangeNotifier.class);
+
+  private final ClipboardWebSocketController webSocketController;
+  private final ClipboardProperties.Broadcast settings;
+  private final MeterRegistry registry;
+  private final Timer latencyTimer;
+  private final Counter queueFullCounter;
+
+  private ThreadPoolExecutor executor;
+
+  public ClipboardChangeNotifier(
+      ClipboardWebSocketController webSocketController,
+      ClipboardProperties properties,
+      MeterRegistry registry) {
+    this.webSocketController = webSocketController;
+    this.settings = properties.getBroadcast();
+    this.registry = registry;
+    this.latencyTimer =
+        Timer.builder("clipboard.broadcast.latency")
+            .description("Time from a commit until its change is handed to the broadcaster")
+            .register(registry);
+    this.queueFullCounter =
+        Counter.builder("clipboard.broadcast.queue.full")
+            .description("Commits that waited because the notification queue was full")
+            .register(registry);
+  }
+
+  @PostConstruct
+  public void start() {
+    BlockingQueue<Runnable> queue =
+        new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+    executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            queue,
+            runnable -> {
+              Thread thread = new Thread(runnable, "clipboard-notify");
+              thread.setDaemon(true);
+              return thread;
+            },
+            (runnable, pool) -> {
+              if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Clipboard notifier is shut down");
+              }
+              queueFullCounter.increment();
+              try {
+                pool.getQueue().put(runnable);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted waiting for the notifier", e);
+              }
+            });
+    Gauge.builder("clipboard.broadcast.queue.depth", queue, BlockingQueue::size)
+        .description("Committed changes waiting to be broadcast")
+        .register(registry);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    // Let queued changes go out before the broadcaster flushes for the last time
+    executor.shutdown();
+    if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+      log.warn("Dropping {} clipboard notifications on shutdown", executor.getQueue().size());
+      executor.shutdownNow();
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onChange(ClipboardChangedEvent event) {
+    long committedAt = System.nanoTime();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              dispatch(event);
+            } catch (RuntimeException e) {
+              log.warn("Failed to broadcast clipboard change {}: {}", event.type(), e.getMessage());
+            }
+            latencyTimer.record(System.nanoTime() - committedAt, TimeUnit.NANOSECONDS);
+          });
+    } catch (RejectedExecutionException e) {
+      log.warn("Clipboard change {} not broadcast: {}", event.type(), e.getMessage());
+    }
+  }
+
+  private void dispatch(ClipboardChangedEvent event) {
+    switch (event.type()) {
+      case ADDED -> webSocketController.broadcastNewEntry(event.entry());
+      case UPDATED -> webSocketController.broadcastUpdate(event.entry());
+      case DELETED -> webSocketController.broadcastDelete(event.id());
+      case CLEARED -> webSocketController.broadcastClear(event.includePinned());
+      case RELOADED -> webSocketController.broadcastReload();
+    }
+  }
+}
@@ -1,8 +1,13 @@
 package io.joshuasalcedo.fx.api;
 
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardCursor;
 import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
 import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardSummary;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangesDto;
 import io.joshuasalcedo.fx.presentation.dto.ClipboardDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardSliceDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardSummaryDto;
 import io.joshuasalcedo.fx.presentation.request.TogglePinRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,18 +19,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/local/clipboards")
@@ -36,17 +49,21 @@ public class ClipboardController {
   private static final Logger log = LoggerFactory.getLogger(ClipboardController.class);
   private static final int DEFAULT_PAGE_SIZE = 20;
   private static final int MAX_PAGE_SIZE = 100;
+  private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
 
   private final ClipboardService clipboardService;
+  private final ClipboardChangeLog changeLog;
 
-  public ClipboardController(ClipboardService clipboardService) {
+  public ClipboardController(ClipboardService clipboardService, ClipboardChangeLog changeLog) {
     this.clipboardService = clipboardService;
+    this.changeLog = changeLog;
   }
 
   @Operation(
       summary = "Get all clipboard entries",
       description =
-          "Returns a paginated list of clipboard entries sorted by timestamp in descending order")
+          "Returns a paginated list of clipboard entry previews sorted by timestamp in descending"
+              + " order")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -55,10 +72,11 @@ public class ClipboardController {
             content =
                 @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = Page.class)))
+                    schema = @Schema(implementation = Page.class))),
+        @ApiResponse(responseCode = "304", description = "Nothing changed since the given ETag")
       })
   @GetMapping
-  public ResponseEntity<Page<ClipboardDto>> clipboards(
+  public ResponseEntity<Page<ClipboardSummaryDto>> clipboards(
       @Parameter(description = "Page number (zero-based)", example = "0")
           @RequestParam(defaultValue = "0")
           @Min(0)
@@ -66,7 +84,8 @@ public class ClipboardController {
       @Parameter(description = "Number of items per page (max 100)", example = "20")
           @RequestParam(name = "max", defaultValue = "20")
           @Min(1)
-          int size) {
+          int size,
+      WebRequest request) {
 
     log.debug("Getting clipboards - page: {}, size: {}", page, size);
 
@@ -75,10 +94,40 @@ public class ClipboardController {
 
     Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
 
-    Page<ClipboardEntry> entries = clipboardService.findAll(pageable);
-    Page<ClipboardDto> dtos = entries.map(this::toDto);
+    return conditional(request, () -> clipboardService.findAll(pageable).map(this::toSummaryDto));
+  }
 
-    return ResponseEntity.ok(dtos);
+  @Operation(
+      summary = "Scroll clipboard entries",
+      description =
+          "Returns clipboard entry previews newest first, continuing after the given cursor."
+              + " Cost does not grow with how far back the client has scrolled.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved clipboard entries",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ClipboardSliceDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+      })
+  @GetMapping("/scroll")
+  public ResponseEntity<ClipboardSliceDto> scrollClipboards(
+      @Parameter(description = "Continuation token from the previous slice")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Number of items per slice (max 100)", example = "20")
+          @RequestParam(defaultValue = "20")
+          @Min(1)
+          int size) {
+    log.debug("Scrolling clipboards - cursor: {}, size: {}", cursor, size);
+
+    size = Math.min(size, MAX_PAGE_SIZE);
+    Slice<ClipboardSummary> slice = clipboardService.scroll(ClipboardCursor.decode(cursor), size);
+
+    return ResponseEntity.ok(toSliceDto(slice));
   }
 
   @Operation(
@@ -92,21 +141,52 @@ public class ClipboardController {
             content =
                 @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = List.class)))
+                    schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "304", description = "Nothing changed since the given ETag")
       })
   @GetMapping("/pins")
-  public ResponseEntity<List<ClipboardDto>> pinnedClipboards() {
+  public ResponseEntity<List<ClipboardSummaryDto>> pinnedClipboards(WebRequest request) {
     log.debug("Getting pinned clipboards");
 
-    List<ClipboardEntry> pinnedEntries = clipboardService.findAllPinned();
-    List<ClipboardDto> dtos = pinnedEntries.stream().map(this::toDto).collect(Collectors.toList());
+    return conditional(
+        request,
+        () ->
+            clipboardService.findAllPinned().stream()
+                .map(this::toSummaryDto)
+                .collect(Collectors.toList()));
+  }
 
-    return ResponseEntity.ok(dtos);
+  @Operation(
+      summary = "Get a clipboard entry",
+      description = "Returns a single clipboard entry including its full content")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved the clipboard entry",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ClipboardDto.class))),
+        @ApiResponse(responseCode = "404", description = "Clipboard entry not found")
+      })
+  @GetMapping("/{id:\\d+}")
+  public ResponseEntity<ClipboardDto> clipboard(
+      @Parameter(description = "ID of the clipboard entry", required = true, example = "1")
+          @PathVariable
+          Long id) {
+    log.debug("Getting clipboard entry with id: {}", id);
+
+    return clipboardService
+        .findById(id)
+        .map(entry -> ResponseEntity.ok(toDto(entry)))
+        .orElse(ResponseEntity.notFound().build());
   }
 
   @Operation(
       summary = "Toggle pin status",
-      description = "Toggles the pin status of a clipboard entry")
+      description =
+          "Toggles the pin status of a clipboard entry and returns its preview with the new status")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -115,11 +195,11 @@ public class ClipboardController {
             content =
                 @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = ClipboardDto.class))),
+                    schema = @Schema(implementation = ClipboardSummaryDto.class))),
         @ApiResponse(responseCode = "404", description = "Clipboard entry not found")
       })
   @PutMapping("/pin")
-  public ResponseEntity<ClipboardDto> pinClipboards(
+  public ResponseEntity<ClipboardSummaryDto> pinClipboards(
       @Parameter(description = "Toggle pin request with entry ID", required = true)
           @Valid
           @RequestBody
@@ -127,16 +207,8 @@ public class ClipboardController {
     log.debug("Toggling pin for clipboard entry with id: {}", request.id());
 
     return clipboardService
-        .findById(request.id())
-        .map(
-            entry -> {
-              // Toggle the pin status
-              boolean newPinStatus = !entry.isPinned();
-              return clipboardService
-                  .setPinned(request.id(), newPinStatus)
-                  .map(updated -> ResponseEntity.ok(toDto(updated)))
-                  .orElse(ResponseEntity.notFound().build());
-            })
+        .togglePinned(request.id())
+        .map(toggled -> ResponseEntity.ok(toSummaryDto(toggled)))
         .orElse(ResponseEntity.notFound().build());
   }
 
@@ -219,7 +291,7 @@ public class ClipboardController {
                     schema = @Schema(implementation = Page.class)))
       })
   @GetMapping("/search")
-  public ResponseEntity<Page<ClipboardDto>> searchClipboards(
+  public ResponseEntity<Page<ClipboardSummaryDto>> searchClipboards(
       @Parameter(description = "Search query", required = true, example = "example text")
           @RequestParam
           String query,
@@ -237,30 +309,140 @@ public class ClipboardController {
     size = Math.min(size, MAX_PAGE_SIZE);
     Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
 
-    Page<ClipboardEntry> entries = clipboardService.searchByContent(query, pageable);
-    Page<ClipboardDto> dtos = entries.map(this::toDto);
+    Page<ClipboardSummary> entries = clipboardService.searchByContent(query, pageable);
+    Page<ClipboardSummaryDto> dtos = entries.map(this::toSummaryDto);
 
     return ResponseEntity.ok(dtos);
   }
 
+  @Operation(
+      summary = "Scroll search results",
+      description = "Searches clipboard entries by content, continuing after the given cursor")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved search results",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ClipboardSliceDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+      })
+  @GetMapping("/search/scroll")
+  public ResponseEntity<ClipboardSliceDto> scrollSearchClipboards(
+      @Parameter(description = "Search query", required = true, example = "example text")
+          @RequestParam
+          String query,
+      @Parameter(description = "Continuation token from the previous slice")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Number of items per slice (max 100)", example = "20")
+          @RequestParam(defaultValue = "20")
+          @Min(1)
+          int size) {
+    log.debug(
+        "Scrolling search results for query: '{}', cursor: {}, size: {}", query, cursor, size);
+
+    size = Math.min(size, MAX_PAGE_SIZE);
+    Slice<ClipboardSummary> slice =
+        clipboardService.searchScroll(query, ClipboardCursor.decode(cursor), size);
+
+    return ResponseEntity.ok(toSliceDto(slice));
+  }
+
   @GetMapping("/recent")
-  public ResponseEntity<List<ClipboardDto>> getRecentClipboards(
+  public ResponseEntity<List<ClipboardSummaryDto>> getRecentClipboards(
       @RequestParam(defaultValue = "24") @Min(1) int hours) {
 
     log.debug("Getting clipboard entries from the last {} hours", hours);
 
-    List<ClipboardEntry> recentEntries = clipboardService.findRecent(hours);
-    List<ClipboardDto> dtos = recentEntries.stream().map(this::toDto).collect(Collectors.toList());
+    List<ClipboardSummary> recentEntries = clipboardService.findRecent(hours);
+    List<ClipboardSummaryDto> dtos =
+        recentEntries.stream().map(this::toSummaryDto).collect(Collectors.toList());
 
     return ResponseEntity.ok(dtos);
   }
 
+  @Operation(
+      summary = "Get missed changes",
+      description =
+          "Returns the changes after a sequence number from the WebSocket seq and epoch headers,"
+              + " oldest first. When they are no longer kept, or the epoch belongs to an earlier"
+              + " run, snapshotRequired is set and the lists should be reloaded")
+  @GetMapping("/changes")
+  public ResponseEntity<ClipboardChangesDto> changes(
+      @Parameter(description = "Last sequence number seen; omit to get the current position")
+          @RequestParam(required = false)
+          @Min(0)
+          Long since,
+      @Parameter(description = "Epoch the sequence number belongs to")
+          @RequestParam(required = false)
+          Long epoch) {
+    log.debug("Getting clipboard changes since {} of epoch {}", since, epoch);
+
+    return ResponseEntity.ok(
+        since == null || epoch == null ? changeLog.snapshot() : changeLog.since(since, epoch));
+  }
+
   @GetMapping("/stats")
-  public ResponseEntity<ClipboardService.ClipboardStats> getClipboardStats() {
+  public ResponseEntity<ClipboardService.ClipboardStats> getClipboardStats(WebRequest request) {
     log.debug("Getting clipboard statistics");
 
-    ClipboardService.ClipboardStats stats = clipboardService.getStats();
-    return ResponseEntity.ok(stats);
+    return conditional(request, clipboardService::getStats);
+  }
+
+  /**
+   * Answers a conditional GET. A request whose {@code If-None-Match} holds the current version gets
+   * 304 Not Modified without running the query; any other gets the query's result tagged with that
+   * version. Responses ask clients to revalidate every time, so HTTP caches such as the desktop
+   * client's send the tag back on their own.
+   *
+   * <p>JSON and CBOR bodies of the same version differ, so the tag names the representation and
+   * responses vary by {@code Accept}; a cache never serves one format to a client that asked for
+   * the other.
+   */
+  private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> query) {
+    // Read before querying, so a change committed meanwhile is fetched on the next request
+    String etag = "W/\"" + clipboardService.getVersionTag() + representation(request) + "\"";
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .varyBy(HttpHeaders.ACCEPT)
+          .cacheControl(CacheControl.noCache())
+          .build();
+    }
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .varyBy(HttpHeaders.ACCEPT)
+        .cacheControl(CacheControl.noCache())
+        .body(query.get());
+  }
+
+  /**
+   * Names the format content negotiation will pick for a request: nothing for JSON, which is also
+   * what wildcards and a missing {@code Accept} get, and {@code -cbor} for CBOR.
+   */
+  private static String representation(WebRequest request) {
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    if (accept == null) {
+      return "";
+    }
+    try {
+      List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+      MimeTypeUtils.sortBySpecificity(accepted);
+      for (MediaType type : accepted) {
+        if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+          return "";
+        }
+        if (type.isCompatibleWith(CBOR)) {
+          return "-cbor";
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      // Left for content negotiation to reject
+    }
+    return "";
   }
 
   // Helper method to convert entity to DTO
@@ -269,6 +451,26 @@ public class ClipboardController {
         entry.getId(), entry.getTimestamp(), entry.getContent(), entry.isPinned());
   }
 
+  // Helper method to convert a content-free summary to DTO
+  private ClipboardSummaryDto toSummaryDto(ClipboardSummary summary) {
+    return new ClipboardSummaryDto(
+        summary.id(),
+        summary.timestamp(),
+        summary.preview(),
+        summary.contentLength(),
+        summary.contentType(),
+        summary.isPinned(),
+        summary.isTruncated());
+  }
+
+  // Helper method to convert a slice to DTO, with the cursor of its last entry
+  private ClipboardSliceDto toSliceDto(Slice<ClipboardSummary> slice) {
+    List<ClipboardSummaryDto> dtos = slice.stream().map(this::toSummaryDto).toList();
+    String nextCursor =
+        slice.hasNext() ? ClipboardCursor.of(slice.getContent().getLast()).encode() : null;
+    return new ClipboardSliceDto(dtos, nextCursor, slice.hasNext());
+  }
+
   // Response class for stop operation
   public record StopClipboardResponse(boolean success, String message) {}
 }
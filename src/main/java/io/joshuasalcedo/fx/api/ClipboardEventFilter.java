@@ -0,0 +1,63 @@
+package io.joshuasalcedo.fx.api;
+
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangeDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import java.util.Locale;
+
+/**
+ * Which clipboard changes a subscriber wants, shared by the Server-Sent Events feed and filtered
+ * WebSocket subscriptions. New entries have to match every criterion. Updates are not held to
+ * {@code pinnedOnly}, since an update is how a pinned-only subscriber learns that an entry was
+ * unpinned. Deletes and clears are always sent.
+ *
+ * <p>Events carry a preview rather than the content, so {@code keyword} is matched against the
+ * preview only.
+ *
+ * @param pinnedOnly Only send pinned entries
+ * @param minLength Only send entries with at least this many characters; null for any length
+ * @param maxLength Only send entries with at most this many characters; null for any length
+ * @param contentType Only send entries of this content type, such as {@code text/plain}; null for
+ *     any type
+ * @param keyword Only send entries whose preview contains this text, ignoring case; null for any
+ */
+public record ClipboardEventFilter(
+    boolean pinnedOnly, Integer minLength, Integer maxLength, String contentType, String keyword) {
+
+  /** Lets every change through. */
+  public static final ClipboardEventFilter NONE =
+      new ClipboardEventFilter(false, null, null, null, null);
+
+  public ClipboardEventFilter {
+    contentType = contentType == null || contentType.isBlank() ? null : contentType.trim();
+    keyword = keyword == null || keyword.isEmpty() ? null : keyword.toLowerCase(Locale.ROOT);
+  }
+
+  boolean test(ClipboardChangeDto change) {
+    return change.entry() == null || test(change.type(), change.entry());
+  }
+
+  /**
+   * Tests an entry carried by a {@code new} or {@code update} event.
+   *
+   * @param type The change type, one of the {@link ClipboardChangeLog} types
+   * @param entry The entry the event carries
+   */
+  boolean test(String type, ClipboardEventDto entry) {
+    Integer length = entry.contentLength();
+    if (minLength != null && (length == null || length < minLength)) {
+      return false;
+    }
+    if (maxLength != null && (length == null || length > maxLength)) {
+      return false;
+    }
+    if (contentType != null && !contentType.equalsIgnoreCase(entry.contentType())) {
+      return false;
+    }
+    if (keyword != null
+        && (entry.preview() == null
+            || !entry.preview().toLowerCase(Locale.ROOT).contains(keyword))) {
+      return false;
+    }
+    return !pinnedOnly || entry.isPinned() || ClipboardChangeLog.UPDATE.equals(type);
+  }
+}
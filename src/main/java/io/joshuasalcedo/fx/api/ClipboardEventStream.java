@@ -0,0 +1,210 @@
+package io.joshuasalcedo.fx.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangeDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangesDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Serves the Server-Sent Events feed of clipboard changes.
+ *
+ * <p>Every subscriber is served by its own virtual thread, which follows {@link ClipboardChangeLog}
+ * from the subscriber's position and writes the changes that pass its {@link ClipboardEventFilter}.
+ * Nothing is queued per subscriber, so an idle one costs a parked virtual thread and its
+ * connection, and a slow one only holds itself up. A subscriber that falls further behind than the
+ * log keeps gets a {@code ready} event asking it to reload, like a reconnecting WebSocket client.
+ *
+ * <p>Events are named after the change type ({@code new}, {@code update}, {@code delete}, {@code
+ * clear}) and carry a {@link ClipboardChangeDto} as data. Their ID is {@code
+ * <epoch>-<sequence>}, which browsers send back as {@code Last-Event-ID} when they reconnect; the
+ * feed then resumes after that change. Every connection starts with a {@code ready} event holding
+ * the position it follows from and whether the client has to reload its lists first.
+ *
+ * <p>Each change is encoded to JSON once and the text is shared by every subscriber it goes to.
+ */
+@Component
+public class ClipboardEventStream {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardEventStream.class);
+
+  static final String READY = "ready";
+
+  private final ClipboardChangeLog changeLog;
+  private final ObjectMapper objectMapper;
+  private final Duration heartbeat;
+  private final AtomicReferenceArray<Encoded> encoded;
+  private final Counter eventCounter;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ThreadFactory threadFactory =
+      Thread.ofVirtual().name("clipboard-stream-", 0).factory();
+
+  public ClipboardEventStream(
+      ClipboardChangeLog changeLog,
+      ObjectMapper objectMapper,
+      ClipboardProperties properties,
+      MeterRegistry registry) {
+    this.changeLog = changeLog;
+    this.objectMapper = objectMapper;
+    this.heartbeat = properties.getStream().getHeartbeat();
+    this.encoded =
+        new AtomicReferenceArray<>(Math.max(1, properties.getBroadcast().getChangeLogSize()));
+    this.eventCounter =
+        Counter.builder("clipboard.stream.events")
+            .description("Events written to Server-Sent Events subscribers")
+            .register(registry);
+    Gauge.builder("clipboard.stream.subscribers", subscribers, Set::size)
+        .description("Open Server-Sent Events subscriptions")
+        .register(registry);
+  }
+
+  /**
+   * Opens a subscription and starts serving it.
+   *
+   * @param filter Which changes to send
+   * @param lastEventId The {@code Last-Event-ID} header of a reconnecting client, or null
+   * @return The emitter to return from the request
+   */
+  public SseEmitter subscribe(ClipboardEventFilter filter, String lastEventId) {
+    // Never time out; heartbeats find subscribers that went away
+    return subscribe(filter, lastEventId, new SseEmitter(0L));
+  }
+
+  /** Serves a subscription through the given emitter, so tests can see what is sent. */
+  SseEmitter subscribe(ClipboardEventFilter filter, String lastEventId, SseEmitter emitter) {
+    Subscriber subscriber = new Subscriber(emitter, filter);
+    subscriber.thread = threadFactory.newThread(() -> serve(subscriber, start(lastEventId)));
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(e -> subscriber.close());
+    subscribers.add(subscriber);
+    subscriber.thread.start();
+    return emitter;
+  }
+
+  /** Ends every stream before the web server waits for open requests during shutdown. */
+  @EventListener(ContextClosedEvent.class)
+  public void stop() {
+    for (Subscriber subscriber : subscribers) {
+      subscriber.close();
+      try {
+        subscriber.emitter.complete();
+      } catch (RuntimeException e) {
+        log.debug("Failed to end event stream: {}", e.getMessage());
+      }
+    }
+  }
+
+  /** Where a subscription starts: after the client's last event if still kept, else a snapshot. */
+  private ClipboardChangesDto start(String lastEventId) {
+    int separator = lastEventId != null ? lastEventId.indexOf('-') : -1;
+    if (separator > 0) {
+      try {
+        long epoch = Long.parseLong(lastEventId.substring(0, separator));
+        long sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        ClipboardChangesDto missed = changeLog.since(sequence, epoch);
+        return missed.snapshotRequired()
+            ? missed
+            : new ClipboardChangesDto(epoch, sequence, false, List.of());
+      } catch (NumberFormatException e) {
+        log.debug("Ignoring malformed Last-Event-ID: {}", lastEventId);
+      }
+    }
+    return changeLog.snapshot();
+  }
+
+  private void serve(Subscriber subscriber, ClipboardChangesDto start) {
+    long epoch = start.epoch();
+    long position = start.sequence();
+    try {
+      ready(subscriber, start);
+      while (!subscriber.closed) {
+        ClipboardChangesDto next = changeLog.awaitSince(position, epoch, heartbeat);
+        if (next.snapshotRequired()) {
+          position = next.sequence();
+          ready(subscriber, next);
+        } else if (next.changes().isEmpty()) {
+          subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else {
+          for (ClipboardChangeDto change : next.changes()) {
+            if (subscriber.filter.test(change)) {
+              subscriber.emitter.send(
+                  SseEmitter.event()
+                      .name(change.type())
+                      .id(epoch + "-" + change.sequence())
+                      .data(json(change), MediaType.APPLICATION_JSON));
+              eventCounter.increment();
+            }
+            position = change.sequence();
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      // Closed while waiting for changes
+    } catch (IOException e) {
+      log.debug("Event stream subscriber went away: {}", e.getMessage());
+      // Lets the container release the request instead of waiting for a write that never comes
+      subscriber.emitter.completeWithError(e);
+    } catch (IllegalStateException e) {
+      log.debug("Event stream already completed: {}", e.getMessage());
+    } finally {
+      subscribers.remove(subscriber);
+    }
+  }
+
+  /** Encodes a change, or reuses the text encoded for an earlier subscriber. */
+  private String json(ClipboardChangeDto change) throws JsonProcessingException {
+    int slot = (int) (change.sequence() % encoded.length());
+    Encoded cached = encoded.get(slot);
+    if (cached != null && cached.sequence() == change.sequence()) {
+      return cached.json();
+    }
+    String json = objectMapper.writeValueAsString(change);
+    encoded.set(slot, new Encoded(change.sequence(), json));
+    return json;
+  }
+
+  private void ready(Subscriber subscriber, ClipboardChangesDto position) throws IOException {
+    subscriber.emitter.send(
+        SseEmitter.event()
+            .name(READY)
+            .id(position.epoch() + "-" + position.sequence())
+            .data(position));
+  }
+
+  private record Encoded(long sequence, String json) {}
+
+  private static final class Subscriber {
+    final SseEmitter emitter;
+    final ClipboardEventFilter filter;
+    volatile Thread thread;
+    volatile boolean closed;
+
+    Subscriber(SseEmitter emitter, ClipboardEventFilter filter) {
+      this.emitter = emitter;
+      this.filter = filter;
+    }
+
+    void close() {
+      closed = true;
+      // Wakes the thread if it is waiting for changes
+      thread.interrupt();
+    }
+  }
+}
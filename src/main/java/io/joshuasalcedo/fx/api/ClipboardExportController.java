@@ -1,21 +1,24 @@
 package io.joshuasalcedo.fx.api;
 
-import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/local/clipboards/export")
@@ -25,11 +28,14 @@ import org.springframework.web.bind.annotation.*;
     description = "API for exporting clipboard entries in different formats")
 public class ClipboardExportController {
   private static final Logger log = LoggerFactory.getLogger(ClipboardExportController.class);
+  private static final String COMPRESSION_DESCRIPTION =
+      "Download as a compressed file: none, gzip or zstd. When omitted, the response is"
+          + " compressed transparently if Accept-Encoding allows it";
 
-  private final ClipboardService clipboardService;
+  private final ClipboardExporter clipboardExporter;
 
-  public ClipboardExportController(ClipboardService clipboardService) {
-    this.clipboardService = clipboardService;
+  public ClipboardExportController(ClipboardExporter clipboardExporter) {
+    this.clipboardExporter = clipboardExporter;
   }
 
   @Operation(
@@ -44,30 +50,46 @@ public class ClipboardExportController {
         @ApiResponse(responseCode = "500", description = "Export failed")
       })
   @GetMapping("/json")
-  public CompletableFuture<ResponseEntity<String>> exportAsJson(
+  public ResponseEntity<StreamingResponseBody> exportAsJson(
       @Parameter(description = "Whether to include pinned entries in export", example = "true")
           @RequestParam(defaultValue = "true")
-          boolean includePinned) {
+          boolean includePinned,
+      @Parameter(description = COMPRESSION_DESCRIPTION, example = "gzip")
+          @RequestParam(required = false)
+          String compression,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
 
     log.info("Exporting clipboard entries as JSON - includePinned: {}", includePinned);
 
-    return clipboardService
-        .exportEntries(ClipboardService.ExportFormat.JSON, includePinned)
-        .thenApply(
-            content -> {
-              String filename = generateFilename("clipboard_export", "json");
-
-              return ResponseEntity.ok()
-                  .header(
-                      HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                  .contentType(MediaType.APPLICATION_JSON)
-                  .body(content);
-            })
-        .exceptionally(
-            ex -> {
-              log.error("Failed to export as JSON", ex);
-              return ResponseEntity.internalServerError().body("{\"error\":\"Export failed\"}");
-            });
+    return export(ExportFormat.JSON, includePinned, compression, acceptEncoding);
+  }
+
+  @Operation(
+      summary = "Export clipboard entries as NDJSON",
+      description = "Exports clipboard entries as newline-delimited JSON, one entry per line")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully exported clipboard entries",
+            content = @Content(mediaType = "application/x-ndjson")),
+        @ApiResponse(responseCode = "500", description = "Export failed")
+      })
+  @GetMapping("/ndjson")
+  public ResponseEntity<StreamingResponseBody> exportAsNdjson(
+      @Parameter(description = "Whether to include pinned entries in export", example = "true")
+          @RequestParam(defaultValue = "true")
+          boolean includePinned,
+      @Parameter(description = COMPRESSION_DESCRIPTION, example = "gzip")
+          @RequestParam(required = false)
+          String compression,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
+
+    log.info("Exporting clipboard entries as NDJSON - includePinned: {}", includePinned);
+
+    return export(ExportFormat.NDJSON, includePinned, compression, acceptEncoding);
   }
 
   @Operation(
@@ -82,30 +104,19 @@ public class ClipboardExportController {
         @ApiResponse(responseCode = "500", description = "Export failed")
       })
   @GetMapping("/csv")
-  public CompletableFuture<ResponseEntity<String>> exportAsCsv(
+  public ResponseEntity<StreamingResponseBody> exportAsCsv(
       @Parameter(description = "Whether to include pinned entries in export", example = "true")
           @RequestParam(defaultValue = "true")
-          boolean includePinned) {
+          boolean includePinned,
+      @Parameter(description = COMPRESSION_DESCRIPTION, example = "gzip")
+          @RequestParam(required = false)
+          String compression,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
 
     log.info("Exporting clipboard entries as CSV - includePinned: {}", includePinned);
 
-    return clipboardService
-        .exportEntries(ClipboardService.ExportFormat.CSV, includePinned)
-        .thenApply(
-            content -> {
-              String filename = generateFilename("clipboard_export", "csv");
-
-              return ResponseEntity.ok()
-                  .header(
-                      HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                  .contentType(MediaType.parseMediaType("text/csv"))
-                  .body(content);
-            })
-        .exceptionally(
-            ex -> {
-              log.error("Failed to export as CSV", ex);
-              return ResponseEntity.internalServerError().body("Export failed");
-            });
+    return export(ExportFormat.CSV, includePinned, compression, acceptEncoding);
   }
 
   @Operation(
@@ -120,30 +131,105 @@ public class ClipboardExportController {
         @ApiResponse(responseCode = "500", description = "Export failed")
       })
   @GetMapping("/txt")
-  public CompletableFuture<ResponseEntity<String>> exportAsText(
+  public ResponseEntity<StreamingResponseBody> exportAsText(
       @Parameter(description = "Whether to include pinned entries in export", example = "true")
           @RequestParam(defaultValue = "true")
-          boolean includePinned) {
+          boolean includePinned,
+      @Parameter(description = COMPRESSION_DESCRIPTION, example = "gzip")
+          @RequestParam(required = false)
+          String compression,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
 
     log.info("Exporting clipboard entries as text - includePinned: {}", includePinned);
 
-    return clipboardService
-        .exportEntries(ClipboardService.ExportFormat.TXT, includePinned)
-        .thenApply(
-            content -> {
-              String filename = generateFilename("clipboard_export", "txt");
-
-              return ResponseEntity.ok()
-                  .header(
-                      HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                  .contentType(MediaType.TEXT_PLAIN)
-                  .body(content);
-            })
-        .exceptionally(
-            ex -> {
-              log.error("Failed to export as text", ex);
-              return ResponseEntity.internalServerError().body("Export failed");
-            });
+    return export(ExportFormat.TXT, includePinned, compression, acceptEncoding);
+  }
+
+  /**
+   * Streams the export straight to the response. Once the first bytes are sent the status can no
+   * longer change, so failures past that point end the download early and are only logged.
+   *
+   * <p>An explicit {@code compression} parameter produces a compressed file download; otherwise
+   * the best coding accepted by the client is applied as a {@code Content-Encoding}.
+   */
+  private ResponseEntity<StreamingResponseBody> export(
+      ExportFormat format, boolean includePinned, String compressionParam, String acceptEncoding) {
+    boolean download = compressionParam != null && !compressionParam.isBlank();
+    Compression compression =
+        download ? Compression.fromName(compressionParam.trim()) : negotiate(acceptEncoding);
+
+    String filename =
+        generateFilename("clipboard_export", format.getExtension())
+            + (download ? compression.getSuffix() : "");
+    StreamingResponseBody body =
+        out -> {
+          try {
+            clipboardExporter.export(format, includePinned, compression, out);
+          } catch (IOException | RuntimeException e) {
+            log.error("Failed to export as {} ({})", format, compression, e);
+            throw e;
+          }
+        };
+
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+    if (download) {
+      return response
+          .contentType(
+              MediaType.parseMediaType(
+                  compression == Compression.NONE
+                      ? format.getMediaType()
+                      : compression.getMediaType()))
+          .body(body);
+    }
+    response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (compression != Compression.NONE) {
+      response.header(HttpHeaders.CONTENT_ENCODING, compression.getEncoding());
+    }
+    return response.contentType(MediaType.parseMediaType(format.getMediaType())).body(body);
+  }
+
+  /**
+   * Picks the content coding with the highest q-value in {@code Accept-Encoding}, preferring zstd
+   * over gzip on a tie. Codings with {@code q=0} are refused; anything else falls back to none.
+   */
+  private Compression negotiate(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return Compression.NONE;
+    }
+    Compression best = Compression.NONE;
+    double bestQuality = 0;
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.split(";");
+      String coding = parts[0].trim();
+      double quality = 1;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            quality = Double.parseDouble(parameter.substring(2));
+          } catch (NumberFormatException e) {
+            quality = 0;
+          }
+        }
+      }
+      Compression candidate;
+      if (coding.equalsIgnoreCase("zstd")) {
+        candidate = Compression.ZSTD;
+      } else if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+        candidate = Compression.GZIP;
+      } else {
+        continue;
+      }
+      if (quality > bestQuality
+          || (quality > 0 && quality == bestQuality && candidate == Compression.ZSTD)) {
+        best = candidate;
+        bestQuality = quality;
+      }
+    }
+    return best;
   }
 
   private String generateFilename(String prefix, String extension) {
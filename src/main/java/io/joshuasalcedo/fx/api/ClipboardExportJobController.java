@@ -0,0 +1,241 @@
+package io.joshuasalcedo.fx.api;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExportJob;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExportJobService;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExportWatermark;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardExportJobDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.net.URI;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/local/clipboards/export/jobs")
+@CrossOrigin(originPatterns = "*", maxAge = 3600)
+@Tag(
+    name = "Clipboard Export Jobs",
+    description = "API for running exports in the background and downloading them when done")
+public class ClipboardExportJobController {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardExportJobController.class);
+  private static final String BASE_PATH = "/api/local/clipboards/export/jobs/";
+
+  private final ClipboardExportJobService exportJobService;
+
+  public ClipboardExportJobController(ClipboardExportJobService exportJobService) {
+    this.exportJobService = exportJobService;
+  }
+
+  @Operation(
+      summary = "Start an export job",
+      description =
+          "Exports the history into a file in the background, oldest entry first. With a"
+              + " watermark from an earlier job only entries added or copied again since then are"
+              + " exported")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "202", description = "Job queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid format or watermark"),
+        @ApiResponse(responseCode = "429", description = "Too many jobs are waiting")
+      })
+  @PostMapping
+  public ResponseEntity<ClipboardExportJobDto> startJob(
+      @Parameter(description = "Export format: json, ndjson, csv or txt", example = "ndjson")
+          @RequestParam(defaultValue = "ndjson")
+          String format,
+      @Parameter(description = "Compression of the file: none, gzip or zstd", example = "zstd")
+          @RequestParam(defaultValue = "none")
+          String compression,
+      @Parameter(description = "Whether to include pinned entries in export", example = "true")
+          @RequestParam(defaultValue = "true")
+          boolean includePinned,
+      @Parameter(description = "Watermark of an earlier job; omit for a full export")
+          @RequestParam(required = false)
+          String since) {
+
+    ExportFormat exportFormat = resolveFormat(format);
+    Compression fileCompression = Compression.fromName(compression.trim());
+    ClipboardExportWatermark watermark = ClipboardExportWatermark.decode(since);
+    log.info("Starting export job as {} ({}), since {}", exportFormat, fileCompression, watermark);
+
+    try {
+      ClipboardExportJob job =
+          exportJobService.start(exportFormat, fileCompression, includePinned, watermark);
+      return accepted(job);
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+    }
+  }
+
+  @Operation(summary = "List export jobs", description = "Lists retained jobs, newest first")
+  @GetMapping
+  public ResponseEntity<List<ClipboardExportJobDto>> jobs() {
+    return ResponseEntity.ok(exportJobService.list().stream().map(this::toDto).toList());
+  }
+
+  @Operation(summary = "Get an export job", description = "Reports the status and progress")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+      })
+  @GetMapping("/{id}")
+  public ResponseEntity<ClipboardExportJobDto> job(@PathVariable String id) {
+    return exportJobService
+        .find(id)
+        .map(job -> ResponseEntity.ok(toDto(job)))
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  @Operation(
+      summary = "Cancel an export job",
+      description =
+          "Stops the job after the chunk of entries it is writing. The file keeps the entries"
+              + " exported so far and stays downloadable")
+  @PostMapping("/{id}/cancel")
+  public ResponseEntity<ClipboardExportJobDto> cancelJob(@PathVariable String id) {
+    return exportJobService
+        .find(id)
+        .map(
+            job -> {
+              log.info("Cancelling export job {}", id);
+              exportJobService.cancel(job);
+              return ResponseEntity.ok(toDto(job));
+            })
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  @Operation(
+      summary = "Resume an export job",
+      description =
+          "Starts a job with the same settings that exports what a cancelled or failed job did"
+              + " not get to")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "202", description = "Job queued"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired job"),
+        @ApiResponse(responseCode = "409", description = "Job was not cancelled or failed"),
+        @ApiResponse(responseCode = "429", description = "Too many jobs are waiting")
+      })
+  @PostMapping("/{id}/resume")
+  public ResponseEntity<ClipboardExportJobDto> resumeJob(@PathVariable String id) {
+    ClipboardExportJob job = exportJobService.find(id).orElse(null);
+    if (job == null) {
+      return ResponseEntity.notFound().build();
+    }
+    if (!job.isResumable()) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(toDto(job));
+    }
+
+    log.info("Resuming export job {} after ID {}", id, job.getLastId());
+    try {
+      return accepted(exportJobService.resume(job));
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+    }
+  }
+
+  @Operation(summary = "Discard an export job", description = "Cancels it and deletes its file")
+  @DeleteMapping("/{id}")
+  public ResponseEntity<Void> discardJob(@PathVariable String id) {
+    return exportJobService
+        .find(id)
+        .map(
+            job -> {
+              exportJobService.discard(job);
+              return ResponseEntity.noContent().<Void>build();
+            })
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  @Operation(
+      summary = "Download an export",
+      description =
+          "Serves the file of a completed or cancelled job. Supports Range requests, so an"
+              + " interrupted download can be continued")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "The export file"),
+        @ApiResponse(responseCode = "206", description = "The requested ranges of the file"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired job"),
+        @ApiResponse(responseCode = "409", description = "Job has no file to download yet")
+      })
+  @GetMapping("/{id}/download")
+  public ResponseEntity<Resource> download(@PathVariable String id) {
+    ClipboardExportJob job = exportJobService.find(id).orElse(null);
+    if (job == null) {
+      return ResponseEntity.notFound().build();
+    }
+    if (!job.isDownloadable()) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    Compression compression = job.getCompression();
+    String filename =
+        String.format(
+            "clipboard_export_%s.%s%s",
+            job.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
+            job.getFormat().getExtension(),
+            compression.getSuffix());
+    // Range and If-Range handling for Resource bodies is done by Spring MVC
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+        .contentType(
+            MediaType.parseMediaType(
+                compression == Compression.NONE
+                    ? job.getFormat().getMediaType()
+                    : compression.getMediaType()))
+        .lastModified(job.getFinishedAt().atZone(ZoneId.systemDefault()))
+        .body(new FileSystemResource(job.getFile()));
+  }
+
+  private ResponseEntity<ClipboardExportJobDto> accepted(ClipboardExportJob job) {
+    return ResponseEntity.accepted()
+        .location(URI.create(BASE_PATH + job.getId()))
+        .body(toDto(job));
+  }
+
+  private ExportFormat resolveFormat(String format) {
+    return Arrays.stream(ExportFormat.values())
+        .filter(f -> f.getExtension().equalsIgnoreCase(format.trim()))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + format));
+  }
+
+  private ClipboardExportJobDto toDto(ClipboardExportJob job) {
+    return new ClipboardExportJobDto(
+        job.getId(),
+        job.getStatus().name(),
+        job.getFormat().getExtension(),
+        job.getCompression().getEncoding(),
+        job.isIncludePinned(),
+        job.getSince() != null ? job.getSince().encode() : null,
+        job.getExported(),
+        job.getTotal(),
+        job.getProgress(),
+        job.getSize(),
+        job.getWatermark() != null ? job.getWatermark().encode() : null,
+        job.isResumable(),
+        job.isDownloadable() ? BASE_PATH + job.getId() + "/download" : null,
+        job.getError(),
+        job.getCreatedAt(),
+        job.getFinishedAt());
+  }
+}
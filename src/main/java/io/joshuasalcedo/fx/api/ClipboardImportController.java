@@ -0,0 +1,95 @@
+package io.joshuasalcedo.fx.api;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardImportResult;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardImporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/local/clipboards/import")
+@CrossOrigin(originPatterns = "*", maxAge = 3600)
+@Tag(
+    name = "Clipboard Import",
+    description = "API for loading exported clipboard entries back into the history")
+public class ClipboardImportController {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardImportController.class);
+
+  private final ClipboardImporter clipboardImporter;
+
+  public ClipboardImportController(ClipboardImporter clipboardImporter) {
+    this.clipboardImporter = clipboardImporter;
+  }
+
+  @Operation(
+      summary = "Import clipboard entries",
+      description =
+          "Streams a JSON, NDJSON or CSV export back into the history, keeping timestamps and"
+              + " pin state. Content that is already stored is skipped. The body may be gzip or"
+              + " zstd compressed when Content-Encoding says so")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import finished",
+            content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Unsupported format or malformed input")
+      })
+  @PostMapping
+  public ResponseEntity<ClipboardImportResult> importEntries(
+      @Parameter(
+              description =
+                  "Format of the body: json, ndjson or csv. Defaults to the one matching"
+                      + " Content-Type",
+              example = "ndjson")
+          @RequestParam(required = false)
+          String format,
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+      @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false)
+          String contentEncoding,
+      InputStream body)
+      throws IOException {
+
+    ExportFormat importFormat = resolveFormat(format, contentType);
+    Compression compression =
+        contentEncoding == null || contentEncoding.isBlank()
+            ? Compression.NONE
+            : Compression.fromName(contentEncoding.trim());
+    log.info("Importing clipboard entries as {} ({})", importFormat, compression);
+
+    return ResponseEntity.ok(clipboardImporter.importFrom(importFormat, compression, body));
+  }
+
+  private ExportFormat resolveFormat(String format, String contentType) {
+    if (format != null && !format.isBlank()) {
+      return Arrays.stream(ExportFormat.values())
+          .filter(f -> f.getExtension().equalsIgnoreCase(format.trim()))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Unsupported import format: " + format));
+    }
+    if (contentType != null) {
+      MediaType mediaType = MediaType.parseMediaType(contentType);
+      for (ExportFormat candidate : ExportFormat.values()) {
+        if (MediaType.parseMediaType(candidate.getMediaType()).equalsTypeAndSubtype(mediaType)) {
+          return candidate;
+        }
+      }
+    }
+    throw new IllegalArgumentException(
+        "Cannot tell the import format from Content-Type " + contentType + "; pass ?format=");
+  }
+}
@@ -0,0 +1,85 @@
+package io.joshuasalcedo.fx.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/local/clipboards/stream")
+@CrossOrigin(originPatterns = "*", maxAge = 3600)
+@Validated
+@Tag(
+    name = "Clipboard Stream",
+    description = "Server-Sent Events feed of clipboard changes for lightweight consumers")
+public class ClipboardStreamController {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardStreamController.class);
+
+  private final ClipboardEventStream eventStream;
+
+  public ClipboardStreamController(ClipboardEventStream eventStream) {
+    this.eventStream = eventStream;
+  }
+
+  @Operation(
+      summary = "Stream clipboard changes",
+      description =
+          "Streams new, update, delete and clear events as Server-Sent Events, starting with a"
+              + " ready event. Event IDs are <epoch>-<sequence>; reconnecting with Last-Event-ID"
+              + " resumes after that event, or sends a ready event with snapshotRequired set when"
+              + " it is no longer kept. Filters apply to new entries; updates skip the pinned"
+              + " filter so unpins are seen, and deletes and clears are always sent")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Event stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE))
+      })
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> stream(
+      @Parameter(description = "Only send pinned entries", example = "false")
+          @RequestParam(defaultValue = "false")
+          boolean pinned,
+      @Parameter(description = "Only send entries with at least this many characters")
+          @RequestParam(required = false)
+          @Min(0)
+          Integer minLength,
+      @Parameter(description = "Only send entries with at most this many characters")
+          @RequestParam(required = false)
+          @Min(0)
+          Integer maxLength,
+      @Parameter(description = "Only send entries of this content type", example = "text/plain")
+          @RequestParam(required = false)
+          String contentType,
+      @Parameter(description = "Only send entries whose preview contains this text")
+          @RequestParam(required = false)
+          String keyword,
+      @Parameter(description = "ID of the last event received before reconnecting")
+          @RequestHeader(value = "Last-Event-ID", required = false)
+          String lastEventId) {
+    log.debug(
+        "Opening clipboard event stream - pinned: {}, length: {}-{}, contentType: {}, keyword: {},"
+            + " from: {}",
+        pinned,
+        minLength,
+        maxLength,
+        contentType,
+        keyword,
+        lastEventId);
+
+    ClipboardEventFilter filter =
+        new ClipboardEventFilter(pinned, minLength, maxLength, contentType, keyword);
+    return ResponseEntity.ok(eventStream.subscribe(filter, lastEventId));
+  }
+}
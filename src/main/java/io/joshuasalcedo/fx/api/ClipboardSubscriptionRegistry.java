@@ -0,0 +1,149 @@
+package io.joshuasalcedo.fx.api;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+/**
+ * Keeps track of filtered WebSocket subscriptions.
+ *
+ * <p>Clients that only want some entries, such as a pinned-only dock or a widget for links,
+ * subscribe to {@code /user/queue/clipboard/{new,update,delete,clear,reload}} instead of the
+ * topics and describe what they want in {@code filter-pinned}, {@code filter-min-length}, {@code
+ * filter-max-length}, {@code filter-content-type} and {@code filter-keyword} headers on the
+ * SUBSCRIBE frame. {@link ClipboardBroadcastAggregator} then sends each of them only the entries
+ * that pass its {@link ClipboardEventFilter}. A subscription without filter headers gets every
+ * event, like a topic subscriber.
+ */
+@Component
+public class ClipboardSubscriptionRegistry {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardSubscriptionRegistry.class);
+
+  static final String QUEUE_PREFIX = "/queue/clipboard/";
+  static final String USER_QUEUE_PREFIX = "/user" + QUEUE_PREFIX;
+  static final String PINNED_HEADER = "filter-pinned";
+  static final String MIN_LENGTH_HEADER = "filter-min-length";
+  static final String MAX_LENGTH_HEADER = "filter-max-length";
+  static final String CONTENT_TYPE_HEADER = "filter-content-type";
+  static final String KEYWORD_HEADER = "filter-keyword";
+
+  private static final Set<String> TYPES =
+      Set.of(
+          ClipboardChangeLog.NEW,
+          ClipboardChangeLog.UPDATE,
+          ClipboardChangeLog.DELETE,
+          ClipboardChangeLog.CLEAR,
+          ClipboardChangeLog.RELOAD);
+
+  // Session ID -> subscription ID -> subscription
+  private final Map<String, Map<String, Subscription>> sessions = new ConcurrentHashMap<>();
+
+  public ClipboardSubscriptionRegistry(MeterRegistry registry) {
+    Gauge.builder(
+            "clipboard.websocket.filtered.subscriptions",
+            this,
+            ClipboardSubscriptionRegistry::count)
+        .description("WebSocket subscriptions to filtered clipboard queues")
+        .register(registry);
+  }
+
+  @EventListener
+  public void subscribed(SessionSubscribeEvent event) {
+    register(event.getMessage());
+  }
+
+  @EventListener
+  public void unsubscribed(SessionUnsubscribeEvent event) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+    Map<String, Subscription> subscriptions = sessions.get(accessor.getSessionId());
+    if (subscriptions != null && accessor.getSubscriptionId() != null) {
+      subscriptions.remove(accessor.getSubscriptionId());
+    }
+  }
+
+  @EventListener
+  public void disconnected(SessionDisconnectEvent event) {
+    sessions.remove(event.getSessionId());
+  }
+
+  /**
+   * Records a SUBSCRIBE frame if it is for a filtered queue.
+   *
+   * @param message The SUBSCRIBE frame
+   */
+  void register(Message<?> message) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+    String destination = accessor.getDestination();
+    if (destination == null || !destination.startsWith(USER_QUEUE_PREFIX)) {
+      return;
+    }
+    String type = destination.substring(USER_QUEUE_PREFIX.length());
+    String sessionId = accessor.getSessionId();
+    String subscriptionId = accessor.getSubscriptionId();
+    if (!TYPES.contains(type) || sessionId == null || subscriptionId == null) {
+      return;
+    }
+    ClipboardEventFilter filter = filterOf(accessor);
+    log.debug("Session {} subscribed to {} with {}", sessionId, destination, filter);
+    sessions
+        .computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+        .put(subscriptionId, new Subscription(type, filter));
+  }
+
+  /** Filtered subscriptions by session ID. */
+  Map<String, Map<String, Subscription>> sessions() {
+    return sessions;
+  }
+
+  int count() {
+    return sessions.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /**
+   * Reads the filter headers of a STOMP frame. Malformed lengths are ignored rather than rejected,
+   * since the subscription has already been made by the time its event arrives.
+   *
+   * @param accessor The headers of the frame
+   * @return The filter, or {@link ClipboardEventFilter#NONE} without filter headers
+   */
+  static ClipboardEventFilter filterOf(SimpMessageHeaderAccessor accessor) {
+    return new ClipboardEventFilter(
+        Boolean.parseBoolean(accessor.getFirstNativeHeader(PINNED_HEADER)),
+        length(accessor, MIN_LENGTH_HEADER),
+        length(accessor, MAX_LENGTH_HEADER),
+        accessor.getFirstNativeHeader(CONTENT_TYPE_HEADER),
+        accessor.getFirstNativeHeader(KEYWORD_HEADER));
+  }
+
+  private static Integer length(SimpMessageHeaderAccessor accessor, String header) {
+    String value = accessor.getFirstNativeHeader(header);
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed {} header: {}", header, value);
+      return null;
+    }
+  }
+
+  /**
+   * A filtered subscription of a session.
+   *
+   * @param type The change type it receives, one of the {@link ClipboardChangeLog} types
+   * @param filter The entries it wants
+   */
+  record Subscription(String type, ClipboardEventFilter filter) {}
+}
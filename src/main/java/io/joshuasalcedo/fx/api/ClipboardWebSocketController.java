@@ -1,54 +1,96 @@
 package io.joshuasalcedo.fx.api;
 
 import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
-import io.joshuasalcedo.fx.presentation.dto.ClipboardDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangesDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+/**
+ * Pushes clipboard changes to WebSocket clients. Events are batched per topic by {@link
+ * ClipboardBroadcastAggregator}, so subscribers receive lists rather than single events.
+ *
+ * <p>Clients that only want some entries subscribe to {@code /user/queue/clipboard/*} with filter
+ * headers instead of the topics; see {@link ClipboardSubscriptionRegistry}. The aggregator
+ * evaluates each distinct filter once per event and sends a session only what passes its filter.
+ */
 @Controller
 public class ClipboardWebSocketController {
   private static final Logger log = LoggerFactory.getLogger(ClipboardWebSocketController.class);
 
-  private final SimpMessagingTemplate messagingTemplate;
+  private final ClipboardBroadcastAggregator broadcastAggregator;
+  private final ClipboardChangeLog changeLog;
 
-  public ClipboardWebSocketController(SimpMessagingTemplate messagingTemplate) {
-    this.messagingTemplate = messagingTemplate;
+  public ClipboardWebSocketController(
+      ClipboardBroadcastAggregator broadcastAggregator, ClipboardChangeLog changeLog) {
+    this.broadcastAggregator = broadcastAggregator;
+    this.changeLog = changeLog;
   }
 
   /** Broadcasts a new clipboard entry to all connected clients */
   public void broadcastNewEntry(ClipboardEntry entry) {
     log.debug("Broadcasting new clipboard entry to WebSocket clients");
 
-    ClipboardDto dto =
-        new ClipboardDto(entry.getId(), entry.getTimestamp(), entry.getContent(), entry.isPinned());
-
-    messagingTemplate.convertAndSend("/topic/clipboard/new", dto);
+    broadcastAggregator.entryAdded(toEventDto(entry));
   }
 
   /** Broadcasts when an entry is updated (e.g., pinned/unpinned) */
   public void broadcastUpdate(ClipboardEntry entry) {
     log.debug("Broadcasting clipboard update for entry ID: {}", entry.getId());
 
-    ClipboardDto dto =
-        new ClipboardDto(entry.getId(), entry.getTimestamp(), entry.getContent(), entry.isPinned());
-
-    messagingTemplate.convertAndSend("/topic/clipboard/update", dto);
+    broadcastAggregator.entryUpdated(toEventDto(entry));
   }
 
   /** Broadcasts when an entry is deleted */
   public void broadcastDelete(Long entryId) {
     log.debug("Broadcasting clipboard deletion for entry ID: {}", entryId);
-    messagingTemplate.convertAndSend("/topic/clipboard/delete", entryId);
+    broadcastAggregator.entryDeleted(entryId);
   }
 
   /** Broadcasts when all entries are cleared */
   public void broadcastClear(boolean includePinned) {
     log.debug("Broadcasting clipboard clear event - includePinned: {}", includePinned);
-    messagingTemplate.convertAndSend("/topic/clipboard/clear", new ClearEvent(includePinned));
+    broadcastAggregator.historyCleared(includePinned);
+  }
+
+  /** Broadcasts that entries were imported or purged in bulk, so clients reload their lists */
+  public void broadcastReload() {
+    log.debug("Broadcasting clipboard reload event");
+    broadcastAggregator.historyReloaded();
+  }
+
+  /**
+   * Replies once to a subscription to {@code /app/clipboard/changes} with the changes after the
+   * {@code since} header. Clients subscribe to the topics first and then send the {@code seq} and
+   * {@code epoch} headers of the last batch they received; without them, or when the changes are
+   * no longer kept, the reply asks for a snapshot. Filtered clients send the filter headers of
+   * their queue subscriptions along and only get the changes that pass them.
+   */
+  @SubscribeMapping("/clipboard/changes")
+  public ClipboardChangesDto changes(
+      @Header(name = "since", required = false) Long since,
+      @Header(name = "epoch", required = false) Long epoch,
+      SimpMessageHeaderAccessor headers) {
+    log.debug("Replaying clipboard changes since {} of epoch {}", since, epoch);
+    if (since == null || epoch == null) {
+      return changeLog.snapshot();
+    }
+    ClipboardChangesDto changes = changeLog.since(since, epoch);
+    ClipboardEventFilter filter = ClipboardSubscriptionRegistry.filterOf(headers);
+    if (filter.equals(ClipboardEventFilter.NONE) || changes.changes().isEmpty()) {
+      return changes;
+    }
+    return new ClipboardChangesDto(
+        changes.epoch(),
+        changes.sequence(),
+        changes.snapshotRequired(),
+        changes.changes().stream().filter(filter::test).toList());
   }
 
   /** Handles ping messages to keep WebSocket connection alive */
@@ -58,6 +100,30 @@ public class ClipboardWebSocketController {
     return "pong";
   }
 
+  /**
+   * Describes an entry without its content, so an event costs the same whatever the entry's size.
+   * Clients fetch the full content from {@code GET /api/local/clipboards/{id}} when they need it.
+   */
+  private ClipboardEventDto toEventDto(ClipboardEntry entry) {
+    String preview =
+        entry.getPreview() != null
+            ? entry.getPreview()
+            : ClipboardEntry.previewOf(entry.getContent());
+    Integer contentLength =
+        entry.getContentLength() != null
+            ? entry.getContentLength()
+            : entry.getContent() != null ? entry.getContent().length() : null;
+    return new ClipboardEventDto(
+        entry.getId(),
+        entry.getTimestamp(),
+        preview,
+        contentLength,
+        entry.getContentType(),
+        entry.isPinned(),
+        entry.getRevision(),
+        contentLength != null && preview != null && preview.length() < contentLength);
+  }
+
   // Event classes
   public record ClearEvent(boolean includePinned) {}
 }
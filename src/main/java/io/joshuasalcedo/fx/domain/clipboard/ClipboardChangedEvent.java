@@ -0,0 +1,46 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+/**
+ * Published by {@link ClipboardService} inside the transaction that changed the history. Listeners
+ * that tell the outside world about it should wait for the commit, so a rolled back change is never
+ * announced.
+ *
+ * <p>Imports and purges change too many entries to announce one by one, so they are published as
+ * {@link Type#RELOADED}, which tells listeners to load the history again.
+ *
+ * @param type What happened
+ * @param entry The added or updated entry; null otherwise
+ * @param id The ID of the added, updated or deleted entry; null for a clear or reload
+ * @param includePinned Whether a clear removed pinned entries too
+ */
+public record ClipboardChangedEvent(
+    Type type, ClipboardEntry entry, Long id, boolean includePinned) {
+
+  public enum Type {
+    ADDED,
+    UPDATED,
+    DELETED,
+    CLEARED,
+    RELOADED
+  }
+
+  static ClipboardChangedEvent added(ClipboardEntry entry) {
+    return new ClipboardChangedEvent(Type.ADDED, entry, entry.getId(), false);
+  }
+
+  static ClipboardChangedEvent updated(ClipboardEntry entry) {
+    return new ClipboardChangedEvent(Type.UPDATED, entry, entry.getId(), false);
+  }
+
+  static ClipboardChangedEvent deleted(Long id) {
+    return new ClipboardChangedEvent(Type.DELETED, null, id, false);
+  }
+
+  static ClipboardChangedEvent cleared(boolean includePinned) {
+    return new ClipboardChangedEvent(Type.CLEARED, null, null, includePinned);
+  }
+
+  static ClipboardChangedEvent reloaded() {
+    return new ClipboardChangedEvent(Type.RELOADED, null, null, false);
+  }
+}
@@ -0,0 +1,61 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the history ordered by {@code (timestamp DESC, id DESC)}.
+ *
+ * <p>Clients only see the opaque token from {@link #encode()}; the next slice starts strictly
+ * after the entry the cursor points at, so paging never scans skipped rows.
+ */
+public record ClipboardCursor(LocalDateTime timestamp, Long id) {
+
+  private static final char SEPARATOR = '|';
+
+  public ClipboardCursor {
+    if (timestamp == null || id == null) {
+      throw new IllegalArgumentException("Cursor requires a timestamp and an id");
+    }
+  }
+
+  /** Creates a cursor pointing at the given entry. */
+  public static ClipboardCursor of(ClipboardSummary summary) {
+    return new ClipboardCursor(summary.timestamp(), summary.id());
+  }
+
+  /** Encodes this cursor as a URL-safe continuation token. */
+  public String encode() {
+    String raw = timestamp.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a continuation token produced by {@link #encode()}.
+   *
+   * @param token The token, or null for the first slice
+   * @return The cursor, or null if no token was given
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static ClipboardCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+      }
+      return new ClipboardCursor(
+          LocalDateTime.parse(raw.substring(0, separator)),
+          Long.parseLong(raw.substring(separator + 1)));
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token, e);
+    }
+  }
+}
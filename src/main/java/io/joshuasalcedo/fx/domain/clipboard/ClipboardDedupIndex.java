@@ -0,0 +1,113 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index from content digest to the most recent entry with that content.
+ *
+ * <p>Lets duplicate detection answer without a database round-trip. Only entries inside the
+ * duplicate check window need to be present; older ones are evicted lazily on lookup and in bulk by
+ * {@link #evictOlderThan(LocalDateTime, boolean)}.
+ */
+@Component
+public class ClipboardDedupIndex {
+
+  private final Map<String, Slot> byDigest = new ConcurrentHashMap<>();
+  private final Map<Long, String> byId = new ConcurrentHashMap<>();
+
+  /**
+   * Finds the entry holding the given content digest.
+   *
+   * @param digest The content digest
+   * @param since Entries last seen before this are ignored
+   * @return The entry ID, or empty if no entry inside the window has this digest
+   */
+  public Optional<Long> find(String digest, LocalDateTime since) {
+    Slot slot = byDigest.get(digest);
+    if (slot == null) {
+      return Optional.empty();
+    }
+    if (slot.timestamp().isBefore(since)) {
+      remove(slot.id());
+      return Optional.empty();
+    }
+    return Optional.of(slot.id());
+  }
+
+  /** Records that the entry with the given ID holds the given digest as of timestamp. */
+  public void record(String digest, Long id, LocalDateTime timestamp, boolean pinned) {
+    if (digest == null || id == null) return;
+    Slot current = byDigest.get(digest);
+    if (current != null && !current.id().equals(id) && current.timestamp().isAfter(timestamp)) {
+      // A newer entry already owns this content
+      return;
+    }
+    String previous = byId.put(id, digest);
+    if (previous != null && !previous.equals(digest)) {
+      byDigest.remove(previous);
+    }
+    byDigest.put(digest, new Slot(id, timestamp, pinned));
+  }
+
+  /** Updates the pin state of an indexed entry. */
+  public void updatePinned(Long id, boolean pinned) {
+    String digest = byId.get(id);
+    if (digest != null) {
+      byDigest.computeIfPresent(
+          digest, (key, slot) -> slot.id().equals(id) ? slot.withPinned(pinned) : slot);
+    }
+  }
+
+  /** Removes the entry with the given ID. */
+  public void remove(Long id) {
+    String digest = byId.remove(id);
+    if (digest != null) {
+      byDigest.computeIfPresent(digest, (key, slot) -> slot.id().equals(id) ? null : slot);
+    }
+  }
+
+  /** Removes all unpinned entries. */
+  public void removeUnpinned() {
+    byDigest.values().stream()
+        .filter(slot -> !slot.pinned())
+        .map(Slot::id)
+        .toList()
+        .forEach(this::remove);
+  }
+
+  /**
+   * Removes entries last seen before the threshold.
+   *
+   * @param threshold Entries with an older timestamp are removed
+   * @param includePinned Whether pinned entries are removed as well
+   */
+  public void evictOlderThan(LocalDateTime threshold, boolean includePinned) {
+    byDigest.values().stream()
+        .filter(slot -> slot.timestamp().isBefore(threshold))
+        .filter(slot -> includePinned || !slot.pinned())
+        .map(Slot::id)
+        .toList()
+        .forEach(this::remove);
+  }
+
+  /** Removes all entries. */
+  public void clear() {
+    byDigest.clear();
+    byId.clear();
+  }
+
+  /** Returns the number of indexed digests. */
+  public int size() {
+    return byDigest.size();
+  }
+
+  private record Slot(Long id, LocalDateTime timestamp, boolean pinned) {
+    Slot withPinned(boolean pinned) {
+      return new Slot(id, timestamp, pinned);
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.time.LocalDateTime;
+
+/** Digest, pin state and timestamp of an entry - enough to rebuild the dedup index. */
+public record ClipboardDedupKey(
+    Long id, String contentHash, LocalDateTime timestamp, boolean isPinned) {}
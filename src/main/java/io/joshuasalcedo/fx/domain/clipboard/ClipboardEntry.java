@@ -4,14 +4,35 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.Objects;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(
     name = "clipboard_entries",
-    indexes = {@Index(name = "idx_timestamp", columnList = "timestamp")})
+    indexes = {
+      @Index(name = "idx_timestamp_id", columnList = "timestamp, id"),
+      @Index(name = "idx_content_hash", columnList = "content_hash")
+    })
 public class ClipboardEntry {
+  /** Maximum number of characters kept in the preview column. */
+  public static final int PREVIEW_LENGTH = 200;
+
+  /** Database sequence backing entry IDs. */
+  public static final String ID_SEQUENCE = "clipboard_entries_seq";
+
+  /**
+   * IDs reserved per sequence call. Hibernate's pooled optimizer hands them out in memory, which
+   * keeps JDBC insert batching possible where IDENTITY columns force one round-trip per row.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clipboard_entry_id")
+  @SequenceGenerator(
+      name = "clipboard_entry_id",
+      sequenceName = ID_SEQUENCE,
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(columnDefinition = "TEXT", nullable = false)
@@ -35,11 +56,23 @@ public class ClipboardEntry {
   @Column(name = "content_length")
   private Integer contentLength;
 
+  @Column(name = "preview", length = PREVIEW_LENGTH)
+  private String preview;
+
+  /** Bumped by every update, so clients can tell which of two events about an entry is newer. */
+  @ColumnDefault("0")
+  @Column(name = "revision", nullable = false)
+  private long revision;
+
   @PrePersist
   public void prePersist() {
     if (content != null) {
       this.contentLength = content.length();
-      this.contentHash = generateContentHash();
+      // Callers that already hashed the content for dedup pass the digest in
+      if (contentHash == null) {
+        this.contentHash = ContentDigest.of(content);
+      }
+      this.preview = previewOf(content);
     }
     if (timestamp == null) {
       this.timestamp = LocalDateTime.now();
@@ -48,16 +81,28 @@ public class ClipboardEntry {
 
   @PreUpdate
   public void preUpdate() {
+    revision++;
     if (content != null) {
       this.contentLength = content.length();
-      this.contentHash = generateContentHash();
+      // setContent drops the digest when the content changes
+      if (contentHash == null) {
+        this.contentHash = ContentDigest.of(content);
+      }
+      this.preview = previewOf(content);
     }
   }
 
-  private String generateContentHash() {
-    if (content == null) return null;
-    // Simple hash using content only (timestamp makes entries unique even with same content)
-    return String.valueOf(Math.abs(content.hashCode()));
+  /**
+   * Returns the leading part of the content shown in list views.
+   *
+   * @param content The full clipboard content
+   * @return At most {@link #PREVIEW_LENGTH} characters, never ending in half a surrogate pair
+   */
+  public static String previewOf(String content) {
+    if (content == null || content.length() <= PREVIEW_LENGTH) return content;
+    int end = PREVIEW_LENGTH;
+    if (Character.isHighSurrogate(content.charAt(end - 1))) end--;
+    return content.substring(0, end);
   }
 
   public boolean isDuplicate(ClipboardEntry other) {
@@ -82,6 +127,27 @@ public class ClipboardEntry {
     this.contentLength = contentLength;
   }
 
+  /**
+   * A detached entry without its content, as selected by {@link
+   * ClipboardRepository#findWithoutContentById}.
+   */
+  public ClipboardEntry(
+      Long id,
+      LocalDateTime timestamp,
+      String preview,
+      Integer contentLength,
+      String contentType,
+      boolean isPinned,
+      long revision) {
+    this.id = id;
+    this.timestamp = timestamp;
+    this.preview = preview;
+    this.contentLength = contentLength;
+    this.contentType = contentType;
+    this.isPinned = isPinned;
+    this.revision = revision;
+  }
+
   // Getters
   public Long getId() {
     return id;
@@ -111,12 +177,24 @@ public class ClipboardEntry {
     return contentLength;
   }
 
+  public String getPreview() {
+    return preview;
+  }
+
+  public long getRevision() {
+    return revision;
+  }
+
   // Setters
   public void setId(Long id) {
     this.id = id;
   }
 
+  /** Sets the content; the content hash is recomputed on the next save if it changed. */
   public void setContent(String content) {
+    if (!Objects.equals(this.content, content)) {
+      this.contentHash = null;
+    }
     this.content = content;
   }
 
@@ -140,6 +218,14 @@ public class ClipboardEntry {
     this.contentLength = contentLength;
   }
 
+  public void setPreview(String preview) {
+    this.preview = preview;
+  }
+
+  public void setRevision(long revision) {
+    this.revision = revision;
+  }
+
   // Builder
   public static ClipboardEntryBuilder builder() {
     return new ClipboardEntryBuilder();
@@ -0,0 +1,84 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recomputes derived columns for rows written by older versions of the application.
+ *
+ * <p>Runs once in the background after startup, newest rows first so the duplicate check window is
+ * covered early. Each batch commits separately, so an interrupted run simply resumes on the next
+ * start.
+ */
+@Component
+public class ClipboardEntryBackfill {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardEntryBackfill.class);
+  private static final int BATCH_SIZE = 200;
+
+  private final ClipboardRepository clipboardRepository;
+  private final ClipboardDedupIndex dedupIndex;
+  private final ClipboardService clipboardService;
+  private final TransactionTemplate transactionTemplate;
+
+  public ClipboardEntryBackfill(
+      ClipboardRepository clipboardRepository,
+      ClipboardDedupIndex dedupIndex,
+      ClipboardService clipboardService,
+      PlatformTransactionManager transactionManager) {
+    this.clipboardRepository = clipboardRepository;
+    this.dedupIndex = dedupIndex;
+    this.clipboardService = clipboardService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    Thread worker = new Thread(this::run, "clipboard-backfill");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  private void run() {
+    try {
+      long total = 0;
+      int updated;
+      do {
+        updated = transactionTemplate.execute(status -> backfillBatch());
+        total += updated;
+      } while (updated > 0);
+
+      if (total > 0) {
+        log.info("Backfilled content hash and preview for {} clipboard entries", total);
+      }
+    } catch (Exception e) {
+      log.error("Clipboard entry backfill failed", e);
+    }
+  }
+
+  private int backfillBatch() {
+    List<Long> ids = clipboardRepository.findIdsNeedingBackfill(PageRequest.of(0, BATCH_SIZE));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    LocalDateTime since = clipboardService.getDuplicateCheckThreshold();
+    for (ClipboardEntry entry : clipboardRepository.findAllById(ids)) {
+      String digest = ContentDigest.of(entry.getContent());
+      clipboardRepository.updateDerivedColumns(
+          entry.getId(), digest, ClipboardEntry.previewOf(entry.getContent()));
+      if (entry.getTimestamp().isAfter(since)) {
+        dedupIndex.record(digest, entry.getId(), entry.getTimestamp(), entry.isPinned());
+      }
+    }
+    log.debug("Backfilled {} clipboard entries", ids.size());
+    return ids.size();
+  }
+}
@@ -0,0 +1,218 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+
+/**
+ * An export running in the background into a file, oldest entry first.
+ *
+ * <p>The export thread updates the progress after every entry; everything else only reads it.
+ * Entries are written in ID order, so a cancelled job's file holds every entry up to {@link
+ * #getLastId()} and a resumed job carries on from there. A failed job's file is discarded, so
+ * resuming it starts over from where that job started.
+ */
+public class ClipboardExportJob {
+
+  /** Lifecycle of an export job */
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED;
+
+    public boolean isFinished() {
+      return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+  }
+
+  private final String id;
+  private final ExportFormat format;
+  private final Compression compression;
+  private final boolean includePinned;
+  private final ClipboardExportWatermark since;
+  private final long afterId;
+  private final ClipboardExportWatermark startWatermark;
+  private final Path file;
+  private final LocalDateTime createdAt = LocalDateTime.now();
+
+  private volatile Status status = Status.QUEUED;
+  private volatile boolean cancelRequested;
+  private volatile long total = -1;
+  private volatile long exported;
+  private volatile long lastId;
+  private volatile ClipboardExportWatermark watermark;
+  private volatile String error;
+  private volatile LocalDateTime finishedAt;
+  private volatile Future<?> future;
+
+  ClipboardExportJob(
+      String id,
+      ExportFormat format,
+      Compression compression,
+      boolean includePinned,
+      ClipboardExportWatermark since,
+      long afterId,
+      ClipboardExportWatermark watermark,
+      Path file) {
+    this.id = id;
+    this.format = format;
+    this.compression = compression;
+    this.includePinned = includePinned;
+    this.since = since;
+    this.afterId = afterId;
+    this.lastId = afterId;
+    this.startWatermark = watermark;
+    this.watermark = watermark;
+    this.file = file;
+  }
+
+  /**
+   * Records an entry written by the export thread.
+   *
+   * @return Whether the export should go on
+   */
+  boolean written(ClipboardEntry entry) {
+    exported++;
+    lastId = entry.getId();
+    watermark = watermark == null ? ClipboardExportWatermark.of(entry) : watermark.include(entry);
+    return !cancelRequested;
+  }
+
+  /** Asks the job to stop; a queued job is cancelled at once. */
+  synchronized void cancel() {
+    cancelRequested = true;
+    if (status == Status.QUEUED) {
+      if (future != null) future.cancel(false);
+      finish(Status.CANCELLED, null);
+    }
+  }
+
+  /** Moves a queued job to running, unless it was cancelled in the meantime. */
+  synchronized boolean start() {
+    if (status != Status.QUEUED) return false;
+    status = Status.RUNNING;
+    return true;
+  }
+
+  synchronized void finish(Status status, String error) {
+    this.status = status;
+    this.error = error;
+    this.finishedAt = LocalDateTime.now();
+  }
+
+  boolean isCancelRequested() {
+    return cancelRequested;
+  }
+
+  /** Checks whether a new job can carry on where this one stopped. */
+  public boolean isResumable() {
+    return status == Status.CANCELLED || status == Status.FAILED;
+  }
+
+  /** Checks whether the job left a file to download. */
+  public boolean isDownloadable() {
+    return (status == Status.COMPLETED || status == Status.CANCELLED) && Files.exists(file);
+  }
+
+  /** Share of the counted entries exported so far, from 0 to 1. */
+  public double getProgress() {
+    if (status == Status.COMPLETED) return 1;
+    long counted = total;
+    return counted <= 0 ? 0 : Math.min(1, (double) exported / counted);
+  }
+
+  /** Size of the file written so far, in bytes. */
+  public long getSize() {
+    try {
+      return Files.exists(file) ? Files.size(file) : 0;
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  // Getters
+  public String getId() {
+    return id;
+  }
+
+  public ExportFormat getFormat() {
+    return format;
+  }
+
+  public Compression getCompression() {
+    return compression;
+  }
+
+  public boolean isIncludePinned() {
+    return includePinned;
+  }
+
+  /** Watermark the export started from, or null for a full export. */
+  public ClipboardExportWatermark getSince() {
+    return since;
+  }
+
+  /** The job exports entries with a higher ID only; 0 unless it resumes another job. */
+  public long getAfterId() {
+    return afterId;
+  }
+
+  /** Watermark the job started with, covering any job it resumes. */
+  ClipboardExportWatermark getStartWatermark() {
+    return startWatermark;
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  /** Number of entries to export, counted when the job starts, or -1 before that. */
+  public long getTotal() {
+    return total;
+  }
+
+  public long getExported() {
+    return exported;
+  }
+
+  /** ID of the last entry written. */
+  public long getLastId() {
+    return lastId;
+  }
+
+  /** Watermark covering {@link #getSince()} and every entry written, for the next export. */
+  public ClipboardExportWatermark getWatermark() {
+    return watermark;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  // Setters
+  void setTotal(long total) {
+    this.total = total;
+  }
+
+  void setFuture(Future<?> future) {
+    this.future = future;
+  }
+}
@@ -0,0 +1,262 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExportJob.Status;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs exports in the background into files that can be downloaded once they are done.
+ *
+ * <p>Jobs run on a small dedicated pool with a bounded queue, so a burst of requests cannot tie up
+ * the threads that serve the application. A job can be polled for progress and cancelled, and an
+ * incremental job only exports what changed since the watermark of an earlier one. Jobs are kept
+ * in memory for the configured retention; their files do not outlive a restart.
+ */
+@Service
+public class ClipboardExportJobService {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardExportJobService.class);
+  private static final String FILE_PREFIX = "export-";
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ClipboardExporter clipboardExporter;
+  private final ClipboardRepository clipboardRepository;
+  private final ClipboardProperties.Export settings;
+  private final Map<String, ClipboardExportJob> jobs = new ConcurrentHashMap<>();
+
+  private Path directory;
+  private ThreadPoolExecutor executor;
+
+  public ClipboardExportJobService(
+      ClipboardExporter clipboardExporter,
+      ClipboardRepository clipboardRepository,
+      ClipboardProperties properties) {
+    this.clipboardExporter = clipboardExporter;
+    this.clipboardRepository = clipboardRepository;
+    this.settings = properties.getExport();
+  }
+
+  @PostConstruct
+  public void open() throws IOException {
+    String location = settings.getJobDirectory();
+    directory =
+        location == null || location.isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "fx-exports")
+            : Path.of(location);
+    Files.createDirectories(directory);
+    // Jobs only live in memory, so files left by an earlier run can no longer be downloaded
+    try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+      for (Path leftover : leftovers) {
+        Files.deleteIfExists(leftover);
+      }
+    }
+
+    AtomicInteger threads = new AtomicInteger();
+    executor =
+        new ThreadPoolExecutor(
+            settings.getJobThreads(),
+            settings.getJobThreads(),
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(settings.getMaxQueuedJobs()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "clipboard-export-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void close() {
+    jobs.values().forEach(ClipboardExportJob::cancel);
+    executor.shutdown();
+  }
+
+  /**
+   * Starts an export job.
+   *
+   * @param format The export format
+   * @param compression How to compress the file
+   * @param includePinned Whether to include pinned entries
+   * @param since Only export entries added or copied again after this watermark; null for all
+   * @return The queued job
+   * @throws RejectedExecutionException if too many jobs are already waiting
+   */
+  public ClipboardExportJob start(
+      ExportFormat format,
+      Compression compression,
+      boolean includePinned,
+      ClipboardExportWatermark since) {
+    return submit(format, compression, includePinned, since, 0, since);
+  }
+
+  /**
+   * Starts a job that carries on where a cancelled or failed one stopped, with the same settings.
+   * The new job writes its own file holding the entries the earlier one did not get to.
+   *
+   * @throws IllegalStateException if the job is not cancelled or failed
+   * @throws RejectedExecutionException if too many jobs are already waiting
+   */
+  public ClipboardExportJob resume(ClipboardExportJob job) {
+    if (!job.isResumable()) {
+      throw new IllegalStateException("Export job " + job.getId() + " is " + job.getStatus());
+    }
+    boolean cancelled = job.getStatus() == Status.CANCELLED;
+    return submit(
+        job.getFormat(),
+        job.getCompression(),
+        job.isIncludePinned(),
+        job.getSince(),
+        cancelled ? job.getLastId() : job.getAfterId(),
+        cancelled ? job.getWatermark() : job.getStartWatermark());
+  }
+
+  public Optional<ClipboardExportJob> find(String id) {
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  /** Returns the retained jobs, newest first. */
+  public List<ClipboardExportJob> list() {
+    removeExpired();
+    return jobs.values().stream()
+        .sorted(Comparator.comparing(ClipboardExportJob::getCreatedAt).reversed())
+        .toList();
+  }
+
+  /**
+   * Asks a job to stop. A running job finishes the chunk of entries it is writing and closes its
+   * file, which stays downloadable with the entries exported so far.
+   */
+  public void cancel(ClipboardExportJob job) {
+    job.cancel();
+  }
+
+  /** Cancels a job if needed, forgets it and deletes its file. */
+  public void discard(ClipboardExportJob job) {
+    job.cancel();
+    jobs.remove(job.getId());
+    // A running job deletes its own file once it notices the cancellation
+    if (job.getStatus().isFinished()) {
+      deleteFile(job);
+    }
+  }
+
+  private ClipboardExportJob submit(
+      ExportFormat format,
+      Compression compression,
+      boolean includePinned,
+      ClipboardExportWatermark since,
+      long afterId,
+      ClipboardExportWatermark watermark) {
+    removeExpired();
+    String id = UUID.randomUUID().toString();
+    Path file =
+        directory.resolve(
+            FILE_PREFIX + id + "." + format.getExtension() + compression.getSuffix());
+    ClipboardExportJob job =
+        new ClipboardExportJob(
+            id, format, compression, includePinned, since, afterId, watermark, file);
+
+    jobs.put(id, job);
+    try {
+      job.setFuture(executor.submit(() -> run(job)));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(id);
+      throw e;
+    }
+    log.info(
+        "Queued export job {} as {} ({}), since {}, after ID {}",
+        id,
+        format,
+        compression,
+        since,
+        afterId);
+    return job;
+  }
+
+  private void run(ClipboardExportJob job) {
+    if (!job.start()) return;
+
+    ClipboardExportWatermark since = job.getSince();
+    long afterId = job.getAfterId();
+    boolean includePinned = job.isIncludePinned();
+    try (OutputStream out =
+        new BufferedOutputStream(Files.newOutputStream(job.getFile()), BUFFER_SIZE)) {
+      clipboardExporter.export(
+          job.getFormat(),
+          job.getCompression(),
+          () -> {
+            if (since == null) {
+              job.setTotal(clipboardRepository.countFrom(afterId, includePinned));
+              return clipboardRepository.streamFrom(afterId, includePinned);
+            }
+            job.setTotal(
+                clipboardRepository.countChangedFrom(
+                    afterId, includePinned, since.id(), since.timestamp()));
+            return clipboardRepository.streamChangedFrom(
+                afterId, includePinned, since.id(), since.timestamp());
+          },
+          out,
+          job::written);
+    } catch (IOException | RuntimeException e) {
+      log.error("Export job {} failed after {} entries", job.getId(), job.getExported(), e);
+      job.finish(Status.FAILED, e.getMessage());
+      deleteFile(job);
+      return;
+    }
+
+    job.finish(job.isCancelRequested() ? Status.CANCELLED : Status.COMPLETED, null);
+    if (!jobs.containsKey(job.getId())) {
+      deleteFile(job);
+    }
+    log.info(
+        "Export job {} {} with {} entries, {} bytes",
+        job.getId(),
+        job.getStatus(),
+        job.getExported(),
+        job.getSize());
+  }
+
+  private void removeExpired() {
+    LocalDateTime threshold = LocalDateTime.now().minus(settings.getJobRetention());
+    jobs.values()
+        .removeIf(
+            job -> {
+              LocalDateTime finishedAt = job.getFinishedAt();
+              if (finishedAt == null || !finishedAt.isBefore(threshold)) return false;
+              deleteFile(job);
+              return true;
+            });
+  }
+
+  private void deleteFile(ClipboardExportJob job) {
+    try {
+      Files.deleteIfExists(job.getFile());
+    } catch (IOException e) {
+      log.warn("Could not delete export file {}: {}", job.getFile(), e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * High-water marks of an export: the highest ID and the latest timestamp it contained.
+ *
+ * <p>An incremental export from a watermark picks up entries added since (a higher ID) and
+ * entries copied again since (a later timestamp). Clients only see the opaque token from {@link
+ * #encode()}.
+ */
+public record ClipboardExportWatermark(long id, LocalDateTime timestamp) {
+
+  private static final char SEPARATOR = '|';
+
+  public ClipboardExportWatermark {
+    if (timestamp == null) {
+      throw new IllegalArgumentException("Watermark requires a timestamp");
+    }
+  }
+
+  /** Creates a watermark covering only the given entry. */
+  public static ClipboardExportWatermark of(ClipboardEntry entry) {
+    return new ClipboardExportWatermark(entry.getId(), entry.getTimestamp());
+  }
+
+  /** Returns this watermark raised to cover the given entry as well. */
+  public ClipboardExportWatermark include(ClipboardEntry entry) {
+    long maxId = Math.max(id, entry.getId());
+    LocalDateTime maxTimestamp =
+        entry.getTimestamp().isAfter(timestamp) ? entry.getTimestamp() : timestamp;
+    return maxId == id && maxTimestamp == timestamp
+        ? this
+        : new ClipboardExportWatermark(maxId, maxTimestamp);
+  }
+
+  /** Encodes this watermark as a URL-safe token. */
+  public String encode() {
+    String raw = timestamp.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token produced by {@link #encode()}.
+   *
+   * @param token The token, or null for a full export
+   * @return The watermark, or null if no token was given
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static ClipboardExportWatermark decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Invalid watermark: " + token);
+      }
+      return new ClipboardExportWatermark(
+          Long.parseLong(raw.substring(separator + 1)),
+          LocalDateTime.parse(raw.substring(0, separator)));
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid watermark: " + token, e);
+    }
+  }
+}
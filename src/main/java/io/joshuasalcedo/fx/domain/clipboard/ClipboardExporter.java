@@ -0,0 +1,536 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes the clipboard history to an output stream as it is read.
+ *
+ * <p>Entries are read through a database cursor and detached as they are read. They are cut into
+ * chunks that are formatted in parallel on a small pool, then written in their original order.
+ * Only a few chunks per formatter thread are in flight at once, so memory use stays bounded
+ * whatever the size of the history. JSON and NDJSON go through a streaming {@link JsonGenerator}
+ * that escapes content as it encodes it. Compressed exports are compressed as they are written,
+ * never buffered as a whole archive.
+ */
+@Component
+public class ClipboardExporter {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardExporter.class);
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final int CHUNK_ENTRIES = 256;
+  private static final int CHUNK_CHARS = 1024 * 1024;
+  private static final int CHUNKS_PER_THREAD = 2;
+  private static final byte[] CSV_HEADER =
+      "ID,Content,Timestamp,Pinned\n".getBytes(StandardCharsets.UTF_8);
+  private static final SerializedString COMMA = new SerializedString(",");
+
+  private final ClipboardRepository clipboardRepository;
+  private final EntityManager entityManager;
+  private final JsonFactory jsonFactory;
+  private final ClipboardProperties.Export settings;
+  private final MeterRegistry registry;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService formatters;
+  private final int window;
+
+  public ClipboardExporter(
+      ClipboardRepository clipboardRepository,
+      EntityManager entityManager,
+      ObjectMapper objectMapper,
+      ClipboardProperties properties,
+      MeterRegistry registry,
+      PlatformTransactionManager transactionManager) {
+    this.clipboardRepository = clipboardRepository;
+    this.entityManager = entityManager;
+    this.jsonFactory = objectMapper.getFactory();
+    this.settings = properties.getExport();
+    this.registry = registry;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+
+    int threads =
+        settings.getFormatThreads() > 0
+            ? settings.getFormatThreads()
+            : Runtime.getRuntime().availableProcessors();
+    this.window = CHUNKS_PER_THREAD * threads;
+    AtomicInteger created = new AtomicInteger();
+    this.formatters =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "clipboard-export-format-" + created.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void close() {
+    formatters.shutdownNow();
+  }
+
+  /**
+   * Exports clipboard entries, newest first, uncompressed.
+   *
+   * @param format The export format
+   * @param includePinned Whether to include pinned entries
+   * @param out Where to write the export; flushed but not closed
+   * @return The number of exported entries
+   */
+  public long export(ExportFormat format, boolean includePinned, OutputStream out)
+      throws IOException {
+    return export(format, includePinned, Compression.NONE, out);
+  }
+
+  /**
+   * Exports clipboard entries, newest first, compressing them on the fly at the configured level.
+   * A failed export is left unfinished rather than closed into a valid, truncated archive.
+   *
+   * @param format The export format
+   * @param includePinned Whether to include pinned entries
+   * @param compression How to compress the export
+   * @param out Where to write the export; flushed but not closed
+   * @return The number of exported entries
+   */
+  public long export(
+      ExportFormat format, boolean includePinned, Compression compression, OutputStream out)
+      throws IOException {
+    return export(
+        format,
+        compression,
+        () ->
+            includePinned ? clipboardRepository.streamAll() : clipboardRepository.streamUnpinned(),
+        out,
+        entry -> true);
+  }
+
+  /**
+   * Exports the entries of {@code source}, which is opened inside the read-only transaction.
+   *
+   * <p>{@code written} sees each entry once it is written and returns false to stop. The export
+   * then ends after the chunk holding that entry and is finished normally, so it holds exactly the
+   * entries reported so far.
+   *
+   * @return The number of exported entries
+   */
+  long export(
+      ExportFormat format,
+      Compression compression,
+      Supplier<Stream<ClipboardEntry>> source,
+      OutputStream out,
+      Predicate<ClipboardEntry> written)
+      throws IOException {
+    int level = levelOf(compression);
+    long started = System.nanoTime();
+    long cpuStarted = THREADS.getCurrentThreadCpuTime();
+    LongAdder formatCpu = new LongAdder();
+
+    CountingOutputStream encoded = new CountingOutputStream(out);
+    OutputStream compressed = compression.wrap(encoded, level);
+    CountingOutputStream raw = new CountingOutputStream(compressed);
+    long count;
+    try {
+      count =
+          transactionTemplate.execute(
+              status -> {
+                try (Stream<ClipboardEntry> entries = source.get()) {
+                  return writeChunks(format, entries.iterator(), raw, written, formatCpu);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    // Writes the compression trailer; the target stream itself stays open
+    compressed.close();
+
+    long cpu = cpuStarted < 0 ? -1 : THREADS.getCurrentThreadCpuTime() - cpuStarted;
+    record(format, compression, level, raw.count(), encoded.count(), started, cpu, formatCpu);
+    log.info(
+        "Exported {} clipboard entries as {} ({}): {} bytes, {} encoded",
+        count,
+        format,
+        compression,
+        raw.count(),
+        encoded.count());
+    return count;
+  }
+
+  private int levelOf(Compression compression) {
+    return switch (compression) {
+      case NONE -> 0;
+      case GZIP -> settings.getGzipLevel();
+      case ZSTD -> settings.getZstdLevel();
+    };
+  }
+
+  private void record(
+      ExportFormat format,
+      Compression compression,
+      int level,
+      long rawBytes,
+      long encodedBytes,
+      long started,
+      long cpu,
+      LongAdder formatCpu) {
+    String[] tags = {
+      "format", format.getExtension(),
+      "compression", compression.getEncoding(),
+      "level", String.valueOf(level)
+    };
+    Timer.builder("clipboard.export.duration")
+        .description("Wall-clock time to produce one export")
+        .tags(tags)
+        .register(registry)
+        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    // Wall time includes waiting on slow clients; CPU time is what formatting and compression cost
+    if (cpu >= 0) {
+      Timer.builder("clipboard.export.cpu")
+          .description("CPU time spent formatting and compressing one export, on all threads")
+          .tags(tags)
+          .register(registry)
+          .record(cpu + formatCpu.sum(), TimeUnit.NANOSECONDS);
+    }
+    DistributionSummary.builder("clipboard.export.bytes")
+        .description("Size of one export before compression")
+        .baseUnit("bytes")
+        .tags(tags)
+        .tag("stage", "raw")
+        .register(registry)
+        .record(rawBytes);
+    DistributionSummary.builder("clipboard.export.bytes")
+        .description("Size of one export as sent")
+        .baseUnit("bytes")
+        .tags(tags)
+        .tag("stage", "encoded")
+        .register(registry)
+        .record(encodedBytes);
+  }
+
+  /**
+   * Cuts the entries into chunks, formats them on the formatter pool and writes them in order.
+   * Reading stops while {@link #window} chunks are in flight, which caps memory use and holds the
+   * database cursor back when the output is slow.
+   */
+  private long writeChunks(
+      ExportFormat format,
+      Iterator<ClipboardEntry> entries,
+      OutputStream out,
+      Predicate<ClipboardEntry> written,
+      LongAdder formatCpu)
+      throws IOException {
+    Deque<Chunk> inFlight = new ArrayDeque<>(window);
+    long count = 0;
+    try {
+      if (format == ExportFormat.JSON) out.write('[');
+      if (format == ExportFormat.CSV) out.write(CSV_HEADER);
+
+      List<ClipboardEntry> chunk = new ArrayList<>(CHUNK_ENTRIES);
+      long chunkChars = 0;
+      boolean proceed = true;
+      while (proceed) {
+        boolean more = entries.hasNext();
+        if (more) {
+          ClipboardEntry entry = entries.next();
+          // Read entries must not pile up in the persistence context
+          entityManager.detach(entry);
+          chunk.add(entry);
+          chunkChars += entry.getContent().length();
+        }
+        if (!chunk.isEmpty()
+            && (!more || chunk.size() >= CHUNK_ENTRIES || chunkChars >= CHUNK_CHARS)) {
+          inFlight.add(submit(format, chunk, formatCpu));
+          chunk = new ArrayList<>(CHUNK_ENTRIES);
+          chunkChars = 0;
+        }
+
+        while (proceed && !inFlight.isEmpty() && (!more || inFlight.size() >= window)) {
+          Chunk head = inFlight.poll();
+          byte[] bytes = head.await();
+          if (format == ExportFormat.JSON && count > 0) out.write(',');
+          out.write(bytes);
+          // Every entry of a written chunk is reported, even when one of them asks to stop
+          for (ClipboardEntry entry : head.entries()) {
+            count++;
+            if (!written.test(entry)) proceed = false;
+          }
+        }
+        if (!more) break;
+      }
+
+      if (format == ExportFormat.JSON) out.write(']');
+    } finally {
+      inFlight.forEach(pending -> pending.bytes().cancel(true));
+    }
+    out.flush();
+    return count;
+  }
+
+  private Chunk submit(ExportFormat format, List<ClipboardEntry> entries, LongAdder formatCpu) {
+    return new Chunk(
+        entries,
+        formatters.submit(
+            () -> {
+              long cpuStarted = THREADS.getCurrentThreadCpuTime();
+              byte[] bytes = format(format, entries);
+              if (cpuStarted >= 0) {
+                formatCpu.add(THREADS.getCurrentThreadCpuTime() - cpuStarted);
+              }
+              return bytes;
+            }));
+  }
+
+  /** Formats one chunk; JSON chunks are comma-separated objects without the enclosing array. */
+  private byte[] format(ExportFormat format, List<ClipboardEntry> entries) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+    switch (format) {
+      case JSON, NDJSON -> writeJson(format, entries, out);
+      case CSV, TXT -> writePlain(format, entries, out);
+    }
+    return out.toByteArray();
+  }
+
+  private void writeJson(ExportFormat format, List<ClipboardEntry> entries, OutputStream out)
+      throws IOException {
+    boolean lines = format == ExportFormat.NDJSON;
+    try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+      generator.setRootValueSeparator(lines ? null : COMMA);
+      for (ClipboardEntry entry : entries) {
+        generator.writeStartObject();
+        generator.writeNumberField("id", entry.getId());
+        generator.writeStringField("content", entry.getContent());
+        generator.writeStringField("timestamp", String.valueOf(entry.getTimestamp()));
+        generator.writeBooleanField("pinned", entry.isPinned());
+        generator.writeEndObject();
+        if (lines) generator.writeRaw('\n');
+      }
+    }
+  }
+
+  private void writePlain(ExportFormat format, List<ClipboardEntry> entries, OutputStream out)
+      throws IOException {
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    for (ClipboardEntry entry : entries) {
+      if (format == ExportFormat.CSV) {
+        writeCsv(entry, writer);
+      } else {
+        writeText(entry, writer);
+      }
+    }
+    writer.flush();
+  }
+
+  private void writeCsv(ClipboardEntry entry, Writer writer) throws IOException {
+    writer.write(String.valueOf(entry.getId()));
+    writer.write(",\"");
+    writer.write(escapeCsv(entry.getContent()));
+    writer.write("\",");
+    writer.write(String.valueOf(entry.getTimestamp()));
+    writer.write(',');
+    writer.write(String.valueOf(entry.isPinned()));
+    writer.write('\n');
+  }
+
+  private void writeText(ClipboardEntry entry, Writer writer) throws IOException {
+    writer.write("=== Entry ");
+    writer.write(String.valueOf(entry.getId()));
+    writer.write(" ===\nTime: ");
+    writer.write(String.valueOf(entry.getTimestamp()));
+    writer.write("\nPinned: ");
+    writer.write(String.valueOf(entry.isPinned()));
+    writer.write("\nContent:\n");
+    writer.write(entry.getContent());
+    writer.write("\n\n");
+  }
+
+  private String escapeCsv(String str) {
+    return str.replace("\"", "\"\"");
+  }
+
+  /** Entries of one chunk and their formatted bytes, once ready. */
+  private record Chunk(List<ClipboardEntry> entries, Future<byte[]> bytes) {
+
+    byte[] await() throws IOException {
+      try {
+        return bytes.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while formatting the export");
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException cause) throw cause;
+        if (e.getCause() instanceof RuntimeException cause) throw cause;
+        if (e.getCause() instanceof Error cause) throw cause;
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  /** Counts bytes on their way to the target; closing it only flushes the target. */
+  private static class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+
+    long count() {
+      return count;
+    }
+  }
+
+  /** Supported export compressions */
+  public enum Compression {
+    NONE("identity", "", null),
+    GZIP("gzip", ".gz", "application/gzip"),
+    ZSTD("zstd", ".zst", "application/zstd");
+
+    private final String encoding;
+    private final String suffix;
+    private final String mediaType;
+
+    Compression(String encoding, String suffix, String mediaType) {
+      this.encoding = encoding;
+      this.suffix = suffix;
+      this.mediaType = mediaType;
+    }
+
+    /**
+     * Resolves a compression from its name or HTTP content coding, ignoring case.
+     *
+     * @throws IllegalArgumentException if the compression is not supported
+     */
+    public static Compression fromName(String name) {
+      for (Compression compression : values()) {
+        if (compression.name().equalsIgnoreCase(name)
+            || compression.encoding.equalsIgnoreCase(name)) {
+          return compression;
+        }
+      }
+      throw new IllegalArgumentException("Unsupported compression: " + name);
+    }
+
+    OutputStream wrap(OutputStream out, int level) throws IOException {
+      return switch (this) {
+        case NONE -> out;
+        case GZIP ->
+            new GZIPOutputStream(out, BUFFER_SIZE) {
+              {
+                def.setLevel(level);
+              }
+            };
+        case ZSTD -> new ZstdOutputStream(out, level);
+      };
+    }
+
+    InputStream decompress(InputStream in) throws IOException {
+      return switch (this) {
+        case NONE -> in;
+        case GZIP -> new GZIPInputStream(in, BUFFER_SIZE);
+        case ZSTD -> new ZstdInputStream(in);
+      };
+    }
+
+    /** HTTP content coding, as used in {@code Content-Encoding} */
+    public String getEncoding() {
+      return encoding;
+    }
+
+    /** File name suffix for a compressed download */
+    public String getSuffix() {
+      return suffix;
+    }
+
+    /** Media type for a compressed download, or null when uncompressed */
+    public String getMediaType() {
+      return mediaType;
+    }
+  }
+
+  /** Supported export formats */
+  public enum ExportFormat {
+    JSON("json", "application/json"),
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv"),
+    TXT("txt", "text/plain");
+
+    private final String extension;
+    private final String mediaType;
+
+    ExportFormat(String extension, String mediaType) {
+      this.extension = extension;
+      this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+      return extension;
+    }
+
+    public String getMediaType() {
+      return mediaType;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the entry ID sequence past the highest stored ID before anything is inserted.
+ *
+ * <p>Databases created while IDs came from an IDENTITY column get a fresh sequence starting at 1
+ * from the schema update, which would collide with existing rows. Hibernate's pooled optimizer
+ * treats each sequence value as the top of a block of {@link ClipboardEntry#ID_ALLOCATION_SIZE}
+ * IDs, so the sequence restarts a whole block above the highest ID.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ClipboardIdSequenceInitializer {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardIdSequenceInitializer.class);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ClipboardIdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @PostConstruct
+  public void initialize() {
+    Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM clipboard_entries", Long.class);
+    long restartWith = (maxId != null ? maxId : 0) + ClipboardEntry.ID_ALLOCATION_SIZE;
+    jdbcTemplate.execute(
+        "ALTER SEQUENCE " + ClipboardEntry.ID_SEQUENCE + " RESTART WITH " + restartWith);
+    log.debug("Clipboard ID sequence restarted at {} (highest ID: {})", restartWith, maxId);
+  }
+}
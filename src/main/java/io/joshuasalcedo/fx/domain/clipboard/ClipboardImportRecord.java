@@ -0,0 +1,7 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.time.LocalDateTime;
+
+/** One entry read from an import file, hashed and ready to be stored. */
+public record ClipboardImportRecord(
+    String content, String contentHash, LocalDateTime timestamp, boolean pinned) {}
@@ -0,0 +1,13 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+/**
+ * Outcome of an import.
+ *
+ * @param read Entries read from the input
+ * @param imported Entries stored
+ * @param duplicates Entries skipped because their content was already stored
+ * @param skipped Entries skipped because their content was empty
+ * @param elapsedMillis Time taken for the whole import
+ */
+public record ClipboardImportResult(
+    long read, long imported, long duplicates, long skipped, long elapsedMillis) {}
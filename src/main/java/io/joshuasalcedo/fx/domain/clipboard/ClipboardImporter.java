@@ -0,0 +1,287 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads exported clipboard history back in, reading the input incrementally.
+ *
+ * <p>Accepts the JSON, NDJSON and CSV export formats. Entries are hashed as they are read and
+ * handed to {@link ClipboardService#importBatch(List)} in chunks, each committed in its own
+ * transaction, so memory use is bounded by the chunk size and a failure part way through keeps
+ * the chunks before it.
+ */
+@Component
+public class ClipboardImporter {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardImporter.class);
+  private static final int CHUNK_SIZE = 1000;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ClipboardService clipboardService;
+  private final JsonFactory jsonFactory;
+
+  public ClipboardImporter(ClipboardService clipboardService, ObjectMapper objectMapper) {
+    this.clipboardService = clipboardService;
+    this.jsonFactory = objectMapper.getFactory();
+  }
+
+  /**
+   * Imports entries from an export file.
+   *
+   * @param format The format of the input
+   * @param compression How the input is compressed
+   * @param in The input; closed once read
+   * @return How many entries were read, stored and skipped
+   * @throws IllegalArgumentException if the format cannot be imported or the input is malformed
+   */
+  public ClipboardImportResult importFrom(
+      ExportFormat format, Compression compression, InputStream in) throws IOException {
+    if (format == ExportFormat.TXT) {
+      throw new IllegalArgumentException("Plain text exports cannot be imported");
+    }
+
+    long started = System.nanoTime();
+    Batch batch = new Batch();
+    try {
+      InputStream input = compression.decompress(in);
+      if (format == ExportFormat.CSV) {
+        readCsv(input, batch);
+      } else {
+        readJson(input, batch);
+      }
+      batch.flush();
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          e.getMessage() + " (" + batch.imported + " entries were imported before the error)", e);
+    }
+
+    ClipboardImportResult result =
+        new ClipboardImportResult(
+            batch.read,
+            batch.imported,
+            batch.duplicates,
+            batch.skipped,
+            (System.nanoTime() - started) / 1_000_000);
+    log.info(
+        "Imported {} of {} clipboard entries as {} in {} ms ({} duplicates, {} empty)",
+        result.imported(),
+        result.read(),
+        format,
+        result.elapsedMillis(),
+        result.duplicates(),
+        result.skipped());
+    return result;
+  }
+
+  /** Reads a JSON array of entries or a stream of newline-delimited entries. */
+  private void readJson(InputStream in, Batch batch) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(in)) {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null) {
+        if (token == JsonToken.START_OBJECT) {
+          readJsonEntry(parser, batch);
+        } else if (token != JsonToken.START_ARRAY && token != JsonToken.END_ARRAY) {
+          throw new IllegalArgumentException(
+              "Expected an entry object but found "
+                  + token
+                  + " at line "
+                  + parser.currentLocation().getLineNr());
+        }
+      }
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed JSON: " + e.getMessage(), e);
+    }
+  }
+
+  private void readJsonEntry(JsonParser parser, Batch batch) throws IOException {
+    String content = null;
+    String timestamp = null;
+    boolean pinned = false;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      switch (field) {
+        case "content" -> content = value == JsonToken.VALUE_NULL ? null : parser.getText();
+        case "timestamp" -> timestamp = value == JsonToken.VALUE_NULL ? null : parser.getText();
+        case "pinned" -> pinned = parser.getValueAsBoolean();
+        default -> parser.skipChildren();
+      }
+    }
+    batch.add(content, timestamp, pinned);
+  }
+
+  /** Reads CSV with a header row naming at least a Content column, as written by the export. */
+  private void readCsv(InputStream in, Batch batch) throws IOException {
+    try (Reader input = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+      readCsv(new CsvReader(input), batch);
+    }
+  }
+
+  private void readCsv(CsvReader reader, Batch batch) throws IOException {
+    List<String> header = reader.next();
+    if (header == null) return;
+
+    List<String> columns = header.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+    int contentColumn = columns.indexOf("content");
+    int timestampColumn = columns.indexOf("timestamp");
+    int pinnedColumn = columns.indexOf("pinned");
+    if (contentColumn < 0) {
+      throw new IllegalArgumentException("CSV header must contain a Content column");
+    }
+
+    List<String> fields;
+    while ((fields = reader.next()) != null) {
+      if (fields.size() == 1 && fields.get(0).isEmpty()) continue;
+      if (fields.size() <= contentColumn) {
+        throw new IllegalArgumentException(
+            "Missing Content field in CSV record ending at line " + reader.line);
+      }
+      String timestamp = field(fields, timestampColumn);
+      String pinned = field(fields, pinnedColumn);
+      batch.add(
+          fields.get(contentColumn),
+          timestamp == null || timestamp.isBlank() ? null : timestamp.trim(),
+          pinned != null && Boolean.parseBoolean(pinned.trim()));
+    }
+  }
+
+  private static String field(List<String> fields, int column) {
+    return column >= 0 && column < fields.size() ? fields.get(column) : null;
+  }
+
+  /** Collects hashed entries and stores them a chunk at a time. */
+  private class Batch {
+    private final LocalDateTime importedAt = LocalDateTime.now();
+    private List<ClipboardImportRecord> records = new ArrayList<>(CHUNK_SIZE);
+    private long read;
+    private long imported;
+    private long duplicates;
+    private long skipped;
+
+    void add(String content, String timestamp, boolean pinned) {
+      read++;
+      if (content == null || content.trim().isEmpty()) {
+        skipped++;
+        return;
+      }
+      records.add(
+          new ClipboardImportRecord(
+              content, ContentDigest.of(content), parseTimestamp(timestamp), pinned));
+      if (records.size() >= CHUNK_SIZE) {
+        flush();
+      }
+    }
+
+    void flush() {
+      if (records.isEmpty()) return;
+      int stored = clipboardService.importBatch(records);
+      imported += stored;
+      duplicates += records.size() - stored;
+      records = new ArrayList<>(CHUNK_SIZE);
+    }
+
+    private LocalDateTime parseTimestamp(String timestamp) {
+      if (timestamp == null) return importedAt;
+      try {
+        return LocalDateTime.parse(timestamp);
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException(
+            "Invalid timestamp '" + timestamp + "' in entry " + read, e);
+      }
+    }
+  }
+
+  /**
+   * Minimal RFC 4180 reader. Quoted fields may contain commas, doubled quotes and line breaks;
+   * records end at LF or CRLF outside quotes.
+   */
+  private static class CsvReader {
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long line = 1;
+
+    CsvReader(Reader reader) {
+      this.reader = reader;
+    }
+
+    /** Returns the fields of the next record, or null at the end of the input. */
+    List<String> next() throws IOException {
+      int c = read();
+      if (c == -1) return null;
+
+      List<String> fields = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      while (true) {
+        if (quoted) {
+          if (c == -1) {
+            throw new IllegalArgumentException("Unterminated quoted CSV field at line " + line);
+          }
+          if (c != '"') {
+            field.append((char) c);
+          } else if (peek() == '"') {
+            read();
+            field.append('"');
+          } else {
+            quoted = false;
+          }
+        } else if (c == '"') {
+          quoted = true;
+        } else if (c == ',') {
+          fields.add(field.toString());
+          field.setLength(0);
+        } else if (c == '\n' || c == -1) {
+          break;
+        } else if (c == '\r' && peek() == '\n') {
+          read();
+          break;
+        } else {
+          field.append((char) c);
+        }
+        c = read();
+      }
+      fields.add(field.toString());
+      return fields;
+    }
+
+    private int read() throws IOException {
+      if (position == limit && !fill()) return -1;
+      char c = buffer[position++];
+      if (c == '\n') line++;
+      return c;
+    }
+
+    private int peek() throws IOException {
+      if (position == limit && !fill()) return -1;
+      return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+      int count = reader.read(buffer, 0, buffer.length);
+      if (count <= 0) return false;
+      position = 0;
+      limit = count;
+      return true;
+    }
+  }
+}
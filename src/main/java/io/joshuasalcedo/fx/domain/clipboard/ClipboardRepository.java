@@ -1,33 +1,49 @@
 package io.joshuasalcedo.fx.domain.clipboard;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ClipboardRepository extends JpaRepository<ClipboardEntry, Long> {
 
-  // Find methods
-  List<ClipboardEntry> findByIsPinnedTrueOrderByTimestampDesc();
+  String SUMMARY =
+      "SELECT new io.joshuasalcedo.fx.domain.clipboard.ClipboardSummary("
+          + "e.id, e.timestamp, e.preview, e.contentLength, e.contentType, e.isPinned) ";
+
+  String EXPORT_FROM =
+      "FROM ClipboardEntry e "
+          + "WHERE e.id > :afterId AND (:includePinned = true OR e.isPinned = false) ";
 
-  List<ClipboardEntry> findByIsPinnedFalseOrderByTimestampDesc();
+  // New entries get a higher ID; copying existing content again moves its timestamp forward
+  String EXPORT_CHANGED = "AND (e.id > :sinceId OR e.timestamp > :sinceTimestamp) ";
 
-  List<ClipboardEntry> findByTimestampAfterOrderByTimestampDesc(LocalDateTime timestamp);
+  // Find methods
+  List<ClipboardEntry> findByContentHash(String contentHash);
 
-  Page<ClipboardEntry> findByContentContainingIgnoreCase(String searchTerm, Pageable pageable);
+  List<ClipboardEntry> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
-  Optional<ClipboardEntry> findFirstByContentAndTimestampAfter(
-      String content, LocalDateTime timestamp);
+  @Query("SELECT e.contentHash FROM ClipboardEntry e WHERE e.contentHash IN :hashes")
+  List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
 
-  // Count methods
-  long countByisPinnedTrue();
+  @Query(
+      "SELECT new io.joshuasalcedo.fx.domain.clipboard.ClipboardDedupKey("
+          + "e.id, e.contentHash, e.timestamp, e.isPinned) "
+          + "FROM ClipboardEntry e WHERE e.timestamp > :since ORDER BY e.timestamp ASC")
+  List<ClipboardDedupKey> findDedupKeysSince(@Param("since") LocalDateTime since);
 
   // Delete methods
   @Modifying
@@ -41,20 +57,151 @@ public interface ClipboardRepository extends JpaRepository<ClipboardEntry, Long>
   @Query("DELETE FROM ClipboardEntry e WHERE e.timestamp < :timestamp AND e.isPinned = false")
   int deleteByTimestampBeforeAndIsPinnedFalse(@Param("timestamp") LocalDateTime timestamp);
 
-  // Custom queries for statistics
-  @Query("SELECT MIN(e.timestamp) FROM ClipboardEntry e")
-  LocalDateTime findOldestTimestamp();
-
-  @Query("SELECT MAX(e.timestamp) FROM ClipboardEntry e")
-  LocalDateTime findNewestTimestamp();
-
-  // Additional useful queries
-  @Query("SELECT e FROM ClipboardEntry e WHERE e.isPinned = true ORDER BY e.timestamp DESC")
-  List<ClipboardEntry> findAllPinnedOrderByTimestampDesc();
+  // Update methods
+  @Modifying
+  @Query(
+      "UPDATE ClipboardEntry e "
+          + "SET e.isPinned = CASE WHEN e.isPinned = true THEN false ELSE true END, "
+          + "e.revision = e.revision + 1 "
+          + "WHERE e.id = :id")
+  int togglePinned(@Param("id") Long id);
+
+  // Summary projections - never read the content column
+  @Query(
+      "SELECT new io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry("
+          + "e.id, e.timestamp, e.preview, e.contentLength, e.contentType, e.isPinned, e.revision) "
+          + "FROM ClipboardEntry e WHERE e.id = :id")
+  Optional<ClipboardEntry> findWithoutContentById(@Param("id") Long id);
+
+  @Query(
+      value = SUMMARY + "FROM ClipboardEntry e",
+      countQuery = "SELECT COUNT(e) FROM ClipboardEntry e")
+  Page<ClipboardSummary> findAllSummaries(Pageable pageable);
+
+  @Query(SUMMARY + "FROM ClipboardEntry e WHERE e.id = :id")
+  Optional<ClipboardSummary> findSummaryById(@Param("id") Long id);
+
+  @Query(SUMMARY + "FROM ClipboardEntry e WHERE e.id IN :ids")
+  List<ClipboardSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query(SUMMARY + "FROM ClipboardEntry e WHERE e.isPinned = true ORDER BY e.timestamp DESC")
+  List<ClipboardSummary> findPinnedSummaries();
+
+  @Query(SUMMARY + "FROM ClipboardEntry e WHERE e.timestamp > :since ORDER BY e.timestamp DESC")
+  List<ClipboardSummary> findSummariesSince(@Param("since") LocalDateTime since);
+
+  @Query(
+      value =
+          SUMMARY
+              + "FROM ClipboardEntry e "
+              + "WHERE LOWER(CAST(e.content AS String)) LIKE LOWER(CONCAT('%', :term, '%'))",
+      countQuery =
+          "SELECT COUNT(e) FROM ClipboardEntry e "
+              + "WHERE LOWER(CAST(e.content AS String)) LIKE LOWER(CONCAT('%', :term, '%'))")
+  Page<ClipboardSummary> searchSummaries(@Param("term") String term, Pageable pageable);
+
+  // Keyset pagination on (timestamp, id) - no count query and no offset scan
+  @Query(SUMMARY + "FROM ClipboardEntry e ORDER BY e.timestamp DESC, e.id DESC")
+  List<ClipboardSummary> scrollSummaries(Limit limit);
+
+  @Query(
+      SUMMARY
+          + "FROM ClipboardEntry e "
+          + "WHERE e.timestamp < :timestamp OR (e.timestamp = :timestamp AND e.id < :id) "
+          + "ORDER BY e.timestamp DESC, e.id DESC")
+  List<ClipboardSummary> scrollSummariesAfter(
+      @Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Limit limit);
+
+  @Query(
+      SUMMARY
+          + "FROM ClipboardEntry e "
+          + "WHERE LOWER(CAST(e.content AS String)) LIKE LOWER(CONCAT('%', :term, '%')) "
+          + "ORDER BY e.timestamp DESC, e.id DESC")
+  List<ClipboardSummary> scrollSearchSummaries(@Param("term") String term, Limit limit);
+
+  @Query(
+      SUMMARY
+          + "FROM ClipboardEntry e "
+          + "WHERE LOWER(CAST(e.content AS String)) LIKE LOWER(CONCAT('%', :term, '%')) "
+          + "AND (e.timestamp < :timestamp OR (e.timestamp = :timestamp AND e.id < :id)) "
+          + "ORDER BY e.timestamp DESC, e.id DESC")
+  List<ClipboardSummary> scrollSearchSummariesAfter(
+      @Param("term") String term,
+      @Param("timestamp") LocalDateTime timestamp,
+      @Param("id") Long id,
+      Limit limit);
+
+  // Streaming reads for export - rows are fetched in chunks and must be consumed in a transaction
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT e FROM ClipboardEntry e ORDER BY e.timestamp DESC, e.id DESC")
+  Stream<ClipboardEntry> streamAll();
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT e FROM ClipboardEntry e WHERE e.isPinned = false "
+          + "ORDER BY e.timestamp DESC, e.id DESC")
+  Stream<ClipboardEntry> streamUnpinned();
+
+  // Export jobs read oldest first by ID so they can resume after the last entry they wrote
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT e " + EXPORT_FROM + "ORDER BY e.id ASC")
+  Stream<ClipboardEntry> streamFrom(
+      @Param("afterId") long afterId, @Param("includePinned") boolean includePinned);
+
+  @Query("SELECT COUNT(e) " + EXPORT_FROM)
+  long countFrom(@Param("afterId") long afterId, @Param("includePinned") boolean includePinned);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT e " + EXPORT_FROM + EXPORT_CHANGED + "ORDER BY e.id ASC")
+  Stream<ClipboardEntry> streamChangedFrom(
+      @Param("afterId") long afterId,
+      @Param("includePinned") boolean includePinned,
+      @Param("sinceId") long sinceId,
+      @Param("sinceTimestamp") LocalDateTime sinceTimestamp);
+
+  @Query("SELECT COUNT(e) " + EXPORT_FROM + EXPORT_CHANGED)
+  long countChangedFrom(
+      @Param("afterId") long afterId,
+      @Param("includePinned") boolean includePinned,
+      @Param("sinceId") long sinceId,
+      @Param("sinceTimestamp") LocalDateTime sinceTimestamp);
+
+  // Backfill of derived columns
+  @Query(
+      "SELECT e.id FROM ClipboardEntry e "
+          + "WHERE e.contentHash IS NULL OR LENGTH(e.contentHash) <> "
+          + ContentDigest.HEX_LENGTH
+          + " OR e.preview IS NULL ORDER BY e.timestamp DESC")
+  List<Long> findIdsNeedingBackfill(Pageable pageable);
 
-  @Query("SELECT e FROM ClipboardEntry e ORDER BY e.timestamp DESC")
-  Page<ClipboardEntry> findAllOrderByTimestampDesc(Pageable pageable);
+  @Modifying
+  @Query(
+      "UPDATE ClipboardEntry e SET e.contentHash = :contentHash, e.preview = :preview "
+          + "WHERE e.id = :id")
+  int updateDerivedColumns(
+      @Param("id") Long id,
+      @Param("contentHash") String contentHash,
+      @Param("preview") String preview);
 
-  // Check existence
-  boolean existsByContentAndTimestampAfter(String content, LocalDateTime timestamp);
+  // Custom queries for statistics
+  @Query(
+      "SELECT new io.joshuasalcedo.fx.domain.clipboard.ClipboardTotals("
+          + "COUNT(e), "
+          + "COALESCE(SUM(CASE WHEN e.isPinned = true THEN 1L ELSE 0L END), 0L), "
+          + "COALESCE(SUM(CAST(e.contentLength AS Long)), 0L), "
+          + "MIN(e.timestamp), MAX(e.timestamp)) "
+          + "FROM ClipboardEntry e")
+  ClipboardTotals findTotals();
 }
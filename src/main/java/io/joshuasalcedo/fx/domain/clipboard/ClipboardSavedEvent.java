@@ -6,13 +6,34 @@ import org.springframework.context.ApplicationEvent;
 public class ClipboardSavedEvent extends ApplicationEvent {
 
   private final String content;
+  private final String captureMode;
+  private final long capturedAtNanos;
 
   public ClipboardSavedEvent(Object source, String content) {
+    this(source, content, "unknown", System.nanoTime());
+  }
+
+  /**
+   * @param captureMode How the change was detected, e.g. "listener" or "polling"
+   * @param capturedAtNanos {@link System#nanoTime()} when the change was first seen
+   */
+  public ClipboardSavedEvent(
+      Object source, String content, String captureMode, long capturedAtNanos) {
     super(source);
     this.content = content;
+    this.captureMode = captureMode;
+    this.capturedAtNanos = capturedAtNanos;
   }
 
   public String getContent() {
     return content;
   }
+
+  public String getCaptureMode() {
+    return captureMode;
+  }
+
+  public long getCapturedAtNanos() {
+    return capturedAtNanos;
+  }
 }
@@ -1,24 +1,43 @@
 package io.joshuasalcedo.fx.domain.clipboard;
 
 import io.joshuasalcedo.clipboard.core.ClipboardMonitor;
-import io.joshuasalcedo.fx.api.ClipboardWebSocketController;
 import io.joshuasalcedo.fx.infrastructure.events.ClipboardRunner;
+import io.joshuasalcedo.fx.infrastructure.search.ClipboardSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
@@ -26,14 +45,19 @@ public class ClipboardService {
   private static final Logger log = LoggerFactory.getLogger(ClipboardService.class);
   private static final int PREVIEW_LENGTH = 50;
   private static final int MAX_DUPLICATE_CHECK_HOURS = 24;
+  private static final int STATS_RECONCILE_MINUTES = 10;
 
   private final ClipboardRepository clipboardRepository;
   private final ClipboardMonitor clipboardMonitor;
   private final ApplicationEventPublisher eventPublisher;
+  private final ClipboardDedupIndex dedupIndex;
+  private final ClipboardStatsTracker statsTracker;
+  private final ClipboardSearchIndex searchIndex;
   private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
-
-  // WebSocket controller for real-time updates
-  private final ClipboardWebSocketController webSocketController;
+  private final AtomicBoolean statsReconcilePending = new AtomicBoolean();
+  private final long versionEpoch = System.currentTimeMillis();
+  private final AtomicLong committedVersion = new AtomicLong();
+  private final MeterRegistry registry;
 
   // ClipboardRunner is injected after bean creation to avoid circular dependency
   @Autowired private ClipboardRunner clipboardRunner;
@@ -42,20 +66,71 @@ public class ClipboardService {
       ClipboardRepository clipboardRepository,
       ClipboardMonitor clipboardMonitor,
       ApplicationEventPublisher eventPublisher,
-      ClipboardWebSocketController webSocketController) {
+      ClipboardDedupIndex dedupIndex,
+      ClipboardStatsTracker statsTracker,
+      ClipboardSearchIndex searchIndex,
+      MeterRegistry registry) {
     this.clipboardRepository = clipboardRepository;
     this.clipboardMonitor = clipboardMonitor;
     this.eventPublisher = eventPublisher;
-    this.webSocketController = webSocketController;
-    log.info("ClipboardService initialized with WebSocket support");
+    this.dedupIndex = dedupIndex;
+    this.statsTracker = statsTracker;
+    this.searchIndex = searchIndex;
+    this.registry = registry;
+    log.info("ClipboardService initialized");
 
     // Schedule periodic cleanup of old entries
     scheduleAutomaticCleanup();
+
+    // Correct the in-memory statistics for anything they could not track exactly
+    scheduleStatsReconciliation();
   }
 
-  @EventListener
-  public void handleClipboardSavedEvent(ClipboardSavedEvent event) {
-    save(event.getContent());
+  /**
+   * Loads the duplicate check window into the in-memory dedup index. Runs once the context is
+   * started, before {@link ClipboardRunner} begins capturing.
+   */
+  @EventListener(ApplicationStartedEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuildDedupIndex() {
+    LocalDateTime since = getDuplicateCheckThreshold();
+    dedupIndex.clear();
+    // Rows still carrying a legacy hash are added by ClipboardEntryBackfill once rehashed
+    for (ClipboardDedupKey key : clipboardRepository.findDedupKeysSince(since)) {
+      if (key.contentHash() != null && key.contentHash().length() == ContentDigest.HEX_LENGTH) {
+        dedupIndex.record(key.contentHash(), key.id(), key.timestamp(), key.isPinned());
+      }
+    }
+    log.info("Dedup index rebuilt with {} entries since {}", dedupIndex.size(), since);
+  }
+
+  /**
+   * Replaces the in-memory statistics with totals from a single aggregate query. The totals are
+   * discarded if an entry changed while they were being read; the next run picks them up.
+   */
+  @EventListener(ApplicationStartedEvent.class)
+  public void reconcileStats() {
+    statsReconcilePending.set(false);
+    try {
+      long version = statsTracker.version();
+      ClipboardTotals totals = clipboardRepository.findTotals();
+      if (totals == null) return;
+      boolean stale = statsTracker.isStale();
+      if (statsTracker.reconcile(totals, version)) {
+        if (stale) {
+          // The corrected figures are a change for clients holding the old ones
+          committedVersion.incrementAndGet();
+        }
+        log.debug(
+            "Clipboard stats reconciled - Total: {}, Pinned: {}",
+            totals.entries(),
+            totals.pinnedEntries());
+      } else {
+        log.debug("Clipboard stats changed during reconciliation, will retry");
+      }
+    } catch (Exception e) {
+      log.error("Failed to reconcile clipboard stats", e);
+    }
   }
 
   /**
@@ -75,28 +150,143 @@ public class ClipboardService {
       throw new IllegalArgumentException("Clipboard content cannot be null or empty");
     }
 
+    timeTransaction("save");
+    return persist(content, new HashMap<>());
+  }
+
+  /**
+   * Saves a batch of clipboard entries in a single transaction. Empty contents are skipped, and
+   * duplicates within the batch collapse onto the first entry just like separate saves would.
+   *
+   * @param contents The clipboard contents to save, in capture order
+   * @return The saved clipboard entries
+   */
+  @Transactional
+  public List<ClipboardEntry> saveAll(List<String> contents) {
+    log.debug("Saving batch of {} clipboard entries", contents.size());
+    timeTransaction("saveAll");
+
+    List<ClipboardEntry> saved = new ArrayList<>(contents.size());
+    // The dedup index only learns of this batch once it commits
+    Map<String, ClipboardEntry> batch = new HashMap<>();
+    for (String content : contents) {
+      if (content == null || content.trim().isEmpty()) {
+        log.warn("Skipping null or empty clipboard content in batch");
+        continue;
+      }
+      saved.add(persist(content, batch));
+    }
+    return saved;
+  }
+
+  /**
+   * Stores a chunk of imported entries in a single transaction, keeping their timestamps and pin
+   * state. Content that is already stored, or repeated within the chunk, is skipped. New rows are
+   * written with JDBC batching and announced to the search index once committed.
+   *
+   * @param records Imported entries, already hashed, in file order
+   * @return The number of entries stored
+   */
+  @Transactional
+  public int importBatch(List<ClipboardImportRecord> records) {
+    Map<String, ClipboardImportRecord> unique = new LinkedHashMap<>();
+    for (ClipboardImportRecord record : records) {
+      unique.putIfAbsent(record.contentHash(), record);
+    }
+    clipboardRepository.findExistingHashes(unique.keySet()).forEach(unique::remove);
+    if (unique.isEmpty()) return 0;
+
+    List<ClipboardEntry> entries = new ArrayList<>(unique.size());
+    for (ClipboardImportRecord record : unique.values()) {
+      entries.add(
+          ClipboardEntry.builder()
+              .content(record.content())
+              .contentHash(record.contentHash())
+              .timestamp(record.timestamp())
+              .isPinned(record.pinned())
+              .build());
+    }
+    List<ClipboardEntry> saved = clipboardRepository.saveAll(entries);
+
+    LocalDateTime since = getDuplicateCheckThreshold();
+    trackStatsUntilCompletion();
+    for (ClipboardEntry entry : saved) {
+      statsTracker.entryAdded(entry.getTimestamp(), entry.getContentLength(), entry.isPinned());
+    }
+    afterCommit(
+        () ->
+            saved.forEach(
+                entry -> {
+                  if (entry.getTimestamp().isAfter(since)) {
+                    dedupIndex.record(
+                        entry.getContentHash(),
+                        entry.getId(),
+                        entry.getTimestamp(),
+                        entry.isPinned());
+                  }
+                  searchIndex.index(
+                      entry.getId(), entry.getContent(), entry.getTimestamp(), entry.isPinned());
+                }));
+    versionOnCommit();
+    eventPublisher.publishEvent(ClipboardChangedEvent.reloaded());
+
+    log.debug("Imported {} of {} clipboard entries", saved.size(), records.size());
+    return saved.size();
+  }
+
+  /**
+   * Saves one entry, or refreshes the recent entry holding the same content. The dedup index is
+   * only updated once the transaction commits, so entries saved earlier in the same transaction are
+   * passed in and checked first.
+   */
+  private ClipboardEntry persist(String content, Map<String, ClipboardEntry> uncommitted) {
     try {
+      String digest = ContentDigest.of(content);
+
       // Check for recent duplicates
-      Optional<ClipboardEntry> recentDuplicate = findRecentDuplicate(content);
+      Optional<ClipboardEntry> recentDuplicate =
+          Optional.ofNullable(uncommitted.get(digest))
+              .filter(entry -> content.equals(entry.getContent()))
+              .or(() -> findRecentDuplicate(content, digest));
       if (recentDuplicate.isPresent()) {
         log.info(
             "Duplicate content detected, updating timestamp for entry ID: {}",
             recentDuplicate.get().getId());
         ClipboardEntry existing = recentDuplicate.get();
+        LocalDateTime previousTimestamp = existing.getTimestamp();
         existing.setTimestamp(LocalDateTime.now());
         ClipboardEntry updated = clipboardRepository.save(existing);
+        uncommitted.put(digest, updated);
+        recordOnCommit(digest, updated);
+        trackStatsUntilCompletion();
+        statsTracker.entryTouched(previousTimestamp, updated.getTimestamp());
+        afterCommit(() -> searchIndex.updateTimestamp(updated.getId(), updated.getTimestamp()));
+        versionOnCommit();
 
-        // Notify WebSocket clients of update
-        notifyWebSocketUpdate(updated);
+        // Notify listeners such as WebSocket clients once committed
+        eventPublisher.publishEvent(ClipboardChangedEvent.updated(updated));
 
         return updated;
       }
 
       // Create new entry
       ClipboardEntry clipboardEntry =
-          ClipboardEntry.builder().content(content).timestamp(LocalDateTime.now()).build();
+          ClipboardEntry.builder()
+              .content(content)
+              .contentHash(digest)
+              .timestamp(LocalDateTime.now())
+              .build();
 
       ClipboardEntry saved = clipboardRepository.save(clipboardEntry);
+      uncommitted.put(digest, saved);
+      recordOnCommit(digest, saved);
+      trackStatsUntilCompletion();
+      statsTracker.entryAdded(saved.getTimestamp(), saved.getContentLength(), saved.isPinned());
+      afterCommit(
+          () ->
+              searchIndex.index(
+                  saved.getId(), saved.getContent(), saved.getTimestamp(), saved.isPinned()));
+      versionOnCommit();
 
       String preview = truncateForLogging(saved.getContent(), PREVIEW_LENGTH);
       log.info(
@@ -108,8 +298,8 @@ public class ClipboardService {
       // Publish event for other components
       eventPublisher.publishEvent(new ClipboardEntryCreatedEvent(saved));
 
-      // Notify WebSocket clients
-      notifyWebSocketNewEntry(saved);
+      // Notify listeners such as WebSocket clients once committed
+      eventPublisher.publishEvent(ClipboardChangedEvent.added(saved));
 
       return saved;
 
@@ -129,17 +319,26 @@ public class ClipboardService {
   @Transactional
   public Optional<ClipboardEntry> setPinned(Long id, boolean pinned) {
     log.debug("Setting pinned={} for clipboard entry ID: {}", pinned, id);
+    timeTransaction("setPinned");
 
     return clipboardRepository
         .findById(id)
         .map(
             entry -> {
+              boolean wasPinned = entry.isPinned();
               entry.setPinned(pinned);
               ClipboardEntry saved = clipboardRepository.save(entry);
+              afterCommit(() -> dedupIndex.updatePinned(id, pinned));
+              afterCommit(() -> searchIndex.updatePinned(id, pinned));
+              versionOnCommit();
+              if (wasPinned != pinned) {
+                trackStatsUntilCompletion();
+                statsTracker.pinChanged(pinned);
+              }
               log.info("Clipboard entry {} {}", id, pinned ? "pinned" : "unpinned");
 
-              // Notify WebSocket clients
-              notifyWebSocketUpdate(saved);
+              // Notify listeners such as WebSocket clients once committed
+              eventPublisher.publishEvent(ClipboardChangedEvent.updated(saved));
 
               return saved;
             })
@@ -162,6 +361,46 @@ public class ClipboardService {
     return setPinned(id, false);
   }
 
+  /**
+   * Flips the pin state of an entry with a single update that never reads or rewrites its content.
+   * The update locks the row until the transaction ends, so concurrent toggles of one entry take
+   * turns and each of them takes effect.
+   *
+   * @param id The entry ID
+   * @return The entry with its new pin state, or empty if not found
+   */
+  @Transactional
+  public Optional<ClipboardSummary> togglePinned(Long id) {
+    log.debug("Toggling pin for clipboard entry ID: {}", id);
+    timeTransaction("togglePinned");
+
+    if (clipboardRepository.togglePinned(id) == 0) {
+      log.warn("Clipboard entry not found for ID: {}", id);
+      return Optional.empty();
+    }
+    // Read back within the transaction, which still holds the row lock
+    ClipboardEntry toggled = clipboardRepository.findWithoutContentById(id).orElseThrow();
+    boolean pinned = toggled.isPinned();
+    afterCommit(() -> dedupIndex.updatePinned(id, pinned));
+    afterCommit(() -> searchIndex.updatePinned(id, pinned));
+    trackStatsUntilCompletion();
+    statsTracker.pinChanged(pinned);
+    versionOnCommit();
+    log.info("Clipboard entry {} {}", id, pinned ? "pinned" : "unpinned");
+
+    // Notify listeners such as WebSocket clients once committed
+    eventPublisher.publishEvent(ClipboardChangedEvent.updated(toggled));
+
+    return Optional.of(
+        new ClipboardSummary(
+            toggled.getId(),
+            toggled.getTimestamp(),
+            toggled.getPreview(),
+            toggled.getContentLength(),
+            toggled.getContentType(),
+            pinned));
+  }
+
   /**
    * Deletes all clipboard entries with option to preserve pinned entries
    *
@@ -171,27 +410,39 @@ public class ClipboardService {
   @Transactional
   public long deleteAll(boolean includePinned) {
     log.info("Deleting all clipboard entries (includePinned: {})", includePinned);
+    timeTransaction("deleteAll");
 
     try {
       long countBefore = clipboardRepository.count();
 
       if (includePinned) {
         clipboardRepository.deleteAll();
+        // Only once committed, so a rollback leaves the index matching the rows still stored
+        afterCommit(dedupIndex::clear);
+        trackStatsUntilCompletion();
+        statsTracker.cleared();
+        afterCommit(searchIndex::clear);
+        versionOnCommit();
         log.info("Deleted all {} clipboard entries", countBefore);
 
-        // Notify WebSocket clients
-        notifyWebSocketClear(true);
+        // Notify listeners such as WebSocket clients once committed
+        eventPublisher.publishEvent(ClipboardChangedEvent.cleared(true));
 
         return countBefore;
       } else {
         int deletedCount = clipboardRepository.deleteByIsPinnedFalse();
+        afterCommit(dedupIndex::removeUnpinned);
+        trackStatsUntilCompletion();
+        statsTracker.entriesRemoved(deletedCount, false);
+        afterCommit(searchIndex::deleteUnpinned);
+        versionOnCommit();
         log.info(
             "Deleted {} unpinned clipboard entries, {} pinned entries preserved",
             deletedCount,
             countBefore - deletedCount);
 
-        // Notify WebSocket clients
-        notifyWebSocketClear(false);
+        // Notify listeners such as WebSocket clients once committed
+        eventPublisher.publishEvent(ClipboardChangedEvent.cleared(false));
 
         return deletedCount;
       }
@@ -216,17 +467,25 @@ public class ClipboardService {
   @Transactional
   public boolean deleteById(Long id) {
     log.debug("Attempting to delete clipboard entry ID: {}", id);
+    timeTransaction("deleteById");
 
-    if (!clipboardRepository.existsById(id)) {
+    Optional<ClipboardSummary> existing = clipboardRepository.findSummaryById(id);
+    if (existing.isEmpty()) {
       log.warn("Cannot delete - clipboard entry not found for ID: {}", id);
       return false;
     }
 
     clipboardRepository.deleteById(id);
+    afterCommit(() -> dedupIndex.remove(id));
+    ClipboardSummary deleted = existing.get();
+    trackStatsUntilCompletion();
+    statsTracker.entryRemoved(deleted.timestamp(), deleted.contentLength(), deleted.isPinned());
+    afterCommit(() -> searchIndex.delete(id));
+    versionOnCommit();
     log.info("Deleted clipboard entry ID: {}", id);
 
-    // Notify WebSocket clients
-    notifyWebSocketDelete(id);
+    // Notify listeners such as WebSocket clients once committed
+    eventPublisher.publishEvent(ClipboardChangedEvent.deleted(id));
 
     return true;
   }
@@ -238,21 +497,33 @@ public class ClipboardService {
     return clipboardRepository.findById(id);
   }
 
-  /** Gets all clipboard entries with pagination */
+  /**
+   * Finds the most recent entry with exactly the given content, probing the content hash index
+   * and verifying the content of each candidate.
+   */
+  @Transactional(readOnly = true)
+  public Optional<ClipboardEntry> findByContent(String content) {
+    if (content == null) return Optional.empty();
+    return clipboardRepository.findByContentHash(ContentDigest.of(content)).stream()
+        .filter(entry -> content.equals(entry.getContent()))
+        .max(Comparator.comparing(ClipboardEntry::getTimestamp));
+  }
+
+  /** Gets summaries of all clipboard entries with pagination, without loading their content */
   @Transactional(readOnly = true)
-  public Page<ClipboardEntry> findAll(Pageable pageable) {
+  public Page<ClipboardSummary> findAll(Pageable pageable) {
     log.debug(
         "Finding all clipboard entries - page: {}, size: {}",
         pageable.getPageNumber(),
         pageable.getPageSize());
-    return clipboardRepository.findAllOrderByTimestampDesc(pageable);
+    return clipboardRepository.findAllSummaries(pageable);
   }
 
-  /** Gets all pinned clipboard entries */
+  /** Gets summaries of all pinned clipboard entries */
   @Transactional(readOnly = true)
-  public List<ClipboardEntry> findAllPinned() {
+  public List<ClipboardSummary> findAllPinned() {
     log.debug("Finding all pinned clipboard entries");
-    List<ClipboardEntry> pinned = clipboardRepository.findByIsPinnedTrueOrderByTimestampDesc();
+    List<ClipboardSummary> pinned = clipboardRepository.findPinnedSummaries();
     log.debug("Found {} pinned entries", pinned.size());
     return pinned;
   }
@@ -262,10 +533,10 @@ public class ClipboardService {
    *
    * @param searchTerm The search term
    * @param pageable Pagination information
-   * @return Page of matching entries
+   * @return Page of summaries of matching entries
    */
   @Transactional(readOnly = true)
-  public Page<ClipboardEntry> searchByContent(String searchTerm, Pageable pageable) {
+  public Page<ClipboardSummary> searchByContent(String searchTerm, Pageable pageable) {
     log.debug(
         "Searching clipboard entries for term: '{}' - page: {}, size: {}",
         searchTerm,
@@ -277,21 +548,82 @@ public class ClipboardService {
       return Page.empty(pageable);
     }
 
-    return clipboardRepository.findByContentContainingIgnoreCase(searchTerm, pageable);
+    if (searchIndex.isReady()) {
+      ClipboardSearchIndex.SearchHits hits =
+          searchIndex.search(searchTerm, (int) pageable.getOffset(), pageable.getPageSize());
+      if (hits != null) {
+        return new PageImpl<>(loadSummaries(hits.ids()), pageable, hits.total());
+      }
+    }
+
+    // Index rebuilding, disabled, or nothing but punctuation to look for
+    return clipboardRepository.searchSummaries(searchTerm, pageable);
+  }
+
+  /**
+   * Gets the next slice of summaries after a cursor, newest first, without counting rows
+   *
+   * @param after Cursor of the last entry already seen, or null for the first slice
+   * @param size Maximum number of entries in the slice
+   * @return Slice of summaries, with hasNext set if older entries remain
+   */
+  @Transactional(readOnly = true)
+  public Slice<ClipboardSummary> scroll(ClipboardCursor after, int size) {
+    log.debug("Scrolling clipboard entries after {} - size: {}", after, size);
+    Limit limit = Limit.of(size + 1);
+    List<ClipboardSummary> rows =
+        after == null
+            ? clipboardRepository.scrollSummaries(limit)
+            : clipboardRepository.scrollSummariesAfter(after.timestamp(), after.id(), limit);
+    return toSlice(rows, size);
+  }
+
+  /**
+   * Gets the next slice of summaries matching a search term after a cursor, newest first
+   *
+   * @param searchTerm The search term
+   * @param after Cursor of the last entry already seen, or null for the first slice
+   * @param size Maximum number of entries in the slice
+   * @return Slice of summaries of matching entries
+   */
+  @Transactional(readOnly = true)
+  public Slice<ClipboardSummary> searchScroll(
+      String searchTerm, ClipboardCursor after, int size) {
+    log.debug(
+        "Scrolling search results for term: '{}' after {} - size: {}", searchTerm, after, size);
+
+    if (searchTerm == null || searchTerm.trim().isEmpty()) {
+      log.warn("Empty search term provided");
+      return new SliceImpl<>(List.of(), PageRequest.ofSize(size), false);
+    }
+
+    if (searchIndex.isReady()) {
+      List<Long> ids = searchIndex.searchAfter(searchTerm, after, size + 1);
+      if (ids != null) {
+        return toSlice(loadSummaries(ids), size);
+      }
+    }
+
+    Limit limit = Limit.of(size + 1);
+    List<ClipboardSummary> rows =
+        after == null
+            ? clipboardRepository.scrollSearchSummaries(searchTerm, limit)
+            : clipboardRepository.scrollSearchSummariesAfter(
+                searchTerm, after.timestamp(), after.id(), limit);
+    return toSlice(rows, size);
   }
 
   /**
    * Gets clipboard entries from the last N hours
    *
    * @param hours Number of hours to look back
-   * @return List of recent entries
+   * @return Summaries of recent entries
    */
   @Transactional(readOnly = true)
-  public List<ClipboardEntry> findRecent(int hours) {
+  public List<ClipboardSummary> findRecent(int hours) {
     log.debug("Finding clipboard entries from the last {} hours", hours);
     LocalDateTime since = LocalDateTime.now().minusHours(hours);
-    List<ClipboardEntry> recent =
-        clipboardRepository.findByTimestampAfterOrderByTimestampDesc(since);
+    List<ClipboardSummary> recent = clipboardRepository.findSummariesSince(since);
     log.debug("Found {} entries since {}", recent.size(), since);
     return recent;
   }
@@ -316,6 +648,15 @@ public class ClipboardService {
       } else {
         deletedCount = clipboardRepository.deleteByTimestampBeforeAndIsPinnedFalse(threshold);
       }
+      afterCommit(() -> dedupIndex.evictOlderThan(threshold, includePinned));
+      trackStatsUntilCompletion();
+      statsTracker.entriesRemoved(deletedCount, includePinned);
+      afterCommit(() -> searchIndex.deleteOlderThan(threshold, includePinned));
+      versionOnCommit();
+      if (deletedCount > 0) {
+        // The deleted IDs are not known, so clients load the history again
+        eventPublisher.publishEvent(ClipboardChangedEvent.reloaded());
+      }
 
       log.info("Deleted {} clipboard entries older than {} hours", deletedCount, hours);
       return deletedCount;
@@ -326,56 +667,19 @@ public class ClipboardService {
     }
   }
 
-  /** Gets statistics about clipboard entries */
-  @Transactional(readOnly = true)
+  /** Gets statistics about clipboard entries from the in-memory tracker, without a query */
   public ClipboardStats getStats() {
-    log.debug("Calculating clipboard statistics");
-
-    long totalCount = clipboardRepository.count();
-    long pinnedCount = clipboardRepository.countByisPinnedTrue();
-    LocalDateTime oldestEntry = clipboardRepository.findOldestTimestamp();
-    LocalDateTime newestEntry = clipboardRepository.findNewestTimestamp();
-
-    ClipboardStats stats =
-        ClipboardStats.builder()
-            .totalEntries(totalCount)
-            .pinnedEntries(pinnedCount)
-            .unpinnedEntries(totalCount - pinnedCount)
-            .oldestEntry(oldestEntry)
-            .newestEntry(newestEntry)
-            .build();
+    ClipboardStats stats = statsTracker.snapshot();
 
-    log.info(
+    log.debug(
         "Clipboard stats - Total: {}, Pinned: {}, Unpinned: {}",
-        totalCount,
-        pinnedCount,
-        totalCount - pinnedCount);
+        stats.getTotalEntries(),
+        stats.getPinnedEntries(),
+        stats.getUnpinnedEntries());
 
     return stats;
   }
 
-  /** Exports clipboard entries to various formats */
-  public CompletableFuture<String> exportEntries(ExportFormat format, boolean includePinned) {
-    return CompletableFuture.supplyAsync(
-        () -> {
-          List<ClipboardEntry> entries =
-              includePinned
-                  ? clipboardRepository.findAll()
-                  : clipboardRepository.findByIsPinnedFalseOrderByTimestampDesc();
-
-          switch (format) {
-            case JSON:
-              return exportToJson(entries);
-            case CSV:
-              return exportToCsv(entries);
-            case TXT:
-              return exportToText(entries);
-            default:
-              throw new IllegalArgumentException("Unsupported export format: " + format);
-          }
-        });
-  }
-
   /** Stops clipboard monitoring */
   public boolean stopClipboard() {
     return clipboardRunner.stop();
@@ -388,16 +692,96 @@ public class ClipboardService {
 
   /** Checks if clipboard monitoring is active */
   public boolean isMonitoringActive() {
-    return clipboardRunner.getMonitoringSession() != null
-        && !clipboardRunner.getMonitoringSession().isStopped();
+    return clipboardRunner.isRunning();
+  }
+
+  /**
+   * Identifies the committed state of the history and statistics. It changes once every change
+   * commits, so a client whose copy carries the current tag can keep it without a query. The tag
+   * starts over with a new prefix when the application restarts.
+   */
+  public String getVersionTag() {
+    return versionEpoch + "-" + committedVersion.get();
+  }
+
+  /** Start of the window in which repeated content counts as a duplicate */
+  public LocalDateTime getDuplicateCheckThreshold() {
+    return LocalDateTime.now().minusHours(MAX_DUPLICATE_CHECK_HOURS);
   }
 
   // Private helper methods
 
-  /** Checks for recent duplicates of the given content */
-  private Optional<ClipboardEntry> findRecentDuplicate(String content) {
-    LocalDateTime since = LocalDateTime.now().minusHours(MAX_DUPLICATE_CHECK_HOURS);
-    return clipboardRepository.findFirstByContentAndTimestampAfter(content, since);
+  /**
+   * Loads summaries for IDs returned by the search index, keeping the index order. IDs of entries
+   * deleted since they were indexed are skipped.
+   */
+  private List<ClipboardSummary> loadSummaries(List<Long> ids) {
+    if (ids.isEmpty()) return List.of();
+    Map<Long, ClipboardSummary> byId =
+        clipboardRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(ClipboardSummary::id, Function.identity()));
+    return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+  }
+
+  /** Runs an action once the current transaction commits, or right away outside one */
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * Records an entry in the dedup index once the current transaction commits, so a rollback never
+   * leaves a slot for a row that was not stored.
+   */
+  private void recordOnCommit(String digest, ClipboardEntry entry) {
+    Long id = entry.getId();
+    LocalDateTime timestamp = entry.getTimestamp();
+    boolean pinned = entry.isPinned();
+    afterCommit(() -> dedupIndex.record(digest, id, timestamp, pinned));
+  }
+
+  /**
+   * Moves the version on once the current transaction commits. Readers fetch the version before
+   * querying, so they may tag fresh data with an old version, which costs one extra fetch, but
+   * never old data with a new one.
+   */
+  private void versionOnCommit() {
+    afterCommit(committedVersion::incrementAndGet);
+  }
+
+  /** Trims the look-ahead row fetched to detect whether another slice exists. */
+  private Slice<ClipboardSummary> toSlice(List<ClipboardSummary> rows, int size) {
+    boolean hasNext = rows.size() > size;
+    List<ClipboardSummary> content = hasNext ? rows.subList(0, size) : rows;
+    return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+  }
+
+  /**
+   * Checks for recent duplicates of the given content. A miss is answered from the dedup index
+   * alone; a hit loads the entry and verifies its content before reusing it.
+   */
+  private Optional<ClipboardEntry> findRecentDuplicate(String content, String digest) {
+    return dedupIndex
+        .find(digest, getDuplicateCheckThreshold())
+        .flatMap(
+            id -> {
+              Optional<ClipboardEntry> entry =
+                  clipboardRepository.findById(id).filter(e -> content.equals(e.getContent()));
+              if (entry.isEmpty()) {
+                // Stale slot, e.g. for a row deleted outside this service
+                dedupIndex.remove(id);
+              }
+              return entry;
+            });
   }
 
   /** Truncates text for logging purposes */
@@ -407,6 +791,59 @@ public class ClipboardService {
     return text.substring(0, maxLength) + "...";
   }
 
+  /**
+   * Holds off reconciliation until the current transaction completes, so the aggregate query sees
+   * the changes about to be recorded, then reconciles if they left the statistics stale. Must be
+   * called before recording changes in the stats tracker.
+   */
+  private void trackStatsUntilCompletion() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+    statsTracker.transactionStarted();
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            statsTracker.transactionCompleted(status == STATUS_COMMITTED);
+            requestStatsReconciliation();
+          }
+        });
+  }
+
+  /**
+   * Records how long the current transaction stays open from this call until it completes, tagged
+   * with the operation and whether it committed. Broadcasting happens after the commit and is
+   * timed separately as {@code clipboard.broadcast.latency}.
+   */
+  private void timeTransaction(String operation) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+    long start = System.nanoTime();
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            Timer.builder("clipboard.transaction")
+                .description("Time a clipboard transaction stays open")
+                .tag("operation", operation)
+                .tag("outcome", status == STATUS_COMMITTED ? "committed" : "rolled_back")
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+          }
+        });
+  }
+
+  /** Queues a single reconciliation if the statistics are stale and none is pending */
+  private void requestStatsReconciliation() {
+    if (statsTracker.isStale() && statsReconcilePending.compareAndSet(false, true)) {
+      scheduler.execute(this::reconcileStats);
+    }
+  }
+
+  /** Schedules periodic reconciliation of the in-memory statistics */
+  private void scheduleStatsReconciliation() {
+    scheduler.scheduleWithFixedDelay(
+        this::reconcileStats, STATS_RECONCILE_MINUTES, STATS_RECONCILE_MINUTES, TimeUnit.MINUTES);
+  }
+
   /** Schedules automatic cleanup of old entries */
   private void scheduleAutomaticCleanup() {
     scheduler.scheduleAtFixedRate(
@@ -414,6 +851,7 @@ public class ClipboardService {
           try {
             long deleted =
                 deleteOlderThan(7 * 24, false); // Delete unpinned entries older than 7 days
+            dedupIndex.evictOlderThan(getDuplicateCheckThreshold(), true);
             if (deleted > 0) {
               log.info("Automatic cleanup deleted {} old entries", deleted);
             }
@@ -426,105 +864,8 @@ public class ClipboardService {
         TimeUnit.HOURS); // Run daily
   }
 
-  // WebSocket notification methods
-
-  private void notifyWebSocketNewEntry(ClipboardEntry entry) {
-    webSocketController.broadcastNewEntry(entry);
-  }
-
-  private void notifyWebSocketUpdate(ClipboardEntry entry) {
-    webSocketController.broadcastUpdate(entry);
-  }
-
-  private void notifyWebSocketDelete(Long entryId) {
-    webSocketController.broadcastDelete(entryId);
-  }
-
-  private void notifyWebSocketClear(boolean includePinned) {
-    webSocketController.broadcastClear(includePinned);
-  }
-
-  // Export helper methods
-
-  private String exportToJson(List<ClipboardEntry> entries) {
-    // Simple JSON export - in production, use Jackson ObjectMapper
-    StringBuilder json = new StringBuilder("[");
-    for (int i = 0; i < entries.size(); i++) {
-      ClipboardEntry entry = entries.get(i);
-      json.append("{")
-          .append("\"id\":")
-          .append(entry.getId())
-          .append(",")
-          .append("\"content\":\"")
-          .append(escapeJson(entry.getContent()))
-          .append("\",")
-          .append("\"timestamp\":\"")
-          .append(entry.getTimestamp())
-          .append("\",")
-          .append("\"pinned\":")
-          .append(entry.isPinned())
-          .append("}");
-      if (i < entries.size() - 1) json.append(",");
-    }
-    json.append("]");
-    return json.toString();
-  }
-
-  private String exportToCsv(List<ClipboardEntry> entries) {
-    StringBuilder csv = new StringBuilder("ID,Content,Timestamp,Pinned\n");
-    for (ClipboardEntry entry : entries) {
-      csv.append(entry.getId())
-          .append(",")
-          .append("\"")
-          .append(escapeCsv(entry.getContent()))
-          .append("\",")
-          .append(entry.getTimestamp())
-          .append(",")
-          .append(entry.isPinned())
-          .append("\n");
-    }
-    return csv.toString();
-  }
-
-  private String exportToText(List<ClipboardEntry> entries) {
-    StringBuilder text = new StringBuilder();
-    for (ClipboardEntry entry : entries) {
-      text.append("=== Entry ")
-          .append(entry.getId())
-          .append(" ===\n")
-          .append("Time: ")
-          .append(entry.getTimestamp())
-          .append("\n")
-          .append("Pinned: ")
-          .append(entry.isPinned())
-          .append("\n")
-          .append("Content:\n")
-          .append(entry.getContent())
-          .append("\n\n");
-    }
-    return text.toString();
-  }
-
-  private String escapeJson(String str) {
-    return str.replace("\\", "\\\\")
-        .replace("\"", "\\\"")
-        .replace("\n", "\\n")
-        .replace("\r", "\\r")
-        .replace("\t", "\\t");
-  }
-
-  private String escapeCsv(String str) {
-    return str.replace("\"", "\"\"");
-  }
-
   // Enums and inner classes
 
-  public enum ExportFormat {
-    JSON,
-    CSV,
-    TXT
-  }
-
   /** Event published when a new clipboard entry is created */
   public static class ClipboardEntryCreatedEvent {
     private final ClipboardEntry entry;
@@ -543,6 +884,7 @@ public class ClipboardService {
     private long totalEntries;
     private long pinnedEntries;
     private long unpinnedEntries;
+    private long totalContentLength;
     private LocalDateTime oldestEntry;
     private LocalDateTime newestEntry;
 
@@ -552,11 +894,13 @@ public class ClipboardService {
         long totalEntries,
         long pinnedEntries,
         long unpinnedEntries,
+        long totalContentLength,
         LocalDateTime oldestEntry,
         LocalDateTime newestEntry) {
       this.totalEntries = totalEntries;
       this.pinnedEntries = pinnedEntries;
       this.unpinnedEntries = unpinnedEntries;
+      this.totalContentLength = totalContentLength;
       this.oldestEntry = oldestEntry;
       this.newestEntry = newestEntry;
     }
@@ -574,6 +918,11 @@ public class ClipboardService {
       return unpinnedEntries;
     }
 
+    /** Sum of content lengths in characters */
+    public long getTotalContentLength() {
+      return totalContentLength;
+    }
+
     public LocalDateTime getOldestEntry() {
       return oldestEntry;
     }
@@ -595,6 +944,10 @@ public class ClipboardService {
       this.unpinnedEntries = unpinnedEntries;
     }
 
+    public void setTotalContentLength(long totalContentLength) {
+      this.totalContentLength = totalContentLength;
+    }
+
     public void setOldestEntry(LocalDateTime oldestEntry) {
       this.oldestEntry = oldestEntry;
     }
@@ -612,6 +965,7 @@ public class ClipboardService {
       private long totalEntries;
       private long pinnedEntries;
       private long unpinnedEntries;
+      private long totalContentLength;
       private LocalDateTime oldestEntry;
       private LocalDateTime newestEntry;
 
@@ -630,6 +984,11 @@ public class ClipboardService {
         return this;
       }
 
+      public ClipboardStatsBuilder totalContentLength(long totalContentLength) {
+        this.totalContentLength = totalContentLength;
+        return this;
+      }
+
       public ClipboardStatsBuilder oldestEntry(LocalDateTime oldestEntry) {
         this.oldestEntry = oldestEntry;
         return this;
@@ -642,7 +1001,12 @@ public class ClipboardService {
 
       public ClipboardStats build() {
         return new ClipboardStats(
-            totalEntries, pinnedEntries, unpinnedEntries, oldestEntry, newestEntry);
+            totalEntries,
+            pinnedEntries,
+            unpinnedEntries,
+            totalContentLength,
+            oldestEntry,
+            newestEntry);
       }
     }
   }
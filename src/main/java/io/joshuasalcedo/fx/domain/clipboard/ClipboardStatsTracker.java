@@ -0,0 +1,155 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.time.LocalDateTime;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory statistics about stored clipboard entries, updated by every mutation.
+ *
+ * <p>Lets the statistics endpoint answer without touching the database. Changes whose effect
+ * cannot be known exactly, such as bulk deletes or removing the oldest entry, mark the figures as
+ * stale until the next {@link #reconcile(ClipboardTotals, long)} against the database.
+ */
+@Component
+public class ClipboardStatsTracker {
+
+  private long entries;
+  private long pinnedEntries;
+  private long contentLength;
+  private LocalDateTime oldestEntry;
+  private LocalDateTime newestEntry;
+
+  private long version;
+  private int inFlight;
+  private boolean stale = true;
+
+  /** Registers a transaction whose changes are about to be recorded. */
+  public synchronized void transactionStarted() {
+    inFlight++;
+  }
+
+  /**
+   * Registers that a transaction passed to {@link #transactionStarted()} has ended.
+   *
+   * @param committed false if it rolled back, leaving its recorded changes wrong
+   */
+  public synchronized void transactionCompleted(boolean committed) {
+    inFlight = Math.max(0, inFlight - 1);
+    if (!committed) {
+      version++;
+      stale = true;
+    }
+  }
+
+  /** Records a newly stored entry. */
+  public synchronized void entryAdded(LocalDateTime timestamp, Integer length, boolean pinned) {
+    version++;
+    entries++;
+    if (pinned) pinnedEntries++;
+    contentLength += length != null ? length : 0;
+    if (timestamp != null) {
+      if (oldestEntry == null || timestamp.isBefore(oldestEntry)) oldestEntry = timestamp;
+      if (newestEntry == null || timestamp.isAfter(newestEntry)) newestEntry = timestamp;
+    }
+  }
+
+  /** Records that an existing entry moved from one timestamp to another. */
+  public synchronized void entryTouched(LocalDateTime previous, LocalDateTime current) {
+    version++;
+    if (current != null && (newestEntry == null || current.isAfter(newestEntry))) {
+      newestEntry = current;
+    }
+    if (previous != null && previous.equals(oldestEntry)) {
+      // The next oldest entry is unknown
+      stale = true;
+    }
+  }
+
+  /** Records that an entry was pinned or unpinned. */
+  public synchronized void pinChanged(boolean pinned) {
+    version++;
+    pinnedEntries = Math.max(0, pinnedEntries + (pinned ? 1 : -1));
+  }
+
+  /** Records the removal of a single, known entry. */
+  public synchronized void entryRemoved(LocalDateTime timestamp, Integer length, boolean pinned) {
+    version++;
+    entries = Math.max(0, entries - 1);
+    if (pinned) pinnedEntries = Math.max(0, pinnedEntries - 1);
+    contentLength = Math.max(0, contentLength - (length != null ? length : 0));
+    if (entries == 0) {
+      oldestEntry = null;
+      newestEntry = null;
+    } else if (timestamp != null
+        && (timestamp.equals(oldestEntry) || timestamp.equals(newestEntry))) {
+      stale = true;
+    }
+  }
+
+  /**
+   * Records a bulk removal. The entry count is adjusted right away, everything else is left for
+   * reconciliation.
+   */
+  public synchronized void entriesRemoved(long count, boolean includingPinned) {
+    if (count <= 0) return;
+    version++;
+    entries = Math.max(0, entries - count);
+    if (!includingPinned) {
+      entries = Math.max(entries, pinnedEntries);
+    }
+    stale = true;
+  }
+
+  /** Records that every entry was removed. */
+  public synchronized void cleared() {
+    version++;
+    entries = 0;
+    pinnedEntries = 0;
+    contentLength = 0;
+    oldestEntry = null;
+    newestEntry = null;
+  }
+
+  /**
+   * Replaces the figures with totals read from the database.
+   *
+   * @param totals The totals read from the database
+   * @param expectedVersion The {@link #version()} observed before reading the totals
+   * @return false if the totals were discarded because a mutation happened in between or a
+   *     transaction with recorded changes has not completed yet
+   */
+  public synchronized boolean reconcile(ClipboardTotals totals, long expectedVersion) {
+    if (version != expectedVersion || inFlight > 0) {
+      return false;
+    }
+    entries = totals.entries();
+    pinnedEntries = totals.pinnedEntries();
+    contentLength = totals.contentLength();
+    oldestEntry = totals.oldestEntry();
+    newestEntry = totals.newestEntry();
+    stale = false;
+    return true;
+  }
+
+  /** Returns a counter that changes with every recorded mutation. */
+  public synchronized long version() {
+    return version;
+  }
+
+  /** Checks whether some figures may be off until the next reconciliation. */
+  public synchronized boolean isStale() {
+    return stale;
+  }
+
+  /** Returns the current figures. */
+  public synchronized ClipboardService.ClipboardStats snapshot() {
+    return ClipboardService.ClipboardStats.builder()
+        .totalEntries(entries)
+        .pinnedEntries(pinnedEntries)
+        .unpinnedEntries(entries - pinnedEntries)
+        .totalContentLength(contentLength)
+        .oldestEntry(oldestEntry)
+        .newestEntry(newestEntry)
+        .build();
+  }
+}
@@ -0,0 +1,23 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything list views need about an entry, without the content itself.
+ *
+ * <p>Selected through constructor expressions in {@link ClipboardRepository}, so the {@code
+ * content} column is never read.
+ */
+public record ClipboardSummary(
+    Long id,
+    LocalDateTime timestamp,
+    String preview,
+    Integer contentLength,
+    String contentType,
+    boolean isPinned) {
+
+  /** Checks whether the preview holds less than the full content. */
+  public boolean isTruncated() {
+    return contentLength != null && preview != null && preview.length() < contentLength;
+  }
+}
@@ -0,0 +1,11 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.time.LocalDateTime;
+
+/** Aggregate figures over all stored entries, read in a single query to reconcile statistics. */
+public record ClipboardTotals(
+    long entries,
+    long pinnedEntries,
+    long contentLength,
+    LocalDateTime oldestEntry,
+    LocalDateTime newestEntry) {}
@@ -0,0 +1,34 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Computes the SHA-256 digest used to identify clipboard content. */
+public final class ContentDigest {
+
+  /** Length of a hex-encoded digest. */
+  public static final int HEX_LENGTH = 64;
+
+  private static final HexFormat HEX = HexFormat.of();
+
+  private ContentDigest() {}
+
+  /**
+   * Hashes the UTF-8 bytes of the given content.
+   *
+   * @param content The clipboard content
+   * @return The lowercase hex-encoded SHA-256 digest, or null if content is null
+   */
+  public static String of(String content) {
+    if (content == null) return null;
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HEX.formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every JRE is required to ship SHA-256
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
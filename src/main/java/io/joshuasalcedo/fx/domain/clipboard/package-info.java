@@ -10,7 +10,27 @@
  * <ul>
  *   <li>ClipboardEntry - Entity representing a clipboard item with content and metadata
  *   <li>ClipboardRepository - Repository interface for persisting and querying clipboard entries
+ *   <li>ClipboardSummary - Content-free projection of an entry, with a short preview, for list
+ *       views
+ *   <li>ClipboardCursor - Opaque (timestamp, id) position for keyset pagination of the history
  *   <li>ClipboardService - Domain service providing business logic for clipboard operations
+ *   <li>ClipboardChangedEvent - Published when an entry is added, updated or deleted or the history
+ *       is cleared, imported or purged, for listeners that act once the transaction commits
+ *   <li>ClipboardDedupIndex - In-memory digest index answering duplicate checks without a
+ *       database round-trip
+ *   <li>ContentDigest - SHA-256 digest used to identify clipboard content
+ *   <li>ClipboardStatsTracker - In-memory statistics kept up to date by every change and
+ *       reconciled against the database in the background
+ *   <li>ClipboardEntryBackfill - Background job that fills in derived columns for older rows
+ *   <li>ClipboardExporter - Streams the history to an output stream as JSON, CSV or plain text
+ *   <li>ClipboardExportJobService - Runs exports into files in the background, with progress,
+ *       cancellation, resumption and incremental exports
+ *   <li>ClipboardExportJob - State and progress of one background export
+ *   <li>ClipboardExportWatermark - Highest ID and timestamp of an export, the starting point of
+ *       the next incremental one
+ *   <li>ClipboardImporter - Loads JSON, NDJSON or CSV exports back in, in batched chunks
+ *   <li>ClipboardImportRecord / ClipboardImportResult - One parsed entry and the import totals
+ *   <li>ClipboardIdSequenceInitializer - Moves the ID sequence past existing rows at startup
  * </ul>
  *
  * <p>The clipboard functionality allows users to:
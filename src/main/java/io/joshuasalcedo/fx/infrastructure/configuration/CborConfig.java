@@ -0,0 +1,78 @@
+package io.joshuasalcedo.fx.infrastructure.configuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configures CBOR, a binary encoding of the JSON data model, as an alternative for clients that
+ * spend noticeable time parsing JSON.
+ *
+ * <p>REST clients ask for it with {@code Accept: application/cbor} and may send request bodies as
+ * {@code Content-Type: application/cbor}. STOMP clients ask for it per subscription; see {@link
+ * io.joshuasalcedo.fx.infrastructure.websocket.PayloadEncoder}. CBOR payloads carry timestamps as
+ * epoch milliseconds in the server's time zone instead of ISO strings, while JSON stays unchanged
+ * for existing clients.
+ */
+@Configuration
+public class CborConfig {
+
+  /** Replaces the CBOR converter Spring MVC would otherwise build without the Boot settings. */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+  }
+
+  /**
+   * Builds a CBOR mapper with the same settings as the application's JSON mapper. It is not
+   * registered as a bean, since a second {@link ObjectMapper} bean would replace the JSON one.
+   *
+   * @param builder A builder with the Boot Jackson settings applied
+   * @return The CBOR mapper
+   */
+  public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+    ObjectMapper mapper = builder.factory(new CBORFactory()).build();
+    // Registered after the Java time module, so it takes precedence for LocalDateTime
+    mapper.registerModule(
+        new SimpleModule("EpochMillis")
+            .addSerializer(LocalDateTime.class, new EpochMillisSerializer())
+            .addDeserializer(LocalDateTime.class, new EpochMillisDeserializer()));
+    return mapper;
+  }
+
+  static final class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers)
+        throws IOException {
+      gen.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+  }
+
+  static final class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context)
+        throws IOException {
+      if (parser.currentToken() == JsonToken.VALUE_STRING) {
+        return LocalDateTime.parse(parser.getText());
+      }
+      return LocalDateTime.ofInstant(
+          Instant.ofEpochMilli(parser.getLongValue()), ZoneId.systemDefault());
+    }
+  }
+}
@@ -3,11 +3,20 @@ package io.joshuasalcedo.fx.infrastructure.configuration;
 import io.joshuasalcedo.clipboard.core.ClipboardListenerProvider;
 import io.joshuasalcedo.clipboard.core.ClipboardListenerProviderFactory;
 import io.joshuasalcedo.clipboard.core.ClipboardMonitor;
+import io.joshuasalcedo.fx.infrastructure.events.ClipboardCaptureSource;
+import io.joshuasalcedo.fx.infrastructure.events.ListenerCaptureSource;
+import io.joshuasalcedo.fx.infrastructure.events.MonitorCaptureSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(ClipboardProperties.class)
 public class ClipboardConfiguration {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardConfiguration.class);
 
   @Bean
   public ClipboardListenerProvider clipboardListenerProvider() {
@@ -18,4 +27,27 @@ public class ClipboardConfiguration {
   public ClipboardMonitor clipboardMonitor(ClipboardListenerProvider provider) {
     return new ClipboardMonitor();
   }
+
+  /** Chooses native notifications or polling as set by {@code clipboard.capture.strategy}. */
+  @Bean
+  @ConditionalOnMissingBean
+  public ClipboardCaptureSource clipboardCaptureSource(
+      ClipboardProperties properties,
+      ClipboardListenerProvider provider,
+      ClipboardMonitor clipboardMonitor) {
+    ClipboardProperties.CaptureStrategy strategy = properties.getCapture().getStrategy();
+    boolean listenerAvailable = provider.isAvailable();
+    MonitorCaptureSource polling = new MonitorCaptureSource(clipboardMonitor);
+
+    if (strategy != ClipboardProperties.CaptureStrategy.POLLING && listenerAvailable) {
+      log.info("Capturing clipboard changes from native notifications");
+      return new ListenerCaptureSource(provider, polling);
+    }
+    if (strategy == ClipboardProperties.CaptureStrategy.LISTENER) {
+      log.error("Native clipboard notifications are not available, falling back to polling");
+    } else {
+      log.info("Capturing clipboard changes by polling");
+    }
+    return polling;
+  }
 }
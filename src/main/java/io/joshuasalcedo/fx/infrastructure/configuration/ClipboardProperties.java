@@ -0,0 +1,411 @@
+package io.joshuasalcedo.fx.infrastructure.configuration;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Tunable settings for clipboard capture and persistence, bound from {@code clipboard.*}. */
+@ConfigurationProperties(prefix = "clipboard")
+public class ClipboardProperties {
+
+  private final Capture capture = new Capture();
+  private final Ingestion ingestion = new Ingestion();
+  private final Search search = new Search();
+  private final Export export = new Export();
+  private final Broadcast broadcast = new Broadcast();
+  private final WebSocket webSocket = new WebSocket();
+  private final Stream stream = new Stream();
+
+  public Capture getCapture() {
+    return capture;
+  }
+
+  public Ingestion getIngestion() {
+    return ingestion;
+  }
+
+  public Search getSearch() {
+    return search;
+  }
+
+  public Export getExport() {
+    return export;
+  }
+
+  public Broadcast getBroadcast() {
+    return broadcast;
+  }
+
+  public WebSocket getWebSocket() {
+    return webSocket;
+  }
+
+  public Stream getStream() {
+    return stream;
+  }
+
+  /** How clipboard changes are detected. */
+  public enum CaptureStrategy {
+    /** Native change notifications when the platform supports them, polling otherwise. */
+    AUTO,
+    /** Native change notifications from the clipboard listener provider. */
+    LISTENER,
+    /** Polling through the clipboard monitor. */
+    POLLING
+  }
+
+  /** What to do when the ingestion queue is full. */
+  public enum OverflowPolicy {
+    /** Wait up to {@code offer-timeout} for space, then drop the new entry. */
+    BLOCK,
+    /** Evict the oldest queued entry to make room for the new one. */
+    DROP_OLDEST,
+    /** Reject the new entry and keep what is already queued. */
+    DROP_NEWEST
+  }
+
+  /** Settings for turning clipboard change notifications into save requests. */
+  public static class Capture {
+    private CaptureStrategy strategy = CaptureStrategy.AUTO;
+    private Duration coalesceWindow = Duration.ofMillis(150);
+    private boolean dropConsecutiveDuplicates = true;
+
+    // Getters
+    public CaptureStrategy getStrategy() {
+      return strategy;
+    }
+
+    public Duration getCoalesceWindow() {
+      return coalesceWindow;
+    }
+
+    public boolean isDropConsecutiveDuplicates() {
+      return dropConsecutiveDuplicates;
+    }
+
+    // Setters
+    public void setStrategy(CaptureStrategy strategy) {
+      this.strategy = strategy;
+    }
+
+    public void setCoalesceWindow(Duration coalesceWindow) {
+      this.coalesceWindow = coalesceWindow;
+    }
+
+    public void setDropConsecutiveDuplicates(boolean dropConsecutiveDuplicates) {
+      this.dropConsecutiveDuplicates = dropConsecutiveDuplicates;
+    }
+  }
+
+  /** Settings for the queue between clipboard capture and the database. */
+  public static class Ingestion {
+    private int queueCapacity = 1024;
+    private int batchSize = 64;
+    private Duration maxLinger = Duration.ofMillis(50);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    private Duration offerTimeout = Duration.ofMillis(250);
+
+    // Getters
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public Duration getMaxLinger() {
+      return maxLinger;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+      return overflowPolicy;
+    }
+
+    public Duration getOfferTimeout() {
+      return offerTimeout;
+    }
+
+    // Setters
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    public void setMaxLinger(Duration maxLinger) {
+      this.maxLinger = maxLinger;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+      this.overflowPolicy = overflowPolicy;
+    }
+
+    public void setOfferTimeout(Duration offerTimeout) {
+      this.offerTimeout = offerTimeout;
+    }
+  }
+
+  /** Settings for the full-text search index. */
+  public static class Search {
+    private boolean enabled = true;
+    private String indexDirectory = "";
+    private Duration commitInterval = Duration.ofSeconds(30);
+    private int rebuildBatchSize = 500;
+    private Duration rebuildDelay = Duration.ofSeconds(5);
+
+    // Getters
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    /** Where the index is stored; blank keeps it in memory and rebuilds it on every start. */
+    public String getIndexDirectory() {
+      return indexDirectory;
+    }
+
+    public Duration getCommitInterval() {
+      return commitInterval;
+    }
+
+    public int getRebuildBatchSize() {
+      return rebuildBatchSize;
+    }
+
+    /** How long to wait before rebuilding after a failed write, doubled after each failed try. */
+    public Duration getRebuildDelay() {
+      return rebuildDelay;
+    }
+
+    // Setters
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public void setIndexDirectory(String indexDirectory) {
+      this.indexDirectory = indexDirectory;
+    }
+
+    public void setCommitInterval(Duration commitInterval) {
+      this.commitInterval = commitInterval;
+    }
+
+    public void setRebuildBatchSize(int rebuildBatchSize) {
+      this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public void setRebuildDelay(Duration rebuildDelay) {
+      this.rebuildDelay = rebuildDelay;
+    }
+  }
+
+  /** Settings for history exports. */
+  public static class Export {
+    private int gzipLevel = 1;
+    private int zstdLevel = 3;
+    private int formatThreads = 0;
+    private String jobDirectory = "";
+    private int jobThreads = 1;
+    private int maxQueuedJobs = 8;
+    private Duration jobRetention = Duration.ofHours(24);
+
+    // Getters
+    /** Deflate level for gzip exports, from 1 (fastest) to 9 (smallest). */
+    public int getGzipLevel() {
+      return gzipLevel;
+    }
+
+    /** Zstandard level for zstd exports, from 1 (fastest) to 19 (smallest). */
+    public int getZstdLevel() {
+      return zstdLevel;
+    }
+
+    /** Threads formatting export chunks in parallel; 0 uses one per available processor. */
+    public int getFormatThreads() {
+      return formatThreads;
+    }
+
+    /** Where export job files are written; blank uses a directory under the system temp dir. */
+    public String getJobDirectory() {
+      return jobDirectory;
+    }
+
+    /** How many export jobs run at the same time. */
+    public int getJobThreads() {
+      return jobThreads;
+    }
+
+    /** How many export jobs may wait for a thread before new ones are refused. */
+    public int getMaxQueuedJobs() {
+      return maxQueuedJobs;
+    }
+
+    /** How long a finished export job and its file are kept for download. */
+    public Duration getJobRetention() {
+      return jobRetention;
+    }
+
+    // Setters
+    public void setGzipLevel(int gzipLevel) {
+      this.gzipLevel = gzipLevel;
+    }
+
+    public void setZstdLevel(int zstdLevel) {
+      this.zstdLevel = zstdLevel;
+    }
+
+    public void setFormatThreads(int formatThreads) {
+      this.formatThreads = formatThreads;
+    }
+
+    public void setJobDirectory(String jobDirectory) {
+      this.jobDirectory = jobDirectory;
+    }
+
+    public void setJobThreads(int jobThreads) {
+      this.jobThreads = jobThreads;
+    }
+
+    public void setMaxQueuedJobs(int maxQueuedJobs) {
+      this.maxQueuedJobs = maxQueuedJobs;
+    }
+
+    public void setJobRetention(Duration jobRetention) {
+      this.jobRetention = jobRetention;
+    }
+  }
+
+  /** Settings for pushing clipboard changes to WebSocket clients. */
+  public static class Broadcast {
+    private Duration tick = Duration.ofMillis(50);
+    private int changeLogSize = 1024;
+    private int queueCapacity = 1024;
+
+    // Getters
+    /** How long events are collected before one frame per topic is sent; 0 sends each event. */
+    public Duration getTick() {
+      return tick;
+    }
+
+    /** How many recent changes are kept for clients catching up after a reconnect. */
+    public int getChangeLogSize() {
+      return changeLogSize;
+    }
+
+    /** How many committed changes may wait for the notifier before commits wait for space. */
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    // Setters
+    public void setTick(Duration tick) {
+      this.tick = tick;
+    }
+
+    public void setChangeLogSize(int changeLogSize) {
+      this.changeLogSize = changeLogSize;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+  }
+
+  /** Settings for the STOMP channels and for protecting them from slow clients. */
+  public static class WebSocket {
+    private int inboundThreads = 2;
+    private int outboundThreads = 0;
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+    private int sendBufferSizeLimit = 512 * 1024;
+    private int messageSizeLimit = 64 * 1024;
+    private int maxPendingMessages = 500;
+    private Duration slowConsumerCheckInterval = Duration.ofSeconds(2);
+
+    // Getters
+    /** Threads handling frames sent by clients. */
+    public int getInboundThreads() {
+      return inboundThreads;
+    }
+
+    /**
+     * Threads writing frames to clients, or 0 to give each client with frames waiting a virtual
+     * thread of its own. A client's frames are always written one at a time, in order. A stalled
+     * client holds on to one writing thread until the send time limit closes it, so a pool must be
+     * larger than the number of clients expected to stall at once.
+     */
+    public int getOutboundThreads() {
+      return outboundThreads;
+    }
+
+    /** How long a single send to a client may take before the session is closed. */
+    public Duration getSendTimeLimit() {
+      return sendTimeLimit;
+    }
+
+    /** Bytes buffered for a client while a send is in progress before the session is closed. */
+    public int getSendBufferSizeLimit() {
+      return sendBufferSizeLimit;
+    }
+
+    /** Largest frame accepted from a client, in bytes. */
+    public int getMessageSizeLimit() {
+      return messageSizeLimit;
+    }
+
+    /** Frames waiting to be written to a single client before the session is closed. */
+    public int getMaxPendingMessages() {
+      return maxPendingMessages;
+    }
+
+    /** How often sessions are checked for sends that take longer than the send time limit. */
+    public Duration getSlowConsumerCheckInterval() {
+      return slowConsumerCheckInterval;
+    }
+
+    // Setters
+    public void setInboundThreads(int inboundThreads) {
+      this.inboundThreads = inboundThreads;
+    }
+
+    public void setOutboundThreads(int outboundThreads) {
+      this.outboundThreads = outboundThreads;
+    }
+
+    public void setSendTimeLimit(Duration sendTimeLimit) {
+      this.sendTimeLimit = sendTimeLimit;
+    }
+
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+      this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    public void setMessageSizeLimit(int messageSizeLimit) {
+      this.messageSizeLimit = messageSizeLimit;
+    }
+
+    public void setMaxPendingMessages(int maxPendingMessages) {
+      this.maxPendingMessages = maxPendingMessages;
+    }
+
+    public void setSlowConsumerCheckInterval(Duration slowConsumerCheckInterval) {
+      this.slowConsumerCheckInterval = slowConsumerCheckInterval;
+    }
+  }
+
+  /** Settings for the Server-Sent Events change feed. */
+  public static class Stream {
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    // Getters
+    /** How long a quiet subscriber waits before a comment is sent to keep the connection open. */
+    public Duration getHeartbeat() {
+      return heartbeat;
+    }
+
+    // Setters
+    public void setHeartbeat(Duration heartbeat) {
+      this.heartbeat = heartbeat;
+    }
+  }
+}
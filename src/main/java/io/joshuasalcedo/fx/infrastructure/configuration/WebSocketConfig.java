@@ -1,19 +1,44 @@
 package io.joshuasalcedo.fx.infrastructure.configuration;
 
+import io.joshuasalcedo.fx.infrastructure.websocket.PayloadEncoder;
+import io.joshuasalcedo.fx.infrastructure.websocket.SessionOrderedExecutor;
+import io.joshuasalcedo.fx.infrastructure.websocket.SlowConsumerGuard;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+  private final ClipboardProperties.WebSocket settings;
+  private final SlowConsumerGuard slowConsumerGuard;
+  private final PayloadEncoder payloadEncoder;
+
+  public WebSocketConfig(
+      ClipboardProperties properties,
+      SlowConsumerGuard slowConsumerGuard,
+      PayloadEncoder payloadEncoder) {
+    this.settings = properties.getWebSocket();
+    this.slowConsumerGuard = slowConsumerGuard;
+    this.payloadEncoder = payloadEncoder;
+  }
+
   @Override
   public void configureMessageBroker(MessageBrokerRegistry config) {
-    // Enable a simple in-memory message broker
-    config.enableSimpleBroker("/topic");
+    // Enable a simple in-memory message broker; /queue carries filtered per-session subscriptions,
+    // which clients reach through the default /user prefix
+    config.enableSimpleBroker("/topic", "/queue");
     // Set prefix for messages bound for @MessageMapping methods
     config.setApplicationDestinationPrefixes("/app");
   }
@@ -26,4 +51,56 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         .setAllowedOriginPatterns("*") // Configure based on your security requirements
         .withSockJS(); // Enable SockJS fallback
   }
+
+  @Override
+  public void configureClientInboundChannel(ChannelRegistration registration) {
+    registration
+        .taskExecutor()
+        .corePoolSize(settings.getInboundThreads())
+        .maxPoolSize(settings.getInboundThreads());
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    // A stalled client blocks the thread writing to it until the send time limit runs out
+    Executor executor;
+    if (settings.getOutboundThreads() > 0) {
+      executor =
+          Executors.newFixedThreadPool(
+              settings.getOutboundThreads(),
+              Thread.ofPlatform().name("clientOutboundChannel-", 1).factory());
+    } else {
+      SimpleAsyncTaskExecutor virtualThreads =
+          new SimpleAsyncTaskExecutor("clientOutboundChannel-");
+      virtualThreads.setVirtualThreads(true);
+      executor = virtualThreads;
+    }
+    // Each session's frames are written in the order they were sent
+    registration.executor(new SessionOrderedExecutor(executor));
+    // Payloads are encoded per subscription before the guard counts them
+    registration.interceptors(payloadEncoder, slowConsumerGuard);
+  }
+
+  @Override
+  public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+    // First, so outgoing objects are encoded per subscription rather than once as JSON
+    messageConverters.add(0, payloadEncoder);
+    // Decodes frames that clients send as CBOR
+    MappingJackson2MessageConverter cborConverter =
+        new MappingJackson2MessageConverter(PayloadEncoder.APPLICATION_CBOR);
+    cborConverter.setObjectMapper(payloadEncoder.getCborMapper());
+    messageConverters.add(cborConverter);
+    return true;
+  }
+
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    // Sessions over the send time or buffer limit are closed by the transport
+    registration
+        .setSendTimeLimit((int) settings.getSendTimeLimit().toMillis())
+        .setSendBufferSizeLimit(settings.getSendBufferSizeLimit())
+        .setMessageSizeLimit(settings.getMessageSizeLimit())
+        .addDecoratorFactory(slowConsumerGuard)
+        .addDecoratorFactory(payloadEncoder);
+  }
 }
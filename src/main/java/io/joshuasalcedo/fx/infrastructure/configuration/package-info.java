@@ -11,7 +11,10 @@
  * <ul>
  *   <li>ClipboardConfiguration - Configures clipboard-related beans for monitoring and managing
  *       clipboard content
- *   <li>WebSocketConfig - Configures WebSocket messaging for real-time communication
+ *   <li>ClipboardProperties - Binds the {@code clipboard.*} tuning properties
+ *   <li>WebSocketConfig - Configures WebSocket messaging for real-time communication, with sized
+ *       channel executors and per-client send limits
+ *   <li>CborConfig - Offers CBOR as a binary alternative to JSON for REST requests and responses
  *   <li>OpenApiConfig - Configures OpenAPI documentation using a programmatic approach
  *   <li>SpringDocConfig - Configures SpringDoc API documentation using annotations
  * </ul>
@@ -0,0 +1,24 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import java.util.function.Consumer;
+
+/** A source of clipboard change notifications that {@link ClipboardRunner} can start and stop. */
+public interface ClipboardCaptureSource {
+
+  /** Short name of the capture mode, used in logs and metric tags. */
+  String mode();
+
+  /**
+   * Starts delivering clipboard changes.
+   *
+   * @param onChange Receives the new clipboard content on every change
+   * @return true if the source is running afterwards
+   */
+  boolean start(Consumer<String> onChange);
+
+  /** Stops delivering clipboard changes. */
+  void stop();
+
+  /** Checks whether the source is currently delivering changes. */
+  boolean isRunning();
+}
@@ -0,0 +1,229 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardSavedEvent;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded queue between clipboard capture and persistence.
+ *
+ * <p>The publishing (monitor) thread only enqueues {@link ClipboardSavedEvent}s. A single consumer
+ * thread drains the queue and group-commits up to {@code batch-size} entries per transaction,
+ * waiting at most {@code max-linger} for a batch to fill.
+ */
+@Component
+public class ClipboardIngestionPipeline {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClipboardIngestionPipeline.class);
+  private static final long POLL_INTERVAL_MS = 500;
+
+  private final ClipboardService clipboardService;
+  private final ClipboardProperties.Ingestion settings;
+  private final MeterRegistry registry;
+  private final BlockingQueue<ClipboardSavedEvent> queue;
+
+  private final Counter droppedCounter;
+  private final DistributionSummary batchSizes;
+  private final Timer commitTimer;
+
+  private volatile boolean running;
+  private Thread consumer;
+
+  public ClipboardIngestionPipeline(
+      ClipboardService clipboardService, ClipboardProperties properties, MeterRegistry registry) {
+    this.clipboardService = clipboardService;
+    this.settings = properties.getIngestion();
+    this.registry = registry;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+
+    Gauge.builder("clipboard.ingest.queue.depth", queue, BlockingQueue::size)
+        .description("Clipboard entries waiting to be persisted")
+        .register(registry);
+    this.droppedCounter =
+        Counter.builder("clipboard.ingest.dropped")
+            .description("Clipboard entries dropped because the ingestion queue was full")
+            .register(registry);
+    this.batchSizes =
+        DistributionSummary.builder("clipboard.ingest.batch.size")
+            .description("Number of clipboard entries committed per transaction")
+            .register(registry);
+    this.commitTimer =
+        Timer.builder("clipboard.ingest.commit")
+            .description("Time spent committing one ingestion batch")
+            .register(registry);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    consumer = new Thread(this::consume, "clipboard-ingest");
+    consumer.setDaemon(true);
+    consumer.start();
+    logger.info(
+        "Clipboard ingestion started - capacity: {}, batch size: {}, max linger: {}, overflow: {}",
+        settings.getQueueCapacity(),
+        settings.getBatchSize(),
+        settings.getMaxLinger(),
+        settings.getOverflowPolicy());
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (consumer != null) {
+      // No interrupt: an in-flight commit is allowed to finish, the poll timeout ends the loop
+      consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // Persist whatever was captured before shutdown
+    List<ClipboardSavedEvent> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    if (!remaining.isEmpty()) {
+      logger.info("Flushing {} queued clipboard entries on shutdown", remaining.size());
+      flush(remaining);
+    }
+  }
+
+  @EventListener
+  public void handleClipboardSavedEvent(ClipboardSavedEvent event) {
+    enqueue(event);
+  }
+
+  /**
+   * Queues captured content for persistence without blocking on the database.
+   *
+   * @param event The captured clipboard change
+   * @return true if the content was queued, false if it was rejected or dropped
+   */
+  public boolean enqueue(ClipboardSavedEvent event) {
+    String content = event.getContent();
+    if (content == null || content.trim().isEmpty()) {
+      logger.debug("Ignoring empty clipboard content");
+      return false;
+    }
+
+    switch (settings.getOverflowPolicy()) {
+      case BLOCK:
+        try {
+          if (queue.offer(
+              event, settings.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            return true;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        break;
+      case DROP_OLDEST:
+        while (!queue.offer(event)) {
+          if (queue.poll() != null) {
+            droppedCounter.increment();
+            logger.warn("Ingestion queue full, dropped oldest clipboard entry");
+          }
+        }
+        return true;
+      case DROP_NEWEST:
+        if (queue.offer(event)) {
+          return true;
+        }
+        break;
+    }
+
+    droppedCounter.increment();
+    logger.warn("Ingestion queue full, dropped new clipboard entry");
+    return false;
+  }
+
+  /** Returns the number of entries waiting to be persisted. */
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  private void consume() {
+    int batchSize = Math.max(1, settings.getBatchSize());
+    long lingerNanos = settings.getMaxLinger().toNanos();
+
+    while (running) {
+      try {
+        ClipboardSavedEvent first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        List<ClipboardSavedEvent> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0) {
+            break;
+          }
+          ClipboardSavedEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+
+        flush(batch);
+      } catch (InterruptedException e) {
+        if (running) {
+          logger.warn("Clipboard ingestion consumer interrupted");
+        }
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        logger.error("Unexpected error in clipboard ingestion consumer", e);
+      }
+    }
+  }
+
+  private void flush(List<ClipboardSavedEvent> batch) {
+    batchSizes.record(batch.size());
+    List<String> contents = batch.stream().map(ClipboardSavedEvent::getContent).toList();
+    try {
+      commitTimer.record(() -> clipboardService.saveAll(contents));
+      logger.debug("Committed ingestion batch of {} entries", batch.size());
+      batch.forEach(this::recordLatency);
+    } catch (Exception e) {
+      // One bad entry must not lose the whole batch - retry them one transaction each
+      logger.warn(
+          "Batch commit of {} entries failed, retrying individually: {}",
+          batch.size(),
+          e.getMessage());
+      for (ClipboardSavedEvent event : batch) {
+        try {
+          clipboardService.save(event.getContent());
+          recordLatency(event);
+        } catch (Exception ex) {
+          logger.error("Failed to persist clipboard entry", ex);
+        }
+      }
+    }
+  }
+
+  /** Records the time from clipboard change to committed entry, per capture mode. */
+  private void recordLatency(ClipboardSavedEvent event) {
+    Timer.builder("clipboard.capture.latency")
+        .description("Time from clipboard change to persisted entry")
+        .tag("mode", event.getCaptureMode())
+        .register(registry)
+        .record(System.nanoTime() - event.getCapturedAtNanos(), TimeUnit.NANOSECONDS);
+  }
+}
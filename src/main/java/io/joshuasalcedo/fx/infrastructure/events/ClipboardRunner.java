@@ -1,33 +1,131 @@
 package io.joshuasalcedo.fx.infrastructure.events;
 
-import io.joshuasalcedo.clipboard.core.Clipboard;
-import io.joshuasalcedo.clipboard.core.ClipboardMonitor;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardChangedEvent;
 import io.joshuasalcedo.fx.domain.clipboard.ClipboardSavedEvent;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 public class ClipboardRunner implements ApplicationRunner {
 
   private static final Logger logger = LoggerFactory.getLogger(ClipboardRunner.class);
 
-  private final ClipboardMonitor clipboardMonitor;
+  private final ClipboardCaptureSource captureSource;
   private final ApplicationEventPublisher eventPublisher;
+  private final ClipboardProperties.Capture settings;
 
-  public ClipboardMonitor.MonitoringSession getMonitoringSession() {
-    return monitoringSession;
-  }
+  // Burst coalescing: only the last content seen within the window is forwarded
+  private final ScheduledExecutorService debouncer;
+  private final Object debounceLock = new Object();
+  private String pendingContent;
+  private long pendingCapturedAt;
+  private ScheduledFuture<?> pendingFlush;
+  private String lastForwarded;
 
-  private ClipboardMonitor.MonitoringSession monitoringSession;
+  // Tagged with the mode the source actually ended up in, so registered on every start
+  private final MeterRegistry registry;
+  private final MultiGauge cpuByMode;
+  private volatile Counter forwardedCounter;
+  private volatile Counter duplicateCounter;
+  private volatile Counter supersededCounter;
 
+  @Autowired
   public ClipboardRunner(
-      ClipboardMonitor clipboardMonitor, ApplicationEventPublisher eventPublisher) {
-    this.clipboardMonitor = clipboardMonitor;
+      ClipboardCaptureSource captureSource,
+      ApplicationEventPublisher eventPublisher,
+      ClipboardProperties properties,
+      MeterRegistry registry) {
+    this(
+        captureSource,
+        eventPublisher,
+        properties,
+        registry,
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "clipboard-debounce");
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  /** Lets tests drive the coalesce window with a scheduler they control. */
+  ClipboardRunner(
+      ClipboardCaptureSource captureSource,
+      ApplicationEventPublisher eventPublisher,
+      ClipboardProperties properties,
+      MeterRegistry registry,
+      ScheduledExecutorService debouncer) {
+    this.captureSource = captureSource;
     this.eventPublisher = eventPublisher;
+    this.settings = properties.getCapture();
+    this.debouncer = debouncer;
+    this.registry = registry;
+    this.cpuByMode =
+        MultiGauge.builder("clipboard.capture.cpu")
+            .description("Recent CPU usage of the process (0 to 1) while capturing, by mode")
+            .register(registry);
+  }
+
+  /** Registers the capture meters under the mode the capture source is in now. */
+  private void registerMeters() {
+    String mode = captureSource.mode();
+    this.forwardedCounter =
+        Counter.builder("clipboard.capture.forwarded")
+            .description("Clipboard changes forwarded for saving")
+            .tag("mode", mode)
+            .register(registry);
+    this.duplicateCounter =
+        Counter.builder("clipboard.capture.suppressed")
+            .description("Clipboard changes dropped before reaching the service")
+            .tag("reason", "duplicate")
+            .tag("mode", mode)
+            .register(registry);
+    this.supersededCounter =
+        Counter.builder("clipboard.capture.suppressed")
+            .description("Clipboard changes dropped before reaching the service")
+            .tag("reason", "superseded")
+            .tag("mode", mode)
+            .register(registry);
+  }
+
+  /**
+   * Reports process CPU under the mode capture runs in, or under none while stopped, so idle CPU
+   * can be compared between listening and polling.
+   */
+  private void reportCpuFor(String mode) {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    cpuByMode.register(
+        mode == null
+            ? List.of()
+            : List.of(MultiGauge.Row.of(Tags.of("mode", mode), os, ClipboardRunner::processCpu)),
+        true);
+  }
+
+  private static double processCpu(OperatingSystemMXBean os) {
+    return os instanceof com.sun.management.OperatingSystemMXBean hotspot
+        ? hotspot.getProcessCpuLoad()
+        : Double.NaN;
   }
 
   @Override
@@ -35,32 +133,111 @@ public class ClipboardRunner implements ApplicationRunner {
     start();
   }
 
-  private void handleClipboardChange(Clipboard clipboard) {
+  private void handleClipboardChange(String content) {
+    try {
+      long capturedAt = System.nanoTime();
+      long windowMs = settings.getCoalesceWindow().toMillis();
+
+      synchronized (debounceLock) {
+        String latest = pendingContent != null ? pendingContent : lastForwarded;
+        if (settings.isDropConsecutiveDuplicates() && Objects.equals(content, latest)) {
+          duplicateCounter.increment();
+          logger.trace("Dropped repeated clipboard notification");
+          return;
+        }
+
+        if (windowMs > 0) {
+          if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            supersededCounter.increment();
+          }
+          pendingContent = content;
+          pendingCapturedAt = capturedAt;
+          pendingFlush = debouncer.schedule(this::flushPending, windowMs, TimeUnit.MILLISECONDS);
+          return;
+        }
+        lastForwarded = content;
+      }
+      forward(content, capturedAt);
+    } catch (Exception e) {
+      logger.error("Failed to handle clipboard change", e);
+    }
+  }
+
+  private void flushPending() {
+    String content;
+    long capturedAt;
+    synchronized (debounceLock) {
+      content = pendingContent;
+      capturedAt = pendingCapturedAt;
+      pendingContent = null;
+      pendingFlush = null;
+      if (content == null) {
+        return;
+      }
+      // A burst can end on the content that was forwarded before it started
+      if (settings.isDropConsecutiveDuplicates() && content.equals(lastForwarded)) {
+        duplicateCounter.increment();
+        return;
+      }
+      lastForwarded = content;
+    }
+    forward(content, capturedAt);
+  }
+
+  /**
+   * Publishes a change chosen under the lock. Called without holding it: with a blocking ingestion
+   * queue, publishing can wait for space, and neither the capture callback nor commit listeners
+   * should wait with it.
+   */
+  private void forward(String content, long capturedAt) {
     try {
       // Publish event for new clipboard entry
-      eventPublisher.publishEvent(new ClipboardSavedEvent(this, clipboard.content()));
+      eventPublisher.publishEvent(
+          new ClipboardSavedEvent(this, content, captureSource.mode(), capturedAt));
+      forwardedCounter.increment();
       logger.debug(
           "New clipboard entry event published: {}",
-          clipboard.content().length() > 50
-              ? clipboard.content().substring(0, 50) + "..."
-              : clipboard.content());
+          content.length() > 50 ? content.substring(0, 50) + "..." : content);
     } catch (Exception e) {
-      logger.error("Failed to handle clipboard change", e);
+      logger.error("Failed to publish clipboard change", e);
+      // Let the next copy of the same content through
+      synchronized (debounceLock) {
+        if (content.equals(lastForwarded)) {
+          lastForwarded = null;
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets the last forwarded content once entries are deleted or cleared, so copying it again
+   * saves it again instead of being dropped as a repeat.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onHistoryChanged(ClipboardChangedEvent event) {
+    if (event.type() == ClipboardChangedEvent.Type.DELETED
+        || event.type() == ClipboardChangedEvent.Type.CLEARED) {
+      synchronized (debounceLock) {
+        lastForwarded = null;
+      }
     }
   }
 
   public boolean start() {
-    if (monitoringSession != null && !monitoringSession.isStopped()) {
+    if (captureSource.isRunning()) {
       logger.warn("Clipboard monitoring is already running");
       return true;
     }
 
-    logger.info("Starting clipboard monitoring");
-    this.monitoringSession = clipboardMonitor.startMonitoring(this::handleClipboardChange);
-    boolean started = !this.monitoringSession.isStopped();
+    logger.info("Starting clipboard monitoring ({})", captureSource.mode());
+    boolean started = captureSource.start(this::handleClipboardChange);
 
     if (started) {
-      logger.info("Clipboard monitoring started successfully");
+      // A listener that failed to start has fallen back to polling by now
+      registerMeters();
+      reportCpuFor(captureSource.mode());
+      logger.info("Clipboard monitoring started successfully ({})", captureSource.mode());
     } else {
       logger.error("Failed to start clipboard monitoring");
     }
@@ -69,15 +246,20 @@ public class ClipboardRunner implements ApplicationRunner {
   }
 
   public boolean stop() {
-    if (monitoringSession == null || monitoringSession.isStopped()) {
+    if (!captureSource.isRunning()) {
       logger.warn("Clipboard monitoring is not running");
       return true;
     }
 
     logger.info("Stopping clipboard monitoring");
-    clipboardMonitor.close();
-    this.monitoringSession.stop();
-    boolean stopped = this.monitoringSession.isStopped();
+    captureSource.stop();
+    boolean stopped = !captureSource.isRunning();
+    if (stopped) {
+      reportCpuFor(null);
+    }
+
+    // Don't lose the last copy made before stopping
+    flushPendingNow();
 
     if (stopped) {
       logger.info("Clipboard monitoring stopped successfully");
@@ -87,4 +269,29 @@ public class ClipboardRunner implements ApplicationRunner {
 
     return stopped;
   }
+
+  /** Checks whether clipboard changes are currently being captured */
+  public boolean isRunning() {
+    return captureSource.isRunning();
+  }
+
+  /** Returns how clipboard changes are detected, e.g. "listener" or "polling" */
+  public String getCaptureMode() {
+    return captureSource.mode();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flushPendingNow();
+    debouncer.shutdownNow();
+  }
+
+  private void flushPendingNow() {
+    synchronized (debounceLock) {
+      if (pendingFlush != null) {
+        pendingFlush.cancel(false);
+      }
+    }
+    flushPending();
+  }
 }
@@ -0,0 +1,63 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import io.joshuasalcedo.clipboard.core.ClipboardListenerProvider;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Captures clipboard changes from the platform's native change notifications, so nothing runs
+ * while the clipboard is idle. If the notifications fail to start, capture falls back to the given
+ * polling source and {@link #mode()} reports that source's mode.
+ */
+public class ListenerCaptureSource implements ClipboardCaptureSource {
+
+  private static final Logger log = LoggerFactory.getLogger(ListenerCaptureSource.class);
+
+  public static final String MODE = "listener";
+
+  private final ClipboardListenerProvider provider;
+  private final ClipboardCaptureSource fallback;
+  private volatile boolean running;
+  private volatile boolean fellBack;
+
+  public ListenerCaptureSource(
+      ClipboardListenerProvider provider, ClipboardCaptureSource fallback) {
+    this.provider = provider;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public String mode() {
+    return fellBack ? fallback.mode() : MODE;
+  }
+
+  @Override
+  public boolean start(Consumer<String> onChange) {
+    try {
+      provider.startListening(clipboard -> onChange.accept(clipboard.content()));
+    } catch (RuntimeException e) {
+      log.error("Native clipboard notifications failed to start, falling back to polling", e);
+      fellBack = true;
+      return fallback.start(onChange);
+    }
+    fellBack = false;
+    running = true;
+    return true;
+  }
+
+  @Override
+  public void stop() {
+    if (fellBack) {
+      fallback.stop();
+      return;
+    }
+    provider.stopListening();
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return fellBack ? fallback.isRunning() : running;
+  }
+}
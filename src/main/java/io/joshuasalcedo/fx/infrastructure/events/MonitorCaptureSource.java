@@ -0,0 +1,42 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import io.joshuasalcedo.clipboard.core.ClipboardMonitor;
+import java.util.function.Consumer;
+
+/** Captures clipboard changes by polling through {@link ClipboardMonitor}. */
+public class MonitorCaptureSource implements ClipboardCaptureSource {
+
+  public static final String MODE = "polling";
+
+  private final ClipboardMonitor clipboardMonitor;
+  private ClipboardMonitor.MonitoringSession monitoringSession;
+
+  public MonitorCaptureSource(ClipboardMonitor clipboardMonitor) {
+    this.clipboardMonitor = clipboardMonitor;
+  }
+
+  @Override
+  public String mode() {
+    return MODE;
+  }
+
+  @Override
+  public boolean start(Consumer<String> onChange) {
+    this.monitoringSession =
+        clipboardMonitor.startMonitoring(clipboard -> onChange.accept(clipboard.content()));
+    return !monitoringSession.isStopped();
+  }
+
+  @Override
+  public void stop() {
+    clipboardMonitor.close();
+    if (monitoringSession != null) {
+      monitoringSession.stop();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return monitoringSession != null && !monitoringSession.isStopped();
+  }
+}
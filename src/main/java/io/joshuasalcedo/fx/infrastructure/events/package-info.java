@@ -10,6 +10,11 @@
  * <ul>
  *   <li>ClipboardRunner - An ApplicationRunner implementation that monitors clipboard changes and
  *       publishes domain events when changes are detected
+ *   <li>ClipboardCaptureSource - Strategy for detecting clipboard changes, implemented by
+ *       ListenerCaptureSource (native notifications, falling back to polling if they fail to
+ *       start) and MonitorCaptureSource (polling)
+ *   <li>ClipboardIngestionPipeline - A bounded queue with a dedicated consumer that group-commits
+ *       captured clipboard entries in batches
  * </ul>
  *
  * <p>The event infrastructure provides mechanisms for:
@@ -18,6 +23,7 @@
  *   <li>Starting and stopping clipboard monitoring
  *   <li>Converting system clipboard changes to domain events
  *   <li>Publishing events to be consumed by other components
+ *   <li>Decoupling clipboard capture from database writes
  *   <li>Logging and error handling for clipboard monitoring
  * </ul>
  *
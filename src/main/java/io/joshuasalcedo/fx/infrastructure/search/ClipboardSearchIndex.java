@@ -0,0 +1,421 @@
+package io.joshuasalcedo.fx.infrastructure.search;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardCursor;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Embedded Lucene index over clipboard content, replacing {@code LIKE '%term%'} scans.
+ *
+ * <p>Only the entry ID is stored; timestamp and pin state live in doc values so they can be
+ * updated in place and used for ordering and bulk deletes. Results are ordered like the history,
+ * newest first with the ID as tie-breaker, so offset and keyset paging both map onto it.
+ *
+ * <p>Queries are tokenized with the same analyzer as the content. Quoted text becomes a phrase
+ * query, a trailing {@code *} a prefix query, and the last word is matched as a prefix so partial
+ * input finds results while typing. All parts must match.
+ *
+ * <p>Each commit records whether the index was closed cleanly while complete. Changes made after
+ * the last periodic commit are lost if the process dies, and a failed write leaves the index
+ * missing a change, so only a clean shutdown lets the next start trust the index as it is.
+ */
+@Component
+public class ClipboardSearchIndex {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardSearchIndex.class);
+
+  static final String ID = "id";
+  static final String ID_ORDER = "id_order";
+  static final String CONTENT = "content";
+  static final String TIMESTAMP = "timestamp";
+  static final String PINNED = "pinned";
+  static final String CLEAN_SHUTDOWN = "clean_shutdown";
+
+  private static final Pattern QUERY_PARTS = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+  private static final Sort NEWEST_FIRST =
+      new Sort(
+          new SortField(TIMESTAMP, SortField.Type.LONG, true),
+          new SortField(ID_ORDER, SortField.Type.LONG, true));
+
+  private final ClipboardProperties.Search settings;
+  // No stop words: short snippets such as "if" or "the" must stay searchable
+  private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+
+  private Directory directory;
+  private IndexWriter writer;
+  private SearcherManager searcherManager;
+  private ScheduledExecutorService committer;
+  private volatile boolean ready;
+  private boolean closedCleanly;
+  private final AtomicLong writeFailures = new AtomicLong();
+  private volatile Runnable onWriteFailure = () -> {};
+
+  public ClipboardSearchIndex(ClipboardProperties properties) {
+    this.settings = properties.getSearch();
+  }
+
+  @PostConstruct
+  public void open() throws IOException {
+    String location = settings.getIndexDirectory();
+    directory =
+        location == null || location.isBlank()
+            ? new ByteBuffersDirectory()
+            : FSDirectory.open(Path.of(location));
+    closedCleanly =
+        DirectoryReader.indexExists(directory)
+            && "true"
+                .equals(SegmentInfos.readLatestCommit(directory).getUserData().get(CLEAN_SHUTDOWN));
+    IndexWriterConfig config =
+        new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+    writer = new IndexWriter(directory, config);
+    // Until closed cleanly again, a crash must not leave the previous marker behind
+    markCleanShutdown(false);
+    writer.commit();
+    searcherManager = new SearcherManager(writer, null);
+
+    long intervalMs = settings.getCommitInterval().toMillis();
+    committer =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "clipboard-search-commit");
+              thread.setDaemon(true);
+              return thread;
+            });
+    committer.scheduleWithFixedDelay(this::commit, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    log.info("Search index opened at {} with {} documents", describe(location), size());
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    // Only an index that was complete and saw no failed writes can be trusted on the next start
+    boolean complete = ready;
+    ready = false;
+    committer.shutdownNow();
+    markCleanShutdown(complete);
+    commit();
+    searcherManager.close();
+    writer.close();
+    directory.close();
+  }
+
+  /** Checks whether the index holds every entry and can answer searches. */
+  public boolean isReady() {
+    return ready && settings.isEnabled();
+  }
+
+  /** Marks the index as complete, or as being rebuilt. */
+  public void setReady(boolean ready) {
+    this.ready = ready;
+  }
+
+  /** Checks whether the index was last closed cleanly while complete, so nothing was lost. */
+  public boolean wasClosedCleanly() {
+    return closedCleanly;
+  }
+
+  /** Returns the number of changes that failed to reach the index since it was opened. */
+  public long getWriteFailures() {
+    return writeFailures.get();
+  }
+
+  /** Sets what to run when a change fails to reach the index, such as scheduling a rebuild. */
+  public void onWriteFailure(Runnable action) {
+    this.onWriteFailure = action;
+  }
+
+  /** Returns the number of indexed entries. */
+  public int size() {
+    return writer.getDocStats().numDocs;
+  }
+
+  /** Adds an entry, or replaces it if it is already indexed. */
+  public void index(Long id, String content, LocalDateTime timestamp, boolean pinned) {
+    Document document = new Document();
+    document.add(new StringField(ID, id.toString(), Field.Store.NO));
+    document.add(new StoredField(ID_ORDER, id));
+    document.add(new NumericDocValuesField(ID_ORDER, id));
+    document.add(new TextField(CONTENT, content, Field.Store.NO));
+    document.add(new NumericDocValuesField(TIMESTAMP, toSortKey(timestamp)));
+    document.add(new NumericDocValuesField(PINNED, pinned ? 1 : 0));
+    write(() -> writer.updateDocument(idTerm(id), document));
+  }
+
+  /** Moves an indexed entry to a new timestamp, e.g. when duplicate content is copied again. */
+  public void updateTimestamp(Long id, LocalDateTime timestamp) {
+    write(() -> writer.updateNumericDocValue(idTerm(id), TIMESTAMP, toSortKey(timestamp)));
+  }
+
+  /** Updates the pin state of an indexed entry. */
+  public void updatePinned(Long id, boolean pinned) {
+    write(() -> writer.updateNumericDocValue(idTerm(id), PINNED, pinned ? 1 : 0));
+  }
+
+  /** Removes an entry. */
+  public void delete(Long id) {
+    write(() -> writer.deleteDocuments(idTerm(id)));
+  }
+
+  /** Removes all unpinned entries. */
+  public void deleteUnpinned() {
+    write(() -> writer.deleteDocuments(NumericDocValuesField.newSlowExactQuery(PINNED, 0)));
+  }
+
+  /** Removes entries older than the threshold, optionally including pinned ones. */
+  public void deleteOlderThan(LocalDateTime threshold, boolean includePinned) {
+    Query older =
+        NumericDocValuesField.newSlowRangeQuery(
+            TIMESTAMP, Long.MIN_VALUE, toSortKey(threshold) - 1);
+    Query query =
+        includePinned
+            ? older
+            : new BooleanQuery.Builder()
+                .add(older, BooleanClause.Occur.FILTER)
+                .add(NumericDocValuesField.newSlowExactQuery(PINNED, 0), BooleanClause.Occur.FILTER)
+                .build();
+    write(() -> writer.deleteDocuments(query));
+  }
+
+  /** Removes every entry. */
+  public void clear() {
+    write(() -> writer.deleteAll());
+  }
+
+  /** Makes pending changes durable. */
+  public void commit() {
+    try {
+      if (writer.isOpen() && writer.hasUncommittedChanges()) {
+        writer.commit();
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to commit search index", e);
+    }
+  }
+
+  /**
+   * Finds entries matching a search query, newest first.
+   *
+   * @param text The search query as typed by the user
+   * @param offset Number of matches to skip
+   * @param size Maximum number of IDs to return
+   * @return The matching IDs and total match count, or null if the query has no searchable words
+   */
+  public SearchHits search(String text, int offset, int size) {
+    Query query = parse(text);
+    if (query == null) return null;
+    return searchWith(
+        searcher -> {
+          TopFieldDocs docs = searcher.search(query, offset + size, NEWEST_FIRST);
+          return new SearchHits(ids(searcher, docs.scoreDocs, offset), searcher.count(query));
+        });
+  }
+
+  /**
+   * Finds entries matching a search query that come after a cursor, newest first.
+   *
+   * @param text The search query as typed by the user
+   * @param after Cursor of the last entry already seen, or null for the first slice
+   * @param size Maximum number of IDs to return
+   * @return The matching IDs, or null if the query has no searchable words
+   */
+  public List<Long> searchAfter(String text, ClipboardCursor after, int size) {
+    Query query = parse(text);
+    if (query == null) return null;
+    return searchWith(
+        searcher -> {
+          TopDocs docs =
+              after == null
+                  ? searcher.search(query, size, NEWEST_FIRST)
+                  : searcher.searchAfter(afterCursor(after), query, size, NEWEST_FIRST);
+          return ids(searcher, docs.scoreDocs, 0);
+        });
+  }
+
+  /**
+   * Builds a query from user input, or returns null if it holds nothing the analyzer keeps, such
+   * as punctuation only. Callers fall back to a substring scan in that case.
+   */
+  Query parse(String text) {
+    if (text == null || text.isBlank()) return null;
+
+    BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    int clauses = 0;
+    Matcher matcher = QUERY_PARTS.matcher(text.trim());
+    List<String> words = new ArrayList<>();
+    while (matcher.find()) {
+      if (matcher.group(1) != null) {
+        Query phrase = phraseQuery(analyze(matcher.group(1)));
+        if (phrase != null) {
+          builder.add(phrase, BooleanClause.Occur.MUST);
+          clauses++;
+        }
+      } else {
+        words.add(matcher.group(2));
+      }
+    }
+
+    boolean endsWithWord = !text.endsWith(" ") && !text.trim().endsWith("\"");
+    for (int i = 0; i < words.size(); i++) {
+      String word = words.get(i);
+      boolean explicitPrefix = word.endsWith("*");
+      List<String> tokens = analyze(explicitPrefix ? word.substring(0, word.length() - 1) : word);
+      for (int t = 0; t < tokens.size(); t++) {
+        boolean lastToken = t == tokens.size() - 1;
+        boolean prefix =
+            lastToken && (explicitPrefix || (endsWithWord && i == words.size() - 1));
+        Term term = new Term(CONTENT, tokens.get(t));
+        builder.add(
+            prefix ? new PrefixQuery(term) : new TermQuery(term), BooleanClause.Occur.MUST);
+        clauses++;
+      }
+    }
+    return clauses > 0 ? builder.build() : null;
+  }
+
+  private Query phraseQuery(List<String> tokens) {
+    if (tokens.isEmpty()) return null;
+    if (tokens.size() == 1) return new TermQuery(new Term(CONTENT, tokens.get(0)));
+    return new PhraseQuery(CONTENT, tokens.toArray(String[]::new));
+  }
+
+  private List<String> analyze(String text) {
+    List<String> tokens = new ArrayList<>();
+    try (TokenStream stream = analyzer.tokenStream(CONTENT, text)) {
+      CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+      stream.reset();
+      while (stream.incrementToken()) {
+        tokens.add(term.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return tokens;
+  }
+
+  private List<Long> ids(IndexSearcher searcher, ScoreDoc[] hits, int offset) throws IOException {
+    List<Long> ids = new ArrayList<>(Math.max(0, hits.length - offset));
+    StoredFields storedFields = searcher.storedFields();
+    for (int i = offset; i < hits.length; i++) {
+      Document document = storedFields.document(hits[i].doc, Set.of(ID_ORDER));
+      ids.add(document.getField(ID_ORDER).numericValue().longValue());
+    }
+    return ids;
+  }
+
+  private <T> T searchWith(SearchAction<T> action) {
+    try {
+      searcherManager.maybeRefresh();
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        return action.apply(searcher);
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Search index query failed", e);
+    }
+  }
+
+  private void write(WriteAction action) {
+    try {
+      action.run();
+    } catch (IOException | RuntimeException e) {
+      // A missed change would return wrong results, so stop answering until rebuilt
+      ready = false;
+      writeFailures.incrementAndGet();
+      log.error("Failed to update search index, falling back to database search", e);
+      onWriteFailure.run();
+    }
+  }
+
+  private void markCleanShutdown(boolean clean) {
+    writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, String.valueOf(clean)).entrySet(), true);
+  }
+
+  /**
+   * Position just past the cursor entry. IDs are unique integers, so everything at or after
+   * {@code (timestamp, id - 1)} is strictly after the cursor; doc -1 lets such ties through.
+   */
+  private static FieldDoc afterCursor(ClipboardCursor cursor) {
+    return new FieldDoc(
+        -1, Float.NaN, new Object[] {toSortKey(cursor.timestamp()), cursor.id() - 1});
+  }
+
+  private static Term idTerm(Long id) {
+    return new Term(ID, id.toString());
+  }
+
+  /** Microseconds since the epoch, matching the precision the database keeps. */
+  private static long toSortKey(LocalDateTime timestamp) {
+    return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+  }
+
+  private static String describe(String location) {
+    return location == null || location.isBlank() ? "memory" : location;
+  }
+
+  /** IDs of one page of matches and the total number of matches. */
+  public record SearchHits(List<Long> ids, long total) {}
+
+  @FunctionalInterface
+  private interface SearchAction<T> {
+    T apply(IndexSearcher searcher) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface WriteAction {
+    void run() throws IOException;
+  }
+}
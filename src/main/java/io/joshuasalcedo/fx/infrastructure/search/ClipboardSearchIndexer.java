@@ -0,0 +1,145 @@
+package io.joshuasalcedo.fx.infrastructure.search;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardRepository;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings the search index in line with the database after startup, and again whenever a change
+ * fails to reach it.
+ *
+ * <p>An index that was closed cleanly and holds every entry is used right away. Otherwise it is
+ * rebuilt in the background, in ID order and one batch at a time; searches fall back to the
+ * database until the rebuild completes. Changes made during the rebuild go to the index as usual,
+ * and an entry deleted while its batch was being read only leaves an ID that no longer resolves to
+ * an entry. A rebuild that itself sees a failed write is retried, waiting twice as long each time.
+ */
+@Component
+public class ClipboardSearchIndexer {
+  private static final Logger log = LoggerFactory.getLogger(ClipboardSearchIndexer.class);
+  private static final Duration MAX_REBUILD_DELAY = Duration.ofMinutes(10);
+
+  private final ClipboardRepository clipboardRepository;
+  private final ClipboardSearchIndex searchIndex;
+  private final ClipboardProperties.Search settings;
+  private final ScheduledExecutorService rebuilder;
+  private final AtomicBoolean rebuildPending = new AtomicBoolean();
+  private volatile Duration nextDelay;
+
+  public ClipboardSearchIndexer(
+      ClipboardRepository clipboardRepository,
+      ClipboardSearchIndex searchIndex,
+      ClipboardProperties properties) {
+    this.clipboardRepository = clipboardRepository;
+    this.searchIndex = searchIndex;
+    this.settings = properties.getSearch();
+    this.nextDelay = settings.getRebuildDelay();
+    this.rebuilder =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "clipboard-search-rebuild");
+              thread.setDaemon(true);
+              return thread;
+            });
+    searchIndex.onWriteFailure(this::scheduleRebuild);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!settings.isEnabled()) {
+      log.info("Search index disabled, searching the database");
+      return;
+    }
+
+    // The count alone misses lost updates and uncommitted changes, so it only counts after a clean
+    // shutdown
+    long entries = clipboardRepository.count();
+    if (searchIndex.size() == entries && searchIndex.wasClosedCleanly()) {
+      searchIndex.setReady(true);
+      log.info("Search index up to date with {} entries", entries);
+      return;
+    }
+
+    if (rebuildPending.compareAndSet(false, true)) {
+      rebuilder.execute(this::rebuild);
+    }
+  }
+
+  /**
+   * Schedules a rebuild after the configured delay, unless one is already waiting. Searches use the
+   * database until it completes.
+   */
+  public void scheduleRebuild() {
+    if (!settings.isEnabled() || !rebuildPending.compareAndSet(false, true)) {
+      return;
+    }
+    Duration delay = nextDelay;
+    log.warn("Search index rebuild scheduled in {} ms", delay.toMillis());
+    rebuilder.schedule(this::rebuild, delay.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /** Re-indexes every entry. Searches use the database while this runs. */
+  public void rebuild() {
+    // Failures from here on need another pass, so let them schedule one, a while later
+    rebuildPending.set(false);
+    backOff();
+    searchIndex.setReady(false);
+    long failuresBefore = searchIndex.getWriteFailures();
+    try {
+      long started = System.nanoTime();
+      searchIndex.clear();
+
+      int batchSize = Math.max(1, settings.getRebuildBatchSize());
+      long total = 0;
+      Long lastId = 0L;
+      List<ClipboardEntry> batch;
+      do {
+        batch = clipboardRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+        for (ClipboardEntry entry : batch) {
+          searchIndex.index(
+              entry.getId(), entry.getContent(), entry.getTimestamp(), entry.isPinned());
+          lastId = entry.getId();
+        }
+        total += batch.size();
+      } while (batch.size() == batchSize);
+
+      searchIndex.commit();
+      if (searchIndex.getWriteFailures() != failuresBefore) {
+        log.warn("Search index rebuild missed changes, searching the database");
+        return;
+      }
+      nextDelay = settings.getRebuildDelay();
+      searchIndex.setReady(true);
+      log.info(
+          "Search index rebuilt with {} entries in {} ms",
+          total,
+          (System.nanoTime() - started) / 1_000_000);
+    } catch (Exception e) {
+      log.error("Search index rebuild failed, searching the database", e);
+      scheduleRebuild();
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    rebuilder.shutdownNow();
+  }
+
+  private void backOff() {
+    Duration doubled = nextDelay.multipliedBy(2);
+    nextDelay = doubled.compareTo(MAX_REBUILD_DELAY) > 0 ? MAX_REBUILD_DELAY : doubled;
+  }
+}
@@ -0,0 +1,19 @@
+/**
+ * This package contains the full-text search infrastructure for clipboard history.
+ *
+ * <p>Clipboard content is indexed with an embedded Lucene index, so searches no longer scan every
+ * stored entry. The database stays the source of truth: the index only returns entry IDs, and
+ * searches fall back to database queries while the index is disabled or being rebuilt.
+ *
+ * <p>Key components in this package include:
+ *
+ * <ul>
+ *   <li>ClipboardSearchIndex - Lucene index supporting term, phrase and prefix queries, ordered
+ *       newest first
+ *   <li>ClipboardSearchIndexer - Rebuilds the index in the background when it was not closed
+ *       cleanly, is out of line with the database, or missed a change
+ * </ul>
+ *
+ * @since 1.0.0-SNAPSHOT
+ */
+package io.joshuasalcedo.fx.infrastructure.search;
@@ -0,0 +1,54 @@
+package io.joshuasalcedo.fx.infrastructure.websocket;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.util.MimeType;
+
+/**
+ * A STOMP payload that is encoded when it reaches a client, once per encoding however many clients
+ * it goes to. The broker hands the same instance to every subscriber of a destination, so the
+ * first subscriber that wants an encoding pays for it and the rest reuse the bytes.
+ *
+ * <p>Two payloads are equal when they carry equal values.
+ */
+public final class EncodedPayload {
+
+  private final Object value;
+  private final Map<MimeType, byte[]> encoded = new ConcurrentHashMap<>(2);
+
+  public EncodedPayload(Object value) {
+    this.value = Objects.requireNonNull(value, "value");
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  /**
+   * Returns the payload in an encoding, encoding it on first use.
+   *
+   * @param type The encoding, such as {@code application/json}
+   * @param encoder Encodes the value in that type
+   * @return The encoded bytes, shared by every caller; do not modify
+   */
+  byte[] encode(MimeType type, Function<Object, byte[]> encoder) {
+    return encoded.computeIfAbsent(type, t -> encoder.apply(value));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof EncodedPayload other && value.equals(other.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return value.toString();
+  }
+}
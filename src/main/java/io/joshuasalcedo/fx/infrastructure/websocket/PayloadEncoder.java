@@ -0,0 +1,258 @@
+package io.joshuasalcedo.fx.infrastructure.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.infrastructure.configuration.CborConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+/**
+ * Encodes STOMP payloads in the format each subscription asked for.
+ *
+ * <p>A subscription picks its encoding with an {@code accept} header on the SUBSCRIBE frame, such
+ * as {@code accept:application/cbor}; without one, or when none of the listed types is supported,
+ * it gets JSON as before. CBOR payloads carry timestamps as epoch milliseconds.
+ *
+ * <p>As the first message converter it wraps outgoing objects in an {@link EncodedPayload}
+ * instead of encoding them, and leaves strings and bytes to the converters after it. As an
+ * interceptor on the client outbound channel it then encodes each payload for the subscription it
+ * is delivered to, once per encoding, and sets the {@code content-type} header to match.
+ *
+ * <p>Binary encodings need binary WebSocket messages, which Spring only sends for {@code
+ * application/octet-stream} bodies, so frames with a CBOR body are resent as binary messages.
+ * SockJS carries text only; clients connected through it get JSON whatever they ask for and should
+ * connect to the endpoint's plain WebSocket URL, {@code /ws-clipboard/websocket}, to use CBOR.
+ */
+@Component
+public class PayloadEncoder
+    implements MessageConverter, ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+  private static final Logger log = LoggerFactory.getLogger(PayloadEncoder.class);
+
+  public static final MimeType APPLICATION_CBOR = MimeTypeUtils.parseMimeType("application/cbor");
+  static final String ACCEPT_HEADER = "accept";
+  static final String BINARY_FRAMES_ATTRIBUTE = PayloadEncoder.class.getName() + ".binaryFrames";
+
+  private static final byte[] CBOR_CONTENT_TYPE =
+      ("\ncontent-type:" + APPLICATION_CBOR + "\n").getBytes(StandardCharsets.UTF_8);
+
+  private final ObjectMapper jsonMapper;
+  private final ObjectMapper cborMapper;
+  private final MeterRegistry registry;
+
+  // Session ID -> subscription ID -> encoding, for subscriptions that did not pick JSON
+  private final Map<String, Map<String, MimeType>> encodings = new ConcurrentHashMap<>();
+
+  public PayloadEncoder(
+      ObjectMapper jsonMapper, Jackson2ObjectMapperBuilder builder, MeterRegistry registry) {
+    this.jsonMapper = jsonMapper;
+    this.cborMapper = CborConfig.cborMapper(builder);
+    this.registry = registry;
+  }
+
+  /** The CBOR mapper, for decoding CBOR frames sent by clients. */
+  public ObjectMapper getCborMapper() {
+    return cborMapper;
+  }
+
+  @EventListener
+  public void subscribed(SessionSubscribeEvent event) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+    MimeType type = negotiate(accessor.getFirstNativeHeader(ACCEPT_HEADER));
+    if (MimeTypeUtils.APPLICATION_JSON.equals(type)
+        || accessor.getSessionId() == null
+        || accessor.getSubscriptionId() == null) {
+      return;
+    }
+    Map<String, Object> attributes = accessor.getSessionAttributes();
+    if (attributes == null || !Boolean.TRUE.equals(attributes.get(BINARY_FRAMES_ATTRIBUTE))) {
+      log.debug("Session {} cannot take binary frames, sending JSON", accessor.getSessionId());
+      return;
+    }
+    encodings
+        .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+        .put(accessor.getSubscriptionId(), type);
+  }
+
+  @EventListener
+  public void unsubscribed(SessionUnsubscribeEvent event) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+    Map<String, MimeType> subscriptions = encodings.get(accessor.getSessionId());
+    if (subscriptions != null && accessor.getSubscriptionId() != null) {
+      subscriptions.remove(accessor.getSubscriptionId());
+    }
+  }
+
+  @EventListener
+  public void disconnected(SessionDisconnectEvent event) {
+    encodings.remove(event.getSessionId());
+  }
+
+  @Override
+  public WebSocketHandler decorate(WebSocketHandler handler) {
+    return new WebSocketHandlerDecorator(handler) {
+      @Override
+      public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        if (session instanceof SockJsSession) {
+          super.afterConnectionEstablished(session);
+          return;
+        }
+        // The STOMP handler keeps this session and writes every frame through it
+        session.getAttributes().put(BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+        super.afterConnectionEstablished(new BinaryFrameSession(session));
+      }
+    };
+  }
+
+  @Override
+  public Object fromMessage(Message<?> message, Class<?> targetClass) {
+    // Decoding is left to the converters after this one
+    return null;
+  }
+
+  @Override
+  public Message<?> toMessage(Object payload, MessageHeaders headers) {
+    if (payload instanceof String || payload instanceof byte[]) {
+      return null;
+    }
+    EncodedPayload wrapped =
+        payload instanceof EncodedPayload encoded ? encoded : new EncodedPayload(payload);
+    MessageHeaderAccessor accessor =
+        headers != null
+            ? MessageHeaderAccessor.getAccessor(headers, MessageHeaderAccessor.class)
+            : null;
+    if (accessor != null && accessor.isMutable()) {
+      return MessageBuilder.createMessage(wrapped, accessor.getMessageHeaders());
+    }
+    return MessageBuilder.withPayload(wrapped).copyHeaders(headers).build();
+  }
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    if (!(message.getPayload() instanceof EncodedPayload payload)) {
+      return message;
+    }
+    MessageHeaders headers = message.getHeaders();
+    MimeType type =
+        encodingOf(
+            SimpMessageHeaderAccessor.getSessionId(headers),
+            SimpMessageHeaderAccessor.getSubscriptionId(headers));
+    byte[] bytes = payload.encode(type, value -> write(type, value));
+    MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+    accessor.setHeader(MessageHeaders.CONTENT_TYPE, type);
+    return MessageBuilder.createMessage(bytes, accessor.getMessageHeaders());
+  }
+
+  /** The encoding a subscription asked for, JSON unless it picked another. */
+  MimeType encodingOf(String sessionId, String subscriptionId) {
+    Map<String, MimeType> subscriptions = sessionId != null ? encodings.get(sessionId) : null;
+    MimeType type =
+        subscriptions != null && subscriptionId != null ? subscriptions.get(subscriptionId) : null;
+    return type != null ? type : MimeTypeUtils.APPLICATION_JSON;
+  }
+
+  /** The first supported type of an {@code accept} header, or JSON. */
+  static MimeType negotiate(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return MimeTypeUtils.APPLICATION_JSON;
+    }
+    try {
+      List<MimeType> types = MimeTypeUtils.parseMimeTypes(accept);
+      for (MimeType type : types) {
+        if (APPLICATION_CBOR.equalsTypeAndSubtype(type)) {
+          return APPLICATION_CBOR;
+        }
+        if (MimeTypeUtils.APPLICATION_JSON.equalsTypeAndSubtype(type)) {
+          return MimeTypeUtils.APPLICATION_JSON;
+        }
+      }
+    } catch (InvalidMimeTypeException e) {
+      log.debug("Ignoring malformed accept header: {}", accept);
+    }
+    return MimeTypeUtils.APPLICATION_JSON;
+  }
+
+  /** Whether the headers of an encoded STOMP frame declare a CBOR body. */
+  static boolean isCborFrame(byte[] frame) {
+    for (int i = 0; i + CBOR_CONTENT_TYPE.length <= frame.length; i++) {
+      if (frame[i] == '\n' && i + 1 < frame.length && frame[i + 1] == '\n') {
+        // The blank line ends the headers
+        return false;
+      }
+      int j = 0;
+      while (j < CBOR_CONTENT_TYPE.length && frame[i + j] == CBOR_CONTENT_TYPE[j]) {
+        j++;
+      }
+      if (j == CBOR_CONTENT_TYPE.length) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private byte[] write(MimeType type, Object value) {
+    ObjectMapper mapper = APPLICATION_CBOR.equals(type) ? cborMapper : jsonMapper;
+    try {
+      byte[] bytes = mapper.writeValueAsBytes(value);
+      DistributionSummary.builder("clipboard.websocket.payload.size")
+          .description("Size of encoded STOMP payloads, counted once per encoding")
+          .baseUnit("bytes")
+          .tag("encoding", type.getSubtype())
+          .register(registry)
+          .record(bytes.length);
+      return bytes;
+    } catch (JsonProcessingException e) {
+      throw new MessageConversionException("Could not encode payload as " + type, e);
+    }
+  }
+
+  /** Sends frames with a CBOR body as binary messages, which keep their bytes intact. */
+  private static final class BinaryFrameSession extends WebSocketSessionDecorator {
+
+    BinaryFrameSession(WebSocketSession session) {
+      super(session);
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+      if (message instanceof TextMessage text && isCborFrame(text.asBytes())) {
+        super.sendMessage(new BinaryMessage(text.asBytes()));
+      } else {
+        super.sendMessage(message);
+      }
+    }
+  }
+}
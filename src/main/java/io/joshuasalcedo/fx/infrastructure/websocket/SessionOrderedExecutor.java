@@ -0,0 +1,118 @@
+package io.joshuasalcedo.fx.infrastructure.websocket;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+/**
+ * Runs the client outbound channel's frames for each WebSocket session one at a time, in the order
+ * they were sent, while different sessions still run in parallel on the given executor.
+ *
+ * <p>The channel hands every frame to its executor as a task of its own, so with more than one
+ * thread two frames for one session can overtake each other. Clients apply changes in the order
+ * they arrive: a {@code clear} overtaking a {@code new} would wipe the new entry, and a {@code
+ * delete} overtaken by an older {@code new} would bring the entry back. Frames without a session
+ * run directly on the executor.
+ *
+ * <p>A session's frames are drained by one task at a time; once none are waiting its queue is
+ * dropped, so idle sessions cost nothing.
+ */
+public class SessionOrderedExecutor implements TaskExecutor, AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(SessionOrderedExecutor.class);
+
+  private final Executor delegate;
+  private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+
+  public SessionOrderedExecutor(Executor delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    String sessionId =
+        task instanceof MessageHandlingRunnable frame
+            ? SimpMessageHeaderAccessor.getSessionId(frame.getMessage().getHeaders())
+            : null;
+    if (sessionId == null) {
+      delegate.execute(task);
+      return;
+    }
+    // A queue that has just drained is retired; the next frame starts a new one
+    while (!queues.computeIfAbsent(sessionId, SessionQueue::new).add(task)) {
+      Thread.onSpinWait();
+    }
+  }
+
+  /** Returns the number of sessions with frames waiting or being written. */
+  int activeSessions() {
+    return queues.size();
+  }
+
+  /** Shuts the wrapped executor down along with the channel. */
+  @Override
+  public void close() throws Exception {
+    if (delegate instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  private final class SessionQueue implements Runnable {
+    private final String sessionId;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean draining;
+    private boolean retired;
+
+    SessionQueue(String sessionId) {
+      this.sessionId = sessionId;
+    }
+
+    /** Queues a frame, starting a drain if none is running; false once the queue is retired. */
+    boolean add(Runnable task) {
+      synchronized (this) {
+        if (retired) return false;
+        tasks.add(task);
+        if (draining) return true;
+        draining = true;
+      }
+      try {
+        delegate.execute(this);
+      } catch (RuntimeException e) {
+        // Shutting down: nothing will drain this queue any more
+        retire();
+        throw e;
+      }
+      return true;
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        Runnable task;
+        synchronized (this) {
+          task = tasks.poll();
+          if (task == null) {
+            retire();
+            return;
+          }
+        }
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          log.warn("Failed to write frame to WebSocket session {}: {}", sessionId, e.getMessage());
+        }
+      }
+    }
+
+    private synchronized void retire() {
+      retired = true;
+      queues.remove(sessionId, this);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package io.joshuasalcedo.fx.infrastructure.websocket;
+
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+/**
+ * Finds WebSocket clients that stopped reading, such as a tab on a sleeping laptop, and disconnects
+ * them before they back up delivery to everyone else.
+ *
+ * <p>As an interceptor on the client outbound channel it counts, per session, the frames handed to
+ * the channel that have not been written yet. A session with more than {@code
+ * max-pending-messages} waiting is closed right away. A background check closes sessions whose
+ * current write has been going on for longer than {@code send-time-limit}; Spring's own limits
+ * only notice that when the next frame for the session arrives. Both complement the transport's
+ * send buffer limit, which closes a session buffering too many bytes.
+ *
+ * <p>Closed sessions get {@link CloseStatus#SESSION_NOT_RELIABLE}, which clients treat like any
+ * other disconnect: they reconnect and catch up from the change log.
+ */
+@Component
+public class SlowConsumerGuard
+    implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+  private static final Logger log = LoggerFactory.getLogger(SlowConsumerGuard.class);
+
+  private final ClipboardProperties.WebSocket settings;
+  private final MeterRegistry registry;
+  private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+  private final DistributionSummary pendingSummary;
+
+  private ScheduledExecutorService scheduler;
+
+  public SlowConsumerGuard(ClipboardProperties properties, MeterRegistry registry) {
+    this.settings = properties.getWebSocket();
+    this.registry = registry;
+    this.pendingSummary =
+        DistributionSummary.builder("clipboard.websocket.session.pending")
+            .description("Frames waiting for a client, sampled whenever one is added")
+            .register(registry);
+    Gauge.builder("clipboard.websocket.sessions", sessions, Map::size)
+        .description("Open WebSocket sessions")
+        .register(registry);
+    Gauge.builder("clipboard.websocket.session.pending.max", this, SlowConsumerGuard::maxPending)
+        .description("Frames waiting for the most backed up client")
+        .register(registry);
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "websocket-slow-consumer-check");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = settings.getSlowConsumerCheckInterval().toMillis();
+    scheduler.scheduleWithFixedDelay(this::evictStalled, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    scheduler.shutdownNow();
+  }
+
+  @Override
+  public WebSocketHandler decorate(WebSocketHandler handler) {
+    return new WebSocketHandlerDecorator(handler) {
+      @Override
+      public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        sessions.put(session.getId(), new SessionState(session));
+        super.afterConnectionEstablished(session);
+      }
+
+      @Override
+      public void afterConnectionClosed(WebSocketSession session, CloseStatus status)
+          throws Exception {
+        SessionState state = sessions.remove(session.getId());
+        if (state != null
+            && !state.evicted.get()
+            && CloseStatus.SESSION_NOT_RELIABLE.equals(status)) {
+          // Closed by the transport for exceeding the send time or buffer size limit
+          evicted("send-limit");
+        }
+        super.afterConnectionClosed(session, status);
+      }
+    };
+  }
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    SessionState state = stateOf(message);
+    if (state == null) return message;
+    if (state.evicted.get()) return null;
+
+    int pending = state.pending.incrementAndGet();
+    pendingSummary.record(pending);
+    if (pending > settings.getMaxPendingMessages()) {
+      state.pending.decrementAndGet();
+      evict(state, "backlog", pending + " frames waiting");
+      return null;
+    }
+    return message;
+  }
+
+  @Override
+  public Message<?> beforeHandle(
+      Message<?> message, MessageChannel channel, MessageHandler handler) {
+    SessionState state = stateOf(message);
+    if (state != null && state.writing.getAndIncrement() == 0) {
+      state.writingSince = System.nanoTime();
+    }
+    return message;
+  }
+
+  @Override
+  public void afterMessageHandled(
+      Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+    SessionState state = stateOf(message);
+    if (state == null) return;
+    state.pending.decrementAndGet();
+    if (state.writing.decrementAndGet() == 0) {
+      state.writingSince = 0;
+    }
+  }
+
+  /** Closes sessions whose current write has taken longer than the send time limit. */
+  void evictStalled() {
+    long limit = settings.getSendTimeLimit().toNanos();
+    long now = System.nanoTime();
+    for (SessionState state : sessions.values()) {
+      long since = state.writingSince;
+      if (since != 0 && now - since > limit) {
+        evict(state, "stalled", "write blocked for " + (now - since) / 1_000_000 + " ms");
+      }
+    }
+  }
+
+  int maxPending() {
+    return sessions.values().stream().mapToInt(state -> state.pending.get()).max().orElse(0);
+  }
+
+  private SessionState stateOf(Message<?> message) {
+    String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    return sessionId != null ? sessions.get(sessionId) : null;
+  }
+
+  private void evict(SessionState state, String reason, String detail) {
+    if (!state.evicted.compareAndSet(false, true)) return;
+    log.warn("Disconnecting slow WebSocket client {}: {}", state.session.getId(), detail);
+    evicted(reason);
+    try {
+      state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+    } catch (IOException e) {
+      log.debug("Failed to close WebSocket session {}: {}", state.session.getId(), e.getMessage());
+    }
+  }
+
+  private void evicted(String reason) {
+    Counter.builder("clipboard.websocket.evicted")
+        .description("WebSocket clients disconnected for not keeping up")
+        .tag("reason", reason)
+        .register(registry)
+        .increment();
+  }
+
+  private static final class SessionState {
+    final WebSocketSession session;
+    final AtomicInteger pending = new AtomicInteger();
+    final AtomicInteger writing = new AtomicInteger();
+    final AtomicBoolean evicted = new AtomicBoolean();
+    volatile long writingSince;
+
+    SessionState(WebSocketSession session) {
+      this.session = session;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+/**
+ * This package contains components that keep WebSocket delivery healthy.
+ *
+ * <p>Key components in this package include:
+ *
+ * <ul>
+ *   <li>SlowConsumerGuard - Tracks the frames waiting for each client and disconnects clients that
+ *       stop reading, with metrics on per-session backlog
+ *   <li>PayloadEncoder - Encodes STOMP payloads as JSON or CBOR per subscription, once per encoding
+ *   <li>EncodedPayload - A payload shared by every subscriber, with its encodings cached
+ *   <li>SessionOrderedExecutor - Writes each client's outbound frames one at a time, in the order
+ *       they were sent
+ * </ul>
+ *
+ * @since 1.0.0-SNAPSHOT
+ */
+package io.joshuasalcedo.fx.infrastructure.websocket;
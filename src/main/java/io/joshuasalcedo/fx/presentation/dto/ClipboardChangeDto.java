@@ -0,0 +1,4 @@
+package io.joshuasalcedo.fx.presentation.dto;
+
+public record ClipboardChangeDto(
+    long sequence, String type, Long id, ClipboardEventDto entry, Boolean includePinned) {}
@@ -0,0 +1,6 @@
+package io.joshuasalcedo.fx.presentation.dto;
+
+import java.util.List;
+
+public record ClipboardChangesDto(
+    long epoch, long sequence, boolean snapshotRequired, List<ClipboardChangeDto> changes) {}
@@ -0,0 +1,13 @@
+package io.joshuasalcedo.fx.presentation.dto;
+
+import java.time.LocalDateTime;
+
+public record ClipboardEventDto(
+    Long id,
+    LocalDateTime localDateTime,
+    String preview,
+    Integer contentLength,
+    String contentType,
+    boolean isPinned,
+    long version,
+    boolean truncated) {}
@@ -0,0 +1,21 @@
+package io.joshuasalcedo.fx.presentation.dto;
+
+import java.time.LocalDateTime;
+
+public record ClipboardExportJobDto(
+    String id,
+    String status,
+    String format,
+    String compression,
+    boolean includePinned,
+    String since,
+    long exported,
+    long total,
+    double progress,
+    long size,
+    String watermark,
+    boolean resumable,
+    String downloadUrl,
+    String error,
+    LocalDateTime createdAt,
+    LocalDateTime finishedAt) {}
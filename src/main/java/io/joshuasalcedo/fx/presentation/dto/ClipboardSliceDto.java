@@ -0,0 +1,6 @@
+package io.joshuasalcedo.fx.presentation.dto;
+
+import java.util.List;
+
+public record ClipboardSliceDto(
+    List<ClipboardSummaryDto> content, String nextCursor, boolean hasNext) {}
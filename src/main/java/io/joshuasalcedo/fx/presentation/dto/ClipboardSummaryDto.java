@@ -0,0 +1,12 @@
+package io.joshuasalcedo.fx.presentation.dto;
+
+import java.time.LocalDateTime;
+
+public record ClipboardSummaryDto(
+    Long id,
+    LocalDateTime localDateTime,
+    String preview,
+    Integer contentLength,
+    String contentType,
+    boolean isPinned,
+    boolean truncated) {}
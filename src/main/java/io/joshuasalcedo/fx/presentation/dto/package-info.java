@@ -10,6 +10,17 @@
  * <ul>
  *   <li>ClipboardDto - A record representing clipboard data for presentation purposes, including
  *       id, timestamp, content, and pin status
+ *   <li>ClipboardSummaryDto - A record representing a clipboard entry in list views, carrying a
+ *       short preview and the content length instead of the full content
+ *   <li>ClipboardEventDto - A record broadcast over WebSocket when an entry is added or updated,
+ *       carrying a preview, the content length and a version instead of the full content
+ *   <li>ClipboardChangeDto - One numbered change in the replayable change log: a new, updated or
+ *       deleted entry, or a clear
+ *   <li>ClipboardChangesDto - The changes a reconnecting client missed, or a flag telling it to
+ *       reload its lists because they are no longer in the log
+ *   <li>ClipboardSliceDto - One slice of cursor-paginated summaries with the token for the next
+ *       slice, without a total count
+ *   <li>ClipboardExportJobDto - Status, progress and watermark of a background export job
  * </ul>
  *
  * <p>These DTOs provide several benefits:
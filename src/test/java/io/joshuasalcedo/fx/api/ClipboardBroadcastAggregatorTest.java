@@ -0,0 +1,273 @@
+package io.joshuasalcedo.fx.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.joshuasalcedo.fx.api.ClipboardWebSocketController.ClearEvent;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.infrastructure.websocket.EncodedPayload;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangesDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardBroadcastAggregatorTest {
+
+  @Mock private SimpMessagingTemplate messagingTemplate;
+
+  private ClipboardChangeLog changeLog;
+  private ClipboardSubscriptionRegistry subscriptions;
+  private ClipboardBroadcastAggregator aggregator;
+
+  @BeforeEach
+  void setUp() {
+    ClipboardProperties properties = new ClipboardProperties();
+    // Long enough that the tests flush by hand
+    properties.getBroadcast().setTick(Duration.ofHours(1));
+    changeLog = new ClipboardChangeLog(properties);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    subscriptions = new ClipboardSubscriptionRegistry(registry);
+    aggregator =
+        new ClipboardBroadcastAggregator(
+            messagingTemplate, changeLog, subscriptions, properties, registry);
+    aggregator.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    aggregator.stop();
+  }
+
+  @Test
+  void flush_RepeatedUpdates_SendsLatestRevisionPerEntryInOneFrame() {
+    // Arrange
+    aggregator.entryUpdated(event(1L, true, 1));
+    aggregator.entryUpdated(event(2L, true, 1));
+    aggregator.entryUpdated(event(1L, false, 2));
+    aggregator.entryUpdated(event(2L, false, 0));
+
+    // Act
+    aggregator.flush();
+
+    // Assert
+    verify(messagingTemplate)
+        .convertAndSend(
+            ClipboardBroadcastAggregator.UPDATE_TOPIC,
+            List.of(event(1L, false, 2), event(2L, true, 1)),
+            sequenceHeaders(4, 1));
+    verifyNoMoreInteractions(messagingTemplate);
+  }
+
+  @Test
+  void flush_UpdateOfPendingNewEntry_SendsItAsNew() {
+    // Arrange
+    aggregator.entryAdded(event(1L, false, 0));
+    aggregator.entryUpdated(event(1L, true, 1));
+
+    // Act
+    aggregator.flush();
+
+    // Assert
+    verify(messagingTemplate)
+        .convertAndSend(
+            ClipboardBroadcastAggregator.NEW_TOPIC,
+            List.of(event(1L, true, 1)),
+            sequenceHeaders(2, 1));
+    verify(messagingTemplate, never())
+        .convertAndSend(eq(ClipboardBroadcastAggregator.UPDATE_TOPIC), any(Object.class), anyMap());
+  }
+
+  @Test
+  void flush_DeletedEntries_DropsTheirPendingEventsAndBatchesIds() {
+    // Arrange
+    aggregator.entryAdded(event(1L, false, 0));
+    aggregator.entryUpdated(event(2L, true, 1));
+    aggregator.entryDeleted(1L);
+    aggregator.entryDeleted(2L);
+    aggregator.entryDeleted(3L);
+
+    // Act
+    aggregator.flush();
+
+    // Assert
+    verify(messagingTemplate)
+        .convertAndSend(
+            ClipboardBroadcastAggregator.DELETE_TOPIC, List.of(1L, 2L, 3L), sequenceHeaders(5, 1));
+    verifyNoMoreInteractions(messagingTemplate);
+  }
+
+  @Test
+  void flush_Clear_KeepsPinnedUpdatesAndSendsClearFirst() {
+    // Arrange
+    aggregator.entryAdded(event(1L, false, 0));
+    aggregator.entryUpdated(event(2L, true, 1));
+    aggregator.historyCleared(false);
+    aggregator.entryAdded(event(3L, false, 0));
+
+    // Act
+    aggregator.flush();
+
+    // Assert
+    InOrder inOrder = inOrder(messagingTemplate);
+    inOrder
+        .verify(messagingTemplate)
+        .convertAndSend(
+            ClipboardBroadcastAggregator.CLEAR_TOPIC, new ClearEvent(false), sequenceHeaders(4, 3));
+    inOrder
+        .verify(messagingTemplate)
+        .convertAndSend(
+            ClipboardBroadcastAggregator.NEW_TOPIC,
+            List.of(event(3L, false, 0)),
+            sequenceHeaders(4, 3));
+    inOrder
+        .verify(messagingTemplate)
+        .convertAndSend(
+            ClipboardBroadcastAggregator.UPDATE_TOPIC,
+            List.of(event(2L, true, 1)),
+            sequenceHeaders(4, 3));
+    verifyNoMoreInteractions(messagingTemplate);
+  }
+
+  @Test
+  void flush_Reload_SendsOnlyTheReload() {
+    // Arrange
+    subscriptions.register(subscribe("s1", "0", "reload", null));
+    subscriptions.register(subscribe("s2", "0", "new", null));
+    aggregator.entryAdded(event(1L, false, 0));
+    aggregator.historyReloaded();
+    aggregator.entryDeleted(2L);
+
+    // Act
+    aggregator.flush();
+
+    // Assert
+    ClipboardChangesDto reload = new ClipboardChangesDto(changeLog.getEpoch(), 3, true, List.of());
+    verify(messagingTemplate)
+        .convertAndSend(ClipboardBroadcastAggregator.RELOAD_TOPIC, reload, sequenceHeaders(3, 1));
+    verify(messagingTemplate)
+        .convertAndSendToUser(
+            eq("s1"),
+            eq("/queue/clipboard/reload"),
+            eq(new EncodedPayload(reload)),
+            any(MessageHeaders.class));
+    verifyNoMoreInteractions(messagingTemplate);
+  }
+
+  @Test
+  void flush_FilteredSubscriptions_SendsEachSessionOnlyMatchingEntries() {
+    // Arrange
+    String pinned = ClipboardSubscriptionRegistry.PINNED_HEADER;
+    subscriptions.register(subscribe("s1", "0", "new", pinned));
+    subscriptions.register(subscribe("s1", "1", "delete", null));
+    subscriptions.register(subscribe("s2", "0", "new", pinned));
+    aggregator.entryAdded(event(1L, false, 0));
+    aggregator.entryAdded(event(2L, true, 0));
+    aggregator.entryDeleted(3L);
+
+    // Act
+    aggregator.flush();
+
+    // Assert
+    ArgumentCaptor<MessageHeaders> s1Headers = ArgumentCaptor.forClass(MessageHeaders.class);
+    ArgumentCaptor<MessageHeaders> s2Headers = ArgumentCaptor.forClass(MessageHeaders.class);
+    verify(messagingTemplate)
+        .convertAndSendToUser(
+            eq("s1"),
+            eq("/queue/clipboard/new"),
+            eq(new EncodedPayload(List.of(event(2L, true, 0)))),
+            s1Headers.capture());
+    verify(messagingTemplate)
+        .convertAndSendToUser(
+            eq("s1"),
+            eq("/queue/clipboard/delete"),
+            eq(new EncodedPayload(List.of(3L))),
+            any(MessageHeaders.class));
+    verify(messagingTemplate)
+        .convertAndSendToUser(
+            eq("s2"),
+            eq("/queue/clipboard/new"),
+            eq(new EncodedPayload(List.of(event(2L, true, 0)))),
+            s2Headers.capture());
+    assertEquals("s1", SimpMessageHeaderAccessor.getSessionId(s1Headers.getValue()));
+    assertEquals("3", nativeHeader(ClipboardBroadcastAggregator.SEQUENCE_HEADER, s1Headers));
+    assertEquals("2", nativeHeader(ClipboardBroadcastAggregator.FRAMES_HEADER, s1Headers));
+    assertEquals("1", nativeHeader(ClipboardBroadcastAggregator.FRAMES_HEADER, s2Headers));
+  }
+
+  @Test
+  void flush_NothingMatchesOrSessionGone_SendsNothingToSession() {
+    // Arrange
+    subscriptions.register(
+        subscribe("s1", "0", "new", ClipboardSubscriptionRegistry.KEYWORD_HEADER));
+    subscriptions.register(subscribe("s2", "0", "new", null));
+    subscriptions.disconnected(
+        new SessionDisconnectEvent(
+            this, subscribe("s2", null, "new", null), "s2", CloseStatus.NORMAL));
+    aggregator.entryAdded(event(1L, false, 0));
+
+    // Act
+    aggregator.flush();
+
+    // Assert
+    verify(messagingTemplate)
+        .convertAndSend(
+            ClipboardBroadcastAggregator.NEW_TOPIC,
+            List.of(event(1L, false, 0)),
+            sequenceHeaders(1, 1));
+    verifyNoMoreInteractions(messagingTemplate);
+  }
+
+  /** A SUBSCRIBE frame for a filtered queue, with {@code filterHeader} set to "true". */
+  private static Message<byte[]> subscribe(
+      String sessionId, String subscriptionId, String type, String filterHeader) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+    accessor.setSessionId(sessionId);
+    accessor.setSubscriptionId(subscriptionId);
+    accessor.setDestination(ClipboardSubscriptionRegistry.USER_QUEUE_PREFIX + type);
+    if (filterHeader != null) {
+      accessor.setNativeHeader(filterHeader, "true");
+    }
+    return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+  }
+
+  private static String nativeHeader(String name, ArgumentCaptor<MessageHeaders> headers) {
+    return SimpMessageHeaderAccessor.getFirstNativeHeader(name, headers.getValue());
+  }
+
+  private Map<String, Object> sequenceHeaders(long sequence, int frames) {
+    return Map.of(
+        ClipboardBroadcastAggregator.SEQUENCE_HEADER,
+        sequence,
+        ClipboardBroadcastAggregator.EPOCH_HEADER,
+        changeLog.getEpoch(),
+        ClipboardBroadcastAggregator.FRAMES_HEADER,
+        frames);
+  }
+
+  private static ClipboardEventDto event(Long id, boolean pinned, long version) {
+    return new ClipboardEventDto(
+        id, LocalDateTime.of(2024, 5, 1, 12, 0), "text", 4, "TEXT", pinned, version, false);
+  }
+}
@@ -0,0 +1,141 @@
+package io.joshuasalcedo.fx.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangeDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangesDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClipboardChangeLogTest {
+
+  private ClipboardChangeLog changeLog;
+
+  @BeforeEach
+  void setUp() {
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getBroadcast().setChangeLogSize(4);
+    changeLog = new ClipboardChangeLog(properties);
+  }
+
+  @Test
+  void since_KeptSequence_ReturnsOnlyMissedChangesInOrder() {
+    // Arrange
+    changeLog.entryAdded(event(1L));
+    changeLog.entryUpdated(event(1L));
+    changeLog.entryDeleted(1L);
+    changeLog.historyCleared(true);
+
+    // Act
+    ClipboardChangesDto changes = changeLog.since(2, changeLog.getEpoch());
+
+    // Assert
+    assertFalse(changes.snapshotRequired());
+    assertEquals(4, changes.sequence());
+    assertEquals(
+        List.of(
+            new ClipboardChangeDto(3, ClipboardChangeLog.DELETE, 1L, null, null),
+            new ClipboardChangeDto(4, ClipboardChangeLog.CLEAR, null, null, true)),
+        changes.changes());
+  }
+
+  @Test
+  void since_GapLargerThanLog_RequiresSnapshot() {
+    // Arrange
+    for (long id = 1; id <= 6; id++) {
+      changeLog.entryAdded(event(id));
+    }
+
+    // Act
+    ClipboardChangesDto oldest = changeLog.since(2, changeLog.getEpoch());
+    ClipboardChangesDto tooOld = changeLog.since(1, changeLog.getEpoch());
+
+    // Assert
+    assertFalse(oldest.snapshotRequired());
+    assertEquals(4, oldest.changes().size());
+    assertEquals(3, oldest.changes().getFirst().sequence());
+    assertTrue(tooOld.snapshotRequired());
+    assertTrue(tooOld.changes().isEmpty());
+    assertEquals(6, tooOld.sequence());
+  }
+
+  @Test
+  void since_OtherEpoch_RequiresSnapshot() {
+    // Arrange
+    changeLog.entryAdded(event(1L));
+
+    // Act
+    ClipboardChangesDto changes = changeLog.since(0, changeLog.getEpoch() - 1);
+
+    // Assert
+    assertTrue(changes.snapshotRequired());
+    assertEquals(changeLog.getEpoch(), changes.epoch());
+  }
+
+  @Test
+  void since_BeforeReload_RequiresSnapshot() {
+    // Arrange
+    changeLog.entryAdded(event(1L));
+    changeLog.historyReloaded();
+    changeLog.entryDeleted(1L);
+
+    // Act
+    ClipboardChangesDto beforeReload = changeLog.since(1, changeLog.getEpoch());
+    ClipboardChangesDto afterReload = changeLog.since(2, changeLog.getEpoch());
+
+    // Assert
+    assertTrue(beforeReload.snapshotRequired());
+    assertEquals(3, beforeReload.sequence());
+    assertFalse(afterReload.snapshotRequired());
+    assertEquals(
+        List.of(new ClipboardChangeDto(3, ClipboardChangeLog.DELETE, 1L, null, null)),
+        afterReload.changes());
+  }
+
+  @Test
+  void awaitSince_ChangeAppendedWhileWaiting_ReturnsIt() throws Exception {
+    // Arrange
+    long epoch = changeLog.getEpoch();
+    Thread appender =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  try {
+                    Thread.sleep(50);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                  changeLog.entryDeleted(7L);
+                });
+
+    // Act
+    ClipboardChangesDto changes = changeLog.awaitSince(0, epoch, Duration.ofSeconds(10));
+
+    // Assert
+    appender.join();
+    assertEquals(
+        List.of(new ClipboardChangeDto(1, ClipboardChangeLog.DELETE, 7L, null, null)),
+        changes.changes());
+  }
+
+  @Test
+  void awaitSince_NoChange_ReturnsNothingAfterTimeout() throws Exception {
+    // Act
+    ClipboardChangesDto changes =
+        changeLog.awaitSince(0, changeLog.getEpoch(), Duration.ofMillis(20));
+
+    // Assert
+    assertFalse(changes.snapshotRequired());
+    assertTrue(changes.changes().isEmpty());
+  }
+
+  private static ClipboardEventDto event(Long id) {
+    return new ClipboardEventDto(
+        id, LocalDateTime.of(2024, 5, 1, 12, 0), "text", 4, "TEXT", false, 0, false);
+  }
+}
@@ -0,0 +1,200 @@
+package io.joshuasalcedo.fx.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardChangedEvent;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardChangeNotifierTest {
+
+  @Mock private ClipboardWebSocketController webSocketController;
+
+  private final ClipboardProperties properties = new ClipboardProperties();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private AnnotationConfigApplicationContext context;
+  private TransactionTemplate transactions;
+  private ClipboardChangeNotifier notifier;
+
+  @BeforeEach
+  void setUp() {
+    // A one-slot queue makes the committer wait as soon as a second change is pending
+    properties.getBroadcast().setQueueCapacity(1);
+    context = new AnnotationConfigApplicationContext();
+    context.register(TransactionConfig.class);
+    context.registerBean(ClipboardWebSocketController.class, () -> webSocketController);
+    context.registerBean(ClipboardProperties.class, () -> properties);
+    context.registerBean(MeterRegistry.class, () -> registry);
+    context.registerBean(ClipboardChangeNotifier.class);
+    context.refresh();
+    transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    notifier = context.getBean(ClipboardChangeNotifier.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+  }
+
+  private static ClipboardChangedEvent deleted(long id) {
+    return new ClipboardChangedEvent(ClipboardChangedEvent.Type.DELETED, null, id, false);
+  }
+
+  @Test
+  void rolledBackTransaction_AnnouncesNothing() throws InterruptedException {
+    // Act
+    transactions.executeWithoutResult(
+        status -> {
+          context.publishEvent(deleted(1L));
+          status.setRollbackOnly();
+        });
+    notifier.stop();
+
+    // Assert
+    verifyNoInteractions(webSocketController);
+  }
+
+  @Test
+  void committedTransaction_AnnouncesOnlyAfterCommit() {
+    // Arrange
+    ClipboardEntry entry = ClipboardEntry.builder().id(7L).content("copied").build();
+
+    // Act
+    transactions.executeWithoutResult(
+        status -> {
+          context.publishEvent(
+              new ClipboardChangedEvent(ClipboardChangedEvent.Type.ADDED, entry, 7L, false));
+          verifyNoInteractions(webSocketController);
+        });
+
+    // Assert
+    verify(webSocketController, timeout(2_000)).broadcastNewEntry(entry);
+  }
+
+  @Test
+  void noTransaction_AnnouncesThroughFallbackExecution() {
+    // Act
+    context.publishEvent(
+        new ClipboardChangedEvent(ClipboardChangedEvent.Type.CLEARED, null, null, true));
+
+    // Assert
+    verify(webSocketController, timeout(2_000)).broadcastClear(true);
+  }
+
+  @Test
+  void commits_DispatchedInCommitOrderOnOneThread() throws InterruptedException {
+    // Arrange
+    List<String> threads = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              threads.add(Thread.currentThread().getName());
+              return null;
+            })
+        .when(webSocketController)
+        .broadcastDelete(anyLong());
+
+    // Act
+    for (long id = 1; id <= 10; id++) {
+      long committed = id;
+      transactions.executeWithoutResult(status -> context.publishEvent(deleted(committed)));
+    }
+    notifier.stop();
+
+    // Assert
+    InOrder inOrder = inOrder(webSocketController);
+    for (long id = 1; id <= 10; id++) {
+      inOrder.verify(webSocketController).broadcastDelete(id);
+    }
+    assertEquals(10, threads.size());
+    assertTrue(threads.stream().allMatch("clipboard-notify"::equals), threads.toString());
+  }
+
+  @Test
+  void fullQueue_BlocksCommitterInsteadOfDropping() throws InterruptedException {
+    // Arrange: the worker holds the first change, the one-slot queue holds the second
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              release.await(5, TimeUnit.SECONDS);
+              return null;
+            })
+        .when(webSocketController)
+        .broadcastDelete(1L);
+    notifier.onChange(deleted(1L));
+    notifier.onChange(deleted(2L));
+
+    // Act
+    Thread committer = new Thread(() -> notifier.onChange(deleted(3L)), "committer");
+    committer.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (committer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+
+    // Assert
+    assertEquals(Thread.State.WAITING, committer.getState());
+    assertEquals(1.0, registry.get("clipboard.broadcast.queue.full").counter().count());
+    release.countDown();
+    committer.join(2_000);
+    assertFalse(committer.isAlive());
+    notifier.stop();
+    InOrder inOrder = inOrder(webSocketController);
+    inOrder.verify(webSocketController).broadcastDelete(1L);
+    inOrder.verify(webSocketController).broadcastDelete(2L);
+    inOrder.verify(webSocketController).broadcastDelete(3L);
+  }
+
+  @Configuration
+  @EnableTransactionManagement
+  static class TransactionConfig {
+
+    @Bean
+    PlatformTransactionManager transactionManager() {
+      return new InMemoryTransactionManager();
+    }
+  }
+
+  /** Runs transaction synchronization without a resource behind it. */
+  static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {}
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {}
+  }
+}
@@ -0,0 +1,99 @@
+package io.joshuasalcedo.fx.api;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardControllerTest {
+
+  @Mock private ClipboardService clipboardService;
+  @Mock private ClipboardChangeLog changeLog;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new ClipboardController(clipboardService, changeLog))
+            .build();
+  }
+
+  @Test
+  void clipboards_CurrentETag_NotModifiedWithoutQuerying() throws Exception {
+    // Arrange
+    when(clipboardService.getVersionTag()).thenReturn("1700000000000-7");
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/local/clipboards").header("If-None-Match", "W/\"1700000000000-7\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "W/\"1700000000000-7\""))
+        .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    verify(clipboardService, never()).findAll(any());
+  }
+
+  @Test
+  void clipboards_CborWithJsonETag_ReturnsPageWithCborETag() throws Exception {
+    // Arrange
+    when(clipboardService.getVersionTag()).thenReturn("1700000000000-7");
+    when(clipboardService.findAll(any()))
+        .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/api/local/clipboards")
+                .accept("application/cbor")
+                .header("If-None-Match", "W/\"1700000000000-7\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "W/\"1700000000000-7-cbor\""))
+        .andExpect(header().stringValues("Vary", hasItem("Accept")))
+        .andExpect(content().contentType("application/cbor"));
+    verify(clipboardService).findAll(any());
+  }
+
+  @Test
+  void pinnedClipboards_StaleETag_ReturnsListWithCurrentETag() throws Exception {
+    // Arrange
+    when(clipboardService.getVersionTag()).thenReturn("1700000000000-8");
+    when(clipboardService.findAllPinned()).thenReturn(List.of());
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/local/clipboards/pins").header("If-None-Match", "W/\"1700000000000-7\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "W/\"1700000000000-8\""))
+        .andExpect(header().string("Cache-Control", "no-cache"))
+        .andExpect(content().json("[]"));
+    verify(clipboardService).findAllPinned();
+  }
+
+  @Test
+  void clipboards_NoETag_ReturnsPage() throws Exception {
+    // Arrange
+    when(clipboardService.getVersionTag()).thenReturn("1700000000000-7");
+    when(clipboardService.findAll(any()))
+        .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/local/clipboards"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "W/\"1700000000000-7\""));
+  }
+}
@@ -0,0 +1,79 @@
+package io.joshuasalcedo.fx.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.joshuasalcedo.fx.presentation.dto.ClipboardChangeDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class ClipboardEventFilterTest {
+
+  @Test
+  void filter_PinnedOnly_SkipsUnpinnedNewEntriesButKeepsUnpinUpdates() {
+    // Arrange
+    ClipboardEventFilter filter = new ClipboardEventFilter(true, null, null, null, null);
+
+    // Act & Assert
+    assertFalse(filter.test(change(ClipboardChangeLog.NEW, entry(false, 10, "text/plain"))));
+    assertTrue(filter.test(change(ClipboardChangeLog.NEW, entry(true, 10, "text/plain"))));
+    assertTrue(filter.test(change(ClipboardChangeLog.UPDATE, entry(false, 10, "text/plain"))));
+  }
+
+  @Test
+  void filter_LengthAndContentType_ApplyToNewEntriesAndUpdates() {
+    // Arrange
+    ClipboardEventFilter filter = new ClipboardEventFilter(false, 5, null, "text/html", null);
+
+    // Act & Assert
+    assertTrue(filter.test(change(ClipboardChangeLog.NEW, entry(false, 5, "TEXT/HTML"))));
+    assertFalse(filter.test(change(ClipboardChangeLog.NEW, entry(false, 4, "text/html"))));
+    assertFalse(filter.test(change(ClipboardChangeLog.UPDATE, entry(true, 10, "text/plain"))));
+  }
+
+  @Test
+  void filter_DeletesAndClears_AlwaysPass() {
+    // Arrange
+    ClipboardEventFilter filter = new ClipboardEventFilter(true, 100, null, "text/html", "x");
+
+    // Act & Assert
+    assertTrue(filter.test(new ClipboardChangeDto(1, ClipboardChangeLog.DELETE, 3L, null, null)));
+    assertTrue(filter.test(new ClipboardChangeDto(2, ClipboardChangeLog.CLEAR, null, null, true)));
+  }
+
+  @Test
+  void filter_MaxLengthAndKeyword_MatchLengthAndPreviewIgnoringCase() {
+    // Arrange
+    ClipboardEventFilter filter = new ClipboardEventFilter(false, null, 40, null, "HTTPS://");
+
+    // Act & Assert
+    assertTrue(filter.test(ClipboardChangeLog.NEW, entry("see https://example.com", 23)));
+    assertFalse(filter.test(ClipboardChangeLog.NEW, entry("see https://example.com", 41)));
+    assertFalse(filter.test(ClipboardChangeLog.UPDATE, entry("plain text", 10)));
+    assertFalse(filter.test(ClipboardChangeLog.NEW, entry(null, 10)));
+  }
+
+  @Test
+  void filter_BlankCriteria_LetEverythingThrough() {
+    // Arrange
+    ClipboardEventFilter filter = new ClipboardEventFilter(false, null, null, " ", "");
+
+    // Act & Assert
+    assertEquals(ClipboardEventFilter.NONE, filter);
+    assertTrue(filter.test(change(ClipboardChangeLog.NEW, entry(false, 0, null))));
+  }
+
+  private static ClipboardChangeDto change(String type, ClipboardEventDto entry) {
+    return new ClipboardChangeDto(1, type, entry.id(), entry, null);
+  }
+
+  private static ClipboardEventDto entry(String preview, int length) {
+    return new ClipboardEventDto(
+        1L, LocalDateTime.of(2024, 5, 1, 12, 0), preview, length, "text/plain", false, 0, false);
+  }
+
+  private static ClipboardEventDto entry(boolean pinned, int length, String contentType) {
+    return new ClipboardEventDto(
+        1L, LocalDateTime.of(2024, 5, 1, 12, 0), "text", length, contentType, pinned, 0, false);
+  }
+}
@@ -0,0 +1,273 @@
+package io.joshuasalcedo.fx.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ClipboardEventStreamTest {
+
+  private final ClipboardProperties properties = new ClipboardProperties();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private ClipboardChangeLog changeLog;
+  private ClipboardEventStream stream;
+  private long epoch;
+
+  @BeforeEach
+  void setUp() {
+    properties.getBroadcast().setChangeLogSize(4);
+    properties.getStream().setHeartbeat(Duration.ofMinutes(1));
+    changeLog = new ClipboardChangeLog(properties);
+    epoch = changeLog.getEpoch();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (stream != null) {
+      stream.stop();
+    }
+  }
+
+  private RecordingEmitter subscribe(String lastEventId) {
+    stream = new ClipboardEventStream(changeLog, objectMapper, properties, registry);
+    RecordingEmitter emitter = new RecordingEmitter();
+    stream.subscribe(ClipboardEventFilter.NONE, lastEventId, emitter);
+    return emitter;
+  }
+
+  private double subscribers() {
+    return registry.get("clipboard.stream.subscribers").gauge().value();
+  }
+
+  private void awaitNoSubscribers() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (subscribers() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0.0, subscribers());
+  }
+
+  private void added(long count) {
+    for (long i = 0; i < count; i++) {
+      changeLog.entryAdded(event(changeLog.getSequence() + 1));
+    }
+  }
+
+  @Test
+  void noLastEventId_StartsWithReadyAtCurrentPosition() throws InterruptedException {
+    // Arrange
+    added(2);
+
+    // Act
+    RecordingEmitter emitter = subscribe(null);
+
+    // Assert
+    String ready = emitter.next();
+    assertTrue(ready.startsWith("event:ready\nid:" + epoch + "-2\n"), ready);
+    assertTrue(ready.contains("snapshotRequired=true"), ready);
+  }
+
+  @Test
+  void keptLastEventId_ResumesAfterIt() throws InterruptedException {
+    // Arrange
+    added(3);
+
+    // Act
+    RecordingEmitter emitter = subscribe(epoch + "-1");
+
+    // Assert
+    String ready = emitter.next();
+    assertTrue(ready.startsWith("event:ready\nid:" + epoch + "-1\n"), ready);
+    assertTrue(ready.contains("snapshotRequired=false"), ready);
+    assertTrue(emitter.next().startsWith("event:new\nid:" + epoch + "-2\n"));
+    assertTrue(emitter.next().startsWith("event:new\nid:" + epoch + "-3\n"));
+  }
+
+  @Test
+  void malformedLastEventId_StartsFromSnapshot() throws InterruptedException {
+    // Arrange
+    added(1);
+
+    for (String lastEventId : new String[] {"garbage", "abc-def", "-1", epoch + "-"}) {
+      // Act
+      RecordingEmitter emitter = subscribe(lastEventId);
+
+      // Assert
+      String ready = emitter.next();
+      assertTrue(ready.startsWith("event:ready\nid:" + epoch + "-1\n"), lastEventId);
+      assertTrue(ready.contains("snapshotRequired=true"), lastEventId);
+      stream.stop();
+    }
+  }
+
+  @Test
+  void lastEventIdFromOtherEpoch_StartsFromSnapshot() throws InterruptedException {
+    // Arrange
+    added(2);
+
+    // Act
+    RecordingEmitter emitter = subscribe((epoch - 1) + "-2");
+
+    // Assert
+    String ready = emitter.next();
+    assertTrue(ready.startsWith("event:ready\nid:" + epoch + "-2\n"), ready);
+    assertTrue(ready.contains("snapshotRequired=true"), ready);
+  }
+
+  @Test
+  void lastEventIdOlderThanLog_StartsFromSnapshot() throws InterruptedException {
+    // Arrange: the log keeps 3 to 6
+    added(6);
+
+    // Act
+    RecordingEmitter emitter = subscribe(epoch + "-1");
+
+    // Assert
+    String ready = emitter.next();
+    assertTrue(ready.startsWith("event:ready\nid:" + epoch + "-6\n"), ready);
+    assertTrue(ready.contains("snapshotRequired=true"), ready);
+  }
+
+  @Test
+  void subscriberFallsBehindLog_GetsReadyAskingForSnapshot() throws InterruptedException {
+    // Arrange
+    RecordingEmitter emitter = subscribe(null);
+    emitter.next();
+    emitter.holdNextSend();
+
+    // Act: the subscriber is stuck sending change 1 while 2 to 6 push it out of the log
+    added(1);
+    assertTrue(emitter.held.await(2, TimeUnit.SECONDS));
+    added(5);
+    emitter.release.countDown();
+
+    // Assert
+    assertTrue(emitter.next().startsWith("event:new\nid:" + epoch + "-1\n"));
+    String ready = emitter.next();
+    assertTrue(ready.startsWith("event:ready\nid:" + epoch + "-6\n"), ready);
+    assertTrue(ready.contains("snapshotRequired=true"), ready);
+    added(1);
+    assertTrue(emitter.next().startsWith("event:new\nid:" + epoch + "-7\n"));
+  }
+
+  @Test
+  void quietLog_SendsHeartbeat() throws InterruptedException {
+    // Arrange
+    properties.getStream().setHeartbeat(Duration.ofMillis(20));
+
+    // Act
+    RecordingEmitter emitter = subscribe(null);
+
+    // Assert
+    emitter.next();
+    assertEquals(":heartbeat\n\n", emitter.next());
+  }
+
+  @Test
+  void stop_InterruptsWaitingSubscriber() throws InterruptedException {
+    // Arrange: with a one-minute heartbeat only an interrupt ends the wait
+    RecordingEmitter emitter = subscribe(null);
+    emitter.next();
+    assertEquals(1.0, subscribers());
+
+    // Act
+    stream.stop();
+
+    // Assert
+    awaitNoSubscribers();
+    assertNull(emitter.poll());
+  }
+
+  @Test
+  void sendFails_RemovesSubscriberAndCompletesWithError() throws InterruptedException {
+    // Arrange
+    IOException broken = new IOException("Broken pipe");
+
+    // Act
+    RecordingEmitter emitter = new RecordingEmitter();
+    emitter.failure = broken;
+    stream = new ClipboardEventStream(changeLog, objectMapper, properties, registry);
+    stream.subscribe(ClipboardEventFilter.NONE, null, emitter);
+
+    // Assert
+    awaitNoSubscribers();
+    assertSame(broken, emitter.completedWith);
+  }
+
+  private static ClipboardEventDto event(long id) {
+    return new ClipboardEventDto(
+        id, LocalDateTime.of(2024, 5, 1, 12, 0), "text", 4, "TEXT", false, 0, false);
+  }
+
+  /** Records each event as the text it would put on the wire; objects appear as toString(). */
+  private static final class RecordingEmitter extends SseEmitter {
+    final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+    final CountDownLatch held = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    volatile boolean holdNext;
+    volatile IOException failure;
+    volatile Throwable completedWith;
+
+    RecordingEmitter() {
+      super(0L);
+    }
+
+    void holdNextSend() {
+      holdNext = true;
+    }
+
+    String next() throws InterruptedException {
+      String event = sent.poll(2, TimeUnit.SECONDS);
+      assertNotNull(event, "nothing sent");
+      return event;
+    }
+
+    String poll() throws InterruptedException {
+      return sent.poll(50, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+      if (holdNext) {
+        holdNext = false;
+        held.countDown();
+        try {
+          release.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      StringBuilder text = new StringBuilder();
+      for (DataWithMediaType part : builder.build()) {
+        text.append(part.getData());
+      }
+      sent.add(text.toString());
+    }
+
+    @Override
+    public void completeWithError(Throwable ex) {
+      completedWith = ex;
+      super.completeWithError(ex);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package io.joshuasalcedo.fx.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardWebSocketControllerTest {
+
+  /** The fields the desktop client's ClipboardEventDto type expects, and nothing else. */
+  private static final Set<String> EVENT_FIELDS =
+      Set.of(
+          "id",
+          "localDateTime",
+          "preview",
+          "contentLength",
+          "contentType",
+          "isPinned",
+          "version",
+          "truncated");
+
+  @Mock private ClipboardBroadcastAggregator broadcastAggregator;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private ClipboardChangeLog changeLog;
+  private ClipboardWebSocketController controller;
+
+  @BeforeEach
+  void setUp() {
+    changeLog = new ClipboardChangeLog(new ClipboardProperties());
+    controller = new ClipboardWebSocketController(broadcastAggregator, changeLog);
+  }
+
+  private static ClipboardEntry largeEntry() {
+    ClipboardEntry entry =
+        ClipboardEntry.builder()
+            .id(7L)
+            .content("x".repeat(5_000))
+            .timestamp(LocalDateTime.of(2024, 5, 1, 12, 0))
+            .contentType("text/plain")
+            .isPinned(true)
+            .build();
+    entry.prePersist();
+    entry.setRevision(3);
+    return entry;
+  }
+
+  private static Set<String> fieldNames(JsonNode node) {
+    Set<String> names = new TreeSet<>();
+    node.fieldNames().forEachRemaining(names::add);
+    return names;
+  }
+
+  private static void assertEventShape(JsonNode event) {
+    assertEquals(new TreeSet<>(EVENT_FIELDS), fieldNames(event));
+    assertFalse(event.has("content"));
+    assertEquals(7, event.get("id").asLong());
+    assertEquals(ClipboardEntry.PREVIEW_LENGTH, event.get("preview").asText().length());
+    assertEquals(5_000, event.get("contentLength").asInt());
+    assertEquals(3, event.get("version").asLong());
+    assertTrue(event.get("isPinned").asBoolean());
+    assertTrue(event.get("truncated").asBoolean());
+  }
+
+  @Test
+  void broadcastNewEntry_SendsPreviewWithoutContent() {
+    // Arrange
+    ArgumentCaptor<ClipboardEventDto> event = ArgumentCaptor.forClass(ClipboardEventDto.class);
+
+    // Act
+    controller.broadcastNewEntry(largeEntry());
+
+    // Assert
+    verify(broadcastAggregator).entryAdded(event.capture());
+    assertEventShape(objectMapper.valueToTree(event.getValue()));
+  }
+
+  @Test
+  void broadcastUpdate_SendsPreviewWithoutContent() {
+    // Arrange
+    ArgumentCaptor<ClipboardEventDto> event = ArgumentCaptor.forClass(ClipboardEventDto.class);
+
+    // Act
+    controller.broadcastUpdate(largeEntry());
+
+    // Assert
+    verify(broadcastAggregator).entryUpdated(event.capture());
+    assertEventShape(objectMapper.valueToTree(event.getValue()));
+  }
+
+  @Test
+  void changes_ReplayedEntryHasEventShape() {
+    // Arrange
+    ArgumentCaptor<ClipboardEventDto> event = ArgumentCaptor.forClass(ClipboardEventDto.class);
+    controller.broadcastNewEntry(largeEntry());
+    verify(broadcastAggregator).entryAdded(event.capture());
+    changeLog.entryAdded(event.getValue());
+
+    // Act
+    JsonNode changes =
+        objectMapper.valueToTree(
+            controller.changes(0L, changeLog.getEpoch(), SimpMessageHeaderAccessor.create()));
+
+    // Assert
+    assertFalse(changes.get("snapshotRequired").asBoolean());
+    assertEquals(1, changes.get("changes").size());
+    assertEventShape(changes.get("changes").get(0).get("entry"));
+  }
+}
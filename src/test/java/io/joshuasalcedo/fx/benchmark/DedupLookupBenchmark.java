@@ -0,0 +1,132 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardDedupIndex;
+import io.joshuasalcedo.fx.domain.clipboard.ContentDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Duplicate check cost: the former {@code findFirstByContentAndTimestampAfter} query against an
+ * H2 table versus a digest lookup in {@link ClipboardDedupIndex}.
+ *
+ * <p>Run {@link #main(String[])} from the IDE; the 1M row setup takes a while.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DedupLookupBenchmark {
+
+  private static final String QUERY =
+      "SELECT id FROM clipboard_entries WHERE content = ? AND timestamp > ? LIMIT 1";
+
+  @Param({"10000", "100000", "1000000"})
+  int rows;
+
+  @Param({"256"})
+  int payloadSize;
+
+  private Connection connection;
+  private PreparedStatement query;
+  private ClipboardDedupIndex index;
+  private LocalDateTime since;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:dedup_" + rows, "sa", "");
+    try (Statement ddl = connection.createStatement()) {
+      ddl.execute(
+          "CREATE TABLE clipboard_entries (id BIGINT PRIMARY KEY, content TEXT NOT NULL,"
+              + " timestamp TIMESTAMP NOT NULL)");
+      ddl.execute("CREATE INDEX idx_timestamp ON clipboard_entries (timestamp)");
+    }
+
+    index = new ClipboardDedupIndex();
+    LocalDateTime now = LocalDateTime.now();
+    since = now.minusHours(24);
+    connection.setAutoCommit(false);
+    try (PreparedStatement insert =
+        connection.prepareStatement("INSERT INTO clipboard_entries VALUES (?, ?, ?)")) {
+      for (long id = 0; id < rows; id++) {
+        // Spread entries over two days so half of them fall inside the window
+        LocalDateTime timestamp = now.minusSeconds(id * 172_800L / rows);
+        String content = content(id);
+        insert.setLong(1, id);
+        insert.setString(2, content);
+        insert.setTimestamp(3, Timestamp.valueOf(timestamp));
+        insert.addBatch();
+        if (id % 1_000 == 999) insert.executeBatch();
+        if (timestamp.isAfter(since)) {
+          index.record(ContentDigest.of(content), id, timestamp, false);
+        }
+      }
+      insert.executeBatch();
+    }
+    connection.commit();
+    query = connection.prepareStatement(QUERY);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public Long databaseQuery() throws SQLException {
+    query.setString(1, probe());
+    query.setTimestamp(2, Timestamp.valueOf(since));
+    try (ResultSet rs = query.executeQuery()) {
+      return rs.next() ? rs.getLong(1) : null;
+    }
+  }
+
+  @Benchmark
+  public Long inMemoryIndex() {
+    return index.find(ContentDigest.of(probe()), since).orElse(null);
+  }
+
+  /** Half hits inside the window, half misses - the common case for fresh copies. */
+  private String probe() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return random.nextBoolean()
+        ? content(random.nextLong(rows / 2))
+        : content(-1 - random.nextLong(rows));
+  }
+
+  private String content(long id) {
+    StringBuilder sb = new StringBuilder(payloadSize).append("entry-").append(id).append(' ');
+    while (sb.length() < payloadSize) sb.append('x');
+    return sb.toString();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(DedupLookupBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,150 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardRepository;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Cost of compressing a 32 MiB export on the fly, per format, compression and level.
+ *
+ * <p>Runs single-threaded into a discarding stream, so the time per operation is the CPU cost of
+ * formatting plus compression. The raw size and compression ratio are printed during setup; divide
+ * the raw size by the score for throughput. Run {@link #main(String[])} from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportCompressionBenchmark {
+
+  private static final int TOTAL_SIZE = 32 * 1024 * 1024;
+  private static final int ENTRY_SIZE = 1024;
+  private static final String[] WORDS = {
+    "git", "commit", "merge", "select", "from", "where", "order", "clipboard", "search", "index",
+    "build", "deploy", "docker", "kubectl", "service", "https://", "localhost", "config", "error",
+    "exception", "timeout", "\"token\":", "request", "response", "json", "yaml", "header", "\n",
+    "spring", "lucene", "query", "update", "delete", "insert", "invoice", "meeting", "\t"
+  };
+
+  @Param({"JSON", "CSV"})
+  ExportFormat format;
+
+  @Param({"none:0", "gzip:1", "gzip:6", "gzip:9", "zstd:1", "zstd:3", "zstd:9"})
+  String codec;
+
+  private Compression compression;
+  private ClipboardExporter exporter;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    Random random = new Random(42);
+    LocalDateTime now = LocalDateTime.now();
+    List<ClipboardEntry> entries = new ArrayList<>();
+    for (long id = 0; id < TOTAL_SIZE / ENTRY_SIZE; id++) {
+      entries.add(
+          ClipboardEntry.builder()
+              .id(id)
+              .content(content(random))
+              .timestamp(now.minusSeconds(id))
+              .isPinned(id % 10 == 0)
+              .build());
+    }
+
+    String[] parts = codec.split(":");
+    compression = Compression.fromName(parts[0]);
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getExport().setGzipLevel(Integer.parseInt(parts[1]));
+    properties.getExport().setZstdLevel(Integer.parseInt(parts[1]));
+
+    ClipboardRepository repository =
+        stub(
+            ClipboardRepository.class,
+            method -> method.equals("streamAll") ? entries.stream() : null);
+    EntityManager entityManager = stub(EntityManager.class, method -> null);
+    PlatformTransactionManager transactionManager =
+        stub(
+            PlatformTransactionManager.class,
+            method -> method.equals("getTransaction") ? new SimpleTransactionStatus() : null);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    exporter =
+        new ClipboardExporter(
+            repository,
+            entityManager,
+            new ObjectMapper(),
+            properties,
+            registry,
+            transactionManager);
+
+    exporter.export(format, true, compression, OutputStream.nullOutputStream());
+    double raw = registry.get("clipboard.export.bytes").tag("stage", "raw").summary().max();
+    double encoded =
+        registry.get("clipboard.export.bytes").tag("stage", "encoded").summary().max();
+    System.out.printf(
+        "%n[export] format=%s codec=%s raw=%.1f MiB encoded=%.1f MiB ratio=%.2f%n",
+        format, codec, raw / (1 << 20), encoded / (1 << 20), raw / encoded);
+  }
+
+  @Benchmark
+  public long export() throws IOException {
+    return exporter.export(format, true, compression, OutputStream.nullOutputStream());
+  }
+
+  /** Word soup with identifiers, quotes and line breaks, roughly as compressible as real text. */
+  private String content(Random random) {
+    StringBuilder sb = new StringBuilder(ENTRY_SIZE + 32);
+    while (sb.length() < ENTRY_SIZE) {
+      sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+      if (random.nextInt(6) == 0) sb.append("id").append(random.nextInt(1_000_000)).append(' ');
+    }
+    return sb.substring(0, ENTRY_SIZE);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T stub(Class<T> type, Function<String, Object> answer) {
+    return (T)
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> answer.apply(method.getName()));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(ExportCompressionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,199 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.joshuasalcedo.fx.ClipboardApplication;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * Bytes and client work saved by filtered WebSocket subscriptions.
+ *
+ * <p>Boots the application on an in-memory database and connects {@code load.clients} STOMP clients
+ * for each of two kinds of link widget: one subscribes to {@code /topic/clipboard/new} and drops
+ * everything that is not a link itself, the other subscribes to {@code /user/queue/clipboard/new}
+ * with a {@code filter-keyword} header and lets the server drop it. Then {@code load.entries}
+ * entries are copied, one in {@code load.link-every} holding a link. Each client counts the frames
+ * and bytes it receives and the time it spends decoding them, which is what a real widget would
+ * spend before it could throw an entry away.
+ *
+ * <p>Set {@code load.accept=application/cbor} to have both kinds of client subscribe for CBOR
+ * instead of JSON. Clients connect to the plain WebSocket URL, since SockJS cannot carry binary
+ * frames.
+ */
+public class FilteredSubscriptionLoad {
+
+  private static final String KEYWORD = "https://";
+
+  private final ClipboardService clipboardService;
+  private final int port;
+  private final int entries;
+  private final int linkEvery;
+  private final String accept;
+  private final ObjectMapper jsonMapper = new ObjectMapper();
+  private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+  FilteredSubscriptionLoad(ConfigurableApplicationContext context) {
+    Environment env = context.getEnvironment();
+    this.clipboardService = context.getBean(ClipboardService.class);
+    this.port = env.getRequiredProperty("local.server.port", Integer.class);
+    this.entries = env.getProperty("load.entries", Integer.class, 2000);
+    this.linkEvery = env.getProperty("load.link-every", Integer.class, 10);
+    this.accept = env.getProperty("load.accept");
+  }
+
+  void run(int clients) throws Exception {
+    // A burst of copies makes batches larger than the container's default 8 KiB text buffer
+    WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+    container.setDefaultMaxTextMessageBufferSize(1 << 20);
+    container.setDefaultMaxBinaryMessageBufferSize(1 << 20);
+    WebSocketStompClient stompClient =
+        new WebSocketStompClient(new StandardWebSocketClient(container));
+    Widget topic = new Widget("topic + local filter");
+    Widget queue = new Widget("server-side filter");
+    List<StompSession> sessions = new ArrayList<>();
+    for (int i = 0; i < clients; i++) {
+      sessions.add(connect(stompClient, topic, "/topic/clipboard/new", false));
+      sessions.add(connect(stompClient, queue, "/user/queue/clipboard/new", true));
+    }
+    System.out.printf(
+        "Connected %d clients of each kind accepting %s%n",
+        clients, accept != null ? accept : "the default encoding");
+    // Subscriptions are registered asynchronously after the SUBSCRIBE frame
+    Thread.sleep(1000);
+
+    int links = 0;
+    for (int i = 0; i < entries; i++) {
+      boolean link = i % linkEvery == 0;
+      String content =
+          link
+              ? "see " + KEYWORD + "example.com/page/" + i
+              : "copied text " + i + " " + "x".repeat(i % 200);
+      clipboardService.save(content);
+      if (link) {
+        links++;
+      }
+    }
+    long expected = (long) links * clients;
+    long deadline = System.currentTimeMillis() + 60_000;
+    while ((topic.links.get() < expected || queue.links.get() < expected)
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+    }
+
+    System.out.printf("Copied %d entries, %d links%n", entries, links);
+    topic.report(clients, links);
+    queue.report(clients, links);
+    sessions.forEach(StompSession::disconnect);
+  }
+
+  private StompSession connect(
+      WebSocketStompClient stompClient, Widget widget, String destination, boolean filtered)
+      throws Exception {
+    String url = "ws://localhost:" + port + "/ws-clipboard/websocket";
+    StompSession session =
+        stompClient
+            .connectAsync(url, new StompSessionHandlerAdapter() {})
+            .get(10, TimeUnit.SECONDS);
+    StompHeaders headers = new StompHeaders();
+    headers.setDestination(destination);
+    if (accept != null) {
+      headers.add("accept", accept);
+    }
+    if (filtered) {
+      headers.add("filter-keyword", KEYWORD);
+    }
+    session.subscribe(headers, widget);
+    return session;
+  }
+
+  /** Counts what one kind of client receives and keeps. */
+  private final class Widget implements StompFrameHandler {
+    final String name;
+    final AtomicLong frames = new AtomicLong();
+    final AtomicLong bytes = new AtomicLong();
+    final AtomicLong received = new AtomicLong();
+    final AtomicLong links = new AtomicLong();
+    final AtomicLong decodeNanos = new AtomicLong();
+
+    Widget(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Type getPayloadType(StompHeaders headers) {
+      return byte[].class;
+    }
+
+    @Override
+    public void handleFrame(StompHeaders headers, Object payload) {
+      byte[] body = (byte[]) payload;
+      ObjectMapper mapper =
+          headers.getContentType() != null && headers.getContentType().getSubtype().equals("cbor")
+              ? cborMapper
+              : jsonMapper;
+      long start = System.nanoTime();
+      try {
+        for (JsonNode entry : mapper.readTree(body)) {
+          received.incrementAndGet();
+          if (entry.path("preview").asText().contains(KEYWORD)) {
+            links.incrementAndGet();
+          }
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+      decodeNanos.addAndGet(System.nanoTime() - start);
+      frames.incrementAndGet();
+      bytes.addAndGet(body.length);
+    }
+
+    void report(int clients, int expectedLinks) {
+      System.out.printf(
+          "%-22s per client: frames=%.0f bytes=%.0f entries=%.0f links=%.0f/%d decode=%.2fms%n",
+          name,
+          frames.get() / (double) clients,
+          bytes.get() / (double) clients,
+          received.get() / (double) clients,
+          links.get() / (double) clients,
+          expectedLinks,
+          decodeNanos.get() / 1_000_000.0 / clients);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    // System properties beat application.properties, and command line arguments beat both
+    System.setProperty("server.port", "0");
+    System.setProperty("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+    System.setProperty("spring.jpa.hibernate.ddl-auto", "create-drop");
+    System.setProperty("clipboard.search.index-directory", "");
+    System.setProperty("clipboard.export.job-directory", "");
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(ClipboardApplication.class).run(args);
+    try {
+      new FilteredSubscriptionLoad(context)
+          .run(context.getEnvironment().getProperty("load.clients", Integer.class, 50));
+    } finally {
+      context.close();
+    }
+    // ClipboardService keeps a non-daemon scheduler around after the context is closed
+    System.exit(0);
+  }
+}
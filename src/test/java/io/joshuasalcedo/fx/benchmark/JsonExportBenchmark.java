@@ -0,0 +1,172 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardRepository;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * JSON export of 8 MiB of clipboard content: the former {@code StringBuilder} export with five
+ * chained {@code String.replace} calls per entry versus {@link ClipboardExporter}'s streaming
+ * {@code JsonGenerator}.
+ *
+ * <p>Both write to a discarding stream, so only formatting and encoding are measured. Add {@code
+ * -prof gc} to compare allocation. Run {@link #main(String[])} from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonExportBenchmark {
+
+  private static final int TOTAL_SIZE = 8 * 1024 * 1024;
+
+  @Param({"1024", "1048576"})
+  int entrySize;
+
+  private List<ClipboardEntry> entries;
+  private ClipboardExporter exporter;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    LocalDateTime now = LocalDateTime.now();
+    entries = new ArrayList<>();
+    for (long id = 0; id < Math.max(1, TOTAL_SIZE / entrySize); id++) {
+      entries.add(
+          ClipboardEntry.builder()
+              .id(id)
+              .content(content(random))
+              .timestamp(now.minusSeconds(id))
+              .isPinned(id % 10 == 0)
+              .build());
+    }
+
+    ClipboardRepository repository =
+        stub(
+            ClipboardRepository.class,
+            method -> method.equals("streamAll") ? entries.stream() : null);
+    EntityManager entityManager = stub(EntityManager.class, method -> null);
+    PlatformTransactionManager transactionManager =
+        stub(
+            PlatformTransactionManager.class,
+            method -> method.equals("getTransaction") ? new SimpleTransactionStatus() : null);
+    exporter =
+        new ClipboardExporter(
+            repository,
+            entityManager,
+            new ObjectMapper(),
+            new ClipboardProperties(),
+            new SimpleMeterRegistry(),
+            transactionManager);
+  }
+
+  @Benchmark
+  public long stringBuilder() throws IOException {
+    byte[] json = legacyExportToJson(entries).getBytes(StandardCharsets.UTF_8);
+    OutputStream.nullOutputStream().write(json);
+    return json.length;
+  }
+
+  @Benchmark
+  public long jsonGenerator() throws IOException {
+    return exporter.export(ExportFormat.JSON, true, OutputStream.nullOutputStream());
+  }
+
+  /** The export as it was before streaming, kept verbatim for comparison. */
+  private static String legacyExportToJson(List<ClipboardEntry> entries) {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < entries.size(); i++) {
+      ClipboardEntry entry = entries.get(i);
+      json.append("{")
+          .append("\"id\":")
+          .append(entry.getId())
+          .append(",")
+          .append("\"content\":\"")
+          .append(legacyEscapeJson(entry.getContent()))
+          .append("\",")
+          .append("\"timestamp\":\"")
+          .append(entry.getTimestamp())
+          .append("\",")
+          .append("\"pinned\":")
+          .append(entry.isPinned())
+          .append("}");
+      if (i < entries.size() - 1) {
+        json.append(",");
+      }
+    }
+    json.append("]");
+    return json.toString();
+  }
+
+  private static String legacyEscapeJson(String str) {
+    return str.replace("\\", "\\\\")
+        .replace("\"", "\\\"")
+        .replace("\n", "\\n")
+        .replace("\r", "\\r")
+        .replace("\t", "\\t");
+  }
+
+  /** Source-like text with the quotes, tabs and line breaks that need escaping. */
+  private String content(Random random) {
+    String[] lines = {
+      "public static void main(String[] args) {\n",
+      "\tSystem.out.println(\"Hello, \\\"world\\\"\");\r\n",
+      "SELECT * FROM clipboard_entries WHERE content LIKE '%term%';\n",
+      "C:\\Users\\dev\\project\\src\\main\\java\n",
+      "plain prose without any characters that need escaping at all. "
+    };
+    StringBuilder sb = new StringBuilder(entrySize + 64);
+    while (sb.length() < entrySize) {
+      sb.append(lines[random.nextInt(lines.length)]);
+    }
+    return sb.substring(0, entrySize);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T stub(Class<T> type, Function<String, Object> answer) {
+    return (T)
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> answer.apply(method.getName()));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JsonExportBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,132 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardEntry;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardRepository;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Scaling of an uncompressed 64 MiB export with the number of formatter threads.
+ *
+ * <p>Entries are 8 KiB of text full of quotes, line breaks and control characters, so escaping
+ * dominates. Entries are read and written on the benchmark thread while chunks are formatted on
+ * the pool; with {@code formatThreads=1} formatting is still handed off to a single worker. Speedup
+ * is capped by the number of cores, so compare runs against {@code nproc}. Run {@link
+ * #main(String[])} from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelExportBenchmark {
+
+  private static final int TOTAL_SIZE = 64 * 1024 * 1024;
+  private static final int ENTRY_SIZE = 8 * 1024;
+  private static final String[] WORDS = {
+    "\"quoted\"", "line\n", "tab\t", "bell\u0007", "path\\to", "select", "from", "where", "json",
+    "{\"key\":", "value}", "\r\n", "naïve", "日本語", "clipboard", "https://localhost", "'single'"
+  };
+
+  @Param({"JSON", "CSV"})
+  ExportFormat format;
+
+  @Param({"1", "2", "4", "8"})
+  int formatThreads;
+
+  private ClipboardExporter exporter;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    LocalDateTime now = LocalDateTime.now();
+    List<ClipboardEntry> entries = new ArrayList<>();
+    for (long id = 0; id < TOTAL_SIZE / ENTRY_SIZE; id++) {
+      entries.add(
+          ClipboardEntry.builder()
+              .id(id)
+              .content(content(random))
+              .timestamp(now.minusSeconds(id))
+              .build());
+    }
+
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getExport().setFormatThreads(formatThreads);
+    exporter =
+        new ClipboardExporter(
+            stub(
+                ClipboardRepository.class,
+                method -> method.equals("streamAll") ? entries.stream() : null),
+            stub(EntityManager.class, method -> null),
+            new ObjectMapper(),
+            properties,
+            new SimpleMeterRegistry(),
+            stub(
+                PlatformTransactionManager.class,
+                method -> method.equals("getTransaction") ? new SimpleTransactionStatus() : null));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    exporter.close();
+  }
+
+  @Benchmark
+  public long export() throws IOException {
+    return exporter.export(format, true, OutputStream.nullOutputStream());
+  }
+
+  private String content(Random random) {
+    StringBuilder sb = new StringBuilder(ENTRY_SIZE + 32);
+    while (sb.length() < ENTRY_SIZE) {
+      sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    return sb.substring(0, ENTRY_SIZE);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T stub(Class<T> type, Function<String, Object> answer) {
+    return (T)
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> answer.apply(method.getName()));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ParallelExportBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
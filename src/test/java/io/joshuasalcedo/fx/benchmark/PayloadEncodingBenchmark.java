@@ -0,0 +1,124 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.joshuasalcedo.fx.infrastructure.configuration.CborConfig;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardDto;
+import io.joshuasalcedo.fx.presentation.dto.ClipboardEventDto;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON versus CBOR for the two payloads clients parse most: a page of the history as the REST API
+ * returns it, and a batch of change events as a STOMP frame carries it.
+ *
+ * <p>The history mixes what people copy: short words, links, sentences and code snippets of a few
+ * KiB. Both mappers are built the way the application builds them, so CBOR carries timestamps as
+ * epoch milliseconds and JSON as ISO strings. Encoded sizes are printed at setup. Run {@link
+ * #main(String[])} from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+  @Param({"page", "events"})
+  String payload;
+
+  @Param({"json", "cbor"})
+  String encoding;
+
+  private ObjectMapper mapper;
+  private Object value;
+  private JavaType type;
+  private byte[] encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    // Like Spring Boot, which writes dates as ISO strings
+    Jackson2ObjectMapperBuilder builder =
+        Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    mapper = encoding.equals("cbor") ? CborConfig.cborMapper(builder) : builder.build();
+
+    Random random = new Random(42);
+    LocalDateTime now = LocalDateTime.now();
+    if (payload.equals("page")) {
+      List<ClipboardDto> page = new ArrayList<>();
+      for (long id = 0; id < 50; id++) {
+        page.add(new ClipboardDto(id, now.minusSeconds(id), content(random), id % 10 == 0));
+      }
+      value = page;
+      type = mapper.getTypeFactory().constructCollectionType(List.class, ClipboardDto.class);
+    } else {
+      List<ClipboardEventDto> events = new ArrayList<>();
+      for (long id = 0; id < 200; id++) {
+        String content = content(random);
+        boolean truncated = content.length() > 200;
+        events.add(
+            new ClipboardEventDto(
+                id,
+                now.minusSeconds(id),
+                truncated ? content.substring(0, 200) : content,
+                content.length(),
+                content.startsWith("https://") ? "URL" : "TEXT",
+                id % 10 == 0,
+                1,
+                truncated));
+      }
+      value = events;
+      type = mapper.getTypeFactory().constructCollectionType(List.class, ClipboardEventDto.class);
+    }
+    encoded = mapper.writeValueAsBytes(value);
+    System.out.printf("%n%s as %s: %d bytes%n", payload, encoding, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return mapper.writeValueAsBytes(value);
+  }
+
+  @Benchmark
+  public Object deserialize() throws IOException {
+    return mapper.readValue(encoded, type);
+  }
+
+  private static String content(Random random) {
+    return switch (random.nextInt(4)) {
+      case 0 -> "word" + random.nextInt(1000);
+      case 1 -> "https://example.com/articles/" + random.nextInt(100_000) + "?ref=clipboard";
+      case 2 -> "The quick brown fox jumps over the lazy dog. ".repeat(1 + random.nextInt(6));
+      default -> "  if (value != null) {\n    return value.trim();\n  }\n".repeat(20);
+    };
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(PayloadEncodingBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
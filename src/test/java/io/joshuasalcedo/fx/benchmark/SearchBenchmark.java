@@ -0,0 +1,180 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.joshuasalcedo.fx.infrastructure.search.ClipboardSearchIndex;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Search cost for one page of 20 results: the {@code LOWER(content) LIKE '%term%'} query against
+ * an H2 table versus {@link ClipboardSearchIndex}.
+ *
+ * <p>Index build time and on-disk size are printed during setup. Run {@link #main(String[])} from
+ * the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+  private static final String QUERY =
+      "SELECT id FROM clipboard_entries WHERE LOWER(content) LIKE LOWER(?)"
+          + " ORDER BY timestamp DESC LIMIT 20";
+  private static final String[] WORDS = {
+    "git", "commit", "merge", "select", "from", "where", "order", "clipboard", "search", "index",
+    "build", "deploy", "docker", "kubectl", "service", "https", "localhost", "config", "error",
+    "exception", "timeout", "password", "token", "request", "response", "json", "yaml", "header",
+    "spring", "lucene", "query", "update", "delete", "insert", "invoice", "meeting", "address"
+  };
+
+  @Param({"10000", "100000"})
+  int rows;
+
+  @Param({"512"})
+  int payloadSize;
+
+  private Connection connection;
+  private PreparedStatement query;
+  private ClipboardSearchIndex index;
+  private Path indexDirectory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException, IOException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:search_" + rows, "sa", "");
+    try (Statement ddl = connection.createStatement()) {
+      ddl.execute(
+          "CREATE TABLE clipboard_entries (id BIGINT PRIMARY KEY, content TEXT NOT NULL,"
+              + " timestamp TIMESTAMP NOT NULL)");
+      ddl.execute("CREATE INDEX idx_timestamp ON clipboard_entries (timestamp)");
+    }
+
+    indexDirectory = Files.createTempDirectory("clipboard-search-benchmark");
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getSearch().setIndexDirectory(indexDirectory.toString());
+    index = new ClipboardSearchIndex(properties);
+    index.open();
+
+    Random random = new Random(42);
+    LocalDateTime now = LocalDateTime.now();
+    List<String> contents = new ArrayList<>(rows);
+    for (int id = 0; id < rows; id++) {
+      contents.add(content(random));
+    }
+
+    connection.setAutoCommit(false);
+    try (PreparedStatement insert =
+        connection.prepareStatement("INSERT INTO clipboard_entries VALUES (?, ?, ?)")) {
+      for (int id = 0; id < rows; id++) {
+        insert.setLong(1, id);
+        insert.setString(2, contents.get(id));
+        insert.setTimestamp(3, Timestamp.valueOf(now.minusSeconds(id)));
+        insert.addBatch();
+        if (id % 1_000 == 999) insert.executeBatch();
+      }
+      insert.executeBatch();
+    }
+    connection.commit();
+    query = connection.prepareStatement(QUERY);
+
+    long started = System.nanoTime();
+    for (int id = 0; id < rows; id++) {
+      index.index((long) id, contents.get(id), now.minusSeconds(id), false);
+    }
+    index.commit();
+    long buildMs = (System.nanoTime() - started) / 1_000_000;
+    System.out.printf(
+        "%n[search index] rows=%d build=%d ms size=%d KiB%n", rows, buildMs, sizeKiB());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException, IOException {
+    connection.close();
+    index.close();
+    try (Stream<Path> files = Files.walk(indexDirectory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public List<Long> likeQuery() throws SQLException {
+    query.setString(1, "%" + term() + "%");
+    List<Long> ids = new ArrayList<>(20);
+    try (ResultSet rs = query.executeQuery()) {
+      while (rs.next()) ids.add(rs.getLong(1));
+    }
+    return ids;
+  }
+
+  @Benchmark
+  public List<Long> searchIndex() {
+    return index.search(term(), 0, 20).ids();
+  }
+
+  /**
+   * Half common words, which LIKE can satisfy early in timestamp order, half rare identifiers,
+   * which force it through every row. Always a whole word, so the substring and the term query
+   * look for the same thing.
+   */
+  private String term() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return random.nextBoolean()
+        ? WORDS[random.nextInt(WORDS.length)] + " "
+        : "id" + random.nextInt(1_000_000) + " ";
+  }
+
+  private String content(Random random) {
+    StringBuilder sb = new StringBuilder(payloadSize + 16);
+    while (sb.length() < payloadSize) {
+      sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+      // Rare identifiers keep the term dictionary realistically large
+      if (random.nextInt(8) == 0) sb.append("id").append(random.nextInt(1_000_000)).append(' ');
+    }
+    return sb.toString();
+  }
+
+  private long sizeKiB() throws IOException {
+    try (Stream<Path> files = Files.walk(indexDirectory)) {
+      return files.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum()
+          / 1024;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(SearchBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,219 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import io.joshuasalcedo.fx.ClipboardApplication;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+/**
+ * Memory per idle subscriber and fan-out latency of the Server-Sent Events feed.
+ *
+ * <p>Boots the application on an in-memory database and opens {@code load.clients} connections to
+ * {@code /api/local/clipboards/stream}. Heap after a full GC is compared before and after they are
+ * open and idle; the difference covers the server's virtual thread, emitter and Tomcat connection
+ * per subscriber, plus the client's socket, so it is an upper bound. Then every client reads its
+ * stream on a virtual thread while the pin of one entry is toggled every {@code load.interval-ms}
+ * milliseconds, and latency is measured from the start of the toggle to the arrival of its update.
+ * Client and server share the machine, so compare runs against {@code nproc}.
+ */
+public class SseFanoutLoad {
+
+  private final ClipboardService clipboardService;
+  private final int port;
+  private final long intervalMillis;
+  private final long phaseMillis;
+
+  private final Map<Long, Long> toggledAt = new ConcurrentHashMap<>();
+  private final Queue<long[]> deliveries = new ConcurrentLinkedQueue<>();
+  private AtomicLongArray lastSeen;
+
+  SseFanoutLoad(ConfigurableApplicationContext context) {
+    Environment env = context.getEnvironment();
+    this.clipboardService = context.getBean(ClipboardService.class);
+    this.port = env.getRequiredProperty("local.server.port", Integer.class);
+    this.intervalMillis = env.getProperty("load.interval-ms", Long.class, 100L);
+    this.phaseMillis = TimeUnit.SECONDS.toMillis(env.getProperty("load.seconds", Long.class, 20L));
+  }
+
+  void run(int clients) throws Exception {
+    long entryId = clipboardService.save("sse load " + System.nanoTime()).getId();
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+    long heapBefore = usedHeapAfterGc(memory);
+
+    List<Socket> sockets = new ArrayList<>(clients);
+    for (int i = 0; i < clients; i++) {
+      sockets.add(open());
+    }
+    Thread.sleep(2000);
+    long heapIdle = usedHeapAfterGc(memory);
+    System.out.printf(
+        "Idle: %d subscribers, heap +%.1f MiB (%.1f KiB per subscriber), "
+            + "platform threads %d -> %d%n",
+        clients,
+        (heapIdle - heapBefore) / 1048576.0,
+        (heapIdle - heapBefore) / 1024.0 / clients,
+        platformThreads,
+        ManagementFactory.getThreadMXBean().getThreadCount());
+
+    lastSeen = new AtomicLongArray(clients);
+    for (int i = 0; i < clients; i++) {
+      int client = i;
+      Socket socket = sockets.get(i);
+      Thread.ofVirtual().start(() -> read(socket, client, entryId));
+    }
+
+    boolean pinned = false;
+    int toggles = 0;
+    long last = 0;
+    long end = System.currentTimeMillis() + phaseMillis;
+    while (System.currentTimeMillis() < end) {
+      long start = System.nanoTime();
+      pinned = !pinned;
+      long revision = clipboardService.setPinned(entryId, pinned).orElseThrow().getRevision();
+      toggledAt.put(revision, start);
+      last = revision;
+      toggles++;
+      Thread.sleep(intervalMillis);
+    }
+    // Wait for every client to catch up so late deliveries are counted too
+    long deadline = System.currentTimeMillis() + 60_000;
+    while (behind(last) > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+    }
+
+    List<Long> latencies = new ArrayList<>();
+    for (long[] delivery : deliveries) {
+      Long start = toggledAt.get(delivery[0]);
+      if (start != null) {
+        latencies.add(delivery[1] - start);
+      }
+    }
+    latencies.sort(null);
+    System.out.printf(
+        "Fan-out: toggles=%d deliveries=%d p50=%.1fms p99=%.1fms max=%.1fms behind=%d%n",
+        toggles,
+        latencies.size(),
+        millis(latencies, 0.50),
+        millis(latencies, 0.99),
+        millis(latencies, 1.0),
+        behind(last));
+
+    for (Socket socket : sockets) {
+      socket.close();
+    }
+  }
+
+  /** Opens a stream and reads up to the end of the response headers. */
+  private Socket open() throws IOException {
+    Socket socket = new Socket("localhost", port);
+    OutputStream out = socket.getOutputStream();
+    String request =
+        String.join(
+            "\r\n",
+            "GET /api/local/clipboards/stream HTTP/1.1",
+            "Host: localhost:" + port,
+            "Accept: text/event-stream",
+            "",
+            "");
+    out.write(request.getBytes(StandardCharsets.US_ASCII));
+    out.flush();
+
+    InputStream in = socket.getInputStream();
+    int matched = 0;
+    byte[] end = {'\r', '\n', '\r', '\n'};
+    while (matched < end.length) {
+      int b = in.read();
+      if (b < 0) throw new IOException("Connection closed before the response headers");
+      matched = b == end[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+    }
+    return socket;
+  }
+
+  /**
+   * Records the revision of every update to the entry. The response is chunked and the JSON of an
+   * event arrives in a chunk of its own, so lines are matched on their JSON alone.
+   */
+  private void read(Socket socket, int client, long entryId) {
+    String idField = "\"id\":" + entryId + ",";
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 1024)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.contains("\"type\":\"update\"")) continue;
+        long receivedAt = System.nanoTime();
+        if (!line.contains(idField)) continue;
+        int at = line.indexOf("\"version\":") + "\"version\":".length();
+        int until = at;
+        while (until < line.length() && Character.isDigit(line.charAt(until))) until++;
+        long version = Long.parseLong(line.substring(at, until));
+        deliveries.add(new long[] {version, receivedAt});
+        lastSeen.accumulateAndGet(client, version, Math::max);
+      }
+    } catch (IOException e) {
+      // Closed at the end of the run
+    }
+  }
+
+  private long behind(long revision) {
+    long behind = 0;
+    for (int i = 0; i < lastSeen.length(); i++) {
+      if (lastSeen.get(i) < revision) {
+        behind++;
+      }
+    }
+    return behind;
+  }
+
+  private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(200);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private static double millis(List<Long> sorted, double quantile) {
+    if (sorted.isEmpty()) return Double.NaN;
+    int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+    return sorted.get(Math.max(0, index)) / 1_000_000.0;
+  }
+
+  public static void main(String[] args) throws Exception {
+    // System properties beat application.properties, and command line arguments beat both
+    System.setProperty("server.port", "0");
+    System.setProperty("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+    System.setProperty("spring.jpa.hibernate.ddl-auto", "create-drop");
+    System.setProperty("clipboard.search.index-directory", "");
+    System.setProperty("clipboard.export.job-directory", "");
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(ClipboardApplication.class).run(args);
+    try {
+      new SseFanoutLoad(context)
+          .run(context.getEnvironment().getProperty("load.clients", Integer.class, 1000));
+    } finally {
+      context.close();
+    }
+    // ClipboardService keeps a non-daemon scheduler around after the context is closed
+    System.exit(0);
+  }
+}
@@ -0,0 +1,284 @@
+package io.joshuasalcedo.fx.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.joshuasalcedo.fx.ClipboardApplication;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+/**
+ * Latency of WebSocket updates for healthy clients while other clients stop reading.
+ *
+ * <p>Boots the application on an in-memory database, connects {@code load.clients} SockJS/STOMP
+ * subscribers to the update topic and toggles the pin of one entry every {@code load.interval-ms}
+ * milliseconds. Each subscriber records when it sees a revision; latency is measured from the start
+ * of the toggle that produced it. The first phase runs with healthy clients only, the second adds
+ * {@code load.stalled} raw WebSocket clients that subscribe and never read again, like a tab on a
+ * sleeping laptop.
+ *
+ * <p>Socket buffers are shrunk to {@code load.socket-buffer} bytes so a stalled client blocks the
+ * server's writes within seconds instead of after megabytes. Any {@code clipboard.websocket.*}
+ * property can be passed as {@code --name=value} to compare settings. Latencies include the
+ * broadcast tick and are bounded by the cores available, so compare runs against {@code nproc}.
+ */
+public class WebSocketFanoutLoad {
+
+  private final ClipboardService clipboardService;
+  private final MeterRegistry registry;
+  private final int port;
+  private final int socketBuffer;
+  private final long intervalMillis;
+  private final long phaseMillis;
+
+  private final Map<Long, Long> toggledAt = new ConcurrentHashMap<>();
+  private final Queue<long[]> deliveries = new ConcurrentLinkedQueue<>();
+  private volatile long entryId;
+  private AtomicLongArray lastSeen;
+
+  WebSocketFanoutLoad(ConfigurableApplicationContext context) {
+    Environment env = context.getEnvironment();
+    this.clipboardService = context.getBean(ClipboardService.class);
+    this.registry = context.getBean(MeterRegistry.class);
+    this.port = env.getRequiredProperty("local.server.port", Integer.class);
+    this.socketBuffer = env.getProperty("load.socket-buffer", Integer.class, 8192);
+    this.intervalMillis = env.getProperty("load.interval-ms", Long.class, 10L);
+    this.phaseMillis = TimeUnit.SECONDS.toMillis(env.getProperty("load.seconds", Long.class, 20L));
+  }
+
+  void run(int clients, int stalled) throws Exception {
+    entryId = clipboardService.save("fan-out load " + System.nanoTime()).getId();
+
+    WebSocketStompClient stompClient =
+        new WebSocketStompClient(
+            new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+    stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    lastSeen = new AtomicLongArray(clients);
+    List<StompSession> sessions = new ArrayList<>();
+    for (int i = 0; i < clients; i++) {
+      sessions.add(subscribe(stompClient, i));
+    }
+    System.out.printf("Connected %d healthy clients%n", sessions.size());
+
+    phase("healthy only", sessions);
+
+    List<Socket> stalledSockets = new ArrayList<>();
+    for (int i = 0; i < stalled; i++) {
+      stalledSockets.add(stalledClient());
+    }
+    System.out.printf("Connected %d stalled clients%n", stalledSockets.size());
+    phase("with " + stalled + " stalled", sessions);
+
+    for (Socket socket : stalledSockets) {
+      socket.close();
+    }
+    sessions.forEach(StompSession::disconnect);
+  }
+
+  private void phase(String name, List<StompSession> sessions) throws InterruptedException {
+    toggledAt.clear();
+    deliveries.clear();
+    double evictedBefore = evicted();
+
+    boolean pinned = false;
+    int toggles = 0;
+    long last = 0;
+    long end = System.currentTimeMillis() + phaseMillis;
+    while (System.currentTimeMillis() < end) {
+      long start = System.nanoTime();
+      pinned = !pinned;
+      long revision = clipboardService.setPinned(entryId, pinned).orElseThrow().getRevision();
+      toggledAt.put(revision, start);
+      last = revision;
+      toggles++;
+      Thread.sleep(intervalMillis);
+    }
+    // Wait for every client to catch up so late deliveries are counted too
+    long deadline = System.currentTimeMillis() + 60_000;
+    while (behind(sessions, last) > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+    }
+
+    List<Long> latencies = new ArrayList<>();
+    for (long[] delivery : deliveries) {
+      Long start = toggledAt.get(delivery[0]);
+      if (start != null) {
+        latencies.add(delivery[1] - start);
+      }
+    }
+    latencies.sort(null);
+    long connected = sessions.stream().filter(StompSession::isConnected).count();
+    System.out.printf(
+        "%-20s toggles=%d deliveries=%d p50=%.1fms p99=%.1fms max=%.1fms "
+            + "healthy-connected=%d behind=%d evicted=%.0f%n",
+        name,
+        toggles,
+        latencies.size(),
+        millis(latencies, 0.50),
+        millis(latencies, 0.99),
+        millis(latencies, 1.0),
+        connected,
+        behind(sessions, last),
+        evicted() - evictedBefore);
+    for (Counter counter : registry.find("clipboard.websocket.evicted").counters()) {
+      System.out.printf(
+          "  evicted{reason=%s}=%.0f%n", counter.getId().getTag("reason"), counter.count());
+    }
+  }
+
+  /** Connected clients that have not seen the given revision yet. */
+  private long behind(List<StompSession> sessions, long revision) {
+    long behind = 0;
+    for (int i = 0; i < sessions.size(); i++) {
+      if (sessions.get(i).isConnected() && lastSeen.get(i) < revision) {
+        behind++;
+      }
+    }
+    return behind;
+  }
+
+  private StompSession subscribe(WebSocketStompClient stompClient, int client) throws Exception {
+    String url = "ws://localhost:" + port + "/ws-clipboard";
+    StompSession session =
+        stompClient
+            .connectAsync(url, new StompSessionHandlerAdapter() {})
+            .get(10, TimeUnit.SECONDS);
+    session.subscribe(
+        "/topic/clipboard/update",
+        new StompFrameHandler() {
+          @Override
+          public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+          }
+
+          @Override
+          public void handleFrame(StompHeaders headers, Object payload) {
+            long receivedAt = System.nanoTime();
+            for (JsonNode event : (JsonNode) payload) {
+              if (event.path("id").asLong() == entryId) {
+                long version = event.path("version").asLong();
+                deliveries.add(new long[] {version, receivedAt});
+                lastSeen.accumulateAndGet(client, version, Math::max);
+              }
+            }
+          }
+        });
+    return session;
+  }
+
+  /** Opens a raw WebSocket, subscribes to updates and never reads from it again. */
+  private Socket stalledClient() throws IOException {
+    Socket socket = new Socket();
+    socket.setReceiveBufferSize(socketBuffer);
+    socket.connect(new InetSocketAddress("localhost", port));
+    OutputStream out = socket.getOutputStream();
+    String handshake =
+        String.join(
+            "\r\n",
+            "GET /ws-clipboard/websocket HTTP/1.1",
+            "Host: localhost:" + port,
+            "Upgrade: websocket",
+            "Connection: Upgrade",
+            "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==",
+            "Sec-WebSocket-Version: 13",
+            "",
+            "");
+    out.write(handshake.getBytes(StandardCharsets.US_ASCII));
+    out.flush();
+    skipHandshakeResponse(socket.getInputStream());
+    sendText(out, "CONNECT\naccept-version:1.2\nhost:localhost\n\n\0");
+    sendText(out, "SUBSCRIBE\nid:0\ndestination:/topic/clipboard/update\n\n\0");
+    return socket;
+  }
+
+  private static void skipHandshakeResponse(InputStream in) throws IOException {
+    int matched = 0;
+    byte[] end = {'\r', '\n', '\r', '\n'};
+    while (matched < end.length) {
+      int b = in.read();
+      if (b < 0) throw new IOException("Connection closed during handshake");
+      matched = b == end[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+    }
+  }
+
+  /** Writes a short client text frame. A zero mask key leaves the payload as is. */
+  private static void sendText(OutputStream out, String text) throws IOException {
+    byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+    out.write(0x81);
+    out.write(0x80 | payload.length);
+    out.write(new byte[4]);
+    out.write(payload);
+    out.flush();
+  }
+
+  private double evicted() {
+    return registry.find("clipboard.websocket.evicted").counters().stream()
+        .mapToDouble(Counter::count)
+        .sum();
+  }
+
+  private static double millis(List<Long> sorted, double quantile) {
+    if (sorted.isEmpty()) return Double.NaN;
+    int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+    return sorted.get(Math.max(0, index)) / 1_000_000.0;
+  }
+
+  public static void main(String[] args) throws Exception {
+    // System properties beat application.properties, and command line arguments beat both
+    System.setProperty("server.port", "0");
+    System.setProperty("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+    System.setProperty("spring.jpa.hibernate.ddl-auto", "create-drop");
+    System.setProperty("clipboard.search.index-directory", "");
+    System.setProperty("clipboard.export.job-directory", "");
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(ClipboardApplication.class)
+            .initializers(
+                ctx -> {
+                  String size = ctx.getEnvironment().getProperty("load.socket-buffer", "8192");
+                  ((GenericApplicationContext) ctx)
+                      .registerBean(
+                          TomcatConnectorCustomizer.class,
+                          () -> connector -> connector.setProperty("socket.txBufSize", size));
+                })
+            .run(args);
+    try {
+      Environment env = context.getEnvironment();
+      new WebSocketFanoutLoad(context)
+          .run(
+              env.getProperty("load.clients", Integer.class, 200),
+              env.getProperty("load.stalled", Integer.class, 8));
+    } finally {
+      context.close();
+    }
+    // ClipboardService keeps a non-daemon scheduler around after the context is closed
+    System.exit(0);
+  }
+}
@@ -0,0 +1,45 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ClipboardEntryTest {
+
+  private static ClipboardEntry stored(String content) {
+    ClipboardEntry entry = ClipboardEntry.builder().id(1L).content(content).build();
+    entry.prePersist();
+    return entry;
+  }
+
+  @Test
+  void preUpdate_ChangedContent_RecomputesHashLengthAndPreview() {
+    // Arrange
+    ClipboardEntry entry = stored("before");
+
+    // Act
+    entry.setContent("after, and longer");
+    entry.preUpdate();
+
+    // Assert
+    assertEquals(ContentDigest.of("after, and longer"), entry.getContentHash());
+    assertEquals(17, entry.getContentLength());
+    assertEquals("after, and longer", entry.getPreview());
+    assertEquals(1L, entry.getRevision());
+  }
+
+  @Test
+  void preUpdate_SameContent_KeepsStoredHash() {
+    // Arrange: a hash the entry did not compute itself, as the importer passes in
+    ClipboardEntry entry =
+        ClipboardEntry.builder().id(1L).content("same").contentHash("precomputed").build();
+    entry.prePersist();
+
+    // Act
+    entry.setContent("same");
+    entry.preUpdate();
+
+    // Assert
+    assertEquals("precomputed", entry.getContentHash());
+  }
+}
@@ -0,0 +1,156 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExportJob.Status;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardExportJobServiceTest {
+
+  @Mock private ClipboardRepository clipboardRepository;
+  @Mock private EntityManager entityManager;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @TempDir Path directory;
+
+  private ClipboardExportJobService service;
+
+  private final LocalDateTime timestamp = LocalDateTime.of(2024, 5, 1, 12, 0);
+  private final ClipboardEntry first = entry(1L, "one", timestamp.plusMinutes(5));
+  private final ClipboardEntry second = entry(2L, "two", timestamp);
+  private final ClipboardEntry third = entry(3L, "three", timestamp.plusMinutes(1));
+
+  @BeforeEach
+  void setUp() throws IOException {
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getExport().setJobDirectory(directory.toString());
+    ClipboardExporter exporter =
+        new ClipboardExporter(
+            clipboardRepository,
+            entityManager,
+            new ObjectMapper(),
+            properties,
+            new SimpleMeterRegistry(),
+            transactionManager);
+    service = new ClipboardExportJobService(exporter, clipboardRepository, properties);
+    service.open();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.close();
+  }
+
+  @Test
+  void start_FullExport_WritesEntriesOldestFirstAndReportsWatermark() throws Exception {
+    // Arrange
+    when(clipboardRepository.countFrom(0, true)).thenReturn(3L);
+    when(clipboardRepository.streamFrom(0, true)).thenReturn(Stream.of(first, second, third));
+
+    // Act
+    ClipboardExportJob job =
+        awaitFinished(service.start(ExportFormat.CSV, Compression.NONE, true, null));
+
+    // Assert
+    assertEquals(Status.COMPLETED, job.getStatus());
+    assertEquals(3, job.getExported());
+    assertEquals(1.0, job.getProgress());
+    assertEquals(
+        "ID,Content,Timestamp,Pinned\n"
+            + "1,\"one\",2024-05-01T12:05,false\n"
+            + "2,\"two\",2024-05-01T12:00,false\n"
+            + "3,\"three\",2024-05-01T12:01,false\n",
+        Files.readString(job.getFile()));
+    assertEquals(new ClipboardExportWatermark(3L, timestamp.plusMinutes(5)), job.getWatermark());
+  }
+
+  @Test
+  void start_SinceWatermark_ExportsOnlyChangedEntries() throws Exception {
+    // Arrange
+    ClipboardExportWatermark since = new ClipboardExportWatermark(2L, timestamp.plusMinutes(5));
+    when(clipboardRepository.countChangedFrom(0, false, 2L, since.timestamp())).thenReturn(1L);
+    when(clipboardRepository.streamChangedFrom(0, false, 2L, since.timestamp()))
+        .thenReturn(Stream.of(third));
+
+    // Act
+    ClipboardExportJob job =
+        awaitFinished(service.start(ExportFormat.NDJSON, Compression.NONE, false, since));
+
+    // Assert
+    assertEquals(Status.COMPLETED, job.getStatus());
+    assertEquals(1, Files.readAllLines(job.getFile()).size());
+    assertEquals(new ClipboardExportWatermark(3L, since.timestamp()), job.getWatermark());
+    verify(clipboardRepository, never()).streamFrom(anyLong(), anyBoolean());
+  }
+
+  @Test
+  void resume_CancelledJob_ExportsTheRestIntoANewFile() throws Exception {
+    // Arrange
+    List<ClipboardEntry> history =
+        LongStream.rangeClosed(1, 1000)
+            .mapToObj(id -> entry(id, "entry " + id, timestamp.plusSeconds(id)))
+            .toList();
+    lenient().when(clipboardRepository.countFrom(anyLong(), eq(true))).thenReturn(1000L);
+    when(clipboardRepository.streamFrom(anyLong(), eq(true)))
+        .thenAnswer(
+            invocation -> {
+              long afterId = invocation.getArgument(0);
+              Stream<ClipboardEntry> rest = history.stream().filter(e -> e.getId() > afterId);
+              // The first job is cancelled as soon as it starts reading
+              return afterId == 0 ? rest.peek(e -> service.list().forEach(service::cancel)) : rest;
+            });
+
+    // Act
+    ClipboardExportJob cancelled =
+        awaitFinished(service.start(ExportFormat.JSON, Compression.NONE, true, null));
+    ClipboardExportJob resumed = awaitFinished(service.resume(cancelled));
+
+    // Assert
+    assertEquals(Status.CANCELLED, cancelled.getStatus());
+    assertTrue(cancelled.getExported() > 0 && cancelled.getExported() < 1000);
+    assertEquals(cancelled.getExported(), cancelled.getLastId());
+    assertTrue(cancelled.isDownloadable());
+    assertTrue(Files.readString(cancelled.getFile()).endsWith("\"pinned\":false}]"));
+    verify(clipboardRepository).streamFrom(cancelled.getLastId(), true);
+    assertEquals(Status.COMPLETED, resumed.getStatus());
+    assertEquals(1000 - cancelled.getExported(), resumed.getExported());
+    assertEquals(
+        new ClipboardExportWatermark(1000L, timestamp.plusSeconds(1000)), resumed.getWatermark());
+  }
+
+  private static ClipboardExportJob awaitFinished(ClipboardExportJob job)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    return job;
+  }
+
+  private static ClipboardEntry entry(Long id, String content, LocalDateTime timestamp) {
+    return ClipboardEntry.builder().id(id).content(content).timestamp(timestamp).build();
+  }
+}
@@ -0,0 +1,178 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdInputStream;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardExporterTest {
+
+  @Mock private ClipboardRepository clipboardRepository;
+  @Mock private EntityManager entityManager;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry registry;
+  private ClipboardExporter exporter;
+
+  private final LocalDateTime timestamp = LocalDateTime.of(2024, 5, 1, 12, 0);
+  private final ClipboardEntry first =
+      ClipboardEntry.builder().id(2L).content("say \"hi\"\n").timestamp(timestamp).build();
+  private final ClipboardEntry second =
+      ClipboardEntry.builder().id(1L).content("plain").timestamp(timestamp).isPinned(true).build();
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    exporter =
+        new ClipboardExporter(
+            clipboardRepository,
+            entityManager,
+            new ObjectMapper(),
+            new ClipboardProperties(),
+            registry,
+            transactionManager);
+  }
+
+  @Test
+  void export_Json_StreamsEntriesAndDetachesThem() throws IOException {
+    // Arrange
+    when(clipboardRepository.streamAll()).thenReturn(Stream.of(first, second));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    long count = exporter.export(ExportFormat.JSON, true, out);
+
+    // Assert
+    assertEquals(2, count);
+    assertEquals(
+        "[{\"id\":2,\"content\":\"say \\\"hi\\\"\\n\",\"timestamp\":\"2024-05-01T12:00\","
+            + "\"pinned\":false},"
+            + "{\"id\":1,\"content\":\"plain\",\"timestamp\":\"2024-05-01T12:00\","
+            + "\"pinned\":true}]",
+        out.toString(StandardCharsets.UTF_8));
+    verify(entityManager).detach(first);
+    verify(entityManager).detach(second);
+  }
+
+  @Test
+  void export_Ndjson_WritesOneEscapedEntryPerLine() throws IOException {
+    // Arrange
+    ClipboardEntry control =
+        ClipboardEntry.builder().id(3L).content("bell\u0007").timestamp(timestamp).build();
+    when(clipboardRepository.streamAll()).thenReturn(Stream.of(control, second));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    exporter.export(ExportFormat.NDJSON, true, out);
+
+    // Assert
+    assertEquals(
+        "{\"id\":3,\"content\":\"bell\\u0007\",\"timestamp\":\"2024-05-01T12:00\","
+            + "\"pinned\":false}\n"
+            + "{\"id\":1,\"content\":\"plain\",\"timestamp\":\"2024-05-01T12:00\","
+            + "\"pinned\":true}\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void export_CsvWithoutPinned_ReadsUnpinnedEntriesOnly() throws IOException {
+    // Arrange
+    when(clipboardRepository.streamUnpinned()).thenReturn(Stream.of(first));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    exporter.export(ExportFormat.CSV, false, out);
+
+    // Assert
+    assertEquals(
+        "ID,Content,Timestamp,Pinned\n2,\"say \"\"hi\"\"\n\",2024-05-01T12:00,false\n",
+        out.toString(StandardCharsets.UTF_8));
+    verify(clipboardRepository, never()).streamAll();
+  }
+
+  @Test
+  void export_Compressed_RoundTripsAndRecordsSizes() throws IOException {
+    // Arrange
+    when(clipboardRepository.streamAll()).thenAnswer(invocation -> Stream.of(first, second));
+    ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    ByteArrayOutputStream zstd = new ByteArrayOutputStream();
+
+    // Act
+    exporter.export(ExportFormat.TXT, true, Compression.GZIP, gzip);
+    exporter.export(ExportFormat.TXT, true, Compression.ZSTD, zstd);
+
+    // Assert
+    String expected =
+        "=== Entry 2 ===\nTime: 2024-05-01T12:00\nPinned: false\nContent:\nsay \"hi\"\n\n\n"
+            + "=== Entry 1 ===\nTime: 2024-05-01T12:00\nPinned: true\nContent:\nplain\n\n";
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+      assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    try (ZstdInputStream in = new ZstdInputStream(new ByteArrayInputStream(zstd.toByteArray()))) {
+      assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    assertEquals(
+        gzip.size(),
+        registry
+            .get("clipboard.export.bytes")
+            .tags("compression", "gzip", "stage", "encoded")
+            .summary()
+            .totalAmount());
+  }
+
+  @Test
+  void export_ManyChunksOnSeveralThreads_KeepsTheEntryOrder() throws IOException {
+    // Arrange
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getExport().setFormatThreads(4);
+    ClipboardExporter parallel =
+        new ClipboardExporter(
+            clipboardRepository,
+            entityManager,
+            new ObjectMapper(),
+            properties,
+            registry,
+            transactionManager);
+    List<ClipboardEntry> history =
+        LongStream.rangeClosed(1, 5000)
+            .mapToObj(id -> ClipboardEntry.builder().id(id).content("entry " + id).build())
+            .toList();
+    when(clipboardRepository.streamAll()).thenReturn(history.stream());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    long count = parallel.export(ExportFormat.JSON, true, out);
+    parallel.close();
+
+    // Assert
+    assertEquals(5000, count);
+    JsonNode exported = new ObjectMapper().readTree(out.toByteArray());
+    assertEquals(5000, exported.size());
+    for (int i = 0; i < exported.size(); i++) {
+      assertEquals(i + 1, exported.get(i).get("id").asLong());
+    }
+  }
+}
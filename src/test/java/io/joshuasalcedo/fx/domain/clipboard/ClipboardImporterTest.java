@@ -0,0 +1,103 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.Compression;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardExporter.ExportFormat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardImporterTest {
+
+  @Mock private ClipboardService clipboardService;
+
+  private ClipboardImporter importer;
+
+  @BeforeEach
+  void setUp() {
+    importer = new ClipboardImporter(clipboardService, new ObjectMapper());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void importFrom_Csv_ParsesQuotedMultilineFieldsInExportLayout() throws IOException {
+    // Arrange
+    when(clipboardService.importBatch(anyList())).thenReturn(1);
+    String csv =
+        "ID,Content,Timestamp,Pinned\n"
+            + "2,\"say \"\"hi\"\",\r\nbye\",2024-05-01T12:00,true\r\n"
+            + "1,\" \",2024-05-01T11:00,false\n";
+
+    // Act
+    ClipboardImportResult result =
+        importer.importFrom(ExportFormat.CSV, Compression.NONE, utf8(csv));
+
+    // Assert
+    ArgumentCaptor<List<ClipboardImportRecord>> records = ArgumentCaptor.forClass(List.class);
+    verify(clipboardService).importBatch(records.capture());
+    ClipboardImportRecord record = records.getValue().get(0);
+    assertEquals("say \"hi\",\r\nbye", record.content());
+    assertEquals(ContentDigest.of(record.content()), record.contentHash());
+    assertEquals(LocalDateTime.of(2024, 5, 1, 12, 0), record.timestamp());
+    assertTrue(record.pinned());
+    assertEquals(new ClipboardImportResult(2, 1, 0, 1, result.elapsedMillis()), result);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void importFrom_JsonArrayAndNdjson_ReadTheSameEntries() throws IOException {
+    // Arrange
+    when(clipboardService.importBatch(anyList())).thenReturn(2);
+    String entries =
+        "{\"id\":2,\"content\":\"bell\\u0007\",\"timestamp\":\"2024-05-01T12:00\",\"pinned\":true}"
+            + "\n{\"id\":1,\"content\":\"plain\",\"extra\":{\"ignored\":[1]}}\n";
+
+    // Act
+    importer.importFrom(ExportFormat.NDJSON, Compression.NONE, utf8(entries));
+    importer.importFrom(
+        ExportFormat.JSON, Compression.NONE, utf8("[" + entries.replace("}\n{", "},{") + "]"));
+
+    // Assert
+    ArgumentCaptor<List<ClipboardImportRecord>> records = ArgumentCaptor.forClass(List.class);
+    verify(clipboardService, times(2)).importBatch(records.capture());
+    List<ClipboardImportRecord> ndjson = records.getAllValues().get(0);
+    List<ClipboardImportRecord> json = records.getAllValues().get(1);
+    assertEquals(List.of("bell\u0007", "plain"), ndjson.stream().map(r -> r.content()).toList());
+    assertEquals(List.of(true, false), ndjson.stream().map(r -> r.pinned()).toList());
+    assertEquals(ndjson.get(0), json.get(0));
+    assertEquals(ndjson.get(1).content(), json.get(1).content());
+  }
+
+  @Test
+  void importFrom_MalformedInput_ReportsProgressSoFar() {
+    // Arrange
+    InputStream csv = utf8("ID,Content\n1,\"open");
+
+    // Act & Assert
+    IllegalArgumentException error =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> importer.importFrom(ExportFormat.CSV, Compression.NONE, csv));
+    assertTrue(error.getMessage().startsWith("Unterminated quoted CSV field"));
+    assertTrue(error.getMessage().endsWith("(0 entries were imported before the error)"));
+    verifyNoInteractions(clipboardService);
+  }
+
+  private static InputStream utf8(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
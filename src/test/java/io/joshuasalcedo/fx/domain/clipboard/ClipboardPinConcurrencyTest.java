@@ -0,0 +1,66 @@
+package io.joshuasalcedo.fx.domain.clipboard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(
+    locations = "classpath:application-test.properties",
+    properties = {"springdoc.api-docs.enabled=false"})
+class ClipboardPinConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int TOGGLES_PER_THREAD = 25;
+
+  @Autowired private ClipboardService clipboardService;
+  @Autowired private ClipboardRepository clipboardRepository;
+
+  @Test
+  void togglePinned_ConcurrentToggles_NoneIsLost() throws Exception {
+    // Arrange
+    Long id = clipboardService.save("toggled from " + THREADS + " threads at once").getId();
+    long pinnedBefore = clipboardService.getStats().getPinnedEntries();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+
+    // Act
+    try {
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int j = 0; j < TOGGLES_PER_THREAD; j++) {
+                    assertTrue(clipboardService.togglePinned(id).isPresent());
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Assert
+    ClipboardEntry toggled = clipboardRepository.findWithoutContentById(id).orElseThrow();
+    int toggles = THREADS * TOGGLES_PER_THREAD;
+    assertEquals(toggles, toggled.getRevision());
+    assertEquals(toggles % 2 == 1, toggled.isPinned());
+    assertEquals(pinnedBefore, clipboardService.getStats().getPinnedEntries());
+    assertNull(toggled.getContent());
+  }
+}
@@ -5,8 +5,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import io.joshuasalcedo.clipboard.core.ClipboardMonitor;
-import io.joshuasalcedo.fx.api.ClipboardWebSocketController;
+import io.joshuasalcedo.fx.infrastructure.search.ClipboardSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,10 +18,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 class ClipboardServiceTest {
@@ -28,19 +34,27 @@ class ClipboardServiceTest {
 
   private ClipboardService clipboardService;
 
-  @Mock private ClipboardWebSocketController clipboardWebSocketController;
+  private ClipboardDedupIndex dedupIndex;
+
+  private ClipboardStatsTracker statsTracker;
 
   @Mock private ClipboardMonitor clipboardMonitor;
+  @Mock private ClipboardSearchIndex searchIndex;
   @Mock ApplicationEventPublisher applicationEventPublisher;
 
   @BeforeEach
   void setUp() {
+    dedupIndex = new ClipboardDedupIndex();
+    statsTracker = new ClipboardStatsTracker();
     clipboardService =
         new ClipboardService(
             clipboardRepository,
             clipboardMonitor,
             applicationEventPublisher,
-            clipboardWebSocketController);
+            dedupIndex,
+            statsTracker,
+            searchIndex,
+            new SimpleMeterRegistry());
   }
 
   @Test
@@ -57,9 +71,6 @@ class ClipboardServiceTest {
             .contentLength(content.length())
             .build();
 
-    when(clipboardRepository.findFirstByContentAndTimestampAfter(
-            anyString(), any(LocalDateTime.class)))
-        .thenReturn(Optional.empty());
     when(clipboardRepository.save(any(ClipboardEntry.class))).thenReturn(savedEntry);
 
     // Act
@@ -83,9 +94,8 @@ class ClipboardServiceTest {
     ClipboardEntry existingEntry =
         ClipboardEntry.builder().id(1L).content(content).timestamp(oldTimestamp).build();
 
-    when(clipboardRepository.findFirstByContentAndTimestampAfter(
-            anyString(), any(LocalDateTime.class)))
-        .thenReturn(Optional.of(existingEntry));
+    dedupIndex.record(ContentDigest.of(content), 1L, oldTimestamp, false);
+    when(clipboardRepository.findById(1L)).thenReturn(Optional.of(existingEntry));
     when(clipboardRepository.save(any(ClipboardEntry.class))).thenReturn(existingEntry);
 
     // Act
@@ -100,6 +110,23 @@ class ClipboardServiceTest {
     verify(clipboardRepository).save(existingEntry);
   }
 
+  @Test
+  void save_StaleDedupSlot_SavesNewEntry() {
+    // Arrange
+    String content = "Rolled back content";
+    dedupIndex.record(ContentDigest.of(content), 7L, LocalDateTime.now(), false);
+    when(clipboardRepository.findById(7L)).thenReturn(Optional.empty());
+    when(clipboardRepository.save(any(ClipboardEntry.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    ClipboardEntry result = clipboardService.save(content);
+
+    // Assert
+    assertNull(result.getId());
+    assertEquals(content, result.getContent());
+  }
+
   @Test
   void save_EmptyContent_ThrowsException() {
     // Act & Assert
@@ -109,6 +136,51 @@ class ClipboardServiceTest {
     verify(clipboardRepository, never()).save(any(ClipboardEntry.class));
   }
 
+  @Test
+  void saveAll_SkipsEmptyContentAndSavesTheRest() {
+    // Arrange
+    when(clipboardRepository.save(any(ClipboardEntry.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    List<ClipboardEntry> result = clipboardService.saveAll(List.of("first", " ", "second"));
+
+    // Assert
+    assertEquals(2, result.size());
+    assertEquals("first", result.get(0).getContent());
+    assertEquals("second", result.get(1).getContent());
+    verify(clipboardRepository, times(2)).save(any(ClipboardEntry.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void importBatch_SkipsStoredAndRepeatedContent() {
+    // Arrange
+    LocalDateTime timestamp = LocalDateTime.of(2024, 5, 1, 12, 0);
+    ClipboardImportRecord stored =
+        new ClipboardImportRecord("stored", ContentDigest.of("stored"), timestamp, false);
+    ClipboardImportRecord fresh =
+        new ClipboardImportRecord("fresh", ContentDigest.of("fresh"), timestamp, true);
+    when(clipboardRepository.findExistingHashes(anyCollection()))
+        .thenReturn(List.of(stored.contentHash()));
+    when(clipboardRepository.saveAll(anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    int imported = clipboardService.importBatch(List.of(stored, fresh, fresh));
+
+    // Assert
+    assertEquals(1, imported);
+    ArgumentCaptor<List<ClipboardEntry>> saved = ArgumentCaptor.forClass(List.class);
+    verify(clipboardRepository).saveAll(saved.capture());
+    assertEquals(1, saved.getValue().size());
+    ClipboardEntry entry = saved.getValue().get(0);
+    assertEquals("fresh", entry.getContent());
+    assertEquals(timestamp, entry.getTimestamp());
+    assertTrue(entry.isPinned());
+    verify(applicationEventPublisher).publishEvent(ClipboardChangedEvent.reloaded());
+  }
+
   @Test
   void setPinned_ExistingEntry_UpdatesPinnedStatus() {
     // Arrange
@@ -143,6 +215,46 @@ class ClipboardServiceTest {
     verify(clipboardRepository, never()).save(any(ClipboardEntry.class));
   }
 
+  @Test
+  void togglePinned_ExistingEntry_UpdatesWithoutLoadingContent() {
+    // Arrange
+    Long id = 1L;
+    LocalDateTime timestamp = LocalDateTime.now();
+    when(clipboardRepository.togglePinned(id)).thenReturn(1);
+    when(clipboardRepository.findWithoutContentById(id))
+        .thenReturn(
+            Optional.of(new ClipboardEntry(id, timestamp, "Test", 4, "text/plain", true, 3L)));
+
+    // Act
+    Optional<ClipboardSummary> result = clipboardService.togglePinned(id);
+
+    // Assert
+    assertTrue(result.isPresent());
+    assertTrue(result.get().isPinned());
+    assertEquals("Test", result.get().preview());
+    assertEquals(1L, clipboardService.getStats().getPinnedEntries());
+    ArgumentCaptor<ClipboardChangedEvent> eventCaptor =
+        ArgumentCaptor.forClass(ClipboardChangedEvent.class);
+    verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+    assertEquals(3L, eventCaptor.getValue().entry().getRevision());
+    verify(clipboardRepository, never()).findById(any());
+    verify(clipboardRepository, never()).save(any(ClipboardEntry.class));
+  }
+
+  @Test
+  void togglePinned_NonExistingEntry_ReturnsEmpty() {
+    // Arrange
+    when(clipboardRepository.togglePinned(999L)).thenReturn(0);
+
+    // Act
+    Optional<ClipboardSummary> result = clipboardService.togglePinned(999L);
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verify(clipboardRepository, never()).findWithoutContentById(any());
+    verifyNoInteractions(applicationEventPublisher);
+  }
+
   @Test
   void pin_CallsSetPinnedWithTrue() {
     // Arrange
@@ -221,11 +333,107 @@ class ClipboardServiceTest {
     verify(clipboardRepository).deleteByIsPinnedFalse();
   }
 
+  @Test
+  void deleteById_RolledBack_KeepsDedupSlot() {
+    // Arrange
+    LocalDateTime timestamp = LocalDateTime.now();
+    String digest = ContentDigest.of("Entry");
+    dedupIndex.record(digest, 1L, timestamp, false);
+    when(clipboardRepository.findSummaryById(1L))
+        .thenReturn(Optional.of(new ClipboardSummary(1L, timestamp, "Entry", 5, "text", false)));
+
+    // Act
+    inTransaction(() -> clipboardService.deleteById(1L), false);
+
+    // Assert
+    assertEquals(Optional.of(1L), dedupIndex.find(digest, timestamp.minusMinutes(1)));
+  }
+
+  @Test
+  void deleteAll_Committed_RemovesUnpinnedDedupSlotsAfterCommit() {
+    // Arrange
+    LocalDateTime timestamp = LocalDateTime.now();
+    dedupIndex.record(ContentDigest.of("unpinned"), 1L, timestamp, false);
+    dedupIndex.record(ContentDigest.of("pinned"), 2L, timestamp, true);
+    when(clipboardRepository.deleteByIsPinnedFalse()).thenReturn(1);
+
+    // Act
+    inTransaction(() -> clipboardService.deleteAll(false), true);
+
+    // Assert
+    LocalDateTime since = timestamp.minusMinutes(1);
+    assertTrue(dedupIndex.find(ContentDigest.of("unpinned"), since).isEmpty());
+    assertEquals(Optional.of(2L), dedupIndex.find(ContentDigest.of("pinned"), since));
+  }
+
+  @Test
+  void togglePinned_RolledBack_KeepsDedupPinState() {
+    // Arrange
+    LocalDateTime timestamp = LocalDateTime.now().minusHours(2);
+    dedupIndex.record(ContentDigest.of("Entry"), 1L, timestamp, false);
+    when(clipboardRepository.togglePinned(1L)).thenReturn(1);
+    when(clipboardRepository.findWithoutContentById(1L))
+        .thenReturn(
+            Optional.of(new ClipboardEntry(1L, timestamp, "Entry", 5, "text/plain", true, 1L)));
+
+    // Act
+    inTransaction(() -> clipboardService.togglePinned(1L), false);
+
+    // Assert: the slot still counts as unpinned, so evicting unpinned entries drops it
+    dedupIndex.evictOlderThan(LocalDateTime.now(), false);
+    assertEquals(0, dedupIndex.size());
+  }
+
+  @Test
+  void save_RolledBack_LeavesNoDedupSlot() {
+    // Arrange
+    when(clipboardRepository.save(any(ClipboardEntry.class)))
+        .thenAnswer(
+            invocation -> {
+              ClipboardEntry entry = invocation.getArgument(0);
+              entry.setId(1L);
+              return entry;
+            });
+
+    // Act
+    inTransaction(() -> clipboardService.save("Entry"), false);
+
+    // Assert
+    assertEquals(0, dedupIndex.size());
+  }
+
+  @Test
+  void saveAll_RepeatedContentInOneTransaction_CollapsesOntoFirstEntry() {
+    // Arrange
+    when(clipboardRepository.save(any(ClipboardEntry.class)))
+        .thenAnswer(
+            invocation -> {
+              ClipboardEntry entry = invocation.getArgument(0);
+              if (entry.getId() == null) {
+                entry.setId(1L);
+              }
+              return entry;
+            });
+
+    // Act
+    List<ClipboardEntry> saved = new ArrayList<>();
+    inTransaction(() -> saved.addAll(clipboardService.saveAll(List.of("same", "same"))), true);
+
+    // Assert
+    assertSame(saved.get(0), saved.get(1));
+    assertEquals(1L, clipboardService.getStats().getTotalEntries());
+    assertEquals(
+        Optional.of(1L),
+        dedupIndex.find(ContentDigest.of("same"), LocalDateTime.now().minusMinutes(1)));
+  }
+
   @Test
   void deleteById_ExistingEntry_DeletesAndReturnsTrue() {
     // Arrange
     Long id = 1L;
-    when(clipboardRepository.existsById(id)).thenReturn(true);
+    when(clipboardRepository.findSummaryById(id))
+        .thenReturn(
+            Optional.of(new ClipboardSummary(id, LocalDateTime.now(), "Entry", 5, "text", false)));
 
     // Act
     boolean result = clipboardService.deleteById(id);
@@ -233,13 +441,14 @@ class ClipboardServiceTest {
     // Assert
     assertTrue(result);
     verify(clipboardRepository).deleteById(id);
+    verify(applicationEventPublisher).publishEvent(ClipboardChangedEvent.deleted(id));
   }
 
   @Test
   void deleteById_NonExistingEntry_ReturnsFalse() {
     // Arrange
     Long id = 999L;
-    when(clipboardRepository.existsById(id)).thenReturn(false);
+    when(clipboardRepository.findSummaryById(id)).thenReturn(Optional.empty());
 
     // Act
     boolean result = clipboardService.deleteById(id);
@@ -247,6 +456,7 @@ class ClipboardServiceTest {
     // Assert
     assertFalse(result);
     verify(clipboardRepository, never()).deleteById(id);
+    verify(applicationEventPublisher, never()).publishEvent(any(ClipboardChangedEvent.class));
   }
 
   @Test
@@ -278,20 +488,37 @@ class ClipboardServiceTest {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  void findByContent_ProbesHashAndVerifiesContent() {
+    // Arrange
+    String content = "Lookup content";
+    ClipboardEntry collision = ClipboardEntry.builder().id(1L).content("Something else").build();
+    ClipboardEntry match = ClipboardEntry.builder().id(2L).content(content).build();
+    when(clipboardRepository.findByContentHash(ContentDigest.of(content)))
+        .thenReturn(List.of(collision, match));
+
+    // Act
+    Optional<ClipboardEntry> result = clipboardService.findByContent(content);
+
+    // Assert
+    assertTrue(result.isPresent());
+    assertEquals(2L, result.get().getId());
+  }
+
   @Test
   void findAll_ReturnsPageOfEntries() {
     // Arrange
     Pageable pageable = PageRequest.of(0, 10);
-    List<ClipboardEntry> entries =
+    List<ClipboardSummary> entries =
         List.of(
-            ClipboardEntry.builder().id(1L).content("Entry 1").build(),
-            ClipboardEntry.builder().id(2L).content("Entry 2").build());
-    Page<ClipboardEntry> page = new PageImpl<>(entries, pageable, entries.size());
+            new ClipboardSummary(1L, LocalDateTime.now(), "Entry 1", 7, "text", false),
+            new ClipboardSummary(2L, LocalDateTime.now(), "Entry 2", 7, "text", false));
+    Page<ClipboardSummary> page = new PageImpl<>(entries, pageable, entries.size());
 
-    when(clipboardRepository.findAllOrderByTimestampDesc(pageable)).thenReturn(page);
+    when(clipboardRepository.findAllSummaries(pageable)).thenReturn(page);
 
     // Act
-    Page<ClipboardEntry> result = clipboardService.findAll(pageable);
+    Page<ClipboardSummary> result = clipboardService.findAll(pageable);
 
     // Assert
     assertNotNull(result);
@@ -302,15 +529,15 @@ class ClipboardServiceTest {
   @Test
   void findAllPinned_ReturnsPinnedEntries() {
     // Arrange
-    List<ClipboardEntry> pinnedEntries =
+    List<ClipboardSummary> pinnedEntries =
         List.of(
-            ClipboardEntry.builder().id(1L).content("Pinned 1").isPinned(true).build(),
-            ClipboardEntry.builder().id(3L).content("Pinned 2").isPinned(true).build());
+            new ClipboardSummary(1L, LocalDateTime.now(), "Pinned 1", 8, "text", true),
+            new ClipboardSummary(3L, LocalDateTime.now(), "Pinned 2", 8, "text", true));
 
-    when(clipboardRepository.findByIsPinnedTrueOrderByTimestampDesc()).thenReturn(pinnedEntries);
+    when(clipboardRepository.findPinnedSummaries()).thenReturn(pinnedEntries);
 
     // Act
-    List<ClipboardEntry> result = clipboardService.findAllPinned();
+    List<ClipboardSummary> result = clipboardService.findAllPinned();
 
     // Assert
     assertNotNull(result);
@@ -323,17 +550,16 @@ class ClipboardServiceTest {
     // Arrange
     String searchTerm = "test";
     Pageable pageable = PageRequest.of(0, 10);
-    List<ClipboardEntry> entries =
+    List<ClipboardSummary> entries =
         List.of(
-            ClipboardEntry.builder().id(1L).content("Test content").build(),
-            ClipboardEntry.builder().id(2L).content("Another test").build());
-    Page<ClipboardEntry> page = new PageImpl<>(entries, pageable, entries.size());
+            new ClipboardSummary(1L, LocalDateTime.now(), "Test content", 12, "text", false),
+            new ClipboardSummary(2L, LocalDateTime.now(), "Another test", 12, "text", false));
+    Page<ClipboardSummary> page = new PageImpl<>(entries, pageable, entries.size());
 
-    when(clipboardRepository.findByContentContainingIgnoreCase(searchTerm, pageable))
-        .thenReturn(page);
+    when(clipboardRepository.searchSummaries(searchTerm, pageable)).thenReturn(page);
 
     // Act
-    Page<ClipboardEntry> result = clipboardService.searchByContent(searchTerm, pageable);
+    Page<ClipboardSummary> result = clipboardService.searchByContent(searchTerm, pageable);
 
     // Assert
     assertNotNull(result);
@@ -347,29 +573,69 @@ class ClipboardServiceTest {
     Pageable pageable = PageRequest.of(0, 10);
 
     // Act
-    Page<ClipboardEntry> result = clipboardService.searchByContent("", pageable);
+    Page<ClipboardSummary> result = clipboardService.searchByContent("", pageable);
 
     // Assert
     assertNotNull(result);
     assertTrue(result.getContent().isEmpty());
     verify(clipboardRepository, never())
-        .findByContentContainingIgnoreCase(anyString(), any(Pageable.class));
+        .searchSummaries(anyString(), any(Pageable.class));
+  }
+
+  @Test
+  void scroll_FirstSlice_FetchesOneExtraRowToDetectNext() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.now();
+    List<ClipboardSummary> rows =
+        List.of(
+            new ClipboardSummary(3L, now, "Entry 3", 7, "text", false),
+            new ClipboardSummary(2L, now.minusSeconds(1), "Entry 2", 7, "text", false),
+            new ClipboardSummary(1L, now.minusSeconds(2), "Entry 1", 7, "text", false));
+
+    when(clipboardRepository.scrollSummaries(Limit.of(3))).thenReturn(rows);
+
+    // Act
+    Slice<ClipboardSummary> result = clipboardService.scroll(null, 2);
+
+    // Assert
+    assertTrue(result.hasNext());
+    assertEquals(rows.subList(0, 2), result.getContent());
+    verify(clipboardRepository, never()).findAllSummaries(any(Pageable.class));
+  }
+
+  @Test
+  void scroll_AfterCursor_ContinuesFromDecodedPosition() {
+    // Arrange
+    LocalDateTime timestamp = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+    String token = new ClipboardCursor(timestamp, 42L).encode();
+    List<ClipboardSummary> rows =
+        List.of(new ClipboardSummary(41L, timestamp, "Older", 5, "text", false));
+
+    when(clipboardRepository.scrollSummariesAfter(timestamp, 42L, Limit.of(21))).thenReturn(rows);
+
+    // Act
+    Slice<ClipboardSummary> result = clipboardService.scroll(ClipboardCursor.decode(token), 20);
+
+    // Assert
+    assertFalse(result.hasNext());
+    assertEquals(rows, result.getContent());
+    assertThrows(IllegalArgumentException.class, () -> ClipboardCursor.decode("not-a-cursor"));
   }
 
   @Test
   void findRecent_ReturnsEntriesFromLastNHours() {
     // Arrange
     int hours = 24;
-    List<ClipboardEntry> recentEntries =
+    List<ClipboardSummary> recentEntries =
         List.of(
-            ClipboardEntry.builder().id(1L).content("Recent 1").build(),
-            ClipboardEntry.builder().id(2L).content("Recent 2").build());
+            new ClipboardSummary(1L, LocalDateTime.now(), "Recent 1", 8, "text", false),
+            new ClipboardSummary(2L, LocalDateTime.now(), "Recent 2", 8, "text", false));
 
-    when(clipboardRepository.findByTimestampAfterOrderByTimestampDesc(any(LocalDateTime.class)))
+    when(clipboardRepository.findSummariesSince(any(LocalDateTime.class)))
         .thenReturn(recentEntries);
 
     // Act
-    List<ClipboardEntry> result = clipboardService.findRecent(hours);
+    List<ClipboardSummary> result = clipboardService.findRecent(hours);
 
     // Assert
     assertNotNull(result);
@@ -377,7 +643,7 @@ class ClipboardServiceTest {
     assertEquals(recentEntries, result);
 
     ArgumentCaptor<LocalDateTime> timeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-    verify(clipboardRepository).findByTimestampAfterOrderByTimestampDesc(timeCaptor.capture());
+    verify(clipboardRepository).findSummariesSince(timeCaptor.capture());
     LocalDateTime threshold = timeCaptor.getValue();
     LocalDateTime expectedThreshold = LocalDateTime.now().minusHours(hours);
     // Allow a small time difference due to test execution time
@@ -399,6 +665,20 @@ class ClipboardServiceTest {
     verify(clipboardRepository).deleteByTimestampBefore(any(LocalDateTime.class));
     verify(clipboardRepository, never())
         .deleteByTimestampBeforeAndIsPinnedFalse(any(LocalDateTime.class));
+    verify(applicationEventPublisher).publishEvent(ClipboardChangedEvent.reloaded());
+  }
+
+  @Test
+  void deleteOlderThan_NothingOld_AnnouncesNothing() {
+    // Arrange
+    when(clipboardRepository.deleteByTimestampBefore(any(LocalDateTime.class))).thenReturn(0);
+
+    // Act
+    long result = clipboardService.deleteOlderThan(48, true);
+
+    // Assert
+    assertEquals(0L, result);
+    verify(applicationEventPublisher, never()).publishEvent(any(ClipboardChangedEvent.class));
   }
 
   @Test
@@ -425,10 +705,10 @@ class ClipboardServiceTest {
     LocalDateTime oldestTimestamp = LocalDateTime.now().minusDays(7);
     LocalDateTime newestTimestamp = LocalDateTime.now();
 
-    when(clipboardRepository.count()).thenReturn(totalCount);
-    when(clipboardRepository.countByisPinnedTrue()).thenReturn(pinnedCount);
-    when(clipboardRepository.findOldestTimestamp()).thenReturn(oldestTimestamp);
-    when(clipboardRepository.findNewestTimestamp()).thenReturn(newestTimestamp);
+    when(clipboardRepository.findTotals())
+        .thenReturn(
+            new ClipboardTotals(totalCount, pinnedCount, 420L, oldestTimestamp, newestTimestamp));
+    clipboardService.reconcileStats();
 
     // Act
     ClipboardService.ClipboardStats stats = clipboardService.getStats();
@@ -440,5 +720,90 @@ class ClipboardServiceTest {
     assertEquals(totalCount - pinnedCount, stats.getUnpinnedEntries());
     assertEquals(oldestTimestamp, stats.getOldestEntry());
     assertEquals(newestTimestamp, stats.getNewestEntry());
+    assertEquals(420L, stats.getTotalContentLength());
+    verify(clipboardRepository, times(1)).findTotals();
+  }
+
+  @Test
+  void getStats_AfterMutations_AnswersFromTrackerWithoutQuerying() {
+    // Arrange
+    LocalDateTime oldest = LocalDateTime.now().minusDays(1);
+    when(clipboardRepository.findTotals())
+        .thenReturn(new ClipboardTotals(1L, 0L, 10L, oldest, oldest));
+    clipboardService.reconcileStats();
+
+    when(clipboardRepository.save(any(ClipboardEntry.class)))
+        .thenAnswer(
+            invocation -> {
+              ClipboardEntry entry = invocation.getArgument(0);
+              entry.setId(2L);
+              entry.setContentLength(entry.getContent().length());
+              return entry;
+            });
+    when(clipboardRepository.findById(2L))
+        .thenAnswer(
+            invocation -> Optional.of(ClipboardEntry.builder().id(2L).content("Hello").build()));
+
+    // Act
+    clipboardService.save("Hello");
+    clipboardService.setPinned(2L, true);
+    ClipboardService.ClipboardStats stats = clipboardService.getStats();
+
+    // Assert
+    assertEquals(2L, stats.getTotalEntries());
+    assertEquals(1L, stats.getPinnedEntries());
+    assertEquals(15L, stats.getTotalContentLength());
+    assertEquals(oldest, stats.getOldestEntry());
+    verify(clipboardRepository, times(1)).findTotals();
+  }
+
+  @Test
+  void getVersionTag_ChangesOnlyOnceMutationsCommit() {
+    // Arrange
+    when(clipboardRepository.save(any(ClipboardEntry.class)))
+        .thenAnswer(
+            invocation -> {
+              ClipboardEntry entry = invocation.getArgument(0);
+              entry.setId(1L);
+              return entry;
+            });
+    String initial = clipboardService.getVersionTag();
+
+    // Act
+    String[] uncommitted = new String[1];
+    inTransaction(
+        () -> {
+          clipboardService.save("Hello");
+          uncommitted[0] = clipboardService.getVersionTag();
+        },
+        true);
+    String committed = clipboardService.getVersionTag();
+    clipboardService.findAllPinned();
+
+    // Assert
+    assertEquals(initial, uncommitted[0]);
+    assertNotEquals(initial, committed);
+    assertEquals(committed, clipboardService.getVersionTag());
+  }
+
+  /** Runs an action as if in a transaction, then completes it with a commit or a rollback. */
+  private static void inTransaction(Runnable action, boolean commit) {
+    TransactionSynchronizationManager.initSynchronization();
+    List<TransactionSynchronization> synchronizations;
+    try {
+      action.run();
+      synchronizations = TransactionSynchronizationManager.getSynchronizations();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    if (commit) {
+      synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+    synchronizations.forEach(
+        synchronization ->
+            synchronization.afterCompletion(
+                commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK));
   }
 }
@@ -0,0 +1,84 @@
+package io.joshuasalcedo.fx.infrastructure.configuration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.joshuasalcedo.clipboard.core.ClipboardMonitor;
+import io.joshuasalcedo.fx.infrastructure.events.ClipboardCaptureSource;
+import io.joshuasalcedo.fx.infrastructure.events.FakeClipboardListenerProvider;
+import io.joshuasalcedo.fx.infrastructure.events.ListenerCaptureSource;
+import io.joshuasalcedo.fx.infrastructure.events.MonitorCaptureSource;
+import org.junit.jupiter.api.Test;
+
+class ClipboardConfigurationTest {
+
+  private final ClipboardConfiguration configuration = new ClipboardConfiguration();
+  private final ClipboardProperties properties = new ClipboardProperties();
+
+  private ClipboardCaptureSource captureSource(
+      ClipboardProperties.CaptureStrategy strategy, boolean listenerAvailable) {
+    properties.getCapture().setStrategy(strategy);
+    return configuration.clipboardCaptureSource(
+        properties, new FakeClipboardListenerProvider(listenerAvailable), new ClipboardMonitor());
+  }
+
+  @Test
+  void auto_ListenerAvailable_UsesListener() {
+    // Act
+    ClipboardCaptureSource source = captureSource(ClipboardProperties.CaptureStrategy.AUTO, true);
+
+    // Assert
+    assertInstanceOf(ListenerCaptureSource.class, source);
+    assertEquals(ListenerCaptureSource.MODE, source.mode());
+  }
+
+  @Test
+  void auto_ListenerUnavailable_UsesPolling() {
+    // Act
+    ClipboardCaptureSource source = captureSource(ClipboardProperties.CaptureStrategy.AUTO, false);
+
+    // Assert
+    assertInstanceOf(MonitorCaptureSource.class, source);
+    assertEquals(MonitorCaptureSource.MODE, source.mode());
+  }
+
+  @Test
+  void listener_ListenerAvailable_UsesListener() {
+    // Act
+    ClipboardCaptureSource source =
+        captureSource(ClipboardProperties.CaptureStrategy.LISTENER, true);
+
+    // Assert
+    assertInstanceOf(ListenerCaptureSource.class, source);
+  }
+
+  @Test
+  void listener_ListenerUnavailable_FallsBackToPolling() {
+    // Act
+    ClipboardCaptureSource source =
+        captureSource(ClipboardProperties.CaptureStrategy.LISTENER, false);
+
+    // Assert
+    assertInstanceOf(MonitorCaptureSource.class, source);
+    assertEquals(MonitorCaptureSource.MODE, source.mode());
+  }
+
+  @Test
+  void polling_ListenerAvailable_UsesPolling() {
+    // Act
+    ClipboardCaptureSource source =
+        captureSource(ClipboardProperties.CaptureStrategy.POLLING, true);
+
+    // Assert
+    assertInstanceOf(MonitorCaptureSource.class, source);
+  }
+
+  @Test
+  void polling_ListenerUnavailable_UsesPolling() {
+    // Act
+    ClipboardCaptureSource source =
+        captureSource(ClipboardProperties.CaptureStrategy.POLLING, false);
+
+    // Assert
+    assertInstanceOf(MonitorCaptureSource.class, source);
+  }
+}
@@ -0,0 +1,190 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardSavedEvent;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardService;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardIngestionPipelineTest {
+
+  @Mock private ClipboardService clipboardService;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ClipboardProperties properties = new ClipboardProperties();
+  private ClipboardIngestionPipeline pipeline;
+
+  @BeforeEach
+  void setUp() {
+    // Without start() nothing drains the queue, so overflow is deterministic
+    properties.getIngestion().setQueueCapacity(2);
+    properties.getIngestion().setMaxLinger(Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (pipeline != null) {
+      pipeline.stop();
+    }
+  }
+
+  private ClipboardIngestionPipeline pipeline() {
+    pipeline = new ClipboardIngestionPipeline(clipboardService, properties, registry);
+    return pipeline;
+  }
+
+  private static ClipboardSavedEvent captured(String content) {
+    return new ClipboardSavedEvent(new Object(), content, "fake", System.nanoTime());
+  }
+
+  private double dropped() {
+    return registry.get("clipboard.ingest.dropped").counter().count();
+  }
+
+  @Test
+  void enqueue_Block_WaitsForOfferTimeoutThenDropsNewEntry() throws InterruptedException {
+    // Arrange
+    properties.getIngestion().setOverflowPolicy(ClipboardProperties.OverflowPolicy.BLOCK);
+    properties.getIngestion().setOfferTimeout(Duration.ofMillis(100));
+    pipeline();
+    pipeline.enqueue(captured("a"));
+    pipeline.enqueue(captured("b"));
+
+    // Act
+    long started = System.nanoTime();
+    boolean queued = pipeline.enqueue(captured("c"));
+    long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+    // Assert
+    assertFalse(queued);
+    assertTrue(waitedMs >= 100, "returned after " + waitedMs + " ms");
+    assertEquals(1.0, dropped());
+    pipeline.stop();
+    verify(clipboardService).saveAll(List.of("a", "b"));
+  }
+
+  @Test
+  void enqueue_DropOldest_EvictsHeadAndQueuesNewEntry() throws InterruptedException {
+    // Arrange
+    properties.getIngestion().setOverflowPolicy(ClipboardProperties.OverflowPolicy.DROP_OLDEST);
+    pipeline();
+    pipeline.enqueue(captured("a"));
+    pipeline.enqueue(captured("b"));
+
+    // Act
+    boolean queued = pipeline.enqueue(captured("c"));
+
+    // Assert
+    assertTrue(queued);
+    assertEquals(2, pipeline.getQueueDepth());
+    assertEquals(2.0, registry.get("clipboard.ingest.queue.depth").gauge().value());
+    assertEquals(1.0, dropped());
+    pipeline.stop();
+    verify(clipboardService).saveAll(List.of("b", "c"));
+  }
+
+  @Test
+  void enqueue_DropNewest_RejectsNewEntryAndKeepsQueue() throws InterruptedException {
+    // Arrange
+    properties.getIngestion().setOverflowPolicy(ClipboardProperties.OverflowPolicy.DROP_NEWEST);
+    pipeline();
+    pipeline.enqueue(captured("a"));
+    pipeline.enqueue(captured("b"));
+
+    // Act
+    boolean queued = pipeline.enqueue(captured("c"));
+
+    // Assert
+    assertFalse(queued);
+    assertEquals(1.0, dropped());
+    pipeline.stop();
+    verify(clipboardService).saveAll(List.of("a", "b"));
+    assertEquals(1, registry.get("clipboard.ingest.commit").timer().count());
+  }
+
+  @Test
+  void enqueue_BlankContent_IsIgnored() {
+    // Arrange
+    pipeline();
+
+    // Act
+    boolean queued = pipeline.enqueue(captured("  "));
+
+    // Assert
+    assertFalse(queued);
+    assertEquals(0, pipeline.getQueueDepth());
+    assertEquals(0.0, dropped());
+  }
+
+  @Test
+  void consumer_FullBatch_FlushesWithoutWaitingForLinger() {
+    // Arrange
+    properties.getIngestion().setQueueCapacity(10);
+    properties.getIngestion().setBatchSize(3);
+    pipeline();
+    List.of("a", "b", "c").forEach(content -> pipeline.enqueue(captured(content)));
+
+    // Act
+    pipeline.start();
+
+    // Assert: the one-minute linger would time the verification out
+    verify(clipboardService, timeout(2_000)).saveAll(List.of("a", "b", "c"));
+    assertEquals(1, registry.get("clipboard.ingest.batch.size").summary().count());
+    assertEquals(3.0, registry.get("clipboard.ingest.batch.size").summary().totalAmount());
+  }
+
+  @Test
+  void consumer_PartialBatch_FlushesAfterLinger() {
+    // Arrange
+    properties.getIngestion().setQueueCapacity(10);
+    properties.getIngestion().setBatchSize(10);
+    properties.getIngestion().setMaxLinger(Duration.ofMillis(100));
+    pipeline();
+    pipeline.enqueue(captured("a"));
+    pipeline.enqueue(captured("b"));
+
+    // Act
+    long started = System.nanoTime();
+    pipeline.start();
+    verify(clipboardService, timeout(2_000)).saveAll(List.of("a", "b"));
+    long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+    // Assert
+    assertTrue(waitedMs >= 100, "flushed after " + waitedMs + " ms");
+    assertEquals(2.0, registry.get("clipboard.ingest.batch.size").summary().totalAmount());
+  }
+
+  @Test
+  void flush_BatchSaveFails_RetriesEachEntryOnItsOwn() throws InterruptedException {
+    // Arrange
+    when(clipboardService.saveAll(anyList()))
+        .thenThrow(new DataIntegrityViolationException("batch rejected"));
+    when(clipboardService.save("bad")).thenThrow(new DataIntegrityViolationException("bad"));
+    pipeline();
+    pipeline.enqueue(captured("bad"));
+    pipeline.enqueue(captured("good"));
+
+    // Act
+    pipeline.stop();
+
+    // Assert
+    verify(clipboardService).save("bad");
+    verify(clipboardService).save("good");
+    assertEquals(1, registry.get("clipboard.capture.latency").tag("mode", "fake").timer().count());
+    assertEquals(0, pipeline.getQueueDepth());
+  }
+}
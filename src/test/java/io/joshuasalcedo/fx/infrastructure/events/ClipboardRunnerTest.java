@@ -0,0 +1,303 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardChangedEvent;
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardSavedEvent;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClipboardRunnerTest {
+
+  private final FakeClipboardCaptureSource captureSource = new FakeClipboardCaptureSource();
+  private final List<ClipboardSavedEvent> published = new CopyOnWriteArrayList<>();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ClipboardProperties properties = new ClipboardProperties();
+  private final ManualScheduler scheduler = new ManualScheduler();
+
+  private ClipboardRunner runner;
+
+  @BeforeEach
+  void setUp() {
+    properties.getCapture().setCoalesceWindow(Duration.ZERO);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (runner != null) {
+      runner.shutdown();
+    }
+  }
+
+  private ClipboardRunner startRunner() {
+    return startRunner(captureSource);
+  }
+
+  private ClipboardRunner startRunner(ClipboardCaptureSource source) {
+    runner =
+        new ClipboardRunner(
+            source,
+            event -> published.add((ClipboardSavedEvent) event),
+            properties,
+            registry,
+            scheduler);
+    assertTrue(runner.start());
+    return runner;
+  }
+
+  private List<String> forwarded() {
+    return published.stream().map(ClipboardSavedEvent::getContent).toList();
+  }
+
+  private double suppressed(String reason) {
+    return registry.get("clipboard.capture.suppressed").tag("reason", reason).counter().count();
+  }
+
+  @Test
+  void noWindow_ForwardsEachChangeAndDropsConsecutiveDuplicates() {
+    // Arrange
+    startRunner();
+
+    // Act
+    captureSource.emit("a");
+    captureSource.emit("a");
+    captureSource.emit("b");
+
+    // Assert
+    assertEquals(
+        List.of("a", "b"), published.stream().map(ClipboardSavedEvent::getContent).toList());
+    assertEquals("fake", published.get(0).getCaptureMode());
+    assertEquals(1.0, suppressed("duplicate"));
+  }
+
+  @Test
+  void burstWithinWindow_ForwardsOnlyLastContent() {
+    // Arrange
+    properties.getCapture().setCoalesceWindow(Duration.ofMillis(100));
+    startRunner();
+
+    // Act
+    captureSource.emit("a");
+    scheduler.advance(Duration.ofMillis(60));
+    captureSource.emit("b");
+    scheduler.advance(Duration.ofMillis(60));
+    captureSource.emit("c");
+    scheduler.advance(Duration.ofMillis(99));
+    assertTrue(published.isEmpty());
+    scheduler.advance(Duration.ofMillis(1));
+
+    // Assert
+    assertEquals(0, scheduler.pending());
+    assertEquals(1, published.size());
+    assertEquals("c", published.get(0).getContent());
+    assertEquals(2.0, suppressed("superseded"));
+  }
+
+  @Test
+  void stop_FlushesPendingChange() {
+    // Arrange
+    properties.getCapture().setCoalesceWindow(Duration.ofSeconds(30));
+    startRunner();
+    captureSource.emit("last copy");
+
+    // Act
+    assertTrue(runner.stop());
+
+    // Assert
+    assertFalse(runner.isRunning());
+    assertEquals(1, published.size());
+    assertEquals("last copy", published.get(0).getContent());
+  }
+
+  @Test
+  void quietGapLongerThanWindow_ForwardsEachContent() {
+    // Arrange
+    properties.getCapture().setCoalesceWindow(Duration.ofMillis(100));
+    startRunner();
+
+    // Act
+    captureSource.emit("a");
+    scheduler.advance(Duration.ofMillis(100));
+    captureSource.emit("b");
+    scheduler.advance(Duration.ofMillis(100));
+
+    // Assert
+    assertEquals(List.of("a", "b"), forwarded());
+    assertEquals(0.0, suppressed("superseded"));
+  }
+
+  @Test
+  void burstEndingOnLastForwardedContent_ForwardsNothing() {
+    // Arrange
+    properties.getCapture().setCoalesceWindow(Duration.ofMillis(100));
+    startRunner();
+    captureSource.emit("a");
+    scheduler.advance(Duration.ofMillis(100));
+
+    // Act
+    captureSource.emit("b");
+    captureSource.emit("a");
+    scheduler.advance(Duration.ofMillis(100));
+
+    // Assert
+    assertEquals(List.of("a"), forwarded());
+    assertEquals(1.0, suppressed("superseded"));
+    assertEquals(1.0, suppressed("duplicate"));
+  }
+
+  @Test
+  void duplicatesAllowed_ForwardsRepeatedContent() {
+    // Arrange
+    properties.getCapture().setDropConsecutiveDuplicates(false);
+    startRunner();
+
+    // Act
+    captureSource.emit("a");
+    captureSource.emit("a");
+
+    // Assert
+    assertEquals(List.of("a", "a"), forwarded());
+    assertEquals(0.0, suppressed("duplicate"));
+  }
+
+  @Test
+  void copyAgainAfterDelete_ForwardsSameContent() {
+    // Arrange
+    startRunner();
+    captureSource.emit("a");
+
+    // Act
+    runner.onHistoryChanged(
+        new ClipboardChangedEvent(ClipboardChangedEvent.Type.DELETED, null, 1L, false));
+    captureSource.emit("a");
+
+    // Assert
+    assertEquals(List.of("a", "a"), forwarded());
+  }
+
+  @Test
+  void copyAgainAfterClear_ForwardsSameContentOnceWindowEnds() {
+    // Arrange
+    properties.getCapture().setCoalesceWindow(Duration.ofMillis(100));
+    startRunner();
+    captureSource.emit("a");
+    scheduler.advance(Duration.ofMillis(100));
+
+    // Act
+    runner.onHistoryChanged(
+        new ClipboardChangedEvent(ClipboardChangedEvent.Type.CLEARED, null, null, false));
+    captureSource.emit("a");
+    scheduler.advance(Duration.ofMillis(100));
+
+    // Assert
+    assertEquals(List.of("a", "a"), forwarded());
+  }
+
+  @Test
+  void copyAgainAfterUpdate_StillDropsRepeat() {
+    // Arrange
+    startRunner();
+    captureSource.emit("a");
+
+    // Act
+    runner.onHistoryChanged(
+        new ClipboardChangedEvent(ClipboardChangedEvent.Type.UPDATED, null, 1L, false));
+    captureSource.emit("a");
+
+    // Assert
+    assertEquals(List.of("a"), forwarded());
+    assertEquals(1.0, suppressed("duplicate"));
+  }
+
+  @Test
+  void listenerFailsToStart_MetersReportFallbackMode() {
+    // Arrange
+    FakeClipboardListenerProvider provider =
+        new FakeClipboardListenerProvider(true)
+            .failingToStart(new IllegalStateException("no hook"));
+    ListenerCaptureSource source = new ListenerCaptureSource(provider, captureSource);
+
+    // Act
+    startRunner(source);
+    captureSource.emit("a");
+
+    // Assert
+    assertEquals(
+        1.0, registry.get("clipboard.capture.forwarded").tag("mode", "fake").counter().count());
+    assertNull(registry.find("clipboard.capture.forwarded").tag("mode", "listener").counter());
+    assertNotNull(registry.find("clipboard.capture.cpu").tag("mode", "fake").gauge());
+    assertNull(registry.find("clipboard.capture.cpu").tag("mode", "listener").gauge());
+  }
+
+  @Test
+  void stop_RemovesCpuReading() {
+    // Arrange
+    startRunner();
+
+    // Act
+    runner.stop();
+
+    // Assert
+    assertTrue(registry.find("clipboard.capture.cpu").gauges().isEmpty());
+  }
+
+  @Test
+  void blockedPublish_DoesNotHoldUpCaptureOrCommitListeners() throws InterruptedException {
+    // Arrange: publishing "a" waits as a full BLOCK ingestion queue would
+    CountDownLatch publishing = new CountDownLatch(1);
+    CountDownLatch queueFreed = new CountDownLatch(1);
+    runner =
+        new ClipboardRunner(
+            captureSource,
+            event -> {
+              ClipboardSavedEvent saved = (ClipboardSavedEvent) event;
+              if (saved.getContent().equals("a")) {
+                publishing.countDown();
+                await(queueFreed);
+              }
+              published.add(saved);
+            },
+            properties,
+            registry,
+            scheduler);
+    assertTrue(runner.start());
+    Thread capture = new Thread(() -> captureSource.emit("a"), "capture-a");
+    capture.start();
+    assertTrue(publishing.await(2, TimeUnit.SECONDS));
+
+    // Act
+    Thread others =
+        new Thread(
+            () -> {
+              runner.onHistoryChanged(
+                  new ClipboardChangedEvent(ClipboardChangedEvent.Type.DELETED, null, 1L, false));
+              captureSource.emit("b");
+            },
+            "others");
+    others.start();
+    others.join(2_000);
+
+    // Assert
+    assertFalse(others.isAlive());
+    assertEquals(List.of("b"), forwarded());
+    queueFreed.countDown();
+    capture.join(2_000);
+    assertEquals(List.of("b", "a"), forwarded());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
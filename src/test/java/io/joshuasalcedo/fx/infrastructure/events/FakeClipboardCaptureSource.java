@@ -0,0 +1,38 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import java.util.function.Consumer;
+
+/** Headless stand-in for native clipboard notifications: tests push changes via {@link #emit}. */
+class FakeClipboardCaptureSource implements ClipboardCaptureSource {
+
+  private volatile Consumer<String> listener;
+
+  @Override
+  public String mode() {
+    return "fake";
+  }
+
+  @Override
+  public boolean start(Consumer<String> onChange) {
+    this.listener = onChange;
+    return true;
+  }
+
+  @Override
+  public void stop() {
+    this.listener = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return listener != null;
+  }
+
+  /** Simulates a clipboard change notification. */
+  void emit(String content) {
+    Consumer<String> current = listener;
+    if (current != null) {
+      current.accept(content);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import io.joshuasalcedo.clipboard.core.Clipboard;
+import io.joshuasalcedo.clipboard.core.ClipboardListener;
+import io.joshuasalcedo.clipboard.core.ClipboardListenerProvider;
+
+/**
+ * Headless stand-in for the platform's native clipboard notifications: tests choose whether they
+ * are available or fail to start, and push changes via {@link #emit}.
+ */
+public class FakeClipboardListenerProvider implements ClipboardListenerProvider {
+
+  private final boolean available;
+  private RuntimeException startFailure;
+  private volatile ClipboardListener listener;
+
+  public FakeClipboardListenerProvider(boolean available) {
+    this.available = available;
+  }
+
+  /** Makes the next {@link #startListening} throw, as a broken native hook would. */
+  public FakeClipboardListenerProvider failingToStart(RuntimeException failure) {
+    this.startFailure = failure;
+    return this;
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return available;
+  }
+
+  @Override
+  public void startListening(ClipboardListener listener) {
+    if (startFailure != null) {
+      throw startFailure;
+    }
+    this.listener = listener;
+  }
+
+  @Override
+  public void stopListening() {
+    this.listener = null;
+  }
+
+  public boolean isListening() {
+    return listener != null;
+  }
+
+  /** Simulates a native clipboard change notification. */
+  public void emit(String content) {
+    ClipboardListener current = listener;
+    if (current != null) {
+      current.onClipboardChange(new Clipboard(content));
+    }
+  }
+}
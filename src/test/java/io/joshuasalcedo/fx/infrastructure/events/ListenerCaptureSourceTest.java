@@ -0,0 +1,82 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+class ListenerCaptureSourceTest {
+
+  private final FakeClipboardCaptureSource polling = new FakeClipboardCaptureSource();
+  private final List<String> changes = new CopyOnWriteArrayList<>();
+
+  @Test
+  void start_ForwardsNativeNotifications() {
+    // Arrange
+    FakeClipboardListenerProvider provider = new FakeClipboardListenerProvider(true);
+    ListenerCaptureSource source = new ListenerCaptureSource(provider, polling);
+
+    // Act
+    boolean started = source.start(changes::add);
+    provider.emit("copied");
+
+    // Assert
+    assertTrue(started);
+    assertTrue(source.isRunning());
+    assertEquals(ListenerCaptureSource.MODE, source.mode());
+    assertEquals(List.of("copied"), changes);
+    assertFalse(polling.isRunning());
+  }
+
+  @Test
+  void start_ListeningFails_FallsBackToPolling() {
+    // Arrange
+    FakeClipboardListenerProvider provider =
+        new FakeClipboardListenerProvider(true)
+            .failingToStart(new IllegalStateException("hook rejected"));
+    ListenerCaptureSource source = new ListenerCaptureSource(provider, polling);
+
+    // Act
+    boolean started = source.start(changes::add);
+    polling.emit("copied");
+
+    // Assert
+    assertTrue(started);
+    assertTrue(source.isRunning());
+    assertEquals("fake", source.mode());
+    assertEquals(List.of("copied"), changes);
+  }
+
+  @Test
+  void stop_AfterFallback_StopsPolling() {
+    // Arrange
+    FakeClipboardListenerProvider provider =
+        new FakeClipboardListenerProvider(true)
+            .failingToStart(new IllegalStateException("hook rejected"));
+    ListenerCaptureSource source = new ListenerCaptureSource(provider, polling);
+    source.start(changes::add);
+
+    // Act
+    source.stop();
+
+    // Assert
+    assertFalse(source.isRunning());
+    assertFalse(polling.isRunning());
+  }
+
+  @Test
+  void stop_StopsNativeNotifications() {
+    // Arrange
+    FakeClipboardListenerProvider provider = new FakeClipboardListenerProvider(true);
+    ListenerCaptureSource source = new ListenerCaptureSource(provider, polling);
+    source.start(changes::add);
+
+    // Act
+    source.stop();
+
+    // Assert
+    assertFalse(source.isRunning());
+    assertFalse(provider.isListening());
+  }
+}
@@ -0,0 +1,143 @@
+package io.joshuasalcedo.fx.infrastructure.events;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler with a virtual clock: delayed tasks run on the calling thread once {@link #advance}
+ * moves the clock past their due time, so tests never wait on wall-clock time.
+ */
+class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+  private final List<Task> tasks = new ArrayList<>();
+  private long nanos;
+  private boolean shutdown;
+
+  /** Moves the clock forward, running every task that falls due in order. */
+  void advance(Duration duration) {
+    long target;
+    synchronized (this) {
+      target = nanos + duration.toNanos();
+    }
+    while (true) {
+      Task next;
+      synchronized (this) {
+        next =
+            tasks.stream()
+                .filter(task -> task.dueAt <= target)
+                .min(Comparator.comparingLong(task -> task.dueAt))
+                .orElse(null);
+        if (next == null) {
+          nanos = target;
+          return;
+        }
+        tasks.remove(next);
+        nanos = next.dueAt;
+      }
+      next.run();
+    }
+  }
+
+  /** Returns how many tasks are scheduled and not yet run or cancelled. */
+  synchronized int pending() {
+    return tasks.size();
+  }
+
+  @Override
+  public synchronized ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    if (shutdown) {
+      throw new IllegalStateException("Scheduler is shut down");
+    }
+    Task task = new Task(command, nanos + unit.toNanos(delay));
+    tasks.add(task);
+    return task;
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(
+      Runnable command, long initialDelay, long period, TimeUnit unit) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(
+      Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    command.run();
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    shutdown = true;
+    tasks.clear();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    return List.of();
+  }
+
+  @Override
+  public synchronized boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return isShutdown();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) {
+    return isShutdown();
+  }
+
+  private final class Task extends FutureTask<Void> implements ScheduledFuture<Void> {
+
+    private final long dueAt;
+
+    Task(Runnable command, long dueAt) {
+      super(command, null);
+      this.dueAt = dueAt;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      synchronized (ManualScheduler.this) {
+        return unit.convert(dueAt - nanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      synchronized (ManualScheduler.this) {
+        tasks.remove(this);
+      }
+      return super.cancel(mayInterruptIfRunning);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package io.joshuasalcedo.fx.infrastructure.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardCursor;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClipboardSearchIndexTest {
+
+  private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+  private ClipboardSearchIndex index;
+
+  @TempDir Path directory;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    // Blank index directory keeps the index in memory
+    index = new ClipboardSearchIndex(new ClipboardProperties());
+    index.open();
+    index.index(1L, "git commit -m \"Fix the build\"", now.minusMinutes(3), false);
+    index.index(2L, "SELECT * FROM clipboard_entries", now.minusMinutes(2), true);
+    index.index(3L, "Build the clipboard search index", now.minusMinutes(1), false);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    index.close();
+  }
+
+  @Test
+  void search_Terms_MatchCaseInsensitivelyNewestFirst() {
+    // Act
+    ClipboardSearchIndex.SearchHits hits = index.search("build ", 0, 10);
+
+    // Assert
+    assertEquals(List.of(3L, 1L), hits.ids());
+    assertEquals(2, hits.total());
+  }
+
+  @Test
+  void search_PhraseAndPrefix_RespectWordOrderAndPartialInput() {
+    // Act & Assert
+    assertEquals(List.of(1L), index.search("\"fix the build\"", 0, 10).ids());
+    assertEquals(List.of(), index.search("\"build the fix\"", 0, 10).ids());
+    assertEquals(List.of(3L, 2L), index.search("clipb", 0, 10).ids());
+    assertEquals(List.of(2L), index.search("clipboard_ent* select", 0, 10).ids());
+  }
+
+  @Test
+  void search_PunctuationOnly_ReturnsNullForDatabaseFallback() {
+    // Act & Assert
+    assertNull(index.search("* ->", 0, 10));
+  }
+
+  @Test
+  void updateTimestamp_MovesEntryToFront() {
+    // Act
+    index.updateTimestamp(1L, now);
+
+    // Assert
+    assertEquals(List.of(1L, 3L), index.search("build", 0, 10).ids());
+  }
+
+  @Test
+  void deleteUnpinned_KeepsPinnedEntries() {
+    // Act
+    index.deleteUnpinned();
+
+    // Assert
+    assertEquals(List.of(2L), index.search("clipboard", 0, 10).ids());
+  }
+
+  @Test
+  void searchAfter_Cursor_ContinuesAfterLastSeenEntry() {
+    // Act
+    List<Long> first = index.searchAfter("clipboard", null, 1);
+    List<Long> next =
+        index.searchAfter("clipboard", new ClipboardCursor(now.minusMinutes(1), 3L), 10);
+
+    // Assert
+    assertEquals(List.of(3L), first);
+    assertEquals(List.of(2L), next);
+  }
+
+  @Test
+  void write_Fails_StopsAnsweringAndReportsFailure() throws IOException {
+    // Arrange
+    ClipboardSearchIndex closed = new ClipboardSearchIndex(new ClipboardProperties());
+    closed.open();
+    closed.setReady(true);
+    AtomicInteger failures = new AtomicInteger();
+    closed.onWriteFailure(failures::incrementAndGet);
+    closed.close();
+
+    // Act
+    closed.index(4L, "lost", now, false);
+
+    // Assert
+    assertFalse(closed.isReady());
+    assertEquals(1, closed.getWriteFailures());
+    assertEquals(1, failures.get());
+  }
+
+  @Test
+  void open_OnlyTrustsIndexClosedCleanlyWhileComplete() throws IOException {
+    // Arrange
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getSearch().setIndexDirectory(directory.toString());
+
+    // Act
+    ClipboardSearchIndex first = new ClipboardSearchIndex(properties);
+    first.open();
+    first.index(1L, "kept", now, false);
+    first.setReady(true);
+    first.close();
+    ClipboardSearchIndex second = new ClipboardSearchIndex(properties);
+    second.open();
+    String markerWhileOpen = cleanShutdownMarker();
+    second.close();
+    ClipboardSearchIndex third = new ClipboardSearchIndex(properties);
+    third.open();
+    third.close();
+
+    // Assert
+    assertFalse(first.wasClosedCleanly());
+    assertTrue(second.wasClosedCleanly());
+    // A crash while open must not leave the clean marker behind
+    assertEquals("false", markerWhileOpen);
+    // Closed before it was marked ready, so the index may be incomplete
+    assertFalse(third.wasClosedCleanly());
+  }
+
+  private String cleanShutdownMarker() throws IOException {
+    try (FSDirectory fs = FSDirectory.open(directory)) {
+      return SegmentInfos.readLatestCommit(fs)
+          .getUserData()
+          .get(ClipboardSearchIndex.CLEAN_SHUTDOWN);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package io.joshuasalcedo.fx.infrastructure.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.joshuasalcedo.fx.domain.clipboard.ClipboardRepository;
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClipboardSearchIndexerTest {
+
+  @Mock private ClipboardRepository clipboardRepository;
+  @Mock private ClipboardSearchIndex searchIndex;
+
+  private ClipboardSearchIndexer indexer;
+
+  @BeforeEach
+  void setUp() {
+    ClipboardProperties properties = new ClipboardProperties();
+    properties.getSearch().setRebuildDelay(Duration.ZERO);
+    lenient()
+        .when(clipboardRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+        .thenReturn(List.of());
+    indexer = new ClipboardSearchIndexer(clipboardRepository, searchIndex, properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    indexer.stop();
+  }
+
+  @Test
+  void start_IndexNotClosedCleanly_RebuildsEvenWhenCountsMatch() {
+    // Arrange
+    when(clipboardRepository.count()).thenReturn(3L);
+    when(searchIndex.size()).thenReturn(3);
+    when(searchIndex.wasClosedCleanly()).thenReturn(false);
+
+    // Act
+    indexer.start();
+
+    // Assert
+    verify(searchIndex, timeout(2_000)).setReady(true);
+    verify(searchIndex).clear();
+  }
+
+  @Test
+  void start_IndexClosedCleanlyAndComplete_UsesItRightAway() {
+    // Arrange
+    when(clipboardRepository.count()).thenReturn(3L);
+    when(searchIndex.size()).thenReturn(3);
+    when(searchIndex.wasClosedCleanly()).thenReturn(true);
+
+    // Act
+    indexer.start();
+
+    // Assert
+    verify(searchIndex).setReady(true);
+    verify(searchIndex, never()).clear();
+  }
+
+  @Test
+  void writeFailure_SchedulesRebuild() {
+    // Arrange
+    ArgumentCaptor<Runnable> onWriteFailure = ArgumentCaptor.forClass(Runnable.class);
+    verify(searchIndex).onWriteFailure(onWriteFailure.capture());
+
+    // Act
+    onWriteFailure.getValue().run();
+
+    // Assert
+    verify(searchIndex, timeout(2_000)).clear();
+    verify(searchIndex, timeout(2_000)).setReady(true);
+  }
+
+  @Test
+  void rebuild_WriteFailsMeanwhile_KeepsSearchingTheDatabase() {
+    // Arrange
+    when(searchIndex.getWriteFailures()).thenReturn(0L, 1L);
+
+    // Act
+    indexer.rebuild();
+
+    // Assert
+    verify(searchIndex).setReady(false);
+    verify(searchIndex, never()).setReady(true);
+  }
+}
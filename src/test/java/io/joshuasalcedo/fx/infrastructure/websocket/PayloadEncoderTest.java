@@ -0,0 +1,137 @@
+package io.joshuasalcedo.fx.infrastructure.websocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+class PayloadEncoderTest {
+
+  private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+  private PayloadEncoder encoder;
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    // Like Spring Boot, which writes dates as ISO strings
+    encoder = new PayloadEncoder(bootBuilder().build(), bootBuilder(), registry);
+  }
+
+  @Test
+  void preSend_CborSubscription_EncodesOncePerEncodingWithEpochMillis() throws Exception {
+    // Arrange
+    encoder.subscribed(subscribe("s1", "0", "application/cbor;q=1, application/json", true));
+    encoder.subscribed(subscribe("s3", "0", "application/cbor", true));
+    EncodedPayload payload = new EncodedPayload(List.of(new Entry(1L, TIMESTAMP)));
+
+    // Act
+    Message<?> cbor = encoder.preSend(delivery(payload, "s1"), null);
+    Message<?> json = encoder.preSend(delivery(payload, "s2"), null);
+    Message<?> cborAgain = encoder.preSend(delivery(payload, "s3"), null);
+
+    // Assert
+    assertEquals(
+        PayloadEncoder.APPLICATION_CBOR, cbor.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    assertEquals(
+        MimeTypeUtils.APPLICATION_JSON, json.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    assertSame(cbor.getPayload(), cborAgain.getPayload());
+    JsonNode decoded = encoder.getCborMapper().readTree((byte[]) cbor.getPayload());
+    assertEquals(
+        TIMESTAMP.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+        decoded.get(0).get("timestamp").asLong());
+    assertEquals(
+        "[{\"id\":1,\"timestamp\":\"2024-05-01T12:00:00\"}]",
+        new String((byte[]) json.getPayload(), StandardCharsets.UTF_8));
+    assertEquals(2, registry.get("clipboard.websocket.payload.size").summaries().size());
+  }
+
+  @Test
+  void subscribed_SessionWithoutBinaryFrames_StaysOnJson() {
+    // Act
+    encoder.subscribed(subscribe("sockjs", "0", "application/cbor", false));
+
+    // Assert
+    assertEquals(MimeTypeUtils.APPLICATION_JSON, encoder.encodingOf("sockjs", "0"));
+  }
+
+  @Test
+  void isCborFrame_LooksOnlyAtHeaders() {
+    // Arrange
+    String cbor = "MESSAGE\ndestination:/topic/clipboard/new\ncontent-type:application/cbor\n\n";
+    String json = "MESSAGE\ncontent-type:application/json\n\ncontent-type:application/cbor\n";
+
+    // Act & Assert
+    assertTrue(PayloadEncoder.isCborFrame(cbor.getBytes(StandardCharsets.UTF_8)));
+    assertFalse(PayloadEncoder.isCborFrame(json.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void toMessage_StringsAndBytes_LeftToOtherConverters() {
+    // Act & Assert
+    assertNull(encoder.toMessage("pong", null));
+    assertNull(encoder.toMessage(new byte[0], null));
+    assertInstanceOf(EncodedPayload.class, encoder.toMessage(List.of(1L), null).getPayload());
+  }
+
+  @Test
+  void negotiate_UnsupportedOrMalformedAccept_FallsBackToJson() {
+    // Act & Assert
+    assertEquals(MimeTypeUtils.APPLICATION_JSON, PayloadEncoder.negotiate("application/xml"));
+    assertEquals(MimeTypeUtils.APPLICATION_JSON, PayloadEncoder.negotiate("not a type"));
+    assertEquals(MimeTypeUtils.APPLICATION_JSON, PayloadEncoder.negotiate(null));
+    assertEquals(
+        PayloadEncoder.APPLICATION_CBOR, PayloadEncoder.negotiate("text/plain, application/cbor"));
+  }
+
+  private static Jackson2ObjectMapperBuilder bootBuilder() {
+    return Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  private SessionSubscribeEvent subscribe(
+      String sessionId, String subscriptionId, String accept, boolean binaryFrames) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+    accessor.setSessionId(sessionId);
+    Map<String, Object> attributes = new HashMap<>();
+    if (binaryFrames) {
+      attributes.put(PayloadEncoder.BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+    }
+    accessor.setSessionAttributes(attributes);
+    accessor.setSubscriptionId(subscriptionId);
+    accessor.setDestination("/topic/clipboard/new");
+    accessor.setNativeHeader(PayloadEncoder.ACCEPT_HEADER, accept);
+    return new SessionSubscribeEvent(
+        this, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+  }
+
+  /** A message as the broker hands it to one subscriber. */
+  private static Message<?> delivery(EncodedPayload payload, String sessionId) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+    accessor.setSessionId(sessionId);
+    accessor.setSubscriptionId("0");
+    accessor.setLeaveMutable(true);
+    return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+  }
+
+  private record Entry(Long id, LocalDateTime timestamp) {}
+}
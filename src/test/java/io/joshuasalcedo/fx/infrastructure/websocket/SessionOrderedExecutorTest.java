@@ -0,0 +1,147 @@
+package io.joshuasalcedo.fx.infrastructure.websocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+class SessionOrderedExecutorTest {
+
+  private final SimpleAsyncTaskExecutor virtualThreads = virtualThreads();
+  private final SessionOrderedExecutor executor = new SessionOrderedExecutor(virtualThreads);
+  private final ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel(executor);
+
+  @AfterEach
+  void tearDown() throws Exception {
+    executor.close();
+  }
+
+  private static SimpleAsyncTaskExecutor virtualThreads() {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("outbound-");
+    executor.setVirtualThreads(true);
+    return executor;
+  }
+
+  @Test
+  void interleavedFrames_AppliedInSendOrderPerSession() throws InterruptedException {
+    // Arrange: the client's view of each session's history. The clear and "new 5" are slow to
+    // write, so on a thread per frame the frames after them would overtake them.
+    Map<String, Set<String>> entries = new ConcurrentHashMap<>();
+    CountDownLatch written = new CountDownLatch(6);
+    channel.subscribe(
+        message -> {
+          String frame = (String) message.getPayload();
+          if (frame.equals("clear") || frame.equals("new 5")) {
+            sleep(30);
+          }
+          Set<String> view =
+              entries.computeIfAbsent(
+                  SimpMessageHeaderAccessor.getSessionId(message.getHeaders()),
+                  id -> new LinkedHashSet<>());
+          String[] change = frame.split(" ");
+          switch (change[0]) {
+            case "new" -> view.add(change[1]);
+            case "delete" -> view.remove(change[1]);
+            case "clear" -> view.clear();
+            default -> fail(frame);
+          }
+          written.countDown();
+        });
+
+    // Act
+    for (String frame : List.of("new 1", "clear", "new 2")) {
+      channel.send(frameFor("s1", frame));
+    }
+    for (String frame : List.of("new 5", "delete 5", "new 6")) {
+      channel.send(frameFor("s2", frame));
+    }
+
+    // Assert: a clear never wipes a later new, a delete never resurrects an older new
+    assertTrue(written.await(5, TimeUnit.SECONDS));
+    assertEquals(Set.of("2"), entries.get("s1"));
+    assertEquals(Set.of("6"), entries.get("s2"));
+    awaitIdle();
+  }
+
+  @Test
+  void stalledSession_DoesNotHoldUpOthers() throws InterruptedException {
+    // Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch otherWritten = new CountDownLatch(1);
+    channel.subscribe(
+        message -> {
+          String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+          if (sessionId.equals("stalled")) {
+            await(release);
+          } else {
+            otherWritten.countDown();
+          }
+        });
+
+    // Act
+    channel.send(frameFor("stalled", "new 1"));
+    channel.send(frameFor("stalled", "new 2"));
+    channel.send(frameFor("other", "new 3"));
+
+    // Assert
+    assertTrue(otherWritten.await(2, TimeUnit.SECONDS));
+    assertEquals(1, executor.activeSessions());
+    release.countDown();
+    awaitIdle();
+  }
+
+  @Test
+  void taskWithoutSession_RunsOnDelegate() throws InterruptedException {
+    // Arrange
+    CountDownLatch ran = new CountDownLatch(1);
+
+    // Act
+    executor.execute(ran::countDown);
+
+    // Assert
+    assertTrue(ran.await(2, TimeUnit.SECONDS));
+    assertEquals(0, executor.activeSessions());
+  }
+
+  private void awaitIdle() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (executor.activeSessions() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, executor.activeSessions());
+  }
+
+  private static Message<String> frameFor(String sessionId, String frame) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+    accessor.setSessionId(sessionId);
+    return MessageBuilder.createMessage(frame, accessor.getMessageHeaders());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
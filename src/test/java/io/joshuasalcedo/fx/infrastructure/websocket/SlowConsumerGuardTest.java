@@ -0,0 +1,107 @@
+package io.joshuasalcedo.fx.infrastructure.websocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.joshuasalcedo.fx.infrastructure.configuration.ClipboardProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+@ExtendWith(MockitoExtension.class)
+class SlowConsumerGuardTest {
+
+  @Mock private WebSocketSession session;
+  @Mock private WebSocketHandler handler;
+  @Mock private MessageChannel channel;
+  @Mock private MessageHandler messageHandler;
+
+  private ClipboardProperties properties;
+  private SimpleMeterRegistry registry;
+  private SlowConsumerGuard guard;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    properties = new ClipboardProperties();
+    properties.getWebSocket().setMaxPendingMessages(3);
+    registry = new SimpleMeterRegistry();
+    guard = new SlowConsumerGuard(properties, registry);
+
+    when(session.getId()).thenReturn("s1");
+    guard.decorate(handler).afterConnectionEstablished(session);
+  }
+
+  @Test
+  void preSend_BacklogOverLimit_ClosesSessionAndDropsFrames() throws Exception {
+    // Arrange
+    Message<?> message = messageFor("s1");
+    for (int i = 0; i < 3; i++) {
+      assertSame(message, guard.preSend(message, channel));
+    }
+
+    // Act
+    Message<?> dropped = guard.preSend(message, channel);
+
+    // Assert
+    assertNull(dropped);
+    assertNull(guard.preSend(message, channel));
+    verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    assertEquals(
+        1.0,
+        registry.get("clipboard.websocket.evicted").tag("reason", "backlog").counter().count());
+  }
+
+  @Test
+  void evictStalled_WriteOverSendTimeLimit_ClosesSession() throws Exception {
+    // Arrange
+    properties.getWebSocket().setSendTimeLimit(Duration.ZERO);
+    Message<?> message = messageFor("s1");
+    guard.preSend(message, channel);
+    guard.beforeHandle(message, channel, messageHandler);
+    Thread.sleep(1);
+
+    // Act
+    guard.evictStalled();
+
+    // Assert
+    verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    assertEquals(
+        1.0,
+        registry.get("clipboard.websocket.evicted").tag("reason", "stalled").counter().count());
+  }
+
+  @Test
+  void evictStalled_CompletedWrites_KeepsSession() throws Exception {
+    // Arrange
+    properties.getWebSocket().setSendTimeLimit(Duration.ZERO);
+    Message<?> message = messageFor("s1");
+    guard.preSend(message, channel);
+    guard.beforeHandle(message, channel, messageHandler);
+    guard.afterMessageHandled(message, channel, messageHandler, null);
+
+    // Act
+    guard.evictStalled();
+
+    // Assert
+    verify(session, never()).close(any());
+    assertEquals(0, guard.maxPending());
+  }
+
+  private static Message<?> messageFor(String sessionId) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+    accessor.setSessionId(sessionId);
+    return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+  }
+}